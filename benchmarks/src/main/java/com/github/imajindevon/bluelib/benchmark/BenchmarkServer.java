@@ -0,0 +1,146 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A minimal in-process Bukkit {@link Server}, so that code depending on the server can be benchmarked without one.
+ * Only what the benchmarked code paths use is implemented: item factories producing map-backed {@link ItemMeta}s, and
+ * array-backed {@link Inventory}s. Every other method returns a default value.
+ */
+public final class BenchmarkServer {
+    private static final Logger LOGGER = Logger.getLogger("BenchmarkServer");
+
+    private BenchmarkServer() {
+    }
+
+    /**
+     * Create an inventory that only stores its items.
+     *
+     * @param size the number of slots
+     *
+     * @return the new inventory
+     */
+    @NotNull
+    public static Inventory createInventory(int size) {
+        ItemStack[] contents = new ItemStack[size];
+
+        return proxy(Inventory.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getItem" -> contents[(int) args[0]];
+            case "getSize" -> size;
+            case "getContents", "getStorageContents" -> contents.clone();
+            case "setItem" -> {
+                contents[(int) args[0]] = (ItemStack) args[1];
+                yield null;
+            }
+            default -> defaultValue(proxy, method, args);
+        });
+    }
+
+    /**
+     * Install the server, if no server is installed yet.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        ItemFactory itemFactory = proxy(ItemFactory.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getItemMeta" -> createItemMeta(new HashMap<>());
+            case "isApplicable" -> true;
+            case "asMetaFor" -> args[0];
+            case "updateMaterial" -> args[1];
+            default -> defaultValue(proxy, method, args);
+        });
+
+        Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getItemFactory" -> itemFactory;
+            case "getLogger" -> LOGGER;
+            case "createInventory" -> createInventory((int) args[1]);
+            default -> defaultValue(proxy, method, args);
+        }));
+    }
+
+    @NotNull
+    private static ItemMeta createItemMeta(@NotNull Map<String, Object> properties) {
+        return proxy(ItemMeta.class, (proxy, method, args) -> {
+            String name = method.getName();
+
+            if (name.equals("clone")) {
+                return createItemMeta(new HashMap<>(properties));
+            }
+            if (name.startsWith("set") && args != null && args.length == 1) {
+                properties.put(name.substring(3), args[0]);
+                return null;
+            }
+            if (name.startsWith("has") && (args == null || args.length == 0)) {
+                return properties.get(name.substring(3)) != null;
+            }
+            if (name.startsWith("get") && (args == null || args.length == 0)) {
+                Object value = properties.get(name.substring(3));
+                return value != null ? value : defaultValue(proxy, method, args);
+            }
+            return defaultValue(proxy, method, args);
+        });
+    }
+
+    @Nullable
+    private static Object defaultValue(@NotNull Object proxy, @NotNull Method method, @Nullable Object[] args) {
+        Class<?> type = method.getReturnType();
+
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> method.getDeclaringClass().getSimpleName() + "@" + System.identityHashCode(proxy);
+            default -> {
+                if (type == boolean.class) {
+                    yield false;
+                }
+                if (type == int.class) {
+                    yield 0;
+                }
+                if (type == short.class) {
+                    yield (short) 0;
+                }
+                if (type == byte.class) {
+                    yield (byte) 0;
+                }
+                if (type == long.class) {
+                    yield 0L;
+                }
+                if (type == double.class) {
+                    yield 0.0;
+                }
+                if (type == float.class) {
+                    yield 0.0f;
+                }
+                if (type == char.class) {
+                    yield '\0';
+                }
+                if (type == String.class) {
+                    yield "BlueLib Benchmarks";
+                }
+                yield null;
+            }
+        };
+    }
+
+    @NotNull
+    private static <T> T proxy(@NotNull Class<T> type, @NotNull InvocationHandler handler) {
+        ClassLoader loader = BenchmarkServer.class.getClassLoader();
+        return type.cast(Proxy.newProxyInstance(loader, new Class<?>[] {type}, handler));
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.chat.ChatUtil;
+import net.md_5.bungee.api.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatUtilBenchmark {
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private String gradientMessage;
+    private String hexMessage;
+    private String message;
+    private List<String> messages;
+    private String[] messagesArray;
+
+    @Setup
+    public void setup() {
+        ChatUtil.setCacheSize(this.cached ? 4096 : 0);
+
+        this.message = "&8[&bBlueLib&8] &7Welcome back, &e%player%&7! You have &a%count% &7unread messages.";
+        this.hexMessage = "&#3A7BD5[BlueLib] &#AAAAAAWelcome back, &#FFD700%player%&#AAAAAA!";
+        this.gradientMessage = "<gradient:#3A7BD5:#00D2FF>&lBlueLib</gradient> &7Welcome back!";
+        this.messages = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            this.messages.add("&" + Integer.toHexString(i % 16) + "Line " + i + " &lof the &r&7scoreboard");
+        }
+        this.messagesArray = this.messages.toArray(new String[0]);
+    }
+
+    // Baseline: the translation ChatUtil delegated to before the single-pass translator.
+    @Benchmark
+    public String legacyTranslate() {
+        return ChatColor.translateAlternateColorCodes('&', this.message);
+    }
+
+    // Baseline: the stream-based translateAll.
+    @Benchmark
+    public List<String> legacyTranslateAll() {
+        return this.messages.stream()
+            .map(message -> ChatColor.translateAlternateColorCodes('&', message))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public String translate() {
+        return ChatUtil.translate(this.message);
+    }
+
+    @Benchmark
+    public List<String> translateAll() {
+        return ChatUtil.translateAll(this.messages);
+    }
+
+    @Benchmark
+    public String translateGradient() {
+        return ChatUtil.translate(this.gradientMessage);
+    }
+
+    @Benchmark
+    public String translateHex() {
+        return ChatUtil.translate(this.hexMessage);
+    }
+
+    @Benchmark
+    public String[] translateInPlace() {
+        String[] messages = this.messagesArray.clone();
+        ChatUtil.translateInPlace(messages);
+        return messages;
+    }
+}
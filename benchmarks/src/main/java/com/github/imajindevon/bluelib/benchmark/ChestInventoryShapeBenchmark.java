@@ -0,0 +1,57 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.inventory.ChestInventoryShape;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChestInventoryShapeBenchmark {
+    private Inventory inventory;
+    private Map<Character, ItemStack> items;
+    private ChestInventoryShape shape;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+
+        this.inventory = BenchmarkServer.createInventory(54);
+        this.items = new HashMap<>();
+        this.items.put('#', new ItemStack(Material.GRAY_STAINED_GLASS_PANE));
+        this.items.put('C', new ItemStack(Material.CHEST));
+        this.items.put('X', new ItemStack(Material.BARRIER));
+        this.shape = new ChestInventoryShape(
+            "#########",
+            "#C C C C#",
+            "#       #",
+            "#C C C C#",
+            "#       #",
+            "####X####"
+        );
+    }
+
+    @Benchmark
+    public Inventory applyShape() {
+        this.shape.applyShape(this.items, this.inventory);
+        return this.inventory;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.util.collection.CollectionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionUtilBenchmark {
+    @Param({"100", "1000"})
+    private int size;
+
+    private List<String> names;
+
+    @Setup
+    public void setup() {
+        this.names = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            this.names.add((i % 3 == 0 ? "Steve" : "Alex") + i);
+        }
+    }
+
+    @Benchmark
+    public List<String> filterStartsWith() {
+        return CollectionUtil.filterStartsWith("Ste", this.names);
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.config.PathConfig;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup cost of loading a large configuration: parsing the YAML file, reading its binary snapshot, and indexing it
+ * lazily then reading a single entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigLoadBenchmark {
+    @Param({"1", "8"})
+    private int megabytes;
+
+    private Path directory;
+    private File file;
+
+    @Setup
+    public void setup() throws IOException, InvalidConfigurationException {
+        this.directory = Files.createTempDirectory("bluelib-benchmark");
+        this.file = this.directory.resolve("arenas.yml").toFile();
+
+        StringBuilder yaml = new StringBuilder();
+        long targetSize = this.megabytes * 1024L * 1024L;
+
+        for (int i = 0; yaml.length() < targetSize; i++) {
+            yaml.append("# Arena ").append(i).append('\n')
+                .append("arena-").append(i).append(":\n")
+                .append("  display-name: '&bArena #").append(i).append("'\n")
+                .append("  world: world_").append(i % 8).append('\n')
+                .append("  min-players: ").append(2 + i % 4).append('\n')
+                .append("  max-players: ").append(8 + i % 16).append('\n')
+                .append("  spawn:\n")
+                .append("    x: ").append(i * 16.5).append('\n')
+                .append("    y: 64.0\n")
+                .append("    z: ").append(i * -8.25).append('\n')
+                .append("  rewards:\n")
+                .append("  - diamond\n")
+                .append("  - emerald\n");
+        }
+        Files.writeString(this.file.toPath(), yaml, StandardCharsets.UTF_8);
+
+        // Writes the binary snapshot, so the benchmark measures reading it.
+        PathConfig.loadConfig(this.file, true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public PathConfig loadBinaryCache() throws IOException, InvalidConfigurationException {
+        return PathConfig.loadConfig(this.file, true);
+    }
+
+    @Benchmark
+    public Object loadLazyAndReadOne() throws IOException, InvalidConfigurationException {
+        return PathConfig.loadLazy(this.file, 64).getString("arena-42.display-name");
+    }
+
+    @Benchmark
+    public PathConfig loadYaml() throws IOException, InvalidConfigurationException {
+        return PathConfig.loadConfig(this.file);
+    }
+}
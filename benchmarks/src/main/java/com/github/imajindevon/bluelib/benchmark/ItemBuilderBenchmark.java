@@ -0,0 +1,42 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.item.ItemBuilder;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemBuilderBenchmark {
+    private ItemBuilder builder;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+
+        this.builder = new ItemBuilder(Material.DIAMOND_SWORD)
+            .setDisplayName("&bSword of the Benchmark")
+            .setCustomModelData(1001)
+            .extendLore("&7A sword forged", "&7in a tight loop.", "", "&eRight-click to use");
+    }
+
+    @Benchmark
+    public ItemStack build() {
+        return this.builder.build();
+    }
+}
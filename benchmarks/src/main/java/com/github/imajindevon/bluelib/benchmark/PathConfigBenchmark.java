@@ -0,0 +1,70 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.config.ConfigKey;
+import com.github.imajindevon.bluelib.config.PathConfig;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathConfigBenchmark {
+    private PathConfig config;
+    private ConfigKey.OfInt maxHomesKey;
+
+    @Setup
+    public void setup() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("settings.homes.max-homes", 3);
+        yaml.set("settings.teleport.delay", 2.5);
+        yaml.set("settings.teleport.enabled", true);
+        yaml.set("messages.welcome", "&aWelcome to the server, &e%player%&a!");
+
+        this.config = new PathConfig("benchmark.yml", yaml);
+        this.maxHomesKey = this.config.intKey("settings.homes.max-homes", 1);
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return this.config.getBoolean("settings.teleport.enabled");
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return this.config.getDouble("settings.teleport.delay");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return this.config.getInt("settings.homes.max-homes");
+    }
+
+    @Benchmark
+    public int getIntKey() {
+        return this.maxHomesKey.getInt();
+    }
+
+    @Benchmark
+    public String getString() {
+        return this.config.getString("messages.welcome");
+    }
+
+    @Benchmark
+    public String getTranslated() {
+        return this.config.getTranslated("messages.welcome");
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.imajindevon.bluelib.benchmark;
+
+import com.github.imajindevon.bluelib.config.reflection.FieldSnapshot;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigInjector;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigWriter;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectiveConfigBenchmark {
+    private YamlConfiguration configuration;
+    private SampleConfig instance;
+    private FieldSnapshot snapshot;
+    private YamlConfiguration target;
+
+    @Setup
+    public void setup() throws IllegalAccessException {
+        this.instance = new SampleConfig();
+        this.configuration = new YamlConfiguration();
+        this.target = new YamlConfiguration();
+        ReflectiveConfigWriter.copyFields(this.instance, this.configuration);
+        this.snapshot = new FieldSnapshot();
+        this.snapshot.capture(this.instance);
+    }
+
+    @Benchmark
+    public boolean copyChangedFieldsUnchanged() {
+        return ReflectiveConfigWriter.copyChangedFields(this.instance, this.target, this.snapshot);
+    }
+
+    @Benchmark
+    public YamlConfiguration copyFields() throws IllegalAccessException {
+        ReflectiveConfigWriter.copyFields(this.instance, this.target);
+        return this.target;
+    }
+
+    @Benchmark
+    public SampleConfig getAndInject() throws IllegalAccessException {
+        ReflectiveConfigInjector.getAndInject(this.instance, this.configuration, false, false);
+        return this.instance;
+    }
+
+    @Benchmark
+    public SampleConfig getAndInjectTranslated() throws IllegalAccessException {
+        ReflectiveConfigInjector.getAndInject(this.instance, this.configuration, true, false);
+        return this.instance;
+    }
+
+    public static class SampleConfig implements ReflectiveConfig {
+        private boolean announceJoins = true;
+        private List<String> disabledWorlds = List.of("world_nether", "world_the_end");
+        private int maxHomes = 3;
+        private int maxPartySize = 8;
+        private String prefix = "&8[&bBlueLib&8] ";
+        private double teleportDelay = 2.5;
+        private String welcomeMessage = "&aWelcome to the server, &e%player%&a!";
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FieldAccessor} with {@link Field#get(Object)} and {@link Field#set(Object, Object)}, and with
+ * handles held in {@code static final} fields, which the JIT treats as constants. This benchmark lives in BlueLib's
+ * package because {@link FieldAccessor} is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessorBenchmark {
+    private static final MethodHandle CONSTANT_INT_GETTER;
+    private static final MethodHandle CONSTANT_INT_SETTER;
+    private static final MethodHandle CONSTANT_OBJECT_GETTER;
+    private static final MethodHandle CONSTANT_OBJECT_SETTER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Field intField = Sample.class.getDeclaredField("maxHomes");
+            Field objectField = Sample.class.getDeclaredField("prefix");
+
+            CONSTANT_INT_GETTER = lookup.unreflectGetter(intField)
+                .asType(MethodType.methodType(int.class, Object.class));
+            CONSTANT_INT_SETTER = lookup.unreflectSetter(intField)
+                .asType(MethodType.methodType(void.class, Object.class, int.class));
+            CONSTANT_OBJECT_GETTER = lookup.unreflectGetter(objectField)
+                .asType(MethodType.methodType(Object.class, Object.class));
+            CONSTANT_OBJECT_SETTER = lookup.unreflectSetter(objectField)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private FieldAccessor.IntAccessor intAccessor;
+    private Field intField;
+    private Sample instance;
+    private FieldAccessor objectAccessor;
+    private Field objectField;
+    private int value;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        this.instance = new Sample();
+        this.intField = Sample.class.getDeclaredField("maxHomes");
+        this.objectField = Sample.class.getDeclaredField("prefix");
+        this.intField.setAccessible(true);
+        this.objectField.setAccessible(true);
+        this.intAccessor = (FieldAccessor.IntAccessor) FieldAccessor.of(this.intField);
+        this.objectAccessor = FieldAccessor.of(this.objectField);
+    }
+
+    @Benchmark
+    public int accessorGetInt() {
+        return this.intAccessor.getInt(this.instance);
+    }
+
+    @Benchmark
+    public Object accessorGetObject() {
+        return this.objectAccessor.get(this.instance);
+    }
+
+    @Benchmark
+    public Sample accessorSetInt() throws IllegalAccessException {
+        this.intAccessor.setInt(this.instance, ++this.value);
+        return this.instance;
+    }
+
+    @Benchmark
+    public Sample accessorSetObject() throws IllegalAccessException {
+        this.objectAccessor.set(this.instance, "&8[&bBlueLib&8] ");
+        return this.instance;
+    }
+
+    @Benchmark
+    public int constantGetInt() throws Throwable {
+        return (int) CONSTANT_INT_GETTER.invokeExact((Object) this.instance);
+    }
+
+    @Benchmark
+    public Object constantGetObject() throws Throwable {
+        return (Object) CONSTANT_OBJECT_GETTER.invokeExact((Object) this.instance);
+    }
+
+    @Benchmark
+    public Sample constantSetInt() throws Throwable {
+        CONSTANT_INT_SETTER.invokeExact((Object) this.instance, ++this.value);
+        return this.instance;
+    }
+
+    @Benchmark
+    public Sample constantSetObject() throws Throwable {
+        CONSTANT_OBJECT_SETTER.invokeExact((Object) this.instance, (Object) "&8[&bBlueLib&8] ");
+        return this.instance;
+    }
+
+    @Benchmark
+    public int reflectGetInt() throws IllegalAccessException {
+        return this.intField.getInt(this.instance);
+    }
+
+    @Benchmark
+    public Object reflectGetObject() throws IllegalAccessException {
+        return this.objectField.get(this.instance);
+    }
+
+    @Benchmark
+    public Sample reflectSetInt() throws IllegalAccessException {
+        this.intField.setInt(this.instance, ++this.value);
+        return this.instance;
+    }
+
+    @Benchmark
+    public Sample reflectSetObject() throws IllegalAccessException {
+        this.objectField.set(this.instance, "&8[&bBlueLib&8] ");
+        return this.instance;
+    }
+
+    public static class Sample {
+        private int maxHomes = 3;
+        private String prefix = "&8[&bBlueLib&8] ";
+    }
+}
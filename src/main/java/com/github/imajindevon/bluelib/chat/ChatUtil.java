@@ -2,27 +2,72 @@ package com.github.imajindevon.bluelib.chat;
 
 import com.github.imajindevon.bluelib.chat.annotation.Colored;
 import com.github.imajindevon.bluelib.chat.annotation.FutureColored;
-import net.md_5.bungee.api.ChatColor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ChatUtil {
+    private static final int DEFAULT_CACHE_SIZE = 4096;
+    /**
+     * The length of the longest message that is cached, so a few long messages cannot take up most of the cache's
+     * memory.
+     */
+    private static final int MAX_CACHED_LENGTH = 256;
+
+    private static final ConcurrentHashMap<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private static volatile int cacheSize = DEFAULT_CACHE_SIZE;
+
     private ChatUtil() {
     }
 
     /**
-     * Translate the color codes within the given message.
+     * Remove every cached translation.
+     *
+     * @see #setCacheSize(int)
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Set the maximum number of translations cached by {@link #translate(String)}. Once the cache is full, it is
+     * cleared before the next translation is cached, so the most frequently translated messages are cached again
+     * quickly, without the cost of tracking their use. The default size is {@value #DEFAULT_CACHE_SIZE}.
+     *
+     * @param maxSize the maximum size, or 0 to disable the cache
+     *
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static void setCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size may not be negative");
+        }
+        cacheSize = maxSize;
+        CACHE.clear();
+    }
+
+    /**
+     * Translate the color codes within the given message. Every {@code &} followed by a color or formatting code is
+     * translated like {@link net.md_5.bungee.api.ChatColor#translateAlternateColorCodes(char, String)} does. Hex
+     * colors may be written as {@code &#RRGGBB}, as well as {@code &x&R&R&G&G&B&B}, and
+     * {@code <gradient:#RRGGBB:#RRGGBB>text</gradient>} colors the text with a gradient through two or more colors.
+     * <p>
+     * The message is translated in a single pass, and translations of short messages are cached, so translating the
+     * same message repeatedly is cheap.
      *
      * @param message the message to translate, or null
      *
      * @return the translated string, or an empty string if the provided message was null
+     *
+     * @see #setCacheSize(int)
      */
     @NotNull
     @Colored
@@ -30,7 +75,27 @@ public final class ChatUtil {
         if (message == null) {
             return "";
         }
-        return ChatColor.translateAlternateColorCodes('&', message);
+        if (ColorTranslator.indexOfSpecial(message) < 0) {
+            return message;
+        }
+
+        int maxSize = cacheSize;
+
+        if (maxSize == 0 || message.length() > MAX_CACHED_LENGTH) {
+            return ColorTranslator.translate(message);
+        }
+
+        String translated = CACHE.get(message);
+
+        if (translated == null) {
+            translated = ColorTranslator.translate(message);
+
+            if (CACHE.size() >= maxSize) {
+                CACHE.clear();
+            }
+            CACHE.put(message, translated);
+        }
+        return translated;
     }
 
     /**
@@ -50,9 +115,13 @@ public final class ChatUtil {
         if (messages == null) {
             return new ArrayList<>(0);
         }
-        return messages.stream()
-            .map(ChatUtil::translate)
-            .collect(Collectors.toList());
+
+        List<String> translated = new ArrayList<>(messages.size());
+
+        for (String message : messages) {
+            translated.add(translate(message));
+        }
+        return translated;
     }
 
     /**
@@ -69,9 +138,13 @@ public final class ChatUtil {
         if (messages == null) {
             return null;
         }
-        return messages.stream()
-            .map(ChatUtil::translateNullable)
-            .collect(Collectors.toList());
+
+        List<String> translated = new ArrayList<>(messages.size());
+
+        for (String message : messages) {
+            translated.add(translateNullable(message));
+        }
+        return translated;
     }
 
     /**
@@ -87,9 +160,49 @@ public final class ChatUtil {
         if (messages == null) {
             return null;
         }
-        return Arrays.stream(messages)
-            .map(ChatUtil::translateNullable)
-            .toArray(String[]::new);
+
+        String[] translated = new String[messages.length];
+
+        for (int i = 0; i < messages.length; i++) {
+            translated[i] = translateNullable(messages[i]);
+        }
+        return translated;
+    }
+
+    /**
+     * Translate the strings of the given list, replacing every string with its translation. Null strings are kept.
+     *
+     * @param messages the messages to translate, which must support {@link List#set(int, Object)}
+     *
+     * @throws UnsupportedOperationException if the list cannot be modified
+     * @see #translateAllNullable(Collection)
+     */
+    public static void translateInPlace(@FutureColored @NotNull List<@Nullable String> messages) {
+        if (messages instanceof RandomAccess) {
+            for (int i = 0; i < messages.size(); i++) {
+                messages.set(i, translateNullable(messages.get(i)));
+            }
+            return;
+        }
+
+        ListIterator<String> iterator = messages.listIterator();
+
+        while (iterator.hasNext()) {
+            iterator.set(translateNullable(iterator.next()));
+        }
+    }
+
+    /**
+     * Translate the strings of the given array, replacing every string with its translation. Null strings are kept.
+     *
+     * @param messages the messages to translate
+     *
+     * @see #translateArray(String...)
+     */
+    public static void translateInPlace(@Nullable String @NotNull @FutureColored [] messages) {
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = translateNullable(messages[i]);
+        }
     }
 
     /**
@@ -0,0 +1,316 @@
+package com.github.imajindevon.bluelib.chat;
+
+import net.md_5.bungee.api.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A single-pass translator of alternate color codes. Every {@code &} followed by a color or formatting code, including
+ * {@code x}, is replaced by {@link ChatColor#COLOR_CHAR} and the lowercase code, exactly like
+ * {@link ChatColor#translateAlternateColorCodes(char, String)} does. In addition, {@code &#RRGGBB} is translated like
+ * {@code &x&R&R&G&G&B&B} is, and {@code <gradient:#RRGGBB:#RRGGBB>text</gradient>}, with two or more stops, colors
+ * every non-whitespace character of its text with a color interpolated between the stops.
+ * <p>
+ * Inside a gradient, formatting codes ({@code &k} to {@code &o}) are repeated after the color of every character, so
+ * they apply to the whole remaining text, {@code &r} clears them, and color codes are removed. A gradient tag that is
+ * malformed or never closed is kept as it is. Gradients cannot be nested.
+ * <p>
+ * The message is read with {@link String#charAt(int)} and written into a single output buffer, which only grows if
+ * hex colors or gradients expand the message beyond its initial capacity. Messages holding neither {@code &} nor
+ * {@code <} are returned as they are, without allocating.
+ */
+final class ColorTranslator {
+    private static final char ALT_COLOR_CHAR = '&';
+    private static final String GRADIENT_CLOSE = "</gradient>";
+    private static final String GRADIENT_OPEN = "<gradient:";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /**
+     * The length of a gradient stop, {@code #RRGGBB} followed by its separator.
+     */
+    private static final int STOP_LENGTH = 8;
+
+    private char[] out;
+    private int size;
+
+    private ColorTranslator(int capacity) {
+        this.out = new char[capacity];
+    }
+
+    private void append(char c) {
+        this.ensureCapacity(1);
+        this.out[this.size++] = c;
+    }
+
+    private void appendCode(char code) {
+        this.ensureCapacity(2);
+        this.out[this.size++] = ChatColor.COLOR_CHAR;
+        this.out[this.size++] = code;
+    }
+
+    private void appendHex(int rgb) {
+        this.ensureCapacity(14);
+        this.out[this.size++] = ChatColor.COLOR_CHAR;
+        this.out[this.size++] = 'x';
+
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            this.out[this.size++] = ChatColor.COLOR_CHAR;
+            this.out[this.size++] = HEX_DIGITS[(rgb >> shift) & 0xF];
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (this.size + additional > this.out.length) {
+            this.out = Arrays.copyOf(this.out, Math.max(this.out.length * 2, this.size + additional));
+        }
+    }
+
+    /**
+     * Translate the gradient whose opening tag starts at the given index.
+     *
+     * @param message  the message
+     * @param tagStart the index of the opening tag
+     * @param end      the end of the translated range
+     *
+     * @return the index after the closing tag, or -1 if the gradient is malformed and nothing was written
+     */
+    private int gradient(@NotNull String message, int tagStart, int end) {
+        int firstStop = tagStart + GRADIENT_OPEN.length();
+        int position = firstStop;
+        int stops = 0;
+
+        while (true) {
+            if (position + 7 >= end || message.charAt(position) != '#' || !isHex(message, position + 1)) {
+                return -1;
+            }
+            stops++;
+            position += 7;
+
+            char separator = message.charAt(position);
+
+            if (separator == '>') {
+                break;
+            }
+            if (separator != ':') {
+                return -1;
+            }
+            position++;
+        }
+
+        int textStart = position + 1;
+        int close = message.indexOf(GRADIENT_CLOSE, textStart);
+
+        if (stops < 2 || close < 0 || close + GRADIENT_CLOSE.length() > end) {
+            return -1;
+        }
+
+        int glyphs = countGlyphs(message, textStart, close);
+        int glyph = 0;
+        int formats = 0;
+
+        for (int i = textStart; i < close; i++) {
+            char c = message.charAt(i);
+            int codeLength = codeLength(message, i, close);
+
+            if (codeLength != 0) {
+                char code = Character.toLowerCase(message.charAt(i + 1));
+
+                if (code >= 'k' && code <= 'o') {
+                    formats |= 1 << (code - 'k');
+                } else if (code == 'r') {
+                    formats = 0;
+                }
+                i += codeLength - 1;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                this.append(c);
+                continue;
+            }
+
+            this.appendHex(interpolate(message, firstStop + 1, stops, glyphs, glyph++));
+
+            for (int format = 0; format < 5; format++) {
+                if ((formats & 1 << format) != 0) {
+                    this.appendCode((char) ('k' + format));
+                }
+            }
+            this.append(c);
+
+            if (Character.isHighSurrogate(c) && i + 1 < close && Character.isLowSurrogate(message.charAt(i + 1))) {
+                this.append(message.charAt(++i));
+            }
+        }
+        return close + GRADIENT_CLOSE.length();
+    }
+
+    private void translate(@NotNull String message, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+
+            if (c == ALT_COLOR_CHAR && i + 1 < end) {
+                char next = message.charAt(i + 1);
+
+                if (next == '#' && i + 7 < end && isHex(message, i + 2)) {
+                    this.appendHex(parseHex(message, i + 2));
+                    i += 7;
+                    continue;
+                }
+                if (isCode(next)) {
+                    this.appendCode(Character.toLowerCase(next));
+                    i++;
+                    continue;
+                }
+            } else if (c == '<' && message.startsWith(GRADIENT_OPEN, i)) {
+                int next = this.gradient(message, i, end);
+
+                if (next >= 0) {
+                    i = next - 1;
+                    continue;
+                }
+            }
+            this.append(c);
+        }
+    }
+
+    /**
+     * Get the length of the alternate color code at the given index.
+     *
+     * @param message the message
+     * @param index   the index
+     * @param end     the end of the range the code must fit in
+     *
+     * @return 8 for a hex color, 2 for any other code, or 0 if there is no code at the index
+     */
+    private static int codeLength(@NotNull String message, int index, int end) {
+        if (message.charAt(index) != ALT_COLOR_CHAR || index + 1 >= end) {
+            return 0;
+        }
+
+        char next = message.charAt(index + 1);
+
+        if (next == '#' && index + 7 < end && isHex(message, index + 2)) {
+            return 8;
+        }
+        return isCode(next) ? 2 : 0;
+    }
+
+    private static int countGlyphs(@NotNull String message, int start, int end) {
+        int glyphs = 0;
+
+        for (int i = start; i < end; i++) {
+            int codeLength = codeLength(message, i, end);
+
+            if (codeLength != 0) {
+                i += codeLength - 1;
+                continue;
+            }
+
+            char c = message.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(message.charAt(i + 1))) {
+                i++;
+            }
+            glyphs++;
+        }
+        return glyphs;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int interpolate(@NotNull String message, int firstStop, int stops, int glyphs, int glyph) {
+        double progress = glyphs <= 1 ? 0 : (double) glyph / (glyphs - 1) * (stops - 1);
+        int segment = Math.min((int) progress, stops - 2);
+        double ratio = progress - segment;
+
+        int from = parseHex(message, firstStop + segment * STOP_LENGTH);
+        int to = parseHex(message, firstStop + (segment + 1) * STOP_LENGTH);
+        int rgb = 0;
+
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int start = (from >> shift) & 0xFF;
+            int channel = (int) Math.round(start + (((to >> shift) & 0xFF) - start) * ratio);
+            rgb |= channel << shift;
+        }
+        return rgb;
+    }
+
+    private static boolean isCode(char c) {
+        return c >= '0' && c <= '9'
+            || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F'
+            || c >= 'k' && c <= 'o' || c >= 'K' && c <= 'O'
+            || c == 'r' || c == 'R' || c == 'x' || c == 'X';
+    }
+
+    private static boolean isHex(@NotNull String message, int start) {
+        for (int i = start; i < start + 6; i++) {
+            if (hexValue(message.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first character of the given message that may start something to translate.
+     *
+     * @param message the message
+     *
+     * @return the index of the first {@code &} or {@code <}, or -1 if there is none
+     */
+    static int indexOfSpecial(@NotNull String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+
+            if (c == ALT_COLOR_CHAR || c == '<') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseHex(@NotNull String message, int start) {
+        int rgb = 0;
+
+        for (int i = start; i < start + 6; i++) {
+            rgb = rgb << 4 | hexValue(message.charAt(i));
+        }
+        return rgb;
+    }
+
+    /**
+     * Translate the given message.
+     *
+     * @param message the message
+     *
+     * @return the translated message, or the message itself if it holds nothing to translate
+     */
+    @NotNull
+    static String translate(@NotNull String message) {
+        int first = indexOfSpecial(message);
+
+        if (first < 0) {
+            return message;
+        }
+
+        ColorTranslator translator = new ColorTranslator(message.length() + 16);
+        message.getChars(0, first, translator.out, 0);
+        translator.size = first;
+        translator.translate(message, first, message.length());
+        return new String(translator.out, 0, translator.size);
+    }
+}
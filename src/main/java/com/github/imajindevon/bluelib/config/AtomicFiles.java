@@ -0,0 +1,71 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Utility class for writing files so that a crash never leaves a truncated file behind.
+ */
+final class AtomicFiles {
+    private AtomicFiles() {
+    }
+
+    /**
+     * Replace the contents of the given file. The data is written to a temporary file in the same directory and forced
+     * to disk, which then atomically replaces the target. Readers see either the previous or the new contents, never a
+     * partially written file. Missing parent directories are created.
+     *
+     * @param target the file to write
+     * @param data   the new contents
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    static void write(@NotNull Path target, byte @NotNull [] data) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path temp = directory.resolve(
+            "." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp"
+        );
+
+        try {
+            try (FileChannel channel = FileChannel.open(
+                temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE
+            ))
+            {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        forceDirectory(directory);
+    }
+
+    private static void forceDirectory(@NotNull Path directory) {
+        // Persists the rename itself. Not every platform allows opening a directory, in which case this is skipped.
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+}
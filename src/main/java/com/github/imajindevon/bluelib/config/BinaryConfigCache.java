@@ -0,0 +1,147 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.config.binary.ConfigValueCodec;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Utility class for loading YAML configurations through a binary snapshot stored next to them. The snapshot of
+ * {@code config.yml} is the hidden file {@code .config.yml.bin}, encoded by {@link ConfigValueCodec}. A snapshot is
+ * only used if the modification time, size and SHA-256 hash of the YAML file match those it was written for;
+ * otherwise, the YAML file is parsed and the snapshot is rewritten.
+ *
+ * @see PathConfig#loadConfig(File, boolean)
+ */
+final class BinaryConfigCache {
+    private static final int MAGIC = 0x424C4343;
+    private static final int VERSION = 2;
+
+    private BinaryConfigCache() {
+    }
+
+    /**
+     * Get the snapshot file of the given YAML file.
+     *
+     * @param source the YAML file
+     *
+     * @return the snapshot file
+     */
+    @NotNull
+    static File cacheFileOf(@NotNull File source) {
+        return new File(source.getParentFile(), "." + source.getName() + ".bin");
+    }
+
+    /**
+     * Load the given YAML file, reading its snapshot instead of parsing it if the file is unchanged.
+     *
+     * @param file the YAML file
+     *
+     * @return the new config
+     *
+     * @throws FileNotFoundException         if the file does not exist
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the file has changed and is not a valid configuration
+     */
+    @NotNull
+    static PathConfig load(@NotNull File file) throws IOException, InvalidConfigurationException,
+        FileNotFoundException
+    {
+        File canonicalFile = file.getCanonicalFile();
+        byte[] data;
+
+        try (InputStream stream = new FileInputStream(canonicalFile)) {
+            data = stream.readAllBytes();
+        }
+
+        long modified = Files.getLastModifiedTime(canonicalFile.toPath()).toMillis();
+        byte[] hash = ContentHashes.sha256(data);
+        File cacheFile = cacheFileOf(canonicalFile);
+        YamlConfiguration config = read(cacheFile, modified, data.length, hash);
+
+        if (config == null) {
+            config = new YamlConfiguration();
+            config.loadFromString(new String(data, StandardCharsets.UTF_8));
+            write(cacheFile, config, modified, data.length, hash);
+        }
+
+        PathConfig pathConfig = new PathConfig(canonicalFile.getPath(), config);
+        pathConfig.markPersisted(hash);
+        return pathConfig;
+    }
+
+    @Nullable
+    private static YamlConfiguration read(@NotNull File cacheFile, long modified, long size, byte @NotNull [] hash) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                || in.readLong() != modified || in.readLong() != size)
+            {
+                return null;
+            }
+
+            byte[] cachedHash = new byte[hash.length];
+            in.readFully(cachedHash);
+
+            if (!Arrays.equals(hash, cachedHash)) {
+                return null;
+            }
+
+            YamlConfiguration config = new YamlConfiguration();
+            config.options().setHeader(ConfigValueCodec.readStrings(in));
+            config.options().setFooter(ConfigValueCodec.readStrings(in));
+            ConfigValueCodec.readSection(in, config);
+            return config;
+        } catch (IOException | RuntimeException exception) {
+            // A corrupt snapshot, or one holding a type that can no longer be deserialized, is simply rewritten.
+            return null;
+        }
+    }
+
+    private static void write(
+        @NotNull File cacheFile, @NotNull YamlConfiguration config,
+        long modified, long size, byte @NotNull [] hash
+    )
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(modified);
+            out.writeLong(size);
+            out.write(hash);
+            ConfigValueCodec.writeStrings(out, config.options().getHeader());
+            ConfigValueCodec.writeStrings(out, config.options().getFooter());
+            ConfigValueCodec.writeSection(out, config);
+        } catch (IOException | IllegalArgumentException exception) {
+            // The configuration holds a value that cannot be encoded, so it is always parsed from YAML.
+            cacheFile.delete();
+            return;
+        }
+
+        try {
+            AtomicFiles.write(cacheFile.toPath(), bytes.toByteArray());
+        } catch (IOException exception) {
+            // The snapshot is only an optimization, the configuration was loaded regardless.
+            cacheFile.delete();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.config.store.StoreConfiguration;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Opt-in hot reloading of {@link PathConfig}s. Every watched config shares a single watcher thread built on
+ * {@link WatchService}. File events are debounced and deduplicated per file, the file is then read and parsed off the
+ * main thread, and the result is only applied, on the main thread, if the content hash of the file differs from the
+ * contents the config was last loaded from or saved with.
+ * <p>
+ * The watcher thread and the reloader thread are started when the first file is watched, and stopped once no file is
+ * watched anymore. Every file watched on behalf of a plugin is unwatched when the plugin is disabled.
+ *
+ * @see PathConfig#replaceContents(ParsedConfig)
+ * @since 1.1.0
+ */
+public final class ConfigFileWatcher {
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+
+    private static final Map<Path, WatchedFile> WATCHED_FILES = new ConcurrentHashMap<>();
+    private static final Map<Path, WatchKey> WATCHED_DIRECTORIES = new HashMap<>();
+    private static final Set<Plugin> WATCHING_PLUGINS = ConcurrentHashMap.newKeySet();
+
+    private static volatile long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+    private static ScheduledExecutorService reloadExecutor;
+    private static WatchService watchService;
+
+    private ConfigFileWatcher() {
+    }
+
+    /**
+     * Set how long a file must stay unmodified before it is reloaded. Editors commonly write a file several times when
+     * saving it, so events closer together than this are coalesced into a single reload.
+     *
+     * @param millis the debounce window in milliseconds
+     */
+    public static void setDebounceMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Debounce window may not be negative");
+        }
+        debounceMillis = millis;
+    }
+
+    /**
+     * Stop watching the file of the given config.
+     *
+     * @param config the config
+     */
+    public static void unwatch(@NotNull PathConfig config) {
+        WatchedFile watched = WATCHED_FILES.remove(toPath(config));
+
+        if (watched != null) {
+            watched.cancelPending();
+            releaseDirectory(watched.path.getParent());
+        }
+    }
+
+    /**
+     * Stop watching every file watched on behalf of the given plugin. This is called automatically when the plugin is
+     * disabled.
+     *
+     * @param plugin the plugin
+     */
+    public static void unwatchAll(@NotNull Plugin plugin) {
+        for (WatchedFile watched : WATCHED_FILES.values()) {
+            if (watched.plugin == plugin) {
+                unwatch(watched.config);
+            }
+        }
+    }
+
+    /**
+     * Start watching the file of the given config. When the file's content changes, it is parsed off the main thread
+     * and then applied to the config on the main thread, after which {@code afterReload} is run on the main thread.
+     * If the file cannot be parsed, a warning is logged and the config keeps its current contents. If the config is
+     * saved before the parsed contents are applied, they are discarded. Lazily loaded configs are reloaded from their
+     * file on the main thread instead, so they stay lazy.
+     *
+     * @param plugin      the plugin owning the config
+     * @param config      the config to reload
+     * @param afterReload the task to run after the config was reloaded, or null
+     *
+     * @throws IOException              if the file's directory cannot be watched
+     * @throws IllegalArgumentException if the config was opened through {@link PathConfig#openStore(java.io.File)}
+     */
+    public static void watch(@NotNull Plugin plugin, @NotNull PathConfig config, @Nullable Runnable afterReload)
+    throws IOException
+    {
+        if (config.config() instanceof StoreConfiguration) {
+            throw new IllegalArgumentException("Stores are not YAML files, and cannot be watched");
+        }
+
+        Path path = toPath(config);
+        WatchedFile watched = new WatchedFile(plugin, config, path, afterReload);
+
+        if (config.persistedHash() == null && Files.exists(path)) {
+            config.markPersisted(ContentHashes.sha256(Files.readAllBytes(path)));
+        }
+
+        WatchedFile previous;
+
+        // Registering and adding the file at once keeps releaseDirectory from cancelling the directory in between.
+        synchronized (ConfigFileWatcher.class) {
+            registerDirectory(path.getParent());
+            previous = WATCHED_FILES.put(path, watched);
+        }
+
+        if (previous != null) {
+            previous.cancelPending();
+        }
+        if (WATCHING_PLUGINS.add(plugin)) {
+            if (plugin.isEnabled()) {
+                Bukkit.getPluginManager().registerEvents(new DisableListener(plugin), plugin);
+            } else {
+                WATCHING_PLUGINS.remove(plugin);
+            }
+        }
+    }
+
+    private static synchronized void registerDirectory(@NotNull Path directory) throws IOException {
+        if (watchService == null) {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "BlueLib Config Reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            ScheduledExecutorService executor = reloadExecutor;
+            Thread watcherThread = new Thread(() -> pollEvents(service, executor), "BlueLib Config Watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+            watchService = service;
+        }
+
+        if (!WATCHED_DIRECTORIES.containsKey(directory)) {
+            WATCHED_DIRECTORIES.put(directory, directory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            ));
+        }
+    }
+
+    private static synchronized void releaseDirectory(@NotNull Path directory) {
+        for (Path path : WATCHED_FILES.keySet()) {
+            if (directory.equals(path.getParent())) {
+                return;
+            }
+        }
+
+        WatchKey key = WATCHED_DIRECTORIES.remove(directory);
+
+        if (key != null) {
+            key.cancel();
+        }
+        if (WATCHED_DIRECTORIES.isEmpty() && watchService != null) {
+            // Closing the service stops the watcher thread, and pending reloads are of files no longer watched.
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // The service is discarded either way.
+            }
+            reloadExecutor.shutdownNow();
+            watchService = null;
+            reloadExecutor = null;
+        }
+    }
+
+    private static void pollEvents(@NotNull WatchService service, @NotNull ScheduledExecutorService executor) {
+        while (true) {
+            WatchKey key;
+
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException exception) {
+                return;
+            }
+
+            Path directory = (Path) key.watchable();
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Events were lost, so every file in the directory may have changed.
+                    for (WatchedFile watched : WATCHED_FILES.values()) {
+                        if (directory.equals(watched.path.getParent())) {
+                            watched.schedule(executor);
+                        }
+                    }
+                    continue;
+                }
+
+                WatchedFile watched = WATCHED_FILES.get(directory.resolve((Path) event.context()));
+
+                if (watched != null) {
+                    watched.schedule(executor);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    @NotNull
+    private static Path toPath(@NotNull PathConfig config) {
+        return Paths.get(config.filePath()).toAbsolutePath().normalize();
+    }
+
+    private static final class WatchedFile {
+        private final Runnable afterReload;
+        private final PathConfig config;
+        private final Path path;
+        private final Plugin plugin;
+        private ScheduledFuture<?> pending;
+
+        private WatchedFile(
+            @NotNull Plugin plugin, @NotNull PathConfig config,
+            @NotNull Path path, @Nullable Runnable afterReload
+        )
+        {
+            this.plugin = plugin;
+            this.config = config;
+            this.path = path;
+            this.afterReload = afterReload;
+        }
+
+        private synchronized void cancelPending() {
+            if (this.pending != null) {
+                this.pending.cancel(false);
+                this.pending = null;
+            }
+        }
+
+        private void afterReload() {
+            if (this.afterReload != null) {
+                this.afterReload.run();
+            }
+        }
+
+        private boolean isActive() {
+            return this.plugin.isEnabled() && WATCHED_FILES.get(this.path) == this;
+        }
+
+        private void logInvalid(@NotNull InvalidConfigurationException exception) {
+            this.plugin.getLogger().log(
+                Level.WARNING, "Not reloading " + this.path + ", as it is not a valid configuration", exception
+            );
+        }
+
+        private void reload() {
+            if (this.config.config() instanceof LazyYamlConfiguration) {
+                this.reloadLazy();
+                return;
+            }
+
+            ParsedConfig parsed;
+
+            try {
+                // Also skips the events caused by saving the config itself.
+                parsed = this.config.parseFileIfChanged();
+            } catch (IOException exception) {
+                // The file was removed or is still being replaced; a later event will pick it up.
+                return;
+            } catch (InvalidConfigurationException exception) {
+                this.logInvalid(exception);
+                return;
+            }
+
+            if (parsed == null || !this.isActive()) {
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this.plugin, () -> {
+                // If the config was saved since, the parsed contents are older than the config's. If the file was
+                // modified since, its newer contents are reloaded on the event the modification caused.
+                if (!this.config.isCurrent(parsed)) {
+                    return;
+                }
+                this.config.replaceContents(parsed);
+                this.afterReload();
+            });
+        }
+
+        private void reloadLazy() {
+            // Replacing its contents would materialize every entry, so a lazy config is reloaded from its file.
+            long persistCount = this.config.persistCount();
+            byte[] hash;
+
+            try {
+                hash = ContentHashes.sha256(Files.readAllBytes(this.path));
+            } catch (IOException exception) {
+                return;
+            }
+
+            if (Arrays.equals(hash, this.config.persistedHash()) || !this.isActive()) {
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this.plugin, () -> {
+                if (this.config.persistCount() != persistCount) {
+                    return;
+                }
+
+                try {
+                    this.config.reload();
+                } catch (IOException exception) {
+                    return;
+                } catch (InvalidConfigurationException exception) {
+                    this.logInvalid(exception);
+                    return;
+                }
+                this.afterReload();
+            });
+        }
+
+        private synchronized void schedule(@NotNull ScheduledExecutorService executor) {
+            this.cancelPending();
+
+            try {
+                this.pending = executor.schedule(this::reload, debounceMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // The last file was unwatched, which shut the executor down.
+            }
+        }
+    }
+
+    private record DisableListener(@NotNull Plugin plugin) implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(@NotNull PluginDisableEvent event) {
+            if (event.getPlugin() == this.plugin) {
+                // The listener is unregistered along with the plugin, so it must be registered again if re-enabled.
+                WATCHING_PLUGINS.remove(this.plugin);
+                unwatchAll(this.plugin);
+            }
+        }
+    }
+}
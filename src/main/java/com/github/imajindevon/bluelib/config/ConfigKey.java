@@ -0,0 +1,198 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * A handle to a single value of a {@link PathConfig}. The value is resolved once, and then cached until the config is
+ * reloaded or modified through {@link PathConfig#set(String, Object)}, so repeated reads skip walking the dotted path.
+ * The primitive variants, {@link OfInt}, {@link OfDouble} and {@link OfBoolean}, cache their value without boxing.
+ * <p>
+ * If the inner {@link org.bukkit.configuration.file.FileConfiguration} is modified directly,
+ * {@link PathConfig#invalidate()} must be called for handles to observe the change.
+ *
+ * @param <T> the type of the value
+ *
+ * @see PathConfig#key(String, Class, Object)
+ * @since 1.1.0
+ */
+public abstract class ConfigKey<T> {
+    private static final int UNRESOLVED = -1;
+
+    final PathConfig config;
+    final String path;
+    volatile int generation = UNRESOLVED;
+
+    private ConfigKey(@NotNull PathConfig config, @NotNull String path) {
+        this.config = config;
+        this.path = path;
+    }
+
+    /**
+     * Get the config this handle reads from.
+     *
+     * @return the config
+     */
+    @NotNull
+    public PathConfig config() {
+        return this.config;
+    }
+
+    /**
+     * Get the value, resolving it again if the config changed since it was last resolved.
+     *
+     * @return the value
+     */
+    public abstract T get();
+
+    /**
+     * Get the path of the value.
+     *
+     * @return the path
+     */
+    @NotNull
+    public String path() {
+        return this.path;
+    }
+
+    static final class ObjectKey<T> extends ConfigKey<T> {
+        private final Function<PathConfig, T> resolver;
+        private T value;
+
+        ObjectKey(@NotNull PathConfig config, @NotNull String path, @NotNull Function<PathConfig, T> resolver) {
+            super(config, path);
+            this.resolver = resolver;
+        }
+
+        @Override
+        @Nullable
+        public T get() {
+            int current = this.config.generation();
+
+            if (current != this.generation) {
+                this.value = this.resolver.apply(this.config);
+                this.generation = current;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * A handle to a boolean value, which is cached without boxing.
+     *
+     * @see PathConfig#booleanKey(String, boolean)
+     */
+    public static final class OfBoolean extends ConfigKey<Boolean> {
+        private final boolean def;
+        private boolean value;
+
+        OfBoolean(@NotNull PathConfig config, @NotNull String path, boolean def) {
+            super(config, path);
+            this.def = def;
+        }
+
+        /**
+         * {@inheritDoc} This boxes the value, prefer {@link #getBoolean()}.
+         */
+        @Override
+        @NotNull
+        public Boolean get() {
+            return this.getBoolean();
+        }
+
+        /**
+         * Get the value, resolving it again if the config changed since it was last resolved.
+         *
+         * @return the value, or the default value if it doesn't exist
+         */
+        public boolean getBoolean() {
+            int current = this.config.generation();
+
+            if (current != this.generation) {
+                this.value = this.config.getBoolean(this.path, this.def);
+                this.generation = current;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * A handle to a double value, which is cached without boxing.
+     *
+     * @see PathConfig#doubleKey(String, double)
+     */
+    public static final class OfDouble extends ConfigKey<Double> {
+        private final double def;
+        private double value;
+
+        OfDouble(@NotNull PathConfig config, @NotNull String path, double def) {
+            super(config, path);
+            this.def = def;
+        }
+
+        /**
+         * {@inheritDoc} This boxes the value, prefer {@link #getDouble()}.
+         */
+        @Override
+        @NotNull
+        public Double get() {
+            return this.getDouble();
+        }
+
+        /**
+         * Get the value, resolving it again if the config changed since it was last resolved.
+         *
+         * @return the value, or the default value if it doesn't exist
+         */
+        public double getDouble() {
+            int current = this.config.generation();
+
+            if (current != this.generation) {
+                this.value = this.config.getDouble(this.path, this.def);
+                this.generation = current;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * A handle to an int value, which is cached without boxing.
+     *
+     * @see PathConfig#intKey(String, int)
+     */
+    public static final class OfInt extends ConfigKey<Integer> {
+        private final int def;
+        private int value;
+
+        OfInt(@NotNull PathConfig config, @NotNull String path, int def) {
+            super(config, path);
+            this.def = def;
+        }
+
+        /**
+         * {@inheritDoc} This boxes the value, prefer {@link #getInt()}.
+         */
+        @Override
+        @NotNull
+        public Integer get() {
+            return this.getInt();
+        }
+
+        /**
+         * Get the value, resolving it again if the config changed since it was last resolved.
+         *
+         * @return the value, or the default value if it doesn't exist
+         */
+        public int getInt() {
+            int current = this.config.generation();
+
+            if (current != this.generation) {
+                this.value = this.config.getInt(this.path, this.def);
+                this.generation = current;
+            }
+            return this.value;
+        }
+    }
+}
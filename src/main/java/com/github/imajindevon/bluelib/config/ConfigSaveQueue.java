@@ -0,0 +1,335 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A write-behind queue for {@link PathConfig} saves, owned by a single plugin. Saves requested for the same file within
+ * the queue's window are coalesced into a single write, and at most one write per file is in flight at any time. If a
+ * save is requested while the file is being written, the file is written again once the current write completes.
+ * <p>
+ * Every request takes a snapshot of the config on the requesting thread, and the write serializes the latest snapshot,
+ * so requests never race with later modifications of the config. The time spent taking snapshots is reported by
+ * {@link #snapshotNanos()} and {@link #maxSnapshotNanos()}.
+ * <p>
+ * Every pending save is flushed synchronously when the owning plugin is disabled, after which the queue is discarded.
+ * If the plugin is enabled again, {@link #of(Plugin)} creates a new queue for it.
+ *
+ * @see PathConfig#saveAsync(Plugin, Consumer)
+ * @since 1.1.0
+ */
+public final class ConfigSaveQueue {
+    private static final long DEFAULT_WINDOW_TICKS = 20;
+
+    private static final Map<Plugin, ConfigSaveQueue> QUEUES = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedSaves = new LongAdder();
+    private final LongAdder completedSaves = new LongAdder();
+    private final AtomicLong maxSnapshotNanos = new AtomicLong();
+    private final Map<String, PendingSave> pendingSaves = new ConcurrentHashMap<>();
+    private final Plugin plugin;
+    private final LongAdder requestedSaves = new LongAdder();
+    private final LongAdder snapshotNanos = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private volatile boolean closed;
+    private volatile long windowTicks = DEFAULT_WINDOW_TICKS;
+
+    private ConfigSaveQueue(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Get the number of save requests that were merged into an already pending save, instead of causing a write.
+     *
+     * @return the number of coalesced saves
+     */
+    public long coalescedSaves() {
+        return this.coalescedSaves.sum();
+    }
+
+    /**
+     * Get the number of writes that completed, whether successfully or not.
+     *
+     * @return the number of completed writes
+     */
+    public long completedSaves() {
+        return this.completedSaves.sum();
+    }
+
+    /**
+     * Request the given config to be saved. A snapshot of the config is taken on the calling thread, and written once
+     * the window has passed, replacing the snapshots of every other save requested for the same file in the meantime.
+     * If the owning plugin is not enabled, or is being disabled, or the config cannot be snapshotted, the config is
+     * saved on the calling thread instead.
+     *
+     * @param config           the config to save
+     * @param exceptionHandler the handler notified if the write fails
+     */
+    public void enqueue(@NotNull PathConfig config, @NotNull Consumer<IOException> exceptionHandler) {
+        this.requestedSaves.increment();
+
+        PendingSave pending = this.pendingSaves.computeIfAbsent(config.filePath(), path -> new PendingSave());
+
+        if (this.closed || !this.plugin.isEnabled()) {
+            this.writeNow(pending, config, exceptionHandler);
+            return;
+        }
+
+        PathConfig.PreparedSave snapshot = this.takeSnapshot(config);
+
+        if (snapshot == null) {
+            // Serializing the config on another thread would race with its modifications.
+            this.writeNow(pending, config, exceptionHandler);
+            return;
+        }
+        if (pending.request(config, snapshot, exceptionHandler, this.coalescedSaves, true)) {
+            this.schedule(pending);
+        }
+    }
+
+    /**
+     * Write every pending save on the calling thread, waiting for writes that are already in flight.
+     */
+    public void flushAll() {
+        for (PendingSave pending : this.pendingSaves.values()) {
+            this.write(pending);
+        }
+    }
+
+    /**
+     * Get the longest time a single snapshot took, which is the longest a requesting thread was paused by this queue.
+     *
+     * @return the longest snapshot time in nanoseconds
+     */
+    public long maxSnapshotNanos() {
+        return this.maxSnapshotNanos.get();
+    }
+
+    /**
+     * Get the number of saves requested through this queue.
+     *
+     * @return the number of requested saves
+     */
+    public long requestedSaves() {
+        return this.requestedSaves.sum();
+    }
+
+    /**
+     * Set how long saves are held back to be coalesced with later saves of the same file.
+     *
+     * @param ticks the window in server ticks
+     */
+    public void setWindowTicks(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Window may not be negative");
+        }
+        this.windowTicks = ticks;
+    }
+
+    /**
+     * Get the total time spent taking snapshots on the requesting threads. Divided by {@link #snapshots()}, this is
+     * the average pause of a save request.
+     *
+     * @return the total snapshot time in nanoseconds
+     */
+    public long snapshotNanos() {
+        return this.snapshotNanos.sum();
+    }
+
+    /**
+     * Get the number of snapshots taken. Configs that cannot be snapshotted are not counted.
+     *
+     * @return the number of snapshots
+     */
+    public long snapshots() {
+        return this.snapshots.sum();
+    }
+
+    private void retake(@NotNull PathConfig config, @NotNull List<Consumer<IOException>> handlers)
+    throws IOException
+    {
+        if (this.closed || !this.plugin.isEnabled()) {
+            config.save();
+            return;
+        }
+        // Snapshots must be taken on the main thread.
+        Bukkit.getScheduler().runTask(this.plugin, () -> {
+            for (Consumer<IOException> handler : handlers) {
+                this.enqueue(config, handler);
+            }
+        });
+    }
+
+    private void schedule(@NotNull PendingSave pending) {
+        Bukkit.getScheduler().runTaskLaterAsynchronously(this.plugin, () -> {
+            this.write(pending);
+
+            if (pending.finishWrite()) {
+                this.schedule(pending);
+            }
+        }, this.windowTicks);
+    }
+
+    @Nullable
+    private PathConfig.PreparedSave takeSnapshot(@NotNull PathConfig config) {
+        long start = System.nanoTime();
+        PathConfig.PreparedSave snapshot = config.snapshot();
+
+        if (snapshot != null) {
+            long elapsed = System.nanoTime() - start;
+            this.snapshots.increment();
+            this.snapshotNanos.add(elapsed);
+            this.maxSnapshotNanos.accumulateAndGet(elapsed, Math::max);
+        }
+        return snapshot;
+    }
+
+    private void writeNow(
+        @NotNull PendingSave pending, @NotNull PathConfig config,
+        @NotNull Consumer<IOException> exceptionHandler
+    )
+    {
+        // No task finishes this write, so it must not be marked as scheduled, or later requests would never be.
+        pending.request(config, null, exceptionHandler, this.coalescedSaves, false);
+        this.write(pending);
+    }
+
+    private void write(@NotNull PendingSave pending) {
+        synchronized (pending.writeLock) {
+            PathConfig config;
+            PathConfig.PreparedSave snapshot;
+            List<Consumer<IOException>> handlers;
+
+            synchronized (pending) {
+                if (!pending.dirty) {
+                    return;
+                }
+                config = pending.config;
+                snapshot = pending.snapshot;
+                handlers = pending.handlers;
+                pending.dirty = false;
+                pending.snapshot = null;
+                pending.handlers = new ArrayList<>(1);
+            }
+
+            try {
+                if (snapshot != null) {
+                    if (!snapshot.write()) {
+                        this.retake(config, handlers);
+                    }
+                } else {
+                    config.save();
+                }
+            } catch (IOException exception) {
+                for (Consumer<IOException> handler : handlers) {
+                    handler.accept(exception);
+                }
+            } finally {
+                this.completedSaves.increment();
+            }
+        }
+    }
+
+    /**
+     * Get the save queue of the given plugin, creating it if it does not exist yet. A plugin that is not enabled gets
+     * a new queue on every call, which writes every save on the calling thread.
+     *
+     * @param plugin the plugin
+     *
+     * @return the save queue
+     */
+    @NotNull
+    public static ConfigSaveQueue of(@NotNull Plugin plugin) {
+        ConfigSaveQueue existing = QUEUES.get(plugin);
+
+        if (existing != null) {
+            return existing;
+        }
+        if (!plugin.isEnabled()) {
+            // No disable event would remove the queue of a disabled plugin, so it is not kept.
+            ConfigSaveQueue queue = new ConfigSaveQueue(plugin);
+            queue.closed = true;
+            return queue;
+        }
+        return QUEUES.computeIfAbsent(plugin, owner -> {
+            ConfigSaveQueue queue = new ConfigSaveQueue(owner);
+            Bukkit.getPluginManager().registerEvents(new DisableListener(queue), owner);
+            return queue;
+        });
+    }
+
+    private static final class PendingSave {
+        private final Object writeLock = new Object();
+        private PathConfig config;
+        private boolean dirty;
+        private List<Consumer<IOException>> handlers = new ArrayList<>(1);
+        private boolean scheduled;
+        private PathConfig.PreparedSave snapshot;
+
+        /**
+         * Called after a scheduled write finished.
+         *
+         * @return true if the file was marked dirty again during the write, and must be scheduled again
+         */
+        private synchronized boolean finishWrite() {
+            this.scheduled = this.dirty;
+            return this.scheduled;
+        }
+
+        /**
+         * Mark the file as dirty.
+         *
+         * @param schedule whether a write is to be scheduled, or the file is written on the calling thread instead
+         *
+         * @return true if a write must be scheduled, or false if a write is already scheduled or none is to be
+         */
+        private synchronized boolean request(
+            @NotNull PathConfig config, @Nullable PathConfig.PreparedSave snapshot,
+            @NotNull Consumer<IOException> handler, @NotNull LongAdder coalescedSaves, boolean schedule
+        )
+        {
+            if (this.dirty) {
+                coalescedSaves.increment();
+            }
+            this.config = config;
+            this.snapshot = snapshot;
+            this.dirty = true;
+
+            if (!this.handlers.contains(handler)) {
+                this.handlers.add(handler);
+            }
+            if (!schedule || this.scheduled) {
+                return false;
+            }
+            this.scheduled = true;
+            return true;
+        }
+    }
+
+    private record DisableListener(@NotNull ConfigSaveQueue queue) implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(@NotNull PluginDisableEvent event) {
+            if (event.getPlugin() == this.queue.plugin) {
+                // Tasks of a disabled plugin are cancelled, so every later save is written synchronously.
+                this.queue.closed = true;
+                this.queue.flushAll();
+                QUEUES.remove(this.queue.plugin, this.queue);
+            }
+        }
+    }
+}
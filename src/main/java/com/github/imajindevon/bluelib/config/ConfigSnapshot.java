@@ -0,0 +1,206 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A detached copy of the contents of a {@link YamlConfiguration}, taken so the configuration can be serialized on
+ * another thread while the original keeps being modified. The entries are flattened into arrays in document order,
+ * each holding its key, its depth and its value or a section marker, along with its comments.
+ * <p>
+ * Lists and maps are copied, and {@link ConfigurationSerializable} values are flattened into the maps they are
+ * represented by in YAML, so no value of the snapshot is shared with the configuration. Serializing the snapshot
+ * therefore produces the same document the configuration would have produced when the snapshot was taken.
+ */
+final class ConfigSnapshot {
+    private static final Object SECTION = new Object();
+
+    private final List<List<String>> comments;
+    private final int[] depths;
+    private final List<String> footer;
+    private final List<String> header;
+    private final int indent;
+    private final List<List<String>> inlineComments;
+    private final String[] keys;
+    private final int maxDepth;
+    private final boolean parseComments;
+    private final char pathSeparator;
+    private final Object[] values;
+    private final int width;
+
+    private ConfigSnapshot(@NotNull YamlConfiguration config) {
+        Entries entries = new Entries();
+        entries.capture(config, 0);
+
+        int size = entries.keys.size();
+
+        this.keys = entries.keys.toArray(new String[0]);
+        this.values = entries.values.toArray();
+        this.depths = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            this.depths[i] = entries.depths.get(i);
+        }
+
+        this.comments = entries.comments;
+        this.inlineComments = entries.inlineComments;
+        this.maxDepth = entries.maxDepth;
+
+        this.header = copyComments(config.options().getHeader());
+        this.footer = copyComments(config.options().getFooter());
+        this.indent = config.options().indent();
+        this.width = config.options().width();
+        this.parseComments = config.options().parseComments();
+        this.pathSeparator = config.options().pathSeparator();
+    }
+
+    /**
+     * Rebuild a configuration holding the contents of this snapshot. The snapshot is not modified, so this method may
+     * be called from any thread.
+     *
+     * @return the new configuration
+     */
+    @NotNull
+    @Contract("-> new")
+    YamlConfiguration restore() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().pathSeparator(this.pathSeparator);
+        config.options().indent(this.indent);
+        config.options().width(this.width);
+        config.options().parseComments(this.parseComments);
+        config.options().setHeader(this.header);
+        config.options().setFooter(this.footer);
+
+        ConfigurationSection[] parents = new ConfigurationSection[this.maxDepth + 1];
+        parents[0] = config;
+
+        for (int i = 0; i < this.keys.length; i++) {
+            ConfigurationSection parent = parents[this.depths[i]];
+            String key = this.keys[i];
+
+            if (this.values[i] == SECTION) {
+                parents[this.depths[i] + 1] = parent.createSection(key);
+            } else {
+                parent.set(key, this.values[i]);
+            }
+
+            List<String> comments = this.comments.get(i);
+            List<String> inlineComments = this.inlineComments.get(i);
+
+            if (comments != null) {
+                parent.setComments(key, comments);
+            }
+            if (inlineComments != null) {
+                parent.setInlineComments(key, inlineComments);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Serialize this snapshot to a YAML document. The snapshot is not modified, so this method may be called from any
+     * thread.
+     *
+     * @return the YAML document
+     */
+    @NotNull
+    String saveToString() {
+        return this.restore().saveToString();
+    }
+
+    @Nullable
+    private static List<String> copyComments(@Nullable List<String> comments) {
+        // Blank lines are stored as null elements, so List.copyOf cannot be used.
+        return comments == null || comments.isEmpty() ? null : new ArrayList<>(comments);
+    }
+
+    @Nullable
+    private static Object copyValue(@Nullable Object value) {
+        if (value instanceof ConfigurationSerializable serializable) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            copy.put(
+                ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                ConfigurationSerialization.getAlias(serializable.getClass())
+            );
+
+            for (Map.Entry<String, Object> entry : serializable.serialize().entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+
+            for (Object element : list) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof ConfigurationSection section) {
+            return copyValue(section.getValues(false));
+        }
+        return value;
+    }
+
+    /**
+     * Take a snapshot of the given configuration. This must be called on the thread modifying the configuration, and
+     * takes time proportional to the number of entries.
+     *
+     * @param config the configuration
+     *
+     * @return the new snapshot
+     */
+    @NotNull
+    @Contract("_ -> new")
+    static ConfigSnapshot of(@NotNull YamlConfiguration config) {
+        return new ConfigSnapshot(config);
+    }
+
+    private static final class Entries {
+        private final List<List<String>> comments = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+        private final List<List<String>> inlineComments = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private int maxDepth;
+
+        private void capture(@NotNull ConfigurationSection section, int depth) {
+            this.maxDepth = Math.max(this.maxDepth, depth);
+
+            for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+                String key = entry.getKey();
+                Object value = entry.getValue();
+
+                this.keys.add(key);
+                this.depths.add(depth);
+                this.comments.add(copyComments(section.getComments(key)));
+                this.inlineComments.add(copyComments(section.getInlineComments(key)));
+
+                if (value instanceof ConfigurationSection child) {
+                    this.values.add(SECTION);
+                    this.capture(child, depth + 1);
+                } else {
+                    this.values.add(copyValue(value));
+                }
+            }
+        }
+    }
+}
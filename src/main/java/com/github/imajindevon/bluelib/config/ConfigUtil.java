@@ -3,6 +3,10 @@ package com.github.imajindevon.bluelib.config;
 import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Utility class containing methods for reading and writing to configurations.
  */
@@ -10,21 +14,48 @@ public final class ConfigUtil {
     private ConfigUtil() {
     }
 
+    /**
+     * Deeply copy every value and comment of the source section into the target section. Child sections are recreated
+     * in the target, while other values are copied by reference.
+     *
+     * @param source the section to copy from
+     * @param target the section to copy into
+     */
+    public static void copySection(@NotNull ConfigurationSection source, @NotNull ConfigurationSection target) {
+        for (Map.Entry<String, Object> entry : source.getValues(false).entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+
+            if (value instanceof ConfigurationSection child) {
+                copySection(child, target.createSection(key));
+            } else {
+                target.set(key, value);
+            }
+            target.setComments(key, source.getComments(key));
+            target.setInlineComments(key, source.getInlineComments(key));
+        }
+    }
+
     /**
      * Get an array containing each immediate child {@link ConfigurationSection} of the given parent section.
      *
      * @param section the parent section
      *
      * @return the child sections
+     *
+     * @see ConfigWalker
      */
-    @SuppressWarnings("DataFlowIssue")
     @NotNull
     public static ConfigurationSection @NotNull [] getConfigurationSections(@NotNull ConfigurationSection section) {
-        return section
-            .getKeys(false)
-            .stream()
-            .filter(section::isConfigurationSection)
-            .map(section::getConfigurationSection)
-            .toArray(ConfigurationSection[]::new);
+        Set<String> keys = section.getKeys(false);
+        ConfigurationSection[] sections = new ConfigurationSection[keys.size()];
+        int count = 0;
+
+        for (String key : keys) {
+            if (section.get(key) instanceof ConfigurationSection child) {
+                sections[count++] = child;
+            }
+        }
+        return count == sections.length ? sections : Arrays.copyOf(sections, count);
     }
 }
@@ -0,0 +1,49 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A visitor of the entries of a {@link ConfigurationSection}, called depth-first by a {@link ConfigWalker}.
+ * <p>
+ * The path given to each method is relative to the walked section, and is backed by the walker's reusable buffer. It
+ * is only valid for the duration of the call; use {@link CharSequence#toString()} to keep it.
+ *
+ * @see ConfigWalker#walk(ConfigurationSection, ConfigVisitor)
+ * @since 1.1.0
+ */
+public interface ConfigVisitor {
+    /**
+     * Called before the entries of a child section are visited.
+     *
+     * @param path    the path of the section
+     * @param section the section
+     * @param depth   the depth of the section, where children of the walked section have a depth of 0
+     *
+     * @return true to visit the entries of the section, false to skip them
+     */
+    default boolean enterSection(@NotNull CharSequence path, @NotNull ConfigurationSection section, int depth) {
+        return true;
+    }
+
+    /**
+     * Called after the entries of a child section were visited, or skipped.
+     *
+     * @param path    the path of the section
+     * @param section the section
+     * @param depth   the depth of the section
+     */
+    default void leaveSection(@NotNull CharSequence path, @NotNull ConfigurationSection section, int depth) {
+    }
+
+    /**
+     * Called for each entry that is not a section.
+     *
+     * @param path  the path of the entry
+     * @param value the value of the entry
+     * @param depth the depth of the entry
+     */
+    default void visitValue(@NotNull CharSequence path, @Nullable Object value, int depth) {
+    }
+}
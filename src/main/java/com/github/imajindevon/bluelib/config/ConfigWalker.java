@@ -0,0 +1,217 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A depth-first walker of the entries of a {@link ConfigurationSection}. Paths are built in a single buffer that is
+ * reused across every entry and every walk, so visiting an entry does not allocate a path string. A walker is not
+ * thread-safe, and a visitor must not start another walk on the walker that called it.
+ * <p>
+ * The static {@link #iterator(ConfigurationSection, boolean) iterator},
+ * {@link #spliterator(ConfigurationSection, boolean) spliterator} and
+ * {@link #stream(ConfigurationSection, boolean, boolean) stream} methods traverse child sections only, and can split
+ * the traversal of a large section for parallel streams.
+ *
+ * @see ConfigVisitor
+ * @since 1.1.0
+ */
+public final class ConfigWalker {
+    private final StringBuilder path = new StringBuilder(64);
+
+    /**
+     * Visit every entry beneath the given section, depth-first in key order. Child sections are entered unless
+     * {@link ConfigVisitor#enterSection(CharSequence, ConfigurationSection, int)} returns false.
+     *
+     * @param section the section to walk
+     * @param visitor the visitor
+     */
+    public void walk(@NotNull ConfigurationSection section, @NotNull ConfigVisitor visitor) {
+        Configuration root = section.getRoot();
+        char separator = root == null ? '.' : root.options().pathSeparator();
+
+        this.path.setLength(0);
+        this.walk(section, visitor, separator, 0);
+    }
+
+    private void walk(
+        @NotNull ConfigurationSection section, @NotNull ConfigVisitor visitor,
+        char separator, int depth
+    )
+    {
+        int length = this.path.length();
+
+        // Unlike getValues, the key set does not copy every value of the section into a new map.
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+
+            if (length != 0) {
+                this.path.append(separator);
+            }
+            this.path.append(key);
+
+            if (value instanceof ConfigurationSection child) {
+                if (visitor.enterSection(this.path, child, depth)) {
+                    this.walk(child, visitor, separator, depth + 1);
+                }
+                visitor.leaveSection(this.path, child, depth);
+            } else {
+                visitor.visitValue(this.path, value, depth);
+            }
+            this.path.setLength(length);
+        }
+    }
+
+    /**
+     * Get an iterator over the child sections of the given section, in key order.
+     *
+     * @param section the parent section
+     * @param deep    true to also iterate over every descendant section, depth-first
+     *
+     * @return the iterator
+     *
+     * @see #spliterator(ConfigurationSection, boolean)
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static Iterator<ConfigurationSection> iterator(@NotNull ConfigurationSection section, boolean deep) {
+        return Spliterators.iterator(spliterator(section, deep));
+    }
+
+    /**
+     * Get a spliterator over the child sections of the given section, in key order. The spliterator splits the
+     * immediate children of the section, each half then traversing the descendants of its own children. Child
+     * sections are resolved lazily, so the section must not be modified during the traversal.
+     *
+     * @param section the parent section
+     * @param deep    true to also traverse every descendant section, depth-first
+     *
+     * @return the spliterator
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static Spliterator<ConfigurationSection> spliterator(
+        @NotNull ConfigurationSection section, boolean deep
+    )
+    {
+        String[] keys = section.getKeys(false).toArray(new String[0]);
+        return new SectionSpliterator(section, keys, 0, keys.length, deep);
+    }
+
+    /**
+     * Get a stream of the child sections of the given section.
+     *
+     * @param section  the parent section
+     * @param deep     true to also stream every descendant section, depth-first
+     * @param parallel true for a parallel stream
+     *
+     * @return the stream
+     *
+     * @see #spliterator(ConfigurationSection, boolean)
+     */
+    @NotNull
+    @Contract("_, _, _ -> new")
+    public static Stream<ConfigurationSection> stream(
+        @NotNull ConfigurationSection section, boolean deep,
+        boolean parallel
+    )
+    {
+        return StreamSupport.stream(spliterator(section, deep), parallel);
+    }
+
+    private static final class SectionSpliterator implements Spliterator<ConfigurationSection> {
+        private final boolean deep;
+        // The bottom frame holds the immediate children, the frames above it the descendants being traversed.
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        SectionSpliterator(
+            @NotNull ConfigurationSection section, @NotNull String @NotNull [] keys,
+            int start, int end, boolean deep
+        )
+        {
+            this.deep = deep;
+            this.frames.push(new Frame(section, keys, start, end));
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            Frame bottom = this.frames.peekLast();
+            return bottom == null ? 0 : bottom.end - bottom.index;
+        }
+
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super ConfigurationSection> action) {
+            Frame frame;
+
+            while ((frame = this.frames.peek()) != null) {
+                if (frame.index == frame.end) {
+                    this.frames.pop();
+                    continue;
+                }
+
+                if (frame.section.get(frame.keys[frame.index++]) instanceof ConfigurationSection child) {
+                    action.accept(child);
+
+                    if (this.deep) {
+                        String[] keys = child.getKeys(false).toArray(new String[0]);
+                        this.frames.push(new Frame(child, keys, 0, keys.length));
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<ConfigurationSection> trySplit() {
+            // Only the immediate children are split, and only before the traversal descended into one of them.
+            if (this.frames.size() != 1) {
+                return null;
+            }
+
+            Frame frame = this.frames.peek();
+            int remaining = frame.end - frame.index;
+
+            if (remaining < 2) {
+                return null;
+            }
+
+            int middle = frame.index + remaining / 2;
+            Spliterator<ConfigurationSection> prefix =
+                new SectionSpliterator(frame.section, frame.keys, frame.index, middle, this.deep);
+
+            frame.index = middle;
+            return prefix;
+        }
+
+        private static final class Frame {
+            private final int end;
+            private final String[] keys;
+            private final ConfigurationSection section;
+            private int index;
+
+            Frame(@NotNull ConfigurationSection section, @NotNull String @NotNull [] keys, int index, int end) {
+                this.section = section;
+                this.keys = keys;
+                this.index = index;
+                this.end = end;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class for hashing configuration file contents, to detect whether a file actually changed.
+ */
+final class ContentHashes {
+    private ContentHashes() {
+    }
+
+    /**
+     * Compute the SHA-256 digest of the given bytes.
+     *
+     * @param data the bytes to hash
+     *
+     * @return the digest
+     */
+    static byte @NotNull [] sha256(byte @NotNull [] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,612 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.chat.ChatUtil;
+import com.github.imajindevon.bluelib.chat.annotation.Colored;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * A compact, immutable copy of a configuration, for large configurations that are read far more often than they are
+ * modified. Rather than a tree of sections each holding a map, every entry is stored under its full path in a single
+ * sorted array, looked up by binary search. Equal paths of different frozen configs share one string, which is
+ * released once no frozen config uses it. Booleans, ints, longs and doubles are stored unboxed in a primitive array,
+ * and lists and maps are copied into unmodifiable lists and maps.
+ * <p>
+ * {@link ConfigurationSerializable} values are copied by serializing and deserializing them, so modifying the source
+ * configuration's objects does not affect the frozen config. Objects that cannot be deserialized again are kept as is.
+ * Serializable objects may be mutable, and are returned without being copied again, so they must not be modified.
+ * <p>
+ * The getters behave like those of {@link PathConfig}. A frozen config is never modified, so it may be read from any
+ * thread. Comments, defaults that were not copied into the configuration, and the order of keys are not kept.
+ *
+ * @see PathConfig#freeze()
+ * @since 1.1.0
+ */
+public final class FrozenConfig {
+    private static final byte SECTION = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte OBJECT = 5;
+
+    private static final Object SECTION_ENTRY = new Object();
+    // Canonical paths, held weakly so paths that no frozen config uses can be collected.
+    private static final Map<String, WeakReference<String>> SHARED_PATHS = new WeakHashMap<>();
+
+    private final long estimatedBytes;
+    private final long[] numbers;
+    private final Object[] objects;
+    private final char pathSeparator;
+    private final String[] paths;
+    private final int[] slots;
+    private final long sourceEstimatedBytes;
+    private final String[] translated;
+    private final byte[] types;
+
+    private FrozenConfig(@NotNull TreeMap<String, Object> entries, char pathSeparator, long sourceEstimatedBytes) {
+        int size = entries.size();
+        int numberCount = 0;
+        int objectCount = 0;
+
+        for (Object value : entries.values()) {
+            switch (typeOf(value)) {
+                case BOOLEAN, INT, LONG, DOUBLE -> numberCount++;
+                case OBJECT -> objectCount++;
+                default -> {
+                }
+            }
+        }
+
+        this.paths = new String[size];
+        this.types = new byte[size];
+        this.slots = new int[size];
+        this.numbers = new long[numberCount];
+        this.objects = new Object[objectCount];
+        this.translated = new String[objectCount];
+        this.pathSeparator = pathSeparator;
+        this.sourceEstimatedBytes = sourceEstimatedBytes;
+
+        int index = 0;
+        int numberIndex = 0;
+        int objectIndex = 0;
+
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            Object value = entry.getValue();
+            byte type = typeOf(value);
+
+            this.paths[index] = sharedPath(entry.getKey());
+            this.types[index] = type;
+
+            switch (type) {
+                case BOOLEAN -> this.numbers[numberIndex] = (Boolean) value ? 1 : 0;
+                case INT, LONG -> this.numbers[numberIndex] = ((Number) value).longValue();
+                case DOUBLE -> this.numbers[numberIndex] = Double.doubleToRawLongBits((Double) value);
+                case OBJECT -> this.objects[objectIndex] = freezeValue(value);
+                default -> {
+                }
+            }
+
+            if (type == OBJECT) {
+                this.slots[index] = objectIndex++;
+            } else if (type != SECTION) {
+                this.slots[index] = numberIndex++;
+            }
+            index++;
+        }
+
+        this.estimatedBytes = this.estimateBytes();
+    }
+
+    /**
+     * Check whether a value or section exists at the given path.
+     *
+     * @param path the path
+     *
+     * @return true if the path exists
+     */
+    public boolean contains(@NotNull String path) {
+        return this.indexOf(path) >= 0;
+    }
+
+    /**
+     * Get the estimated heap footprint of this frozen config, including its paths and values. Paths shared with other
+     * frozen configs are counted in full.
+     *
+     * @return the estimated size in bytes
+     *
+     * @see #sourceEstimatedBytes()
+     */
+    public long estimatedBytes() {
+        return this.estimatedBytes;
+    }
+
+    /**
+     * Get the value at the given path. Numbers and booleans are boxed.
+     *
+     * @param path the path
+     *
+     * @return the value, or null if it doesn't exist or is a section
+     */
+    @Nullable
+    public Object get(@NotNull String path) {
+        int index = this.indexOf(path);
+        return index < 0 ? null : this.valueAt(index);
+    }
+
+    /**
+     * Get a boolean from the config, or false if it doesn't exist.
+     *
+     * @param path the path to the boolean
+     *
+     * @return the boolean, or false if it doesn't exist
+     */
+    public boolean getBoolean(@NotNull String path) {
+        return this.getBoolean(path, false);
+    }
+
+    /**
+     * Get a boolean from the config, or the default value if it doesn't exist.
+     *
+     * @param path the path to the boolean
+     * @param def  the default value
+     *
+     * @return the boolean, or the default value if it doesn't exist
+     */
+    public boolean getBoolean(@NotNull String path, boolean def) {
+        int index = this.indexOf(path);
+        return index >= 0 && this.types[index] == BOOLEAN ? this.numbers[this.slots[index]] != 0 : def;
+    }
+
+    /**
+     * Get a double from the config, or -1.0 if it doesn't exist.
+     *
+     * @param path the path to the double
+     *
+     * @return the double, or -1.0 if it doesn't exist
+     */
+    public double getDouble(@NotNull String path) {
+        return this.getDouble(path, -1.0);
+    }
+
+    /**
+     * Get a double from the config, or the default value if it doesn't exist. Every number is converted to a double.
+     *
+     * @param path the path to the double
+     * @param def  the default value
+     *
+     * @return the double, or the default value if it doesn't exist
+     */
+    public double getDouble(@NotNull String path, double def) {
+        int index = this.indexOf(path);
+
+        if (index < 0) {
+            return def;
+        }
+
+        return switch (this.types[index]) {
+            case INT, LONG -> this.slotValue(index);
+            case DOUBLE -> Double.longBitsToDouble(this.slotValue(index));
+            case OBJECT -> this.objects[this.slots[index]] instanceof Number number ? number.doubleValue() : def;
+            default -> def;
+        };
+    }
+
+    /**
+     * Get an int from the config, or -1 if it doesn't exist.
+     *
+     * @param path the path to the int
+     *
+     * @return the int, or -1 if it doesn't exist
+     */
+    public int getInt(@NotNull String path) {
+        return this.getInt(path, -1);
+    }
+
+    /**
+     * Get an int from the config, or the default value if it doesn't exist. Every number is converted to an int.
+     *
+     * @param path the path to the int
+     * @param def  the default value
+     *
+     * @return the int, or the default value if it doesn't exist
+     */
+    public int getInt(@NotNull String path, int def) {
+        int index = this.indexOf(path);
+
+        if (index < 0) {
+            return def;
+        }
+
+        return switch (this.types[index]) {
+            case INT, LONG -> (int) this.slotValue(index);
+            case DOUBLE -> (int) Double.longBitsToDouble(this.slotValue(index));
+            case OBJECT -> this.objects[this.slots[index]] instanceof Number number ? number.intValue() : def;
+            default -> def;
+        };
+    }
+
+    /**
+     * Get the keys of the immediate children of the section at the given path, in sorted order.
+     *
+     * @param path the path to the section, or an empty string for the root
+     *
+     * @return the keys, or an empty set if the section doesn't exist
+     */
+    @NotNull
+    @Unmodifiable
+    public Set<String> getKeys(@NotNull String path) {
+        String prefix = path.isEmpty() ? "" : path + this.pathSeparator;
+        int index = Arrays.binarySearch(this.paths, prefix);
+        Set<String> keys = new LinkedHashSet<>();
+
+        for (int i = index < 0 ? -index - 1 : index; i < this.paths.length; i++) {
+            String candidate = this.paths[i];
+
+            if (!candidate.startsWith(prefix)) {
+                break;
+            }
+            if (candidate.indexOf(this.pathSeparator, prefix.length()) < 0) {
+                keys.add(candidate.substring(prefix.length()));
+            }
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Get a list from the config.
+     *
+     * @param path the path to the list
+     *
+     * @return the unmodifiable list, or null if it doesn't exist
+     */
+    @Nullable
+    @Unmodifiable
+    public List<?> getList(@NotNull String path) {
+        return this.get(path) instanceof List<?> list ? list : null;
+    }
+
+    /**
+     * Get a serializable object from the given path.
+     *
+     * @param path  the path
+     * @param clazz the class of the type
+     * @param <T>   the type of object
+     *
+     * @return the object, or null if it doesn't exist
+     */
+    @Nullable
+    public <T extends ConfigurationSerializable> T getSerializable(@NotNull String path, @NotNull Class<T> clazz) {
+        Object value = this.get(path);
+        return clazz.isInstance(value) ? clazz.cast(value) : null;
+    }
+
+    /**
+     * Get a serializable object from the given path, or the default if it doesn't exist.
+     *
+     * @param path  the path
+     * @param clazz the class of the type
+     * @param def   the default value
+     * @param <T>   the type of object
+     *
+     * @return the object, or the default value if it doesn't exist
+     */
+    @NotNull
+    public <T extends ConfigurationSerializable> T getSerializable(
+        @NotNull String path, @NotNull Class<T> clazz, @NotNull T def
+    )
+    {
+        T value = this.getSerializable(path, clazz);
+        return value == null ? def : value;
+    }
+
+    /**
+     * Get a string from the config. Values that are not strings are converted to strings.
+     *
+     * @param path the path to the string
+     *
+     * @return the string, or null if it doesn't exist
+     */
+    @Nullable
+    public String getString(@NotNull String path) {
+        return this.getString(path, null);
+    }
+
+    /**
+     * Get a string from the config, or the default value if it doesn't exist. Values that are not strings are
+     * converted to strings.
+     *
+     * @param path the path to the string
+     * @param def  the default value
+     *
+     * @return the string, or the default value if it doesn't exist
+     */
+    @Contract("_, null -> null; _, !null -> !null")
+    public String getString(@NotNull String path, String def) {
+        Object value = this.get(path);
+        return value == null ? def : value.toString();
+    }
+
+    /**
+     * Get a string from the config, or an empty string if it doesn't exist.
+     *
+     * @param path the path to the string
+     *
+     * @return the string, or an empty string if it doesn't exist
+     */
+    @NotNull
+    public String getStringNonNull(@NotNull String path) {
+        return this.getString(path, "");
+    }
+
+    /**
+     * Get and translate a string from the config, or an empty string if it doesn't exist. Translations are cached for
+     * the lifetime of this frozen config.
+     *
+     * @param path the path to the string
+     *
+     * @return the translated string, or an empty string if it doesn't exist
+     *
+     * @see ChatUtil#translate(String)
+     */
+    @NotNull
+    @Colored
+    public String getTranslated(@NotNull String path) {
+        int index = this.indexOf(path);
+
+        if (index < 0 || this.types[index] != OBJECT || !(this.objects[this.slots[index]] instanceof String value)) {
+            return ChatUtil.translate(this.getStringNonNull(path));
+        }
+
+        // Strings are immutable, so a translation published through a data race is still safe to read.
+        String translation = this.translated[this.slots[index]];
+
+        if (translation == null) {
+            translation = ChatUtil.translate(value);
+            this.translated[this.slots[index]] = translation;
+        }
+        return translation;
+    }
+
+    /**
+     * Check whether a section exists at the given path.
+     *
+     * @param path the path
+     *
+     * @return true if the path is a section
+     */
+    public boolean isSection(@NotNull String path) {
+        int index = this.indexOf(path);
+        return index >= 0 && this.types[index] == SECTION;
+    }
+
+    /**
+     * Get the number of paths in this frozen config, counting sections and values at every depth.
+     *
+     * @return the number of paths
+     */
+    public int size() {
+        return this.paths.length;
+    }
+
+    /**
+     * Get the estimated heap footprint of the configuration this frozen config was created from, at the time it was
+     * frozen. Compare it to {@link #estimatedBytes()} to measure the memory saved by freezing.
+     *
+     * @return the estimated size in bytes
+     */
+    public long sourceEstimatedBytes() {
+        return this.sourceEstimatedBytes;
+    }
+
+    private long estimateBytes() {
+        long bytes = 56
+            + arrayBytes(this.paths.length, 4)
+            + arrayBytes(this.types.length, 1)
+            + arrayBytes(this.slots.length, 4)
+            + arrayBytes(this.numbers.length, 8)
+            + arrayBytes(this.objects.length, 4) * 2;
+
+        for (String path : this.paths) {
+            bytes += stringBytes(path);
+        }
+        for (Object value : this.objects) {
+            bytes += valueBytes(value);
+        }
+        return bytes;
+    }
+
+    private int indexOf(@NotNull String path) {
+        return Arrays.binarySearch(this.paths, path);
+    }
+
+    private long slotValue(int index) {
+        return this.numbers[this.slots[index]];
+    }
+
+    @Nullable
+    private Object valueAt(int index) {
+        return switch (this.types[index]) {
+            case BOOLEAN -> this.slotValue(index) != 0;
+            case INT -> (int) this.slotValue(index);
+            case LONG -> this.slotValue(index);
+            case DOUBLE -> Double.longBitsToDouble(this.slotValue(index));
+            case OBJECT -> this.objects[this.slots[index]];
+            default -> null;
+        };
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long arrayBytes(int length, int elementSize) {
+        return align(16 + (long) length * elementSize);
+    }
+
+    @Nullable
+    private static Object freezeValue(@Nullable Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+
+            for (Object element : list) {
+                copy.add(freezeValue(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(freezeValue(entry.getKey()), freezeValue(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof ConfigurationSerializable serializable) {
+            Map<String, Object> serialized = new LinkedHashMap<>();
+
+            for (Map.Entry<String, Object> entry : serializable.serialize().entrySet()) {
+                serialized.put(entry.getKey(), freezeValue(entry.getValue()));
+            }
+
+            ConfigurationSerializable copy = ConfigurationSerialization.deserializeObject(
+                serialized,
+                serializable.getClass()
+            );
+            return copy == null ? value : copy;
+        }
+        return value;
+    }
+
+    /**
+     * Freeze the current contents of the given section. This must be called on the thread modifying the section.
+     *
+     * @param section the section
+     *
+     * @return the new frozen config
+     */
+    @NotNull
+    @Contract("_ -> new")
+    static FrozenConfig of(@NotNull ConfigurationSection section) {
+        Configuration root = section.getRoot();
+        char separator = root == null ? '.' : root.options().pathSeparator();
+        TreeMap<String, Object> entries = new TreeMap<>();
+        long[] sourceBytes = {sectionBytes(section)};
+
+        new ConfigWalker().walk(section, new ConfigVisitor() {
+            @Override
+            public boolean enterSection(@NotNull CharSequence path, @NotNull ConfigurationSection child, int depth) {
+                String key = path.toString();
+                entries.put(key, SECTION_ENTRY);
+                sourceBytes[0] += entryBytes(child.getName()) + sectionBytes(child) + stringBytes(key);
+                return true;
+            }
+
+            @Override
+            public void visitValue(@NotNull CharSequence path, @Nullable Object value, int depth) {
+                String key = path.toString();
+                entries.put(key, value);
+                sourceBytes[0] += entryBytes(key.substring(key.lastIndexOf(separator) + 1)) + valueBytes(value);
+            }
+        });
+
+        return new FrozenConfig(entries, separator, sourceBytes[0]);
+    }
+
+    private static long entryBytes(@NotNull String key) {
+        // A LinkedHashMap entry, the section's path data and the key.
+        return 40 + 24 + stringBytes(key);
+    }
+
+    @NotNull
+    private static String sharedPath(@NotNull String path) {
+        synchronized (SHARED_PATHS) {
+            WeakReference<String> reference = SHARED_PATHS.get(path);
+            String shared = reference == null ? null : reference.get();
+
+            if (shared == null) {
+                SHARED_PATHS.put(path, new WeakReference<>(path));
+                return path;
+            }
+            return shared;
+        }
+    }
+
+    private static long sectionBytes(@NotNull ConfigurationSection section) {
+        // The section itself and its LinkedHashMap with its table.
+        return 32 + 56 + tableBytes(section.getKeys(false).size());
+    }
+
+    private static long stringBytes(@NotNull String string) {
+        return 24 + arrayBytes(string.length(), 1);
+    }
+
+    private static long tableBytes(int size) {
+        int threshold = Math.max(16, (int) Math.ceil(size / 0.75));
+        int capacity = Integer.highestOneBit(threshold - 1) << 1;
+        return arrayBytes(capacity, 4);
+    }
+
+    private static byte typeOf(@Nullable Object value) {
+        if (value == SECTION_ENTRY) {
+            return SECTION;
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        if (value instanceof Integer) {
+            return INT;
+        }
+        if (value instanceof Long) {
+            return LONG;
+        }
+        if (value instanceof Double) {
+            return DOUBLE;
+        }
+        return OBJECT;
+    }
+
+    private static long valueBytes(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return stringBytes(string);
+        }
+        if (value instanceof List<?> list) {
+            long bytes = 24 + arrayBytes(list.size(), 4);
+
+            for (Object element : list) {
+                bytes += valueBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 56 + tableBytes(map.size());
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 40 + valueBytes(entry.getKey()) + valueBytes(entry.getValue());
+            }
+            return bytes;
+        }
+        return 16;
+    }
+}
@@ -0,0 +1,975 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link YamlConfiguration} that loads its top-level entries lazily. Loading a file only indexes the byte range of
+ * every top-level entry; an entry is parsed the first time it is accessed. Once more than the configured number of
+ * entries are materialized, the least recently used unmodified entries are dropped from memory, and parsed again from
+ * the file when they are next accessed. Memory use therefore scales with the entries in use rather than the file size.
+ * <p>
+ * Saving writes the unmodified entries back byte for byte, and serializes only the modified ones. Entries modified
+ * through a child section, rather than through this configuration, are detected by comparing their serialized form to
+ * the form they were loaded with.
+ * <p>
+ * References to child sections should not be kept across accesses, as an evicted section is detached from this
+ * configuration. Files using anchors, multiple documents or keys that cannot be indexed are loaded eagerly instead. The
+ * header is written back as it was in the file, and changes to it through {@link #options()} are ignored.
+ * <p>
+ * Every method of this configuration holds its lock, so the index and the least recently used entries stay consistent
+ * when it is saved on another thread. Child sections are not guarded by this lock.
+ *
+ * @see PathConfig#loadLazy(File, int)
+ * @since 1.1.0
+ */
+public class LazyYamlConfiguration extends YamlConfiguration {
+    private static final int DEFAULT_MAX_SECTIONS = 64;
+    private static final Pattern SIMPLE_KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_\\- ]*");
+    private static final Set<String> RESERVED_WORDS = Set.of(
+        "y", "yes", "n", "no", "true", "false", "on", "off", "null"
+    );
+    private static final int MAX_KEY_LINE_LENGTH = 4096;
+
+    private final Map<String, byte[]> baselines = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> dirtyKeys = new HashSet<>();
+    private final int maxSections;
+    private long committedSnapshot;
+    private Range epilogue;
+    private int generation;
+    private Map<String, Range> index;
+    private int loads;
+    private long modifications;
+    private SaveSnapshot pendingSave;
+    private Range preamble;
+    private File source;
+    private byte[] sourceHash;
+    private long sourceModified;
+    private long sourceSize;
+    private long takenSnapshots;
+
+    /**
+     * Create a lazy configuration keeping at most 64 top-level entries in memory.
+     */
+    public LazyYamlConfiguration() {
+        this(DEFAULT_MAX_SECTIONS);
+    }
+
+    /**
+     * Create a lazy configuration.
+     *
+     * @param maxSections the number of top-level entries kept in memory before unmodified ones are evicted
+     */
+    public LazyYamlConfiguration(int maxSections) {
+        if (maxSections < 1) {
+            throw new IllegalArgumentException("At least one section must be kept in memory");
+        }
+        this.maxSections = maxSections;
+    }
+
+    @Override
+    @NotNull
+    public synchronized ConfigurationSection createSection(@NotNull String path) {
+        this.beforeWrite(path);
+        return super.createSection(path);
+    }
+
+    @Override
+    @NotNull
+    public synchronized ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+        this.beforeWrite(path);
+        return super.createSection(path, map);
+    }
+
+    @Override
+    @Nullable
+    public synchronized Object get(@NotNull String path, @Nullable Object def) {
+        this.materialize(this.topLevelKey(path));
+        return super.get(path, def);
+    }
+
+    @Override
+    @NotNull
+    public synchronized List<String> getComments(@NotNull String path) {
+        this.materialize(this.topLevelKey(path));
+        return super.getComments(path);
+    }
+
+    @Override
+    @NotNull
+    public synchronized List<String> getInlineComments(@NotNull String path) {
+        this.materialize(this.topLevelKey(path));
+        return super.getInlineComments(path);
+    }
+
+    @Override
+    @NotNull
+    public synchronized Set<String> getKeys(boolean deep) {
+        if (this.index == null) {
+            return super.getKeys(deep);
+        }
+
+        Set<String> keys = new LinkedHashSet<>(this.index.keySet());
+        keys.addAll(super.getKeys(false));
+
+        if (!deep) {
+            return keys;
+        }
+
+        Set<String> deepKeys = new LinkedHashSet<>();
+        char separator = this.options().pathSeparator();
+
+        for (String key : keys) {
+            deepKeys.add(key);
+
+            if (this.get(key, null) instanceof ConfigurationSection section) {
+                for (String child : section.getKeys(true)) {
+                    deepKeys.add(key + separator + child);
+                }
+            }
+        }
+        return deepKeys;
+    }
+
+    @Override
+    @NotNull
+    public synchronized Map<String, Object> getValues(boolean deep) {
+        if (this.index == null) {
+            return super.getValues(deep);
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (String key : this.getKeys(deep)) {
+            values.put(key, this.get(key, null));
+        }
+        return values;
+    }
+
+    /**
+     * Check whether this configuration was loaded lazily. Configurations are loaded eagerly if they were loaded from a
+     * string, or if the file could not be indexed.
+     *
+     * @return true if the top-level entries are loaded lazily
+     */
+    public synchronized boolean isLazy() {
+        return this.index != null;
+    }
+
+    @Override
+    public synchronized void load(@NotNull File file)
+    throws FileNotFoundException, IOException, InvalidConfigurationException
+    {
+        this.reset();
+
+        File canonicalFile = file.getCanonicalFile();
+        MessageDigest digest = newDigest();
+        long modified = canonicalFile.lastModified();
+        Index scanned;
+
+        try (InputStream stream = new DigestInputStream(
+            new BufferedInputStream(new FileInputStream(canonicalFile)), digest
+        ))
+        {
+            scanned = scan(stream);
+        }
+
+        if (scanned == null) {
+            // The file cannot be indexed, so it is loaded like any other YAML configuration.
+            byte[] data = Files.readAllBytes(canonicalFile.toPath());
+            super.loadFromString(new String(data, StandardCharsets.UTF_8));
+            this.sourceHash = ContentHashes.sha256(data);
+            return;
+        }
+
+        this.sourceHash = digest.digest();
+
+        this.source = canonicalFile;
+        this.sourceModified = modified;
+        this.sourceSize = scanned.size;
+        this.index = scanned.entries;
+        this.preamble = scanned.preamble;
+        this.epilogue = scanned.epilogue;
+    }
+
+    @Override
+    public synchronized void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        this.reset();
+        super.loadFromString(contents);
+    }
+
+    /**
+     * Get the number of top-level entries currently held in memory.
+     *
+     * @return the number of materialized entries
+     */
+    public synchronized int materializedSections() {
+        return this.index == null ? super.getKeys(false).size() : this.baselines.size();
+    }
+
+    @Override
+    public synchronized void save(@NotNull File file) throws IOException {
+        super.save(file);
+
+        if (this.source != null && file.getCanonicalFile().equals(this.source)) {
+            this.commitSave();
+        }
+    }
+
+    @Override
+    @NotNull
+    public synchronized String saveToString() {
+        if (this.index == null) {
+            return super.saveToString();
+        }
+
+        SaveSnapshot snapshot = this.snapshot();
+        String contents;
+
+        try {
+            contents = snapshot.assemble();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        if (contents == null) {
+            throw new IllegalStateException(this.source + " was modified on disk, it must be reloaded");
+        }
+        this.pendingSave = snapshot;
+        return contents;
+    }
+
+    @Override
+    public synchronized void set(@NotNull String path, @Nullable Object value) {
+        if (this.index != null && path.equals(this.topLevelKey(path)) && value == null) {
+            this.modifications++;
+            this.index.remove(path);
+            this.baselines.remove(path);
+            this.dirtyKeys.remove(path);
+        } else {
+            this.beforeWrite(path);
+        }
+        super.set(path, value);
+    }
+
+    @Override
+    public synchronized void setComments(@NotNull String path, @Nullable List<String> comments) {
+        this.beforeWrite(path);
+        super.setComments(path, comments);
+    }
+
+    @Override
+    public synchronized void setInlineComments(@NotNull String path, @Nullable List<String> comments) {
+        this.beforeWrite(path);
+        super.setInlineComments(path, comments);
+    }
+
+    /**
+     * Called after the string last returned by {@link #saveToString()} was written to the source file, so the index
+     * can be moved to the new contents of the file.
+     */
+    synchronized void commitSave() {
+        SaveSnapshot snapshot = this.pendingSave;
+        this.pendingSave = null;
+
+        if (snapshot != null) {
+            this.commitSave(snapshot);
+        }
+    }
+
+    /**
+     * Called after the contents assembled from the given snapshot were written to the source file, so the index can
+     * be moved to the new contents of the file. Entries removed since the snapshot was taken are left out of the new
+     * index, and entries modified since are kept in memory until they are saved again.
+     *
+     * @param snapshot the snapshot
+     */
+    synchronized void commitSave(@NotNull SaveSnapshot snapshot) {
+        PendingIndex pending = snapshot.written;
+
+        if (pending == null || this.isSuperseded(snapshot) || !this.isIndexCurrent(snapshot)) {
+            return;
+        }
+
+        Map<String, Range> entries = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Range> entry : pending.entries.entrySet()) {
+            String key = entry.getKey();
+
+            if (this.index.containsKey(key) || super.get(key, null) != null) {
+                entries.put(key, entry.getValue());
+            }
+        }
+
+        this.committedSnapshot = snapshot.sequence;
+        this.generation++;
+        this.index = entries;
+        this.preamble = pending.preamble;
+        this.epilogue = pending.epilogue;
+        this.sourceModified = this.source.lastModified();
+        this.sourceSize = this.source.length();
+
+        if (snapshot.modifications == this.modifications) {
+            this.dirtyKeys.clear();
+        }
+        for (Map.Entry<String, byte[]> baseline : pending.baselines.entrySet()) {
+            String key = baseline.getKey();
+
+            // Entries evicted since must be parsed from the file again, and entries modified since must be saved.
+            if (!this.dirtyKeys.contains(key) && super.get(key, null) != null) {
+                this.baselines.put(key, baseline.getValue());
+            }
+        }
+        this.evict(null);
+    }
+
+    /**
+     * Check whether the index was not moved since the given snapshot was taken, so the ranges of the entries it copies
+     * from the source file are still valid.
+     *
+     * @param snapshot the snapshot
+     *
+     * @return true if the source file was not saved since the snapshot was taken
+     */
+    synchronized boolean isIndexCurrent(@NotNull SaveSnapshot snapshot) {
+        return snapshot.generation == this.generation;
+    }
+
+    /**
+     * Check whether the contents of the given snapshot must not be written, because this configuration was loaded
+     * again or a later snapshot was already written since it was taken.
+     *
+     * @param snapshot the snapshot
+     *
+     * @return true if the snapshot is outdated
+     */
+    synchronized boolean isSuperseded(@NotNull SaveSnapshot snapshot) {
+        return this.index == null || snapshot.loads != this.loads || snapshot.sequence <= this.committedSnapshot;
+    }
+
+    /**
+     * Take a snapshot of this configuration, which can be written to the source file on another thread. The entries
+     * held in memory are serialized on the calling thread, which must be the thread modifying this configuration, and
+     * the other entries are copied from the source file when the snapshot is assembled.
+     *
+     * @return the snapshot
+     *
+     * @throws IllegalStateException if this configuration is not lazy, or its source file was modified on disk
+     */
+    @NotNull
+    synchronized SaveSnapshot snapshot() {
+        if (this.index == null) {
+            throw new IllegalStateException("Only lazy configurations can be snapshotted");
+        }
+        this.checkSourceUnchanged();
+
+        List<Part> parts = new ArrayList<>();
+        Map<String, byte[]> newBaselines = new LinkedHashMap<>();
+
+        for (String key : this.getKeysWithoutMaterializing()) {
+            Range range = this.index.get(key);
+
+            if (range != null && !this.baselines.containsKey(key)) {
+                parts.add(new Part(key, range, null));
+                continue;
+            }
+
+            byte[] serialized = this.serializeKey(key).getBytes(StandardCharsets.UTF_8);
+            byte[] hash = ContentHashes.sha256(serialized);
+
+            if (range != null && !this.dirtyKeys.contains(key) && Arrays.equals(hash, this.baselines.get(key))) {
+                parts.add(new Part(key, range, null));
+            } else {
+                parts.add(new Part(key, null, serialized));
+                newBaselines.put(key, hash);
+            }
+        }
+        return new SaveSnapshot(
+            this.source, this.sourceModified, this.sourceSize,
+            ++this.takenSnapshots, this.loads, this.generation, this.modifications,
+            this.preamble, this.epilogue, parts, newBaselines
+        );
+    }
+
+    /**
+     * Get the SHA-256 hash of the contents of the file this configuration was last loaded from.
+     *
+     * @return the hash, or null if this configuration was not loaded from a file
+     */
+    synchronized byte @Nullable [] sourceHash() {
+        return this.sourceHash;
+    }
+
+    private void beforeWrite(@NotNull String path) {
+        if (this.index == null) {
+            return;
+        }
+        this.modifications++;
+
+        String key = this.topLevelKey(path);
+
+        if (!this.index.containsKey(key)) {
+            return;
+        }
+
+        if (key.equals(path)) {
+            // The whole entry is replaced, so the previous value never needs to be parsed.
+            this.baselines.put(key, null);
+        } else {
+            this.materialize(key);
+        }
+        this.dirtyKeys.add(key);
+    }
+
+    private void checkSourceUnchanged() {
+        if (this.source.length() != this.sourceSize || this.source.lastModified() != this.sourceModified) {
+            throw new IllegalStateException(this.source + " was modified on disk, it must be reloaded");
+        }
+    }
+
+    private void evict(@Nullable String keep) {
+        Iterator<Map.Entry<String, byte[]>> iterator = this.baselines.entrySet().iterator();
+
+        while (this.baselines.size() > this.maxSections && iterator.hasNext()) {
+            Map.Entry<String, byte[]> entry = iterator.next();
+            String key = entry.getKey();
+
+            if (key.equals(keep) || this.dirtyKeys.contains(key) || !this.index.containsKey(key)) {
+                continue;
+            }
+
+            byte[] hash = ContentHashes.sha256(this.serializeKey(key).getBytes(StandardCharsets.UTF_8));
+
+            if (!Arrays.equals(hash, entry.getValue())) {
+                // Modified through a child section, so it must be kept until it is saved.
+                this.dirtyKeys.add(key);
+                continue;
+            }
+
+            iterator.remove();
+            super.set(key, null);
+        }
+    }
+
+    @NotNull
+    private Set<String> getKeysWithoutMaterializing() {
+        Set<String> keys = new LinkedHashSet<>(this.index.keySet());
+        keys.addAll(super.getKeys(false));
+        return keys;
+    }
+
+    private void materialize(@NotNull String key) {
+        if (this.index == null) {
+            return;
+        }
+
+        Range range = this.index.get(key);
+
+        if (range == null || this.baselines.containsKey(key)) {
+            return;
+        }
+        this.checkSourceUnchanged();
+
+        YamlConfiguration parsed = new YamlConfiguration();
+
+        try (RandomAccessFile file = new RandomAccessFile(this.source, "r")) {
+            parsed.loadFromString(new String(readRange(file, range), StandardCharsets.UTF_8));
+        } catch (IOException | InvalidConfigurationException exception) {
+            throw new IllegalStateException("Could not load " + key + " from " + this.source, exception);
+        }
+
+        if (!parsed.getKeys(false).equals(Set.of(key))) {
+            throw new IllegalStateException("Indexed entry " + key + " of " + this.source + " is malformed");
+        }
+
+        Object value = parsed.get(key);
+
+        if (value instanceof ConfigurationSection section) {
+            ConfigUtil.copySection(section, super.createSection(key));
+        } else {
+            super.set(key, value);
+        }
+        super.setComments(key, parsed.getComments(key));
+        super.setInlineComments(key, parsed.getInlineComments(key));
+
+        this.baselines.put(key, ContentHashes.sha256(this.serializeKey(key).getBytes(StandardCharsets.UTF_8)));
+        this.evict(key);
+    }
+
+    private void reset() {
+        for (String key : super.getKeys(false)) {
+            super.set(key, null);
+        }
+        this.baselines.clear();
+        this.dirtyKeys.clear();
+        this.epilogue = null;
+        this.generation++;
+        this.index = null;
+        this.loads++;
+        this.pendingSave = null;
+        this.preamble = null;
+        this.source = null;
+        this.sourceHash = null;
+    }
+
+    @NotNull
+    private String serializeKey(@NotNull String key) {
+        YamlConfiguration single = new YamlConfiguration();
+        single.options().indent(this.options().indent()).width(this.options().width());
+
+        Object value = super.get(key, null);
+
+        if (value instanceof ConfigurationSection section) {
+            ConfigUtil.copySection(section, single.createSection(key));
+        } else {
+            single.set(key, value);
+        }
+        single.setComments(key, super.getComments(key));
+        single.setInlineComments(key, super.getInlineComments(key));
+        return single.saveToString();
+    }
+
+    @NotNull
+    private String topLevelKey(@NotNull String path) {
+        int separator = path.indexOf(this.options().pathSeparator());
+        return separator == -1 ? path : path.substring(0, separator);
+    }
+
+    /**
+     * Find the closing quote of the quoted scalar starting at the given index.
+     *
+     * @param line  the line
+     * @param start the index of the opening quote
+     *
+     * @return the index of the closing quote, or the length of the line if the scalar continues on the next line
+     */
+    private static int closingQuote(@NotNull String line, int start) {
+        char quote = line.charAt(start);
+        int i = start + 1;
+
+        while (i < line.length()) {
+            char c = line.charAt(i);
+
+            if (c == '\\' && quote == '"') {
+                i += 2;
+            } else if (c == quote && quote == '\'' && i + 1 < line.length() && line.charAt(i + 1) == '\'') {
+                i += 2;
+            } else if (c == quote) {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return line.length();
+    }
+
+    /**
+     * Check whether a line defines an anchor. Only the nodes of the line are checked, which start after a sequence
+     * indicator, after the colon of a key or inside a flow collection, so ampersands inside plain or quoted scalars
+     * and comments are ignored.
+     *
+     * @param line the line, without leading whitespace
+     *
+     * @return true if the line may define an anchor
+     */
+    private static boolean containsAnchor(@NotNull String line) {
+        int i = 0;
+
+        while (i < line.length()) {
+            char c = line.charAt(i);
+
+            if (c == '-' && (i + 1 == line.length() || line.charAt(i + 1) == ' ')) {
+                i = skipSpaces(line, i + 1);
+            } else if (c == '&') {
+                return true;
+            } else if (c == '[' || c == '{') {
+                return flowContainsAnchor(line, i);
+            } else if (c == '#') {
+                return false;
+            } else {
+                int scalarEnd = c == '\'' || c == '"' ? closingQuote(line, i) + 1 : i;
+                int colon = mappingColon(line, scalarEnd);
+
+                if (colon == -1) {
+                    // The rest of the line is a scalar.
+                    return false;
+                }
+                i = skipSpaces(line, colon + 1);
+            }
+        }
+        return false;
+    }
+
+    private static boolean flowContainsAnchor(@NotNull String line, int start) {
+        int i = start + 1;
+
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            boolean nodeStart = " \t[{,:".indexOf(line.charAt(i - 1)) != -1;
+
+            if (nodeStart && (c == '\'' || c == '"')) {
+                i = closingQuote(line, i);
+            } else if (c == '#' && Character.isWhitespace(line.charAt(i - 1))) {
+                return false;
+            } else if (nodeStart && c == '&') {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static boolean isSequenceEntry(@NotNull String line) {
+        return line.startsWith("-") && (line.length() == 1 || Character.isWhitespace(line.charAt(1)));
+    }
+
+    /**
+     * Find the colon separating a key from its value, starting at the given index.
+     *
+     * @param line  the line
+     * @param start the index to start at
+     *
+     * @return the index of the colon, or -1 if the line holds no key from the given index
+     */
+    private static int mappingColon(@NotNull String line, int start) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '#' && i > 0 && Character.isWhitespace(line.charAt(i - 1))) {
+                return -1;
+            }
+            if (c == ':' && (i + 1 == line.length() || Character.isWhitespace(line.charAt(i + 1)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Resolve the key of a top-level entry from its first line, the way YAML would parse it.
+     *
+     * @param line the first line of the entry
+     *
+     * @return the key, or null if the line cannot be indexed
+     */
+    @Nullable
+    private static String parseKey(@NotNull String line) {
+        char first = line.charAt(0);
+        int end;
+
+        if (first == '\'' || first == '"') {
+            end = 1;
+
+            while (end < line.length()) {
+                char c = line.charAt(end);
+
+                if (c == '\\' && first == '"') {
+                    end += 2;
+                } else if (c == first && first == '\'' && end + 1 < line.length() && line.charAt(end + 1) == '\'') {
+                    end += 2;
+                } else if (c == first) {
+                    break;
+                } else {
+                    end++;
+                }
+            }
+            end = line.indexOf(':', end + 1);
+        } else if ("?[{!&*|>%@`#-".indexOf(first) != -1) {
+            return null;
+        } else {
+            end = line.indexOf(": ");
+
+            if (end == -1 && line.stripTrailing().endsWith(":")) {
+                end = line.stripTrailing().length() - 1;
+            }
+        }
+
+        if (end <= 0) {
+            return null;
+        }
+
+        String token = line.substring(0, end).stripTrailing();
+
+        if (first != '\'' && first != '"' && SIMPLE_KEY.matcher(token).matches()
+            && !RESERVED_WORDS.contains(token.toLowerCase(Locale.ROOT)))
+        {
+            return token;
+        }
+
+        // Quoted keys, numbers and other special scalars are resolved by YAML itself.
+        YamlConfiguration single = new YamlConfiguration();
+
+        try {
+            single.loadFromString(token + ": 0");
+        } catch (InvalidConfigurationException exception) {
+            return null;
+        }
+
+        Set<String> keys = single.getKeys(false);
+        return keys.size() == 1 ? keys.iterator().next() : null;
+    }
+
+    private static byte @NotNull [] readRange(@NotNull RandomAccessFile file, @NotNull Range range)
+    throws IOException
+    {
+        byte[] bytes = new byte[(int) range.length()];
+        file.seek(range.start);
+        file.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Index the top-level entries of a YAML document.
+     *
+     * @param stream the document
+     *
+     * @return the index, or null if the document cannot be indexed
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Nullable
+    private static Index scan(@NotNull InputStream stream) throws IOException {
+        Map<String, Long> starts = new LinkedHashMap<>();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long offset = 0;
+        long lineStart = 0;
+        long commentRunStart = -1;
+        long contentEnd = 0;
+        boolean eof = false;
+
+        while (!eof) {
+            int b = stream.read();
+
+            if (b != -1 && b != '\n') {
+                if (line.size() < MAX_KEY_LINE_LENGTH) {
+                    line.write(b);
+                }
+                offset++;
+                continue;
+            }
+            if (b == -1) {
+                eof = true;
+
+                if (offset == lineStart) {
+                    break;
+                }
+            } else {
+                offset++;
+            }
+
+            String text = line.toString(StandardCharsets.UTF_8);
+            String stripped = text.strip();
+            line.reset();
+
+            if (text.startsWith("---") || text.startsWith("...") || text.startsWith("%")) {
+                return null;
+            }
+            if (stripped.indexOf('&') != -1 && containsAnchor(stripped)) {
+                return null;
+            }
+
+            if (stripped.isEmpty()) {
+                commentRunStart = -1;
+            } else if (stripped.startsWith("#")) {
+                if (commentRunStart == -1) {
+                    commentRunStart = lineStart;
+                }
+            } else {
+                if (isSequenceEntry(text)) {
+                    // A sequence may be written at the same indentation as the key holding it.
+                    if (starts.isEmpty()) {
+                        return null;
+                    }
+                } else if (!Character.isWhitespace(text.charAt(0))) {
+                    String key = parseKey(text);
+                    long start = commentRunStart == -1 ? lineStart : commentRunStart;
+
+                    if (key == null || starts.putIfAbsent(key, start) != null) {
+                        return null;
+                    }
+                }
+                commentRunStart = -1;
+                contentEnd = offset;
+            }
+            lineStart = offset;
+        }
+
+        Map<String, Range> entries = new LinkedHashMap<>();
+
+        if (starts.isEmpty()) {
+            return new Index(entries, new Range(0, offset), new Range(offset, offset), offset);
+        }
+
+        String previousKey = null;
+        long previousStart = 0;
+
+        for (Map.Entry<String, Long> start : starts.entrySet()) {
+            if (previousKey != null) {
+                entries.put(previousKey, new Range(previousStart, start.getValue()));
+            }
+            previousKey = start.getKey();
+            previousStart = start.getValue();
+        }
+        entries.put(previousKey, new Range(previousStart, contentEnd));
+
+        long firstStart = starts.values().iterator().next();
+        return new Index(entries, new Range(0, firstStart), new Range(contentEnd, offset), offset);
+    }
+
+    private static int skipSpaces(@NotNull String line, int start) {
+        int i = start;
+
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void writeLine(@NotNull ByteArrayOutputStream out, byte @NotNull [] bytes) {
+        out.writeBytes(bytes);
+
+        // The last entry of a file without a trailing line break may be followed by a new entry.
+        if (bytes.length > 0 && bytes[bytes.length - 1] != '\n') {
+            out.write('\n');
+        }
+    }
+
+    private record Index(
+        @NotNull Map<String, Range> entries, @NotNull Range preamble,
+        @NotNull Range epilogue, long size
+    ) {
+    }
+
+    private record Part(@NotNull String key, @Nullable Range range, byte @Nullable [] serialized) {
+    }
+
+    private record PendingIndex(
+        @NotNull Map<String, Range> entries, @NotNull Map<String, byte[]> baselines,
+        @NotNull Range preamble, @NotNull Range epilogue
+    ) {
+    }
+
+    private record Range(long start, long end) {
+        long length() {
+            return this.end - this.start;
+        }
+    }
+
+    /**
+     * The entries of a lazy configuration captured by {@link #snapshot()}, along with the state of its source file.
+     */
+    static final class SaveSnapshot {
+        private final Range epilogue;
+        private final int generation;
+        private final int loads;
+        private final long modifications;
+        private final Map<String, byte[]> newBaselines;
+        private final List<Part> parts;
+        private final Range preamble;
+        private final long sequence;
+        private final File source;
+        private final long sourceModified;
+        private final long sourceSize;
+        private PendingIndex written;
+
+        private SaveSnapshot(
+            @NotNull File source, long sourceModified, long sourceSize,
+            long sequence, int loads, int generation, long modifications,
+            @NotNull Range preamble, @NotNull Range epilogue,
+            @NotNull List<Part> parts, @NotNull Map<String, byte[]> newBaselines
+        )
+        {
+            this.source = source;
+            this.sourceModified = sourceModified;
+            this.sourceSize = sourceSize;
+            this.sequence = sequence;
+            this.loads = loads;
+            this.generation = generation;
+            this.modifications = modifications;
+            this.preamble = preamble;
+            this.epilogue = epilogue;
+            this.parts = parts;
+            this.newBaselines = newBaselines;
+        }
+
+        /**
+         * Assemble the saved document, copying the entries that were not serialized from the source file. This does
+         * not access the configuration, so it may be called on any thread.
+         *
+         * @return the document, or null if the source file was modified since the snapshot was taken
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        @Nullable
+        String assemble() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Map<String, Range> entries = new LinkedHashMap<>();
+
+            try (RandomAccessFile file = new RandomAccessFile(this.source, "r")) {
+                if (file.length() != this.sourceSize || this.source.lastModified() != this.sourceModified) {
+                    return null;
+                }
+
+                out.write(readRange(file, this.preamble));
+
+                for (Part part : this.parts) {
+                    long start = out.size();
+
+                    if (part.serialized() == null) {
+                        writeLine(out, readRange(file, part.range()));
+                    } else {
+                        out.write(part.serialized());
+                    }
+                    entries.put(part.key(), new Range(start, out.size()));
+                }
+
+                long epilogueStart = out.size();
+                out.write(readRange(file, this.epilogue));
+                this.written = new PendingIndex(
+                    entries, this.newBaselines, new Range(0, this.preamble.length()),
+                    new Range(epilogueStart, out.size())
+                );
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
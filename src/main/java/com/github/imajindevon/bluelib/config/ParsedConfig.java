@@ -0,0 +1,75 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The contents of a configuration file, read and parsed without modifying the {@link PathConfig} it belongs to. The
+ * parsed configuration may be inspected or bound on any thread, and is then applied to the path config on the thread
+ * owning it through {@link PathConfig#replaceContents(ParsedConfig)}.
+ * <p>
+ * The file's attributes are recorded before its contents are read, so the path config can tell whether the file was
+ * saved or modified since.
+ *
+ * @see PathConfig#parseFile()
+ * @see PathConfig#isCurrent(ParsedConfig)
+ * @since 1.1.0
+ */
+public final class ParsedConfig {
+    private final BasicFileAttributes attributes;
+    private final YamlConfiguration config;
+    private final byte[] hash;
+    private final long persistCount;
+
+    ParsedConfig(
+        @NotNull YamlConfiguration config, byte @NotNull [] hash,
+        @Nullable BasicFileAttributes attributes, long persistCount
+    )
+    {
+        this.config = config;
+        this.hash = hash;
+        this.attributes = attributes;
+        this.persistCount = persistCount;
+    }
+
+    /**
+     * Get the attributes the file had when its contents were read.
+     *
+     * @return the attributes, or null if they could not be read
+     */
+    @Nullable
+    BasicFileAttributes attributes() {
+        return this.attributes;
+    }
+
+    /**
+     * Get the parsed configuration. It is not shared with the path config, so it may be modified before it is applied.
+     *
+     * @return the configuration
+     */
+    @NotNull
+    public YamlConfiguration config() {
+        return this.config;
+    }
+
+    /**
+     * Get the SHA-256 hash of the file's contents.
+     *
+     * @return the hash
+     */
+    byte @NotNull [] hash() {
+        return this.hash;
+    }
+
+    /**
+     * Get the number of times the path config had been loaded or saved when the file was read.
+     *
+     * @return the count
+     */
+    long persistCount() {
+        return this.persistCount;
+    }
+}
@@ -2,7 +2,8 @@ package com.github.imajindevon.bluelib.config;
 
 import com.github.imajindevon.bluelib.chat.ChatUtil;
 import com.github.imajindevon.bluelib.chat.annotation.Colored;
-import org.bukkit.Bukkit;
+import com.github.imajindevon.bluelib.config.store.StoreConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -13,8 +14,19 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -23,6 +35,13 @@ import java.util.function.Consumer;
 public class PathConfig {
     private final FileConfiguration config;
     private final String filePath;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Object persistLock = new Object();
+    private final TranslationCache translationCache = new TranslationCache();
+    private byte[] persistedHash;
+    private long persistCount;
+    private FileTime persistedModified;
+    private long persistedSize = -1;
 
     /**
      * @param filePath the path where the config is stored
@@ -33,6 +52,23 @@ public class PathConfig {
         this.config = config;
     }
 
+    /**
+     * Create a handle to the boolean at the given path, which caches the value without boxing until this configuration
+     * changes.
+     *
+     * @param path the path to the boolean
+     * @param def  the default value
+     *
+     * @return the new handle
+     *
+     * @see ConfigKey
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public ConfigKey.OfBoolean booleanKey(@NotNull String path, boolean def) {
+        return new ConfigKey.OfBoolean(this, path, def);
+    }
+
     /**
      * Get the inner {@link FileConfiguration}.
      *
@@ -43,6 +79,23 @@ public class PathConfig {
         return this.config;
     }
 
+    /**
+     * Create a handle to the double at the given path, which caches the value without boxing until this configuration
+     * changes.
+     *
+     * @param path the path to the double
+     * @param def  the default value
+     *
+     * @return the new handle
+     *
+     * @see ConfigKey
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public ConfigKey.OfDouble doubleKey(@NotNull String path, double def) {
+        return new ConfigKey.OfDouble(this, path, def);
+    }
+
     /**
      * Get the path to this configuration's file.
      *
@@ -53,6 +106,21 @@ public class PathConfig {
         return this.filePath;
     }
 
+    /**
+     * Convert the current contents of this configuration into a compact, immutable {@link FrozenConfig}, which can be
+     * read from any thread. Later changes to this configuration are not reflected in the frozen config.
+     *
+     * @return the frozen config
+     *
+     * @see FrozenConfig#estimatedBytes()
+     * @see FrozenConfig#sourceEstimatedBytes()
+     */
+    @NotNull
+    @Contract("-> new")
+    public FrozenConfig freeze() {
+        return FrozenConfig.of(this.config);
+    }
+
     /**
      * Get a boolean from the config, or false if it doesn't exist.
      *
@@ -204,16 +272,246 @@ public class PathConfig {
     }
 
     /**
-     * Get and translate a string from the config, or an empty string if it doesn't exist.
+     * Get and translate a string from the config, or an empty string if it doesn't exist. Translations are cached
+     * until the configuration is reloaded or the value is set through {@link #set(String, Object)}.
      *
      * @param path the path to the string
      *
      * @return the translated string, or an empty string if it doesn't exist
+     *
+     * @see #translationCache()
+     * @see #warmTranslations(String)
      */
     @NotNull
     @Colored
     public String getTranslated(@NotNull String path) {
-        return ChatUtil.translate(this.config.getString(path));
+        return this.translationCache.get(path, p -> ChatUtil.translate(this.config.getString(p)));
+    }
+
+    /**
+     * Get the generation of this configuration, which changes whenever its contents are replaced or modified through
+     * this class.
+     *
+     * @return the generation
+     */
+    int generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Create a handle to the int at the given path, which caches the value without boxing until this configuration
+     * changes.
+     *
+     * @param path the path to the int
+     * @param def  the default value
+     *
+     * @return the new handle
+     *
+     * @see ConfigKey
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public ConfigKey.OfInt intKey(@NotNull String path, int def) {
+        return new ConfigKey.OfInt(this, path, def);
+    }
+
+    /**
+     * Invalidate every {@link ConfigKey} and cached translation of this configuration, so their values are resolved
+     * again. This must be called after modifying the inner {@link FileConfiguration} directly.
+     *
+     * @see #set(String, Object)
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.translationCache.clear();
+    }
+
+    /**
+     * Create a handle to the object at the given path, which caches the value until this configuration changes.
+     *
+     * @param path  the path to the object
+     * @param clazz the class of the object
+     * @param def   the default value
+     * @param <T>   the type of the object
+     *
+     * @return the new handle
+     *
+     * @see ConfigKey
+     */
+    @NotNull
+    @Contract("_, _, _ -> new")
+    public <T> ConfigKey<T> key(@NotNull String path, @NotNull Class<T> clazz, @Nullable T def) {
+        return new ConfigKey.ObjectKey<>(this, path, config -> config.config.getObject(path, clazz, def));
+    }
+
+    /**
+     * Mark the given content hash as the one of the file's current contents, so that saving identical contents is
+     * skipped while the file's size and modification time stay those it has now.
+     *
+     * @param hash the SHA-256 hash of the file's contents
+     */
+    void markPersisted(byte @Nullable [] hash) {
+        synchronized (this.persistLock) {
+            this.markPersisted(hash, this.readAttributes());
+        }
+    }
+
+    /**
+     * Mark the given content hash as the one of the file's contents when it had the given attributes, so that saving
+     * identical contents is skipped while the file's size and modification time stay those given. The attributes must
+     * have been read before the contents, so a change of the file in between is seen as a change of its attributes.
+     *
+     * @param hash       the SHA-256 hash of the file's contents
+     * @param attributes the attributes of the file, or null if they could not be read
+     */
+    void markPersisted(byte @Nullable [] hash, @Nullable BasicFileAttributes attributes) {
+        synchronized (this.persistLock) {
+            this.persistedHash = hash;
+            this.persistCount++;
+
+            if (attributes == null) {
+                // The next save writes the file, whatever its contents.
+                this.persistedModified = null;
+                this.persistedSize = -1;
+            } else {
+                this.persistedModified = attributes.lastModifiedTime();
+                this.persistedSize = attributes.size();
+            }
+        }
+    }
+
+    private boolean matchesPersistedFile() {
+        return this.persistedModified != null && this.matchesAttributes(this.persistedModified, this.persistedSize);
+    }
+
+    private boolean matchesAttributes(@Nullable FileTime modified, long size) {
+        BasicFileAttributes attributes = this.readAttributes();
+        return attributes != null && attributes.size() == size && attributes.lastModifiedTime().equals(modified);
+    }
+
+    @Nullable
+    private BasicFileAttributes readAttributes() {
+        try {
+            return Files.readAttributes(Paths.get(this.filePath), BasicFileAttributes.class);
+        } catch (IOException exception) {
+            // The file was deleted, or cannot be read.
+            return null;
+        }
+    }
+
+    /**
+     * Check whether the given parsed file still holds the file's current contents: the file is unchanged since it was
+     * read, and this configuration was neither saved nor reloaded since. A reload parsed on another thread should be
+     * discarded if this returns false, as applying it would replace newer contents with older ones.
+     * <p>
+     * This must be called on the thread modifying this configuration, right before the parsed file is applied.
+     *
+     * @param parsed a file parsed through {@link #parseFile()}
+     *
+     * @return true if the parsed file is current
+     */
+    public boolean isCurrent(@NotNull ParsedConfig parsed) {
+        synchronized (this.persistLock) {
+            return parsed.persistCount() == this.persistCount
+                && parsed.attributes() != null
+                && this.matchesAttributes(parsed.attributes().lastModifiedTime(), parsed.attributes().size());
+        }
+    }
+
+    /**
+     * Read and parse the file of this configuration, without modifying this configuration. As the contents of this
+     * configuration are not accessed, this may be called off the main thread, so a reload can be parsed and validated
+     * before {@link #replaceContents(ParsedConfig)} applies it. The file's attributes are recorded along with its
+     * contents, so {@link #isCurrent(ParsedConfig)} can tell whether the file changed since.
+     *
+     * @return the parsed file
+     *
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the configuration is invalid
+     * @throws FileNotFoundException         if the file does not exist
+     * @throws UnsupportedOperationException if this configuration was opened through {@link #openStore(File)}
+     * @see #reload()
+     * @see #isCurrent(ParsedConfig)
+     */
+    @NotNull
+    @Contract("-> new")
+    public ParsedConfig parseFile() throws IOException, InvalidConfigurationException, FileNotFoundException {
+        //noinspection DataFlowIssue
+        return this.parseFile(false);
+    }
+
+    /**
+     * Read the file of this configuration, and parse it only if its contents differ from those this configuration was
+     * last loaded from or saved with.
+     *
+     * @return the parsed file, or null if its contents are unchanged
+     *
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the configuration is invalid
+     * @see #parseFile()
+     */
+    @Nullable
+    ParsedConfig parseFileIfChanged() throws IOException, InvalidConfigurationException {
+        return this.parseFile(true);
+    }
+
+    @Nullable
+    private ParsedConfig parseFile(boolean skipUnchanged) throws IOException, InvalidConfigurationException {
+        if (this.config instanceof StoreConfiguration) {
+            throw new UnsupportedOperationException("Stores are not YAML files, and cannot be parsed");
+        }
+
+        byte[] persistedHash;
+
+        long persistCount;
+        BasicFileAttributes attributes;
+
+        synchronized (this.persistLock) {
+            persistedHash = this.persistedHash;
+            persistCount = this.persistCount;
+            // Read before the contents, so a write in between changes the attributes instead of going unnoticed.
+            attributes = this.readAttributes();
+        }
+
+        byte[] data;
+
+        try (InputStream stream = new FileInputStream(this.filePath)) {
+            data = stream.readAllBytes();
+        }
+
+        byte[] hash = ContentHashes.sha256(data);
+
+        if (skipUnchanged && Arrays.equals(hash, persistedHash)) {
+            return null;
+        }
+
+        YamlConfiguration parsed = new YamlConfiguration();
+        parsed.options().pathSeparator(this.config.options().pathSeparator());
+        parsed.loadFromString(new String(data, StandardCharsets.UTF_8));
+        return new ParsedConfig(parsed, hash, attributes, persistCount);
+    }
+
+    /**
+     * Get the number of times this configuration was loaded from or saved to its file, which changes whenever the
+     * persisted hash is replaced.
+     *
+     * @return the count
+     */
+    long persistCount() {
+        synchronized (this.persistLock) {
+            return this.persistCount;
+        }
+    }
+
+    /**
+     * Get the SHA-256 hash of the contents this configuration was last loaded from or saved with.
+     *
+     * @return the hash, or null if the configuration was neither loaded nor saved
+     */
+    byte @Nullable [] persistedHash() {
+        synchronized (this.persistLock) {
+            return this.persistedHash;
+        }
     }
 
     /**
@@ -224,18 +522,94 @@ public class PathConfig {
      * @throws FileNotFoundException         if the file does not exist
      */
     public void reload() throws IOException, InvalidConfigurationException, FileNotFoundException {
-        this.config.load(this.filePath);
+        if (this.config instanceof StoreConfiguration store) {
+            store.reload();
+            this.markPersisted(null);
+            this.invalidate();
+            return;
+        }
+
+        if (this.config instanceof LazyYamlConfiguration lazy) {
+            lazy.load(new File(this.filePath));
+            this.markPersisted(lazy.sourceHash());
+            this.invalidate();
+            return;
+        }
+
+        byte[] data;
+
+        try (InputStream stream = new FileInputStream(this.filePath)) {
+            data = stream.readAllBytes();
+        }
+
+        this.config.loadFromString(new String(data, StandardCharsets.UTF_8));
+        this.markPersisted(ContentHashes.sha256(data));
+        this.invalidate();
+    }
+
+    /**
+     * Replace the contents of this configuration with those of an already parsed configuration. This has the same
+     * effect as {@link #reload()}, but allows the file to be read and parsed on another thread beforehand.
+     *
+     * @param source the parsed configuration
+     */
+    public void replaceContents(@NotNull FileConfiguration source) {
+        for (String key : this.config.getKeys(false)) {
+            this.config.set(key, null);
+        }
+        ConfigUtil.copySection(source, this.config);
+        this.config.options().setHeader(source.options().getHeader());
+        this.config.options().setFooter(source.options().getFooter());
+        this.invalidate();
+    }
+
+    /**
+     * Replace the contents of this configuration with those of a file parsed through {@link #parseFile()}. If the
+     * parsed file is still {@link #isCurrent(ParsedConfig) current}, its contents are remembered as the file's current
+     * contents, so saving them unchanged is skipped. Otherwise, the next save writes the file.
+     *
+     * @param parsed the parsed file
+     *
+     * @see #replaceContents(FileConfiguration)
+     */
+    public void replaceContents(@NotNull ParsedConfig parsed) {
+        synchronized (this.persistLock) {
+            boolean current = this.isCurrent(parsed);
+
+            this.replaceContents(parsed.config());
+
+            if (current) {
+                this.markPersisted(parsed.hash(), parsed.attributes());
+            }
+        }
     }
 
     /**
-     * Save this configuration to its file synchronously.
+     * Save this configuration to its file synchronously. The contents are written to a temporary file which then
+     * atomically replaces the file, so a crash during the save never leaves a truncated file behind. If the
+     * serialized contents are identical to those last loaded or saved, and the file's size and modification time
+     * are unchanged since, nothing is written. A configuration opened through {@link #openStore(File)} instead
+     * commits the paths changed since its last save to its store.
      *
      * @throws IOException if an I/O error occurs
      * @see #saveAsync(Plugin)
      * @see #saveAsync(Plugin, Consumer)
      */
     public void save() throws IOException {
-        this.config.save(this.filePath);
+        if (this.config instanceof StoreConfiguration store) {
+            store.commit();
+            return;
+        }
+
+        if (this.config instanceof LazyYamlConfiguration lazy) {
+            // The index must not be read between writing the file and moving the index to it.
+            synchronized (lazy) {
+                this.write(lazy.saveToString());
+                lazy.commitSave();
+            }
+            return;
+        }
+        this.write(this.config.saveToString());
     }
 
     /**
@@ -251,22 +625,172 @@ public class PathConfig {
     }
 
     /**
-     * Save this configuration to its file asynchronously.
+     * Save this configuration to its file asynchronously. Saves are queued in the caller's {@link ConfigSaveQueue}, so
+     * several saves of the same file requested within a short window result in a single write.
+     * <p>
+     * A snapshot of the contents is taken on the calling thread, and only the snapshot is serialized and written on
+     * the queue's thread, so the configuration may keep being modified meanwhile. For configurations loaded lazily,
+     * the snapshot holds the entries held in memory, and the other entries are copied from the file on the queue's
+     * thread. For configurations opened through {@link #openStore(File)}, it holds the encoded values of the changed
+     * paths. Subclasses of {@link YamlConfiguration} are snapshotted like YAML configurations, so they are written in
+     * the YAML format. Other subclasses of {@link FileConfiguration} cannot be snapshotted, and are saved on the
+     * calling thread.
      *
      * @param caller           the reference to the plugin scheduling task
      * @param exceptionHandler the exception handler
      *
      * @see #save()
      * @see #saveAsync(Plugin)
+     * @see ConfigSaveQueue#of(Plugin)
      */
     public void saveAsync(@NotNull Plugin caller, @NotNull Consumer<IOException> exceptionHandler) {
-        Bukkit.getScheduler().runTaskAsynchronously(caller, () -> {
-            try {
-                this.save();
-            } catch (IOException exception) {
-                exceptionHandler.accept(exception);
+        ConfigSaveQueue.of(caller).enqueue(this, exceptionHandler);
+    }
+
+    /**
+     * Set the value at the given path, invalidate every {@link ConfigKey} of this configuration, and remove the cached
+     * translations at, above and beneath the path.
+     *
+     * @param path  the path
+     * @param value the new value, or null to remove the value
+     *
+     * @see #invalidate()
+     */
+    public void set(@NotNull String path, @Nullable Object value) {
+        this.config.set(path, value);
+        this.generation.incrementAndGet();
+        this.translationCache.remove(path, this.config.options().pathSeparator());
+    }
+
+    /**
+     * Take a snapshot of the contents of this configuration, which can be written to its file on another thread. This
+     * must be called on the thread modifying the configuration.
+     *
+     * @return the snapshot, or null if this configuration cannot be snapshotted
+     *
+     * @see #saveAsync(Plugin, Consumer)
+     */
+    @Nullable
+    PreparedSave snapshot() {
+        if (this.config instanceof StoreConfiguration store) {
+            StoreConfiguration.PreparedCommit commit = store.prepareCommit();
+
+            return () -> {
+                commit.write();
+                return true;
+            };
+        }
+        if (this.config instanceof LazyYamlConfiguration lazy && lazy.isLazy()) {
+            return this.snapshotLazy(lazy);
+        }
+        if (this.config instanceof YamlConfiguration yaml) {
+            ConfigSnapshot snapshot = ConfigSnapshot.of(yaml);
+
+            return () -> {
+                this.write(snapshot.saveToString());
+                return true;
+            };
+        }
+        return null;
+    }
+
+    @NotNull
+    private PreparedSave snapshotLazy(@NotNull LazyYamlConfiguration lazy) {
+        LazyYamlConfiguration.SaveSnapshot snapshot = lazy.snapshot();
+
+        return () -> {
+            // Copying the unmodified entries from the file does not block the thread modifying the configuration.
+            String contents = snapshot.assemble();
+
+            synchronized (lazy) {
+                if (lazy.isSuperseded(snapshot)) {
+                    return true;
+                }
+                if (!lazy.isIndexCurrent(snapshot)) {
+                    // An earlier snapshot was written meanwhile, so the entries to copy moved within the file.
+                    return false;
+                }
+                if (contents == null) {
+                    throw new IOException(this.filePath + " was modified on disk, it must be reloaded");
+                }
+                this.write(contents);
+                lazy.commitSave(snapshot);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Create a handle to the string at the given path, which caches the value until this configuration changes.
+     *
+     * @param path the path to the string
+     * @param def  the default value
+     *
+     * @return the new handle
+     *
+     * @see ConfigKey
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public ConfigKey<String> stringKey(@NotNull String path, @Nullable String def) {
+        return new ConfigKey.ObjectKey<>(this, path, config -> config.getString(path, def));
+    }
+
+    /**
+     * Get the cache of translated strings returned by {@link #getTranslated(String)}, for its statistics and size.
+     *
+     * @return the translation cache
+     */
+    @NotNull
+    public TranslationCache translationCache() {
+        return this.translationCache;
+    }
+
+    /**
+     * Translate every string beneath the given section, and store the translations in the translation cache. This is
+     * meant to be called at load time for sections holding messages, so the first lookups do not need to translate.
+     *
+     * @param sectionPath the path to the section, or an empty string for the whole configuration
+     *
+     * @return the number of strings translated, or 0 if the section doesn't exist
+     *
+     * @see #getTranslated(String)
+     */
+    public int warmTranslations(@NotNull String sectionPath) {
+        ConfigurationSection section = sectionPath.isEmpty()
+            ? this.config
+            : this.config.getConfigurationSection(sectionPath);
+
+        if (section == null) {
+            return 0;
+        }
+
+        String prefix = sectionPath.isEmpty() ? "" : sectionPath + this.config.options().pathSeparator();
+        int translated = 0;
+
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            if (entry.getValue() instanceof String message) {
+                this.translationCache.put(prefix + entry.getKey(), ChatUtil.translate(message));
+                translated++;
+            }
+        }
+        return translated;
+    }
+
+    private void write(@NotNull String contents) throws IOException {
+        byte[] data = contents.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = ContentHashes.sha256(data);
+
+        Path path = Paths.get(this.filePath);
+
+        // Writes of the same file are serialized, so the recorded hash is always the one of the last write.
+        synchronized (this.persistLock) {
+            if (Arrays.equals(hash, this.persistedHash) && this.matchesPersistedFile()) {
+                return;
             }
-        });
+            AtomicFiles.write(path, data);
+            this.markPersisted(hash);
+        }
     }
 
     /**
@@ -293,6 +817,38 @@ public class PathConfig {
         return new PathConfig(file.getCanonicalPath(), YamlConfiguration.loadConfiguration(file));
     }
 
+    /**
+     * Load the config from the plugin's data folder and the provided file path, copying the resource from the plugin
+     * JAR if the file does not exist.
+     *
+     * @param plugin      plugin
+     * @param filePath    the file path
+     * @param binaryCache whether to read and maintain a binary snapshot of the file
+     *
+     * @return the new config
+     *
+     * @throws FileNotFoundException         if the file does not exist
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the file is not a valid configuration
+     * @see #dumbLoad(Plugin, String)
+     * @see #loadConfig(File, boolean)
+     */
+    @Contract("_, _, _ -> new")
+    public static PathConfig dumbLoad(@NotNull Plugin plugin, @NotNull String filePath, boolean binaryCache)
+    throws IOException, InvalidConfigurationException, FileNotFoundException
+    {
+        if (!binaryCache) {
+            return dumbLoad(plugin, filePath);
+        }
+
+        File file = new File(plugin.getDataFolder(), filePath);
+
+        if (!file.exists()) {
+            plugin.saveResource(filePath, false);
+        }
+        return loadConfig(file, true);
+    }
+
     /**
      * Load a YAML configuration from the given file.
      *
@@ -308,8 +864,88 @@ public class PathConfig {
     public static PathConfig loadConfig(@NotNull File file) throws IOException, InvalidConfigurationException,
         FileNotFoundException
     {
-        YamlConfiguration config = new YamlConfiguration();
-        config.load(file);
-        return new PathConfig(file.getCanonicalPath(), config);
+        PathConfig config = new PathConfig(file.getCanonicalPath(), new YamlConfiguration());
+        config.reload();
+        return config;
+    }
+
+    /**
+     * Load a YAML configuration from the given file, optionally through a binary snapshot. The snapshot is stored in a
+     * hidden file next to the YAML file, and is read instead of parsing the YAML file as long as the YAML file's
+     * modification time, size and content hash are unchanged. Otherwise, the YAML file is parsed and the snapshot is
+     * rewritten. This speeds up loading large configurations that rarely change.
+     *
+     * @param file        the file
+     * @param binaryCache whether to read and maintain a binary snapshot of the file
+     *
+     * @return the new config
+     *
+     * @throws FileNotFoundException         if the file does not exist
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the file is not a valid configuration
+     * @see com.github.imajindevon.bluelib.config.binary.ConfigValueCodec
+     */
+    @Contract("_, _ -> new")
+    public static PathConfig loadConfig(@NotNull File file, boolean binaryCache) throws IOException,
+        InvalidConfigurationException, FileNotFoundException
+    {
+        return binaryCache ? BinaryConfigCache.load(file) : loadConfig(file);
+    }
+
+    /**
+     * Load a YAML configuration from the given file lazily. Only the byte ranges of the top-level entries are indexed
+     * when loading, and each entry is parsed when it is first accessed. At most {@code maxSections} entries are kept
+     * in memory, beyond which the least recently used unmodified entries are evicted.
+     *
+     * @param file        the file
+     * @param maxSections the number of top-level entries kept in memory
+     *
+     * @return the new config
+     *
+     * @throws FileNotFoundException         if the file does not exist
+     * @throws IOException                   if an I/O error occurs
+     * @throws InvalidConfigurationException if the file cannot be indexed and is not a valid configuration
+     * @see LazyYamlConfiguration
+     */
+    @Contract("_, _ -> new")
+    public static PathConfig loadLazy(@NotNull File file, int maxSections) throws IOException,
+        InvalidConfigurationException, FileNotFoundException
+    {
+        PathConfig config = new PathConfig(file.getCanonicalPath(), new LazyYamlConfiguration(maxSections));
+        config.reload();
+        return config;
+    }
+
+    /**
+     * Open a configuration persisted to an embedded key-value store instead of a YAML file. Each value is stored under
+     * its own key, so {@link #save()} only writes the values set since the last save, and does so atomically. This
+     * suits data files with very many entries, of which few change between saves.
+     *
+     * @param file the store file, which is created if it does not exist
+     *
+     * @return the new config
+     *
+     * @throws IOException if an I/O error occurs, or the file is not a valid store
+     * @see StoreConfiguration
+     */
+    @Contract("_ -> new")
+    public static PathConfig openStore(@NotNull File file) throws IOException {
+        return new PathConfig(file.getCanonicalPath(), StoreConfiguration.open(file.getCanonicalFile()));
+    }
+
+    /**
+     * The contents of a configuration captured on the thread modifying it, which can be written on any thread.
+     */
+    @FunctionalInterface
+    interface PreparedSave {
+        /**
+         * Write the captured contents to the file of the configuration, unless a later save or reload replaced them.
+         *
+         * @return false if the configuration was saved since the contents were captured, so they must be captured
+         * again
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        boolean write() throws IOException;
     }
 }
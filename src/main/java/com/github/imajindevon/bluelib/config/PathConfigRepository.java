@@ -0,0 +1,271 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * A set of {@link PathConfig}s loaded from every YAML file beneath a directory. Files are parsed in parallel on a
+ * bounded pool of worker threads, and indexed by their path relative to the directory, using {@code /} as the
+ * separator, such as {@code arenas/castle.yml}. A file that cannot be loaded does not abort the others; its error is
+ * recorded instead.
+ *
+ * @see #load(File, int)
+ * @see #loadAsync(Plugin, String)
+ * @since 1.1.0
+ */
+public final class PathConfigRepository {
+    private static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final Map<String, PathConfig> configs;
+    private final File directory;
+    private final Map<String, Exception> errors;
+
+    private PathConfigRepository(
+        @NotNull File directory, @NotNull Map<String, PathConfig> configs,
+        @NotNull Map<String, Exception> errors
+    )
+    {
+        this.directory = directory;
+        this.configs = Collections.unmodifiableMap(configs);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Get every successfully loaded config, sorted by relative path.
+     *
+     * @return the configs
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<String, PathConfig> configs() {
+        return this.configs;
+    }
+
+    /**
+     * Get the directory the configs were loaded from.
+     *
+     * @return the directory
+     */
+    @NotNull
+    public File directory() {
+        return this.directory;
+    }
+
+    /**
+     * Get the error of every file that could not be loaded, sorted by relative path. The errors are usually
+     * {@link IOException}s or {@link org.bukkit.configuration.InvalidConfigurationException}s.
+     *
+     * @return the errors
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<String, Exception> errors() {
+        return this.errors;
+    }
+
+    /**
+     * Get the config loaded from the file at the given relative path.
+     *
+     * @param relativePath the path relative to the directory, using {@code /} as the separator
+     *
+     * @return the config, or null if no such file was loaded
+     */
+    @Nullable
+    public PathConfig get(@NotNull String relativePath) {
+        return this.configs.get(relativePath);
+    }
+
+    /**
+     * Check whether any file could not be loaded.
+     *
+     * @return true if there are errors
+     *
+     * @see #errors()
+     */
+    public boolean hasErrors() {
+        return !this.errors.isEmpty();
+    }
+
+    /**
+     * Get the number of successfully loaded configs.
+     *
+     * @return the number of configs
+     */
+    public int size() {
+        return this.configs.size();
+    }
+
+    @NotNull
+    private static List<Path> discover(@NotNull Path root) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                String lowerName = name.toLowerCase(Locale.ROOT);
+
+                // Hidden files include the temporary files of atomic saves.
+                if (!name.startsWith(".")
+                    && (lowerName.endsWith(".yml") || lowerName.endsWith(".yaml"))
+                    && Files.isRegularFile(path))
+                {
+                    files.add(path);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Load every YAML file beneath the given directory of the plugin's data folder on the calling thread, using the
+     * default number of worker threads.
+     *
+     * @param plugin    the plugin
+     * @param directory the path to the directory from the plugin's data folder
+     *
+     * @return the new repository
+     *
+     * @throws IOException if the directory cannot be walked
+     * @see #load(File, int)
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static PathConfigRepository load(@NotNull Plugin plugin, @NotNull String directory) throws IOException {
+        return load(new File(plugin.getDataFolder(), directory), DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Load every {@code .yml} and {@code .yaml} file beneath the given directory, parsing them in parallel. This method
+     * blocks until every file is loaded. Hidden files are skipped. If the directory does not exist, the repository is
+     * empty.
+     *
+     * @param directory   the directory
+     * @param parallelism the maximum number of files parsed at once
+     *
+     * @return the new repository
+     *
+     * @throws IOException if the directory cannot be walked
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static PathConfigRepository load(@NotNull File directory, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        File canonicalDirectory = directory.getCanonicalFile();
+        Path root = canonicalDirectory.toPath();
+        Map<String, PathConfig> configs = new TreeMap<>();
+        Map<String, Exception> errors = new TreeMap<>();
+
+        if (!canonicalDirectory.isDirectory()) {
+            return new PathConfigRepository(canonicalDirectory, configs, errors);
+        }
+
+        List<Path> files = discover(root);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, files.size())), r -> {
+            Thread thread = new Thread(r, "BlueLib Config Loader #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<PathConfig>> futures = new ArrayList<>(files.size());
+
+            for (Path file : files) {
+                futures.add(executor.submit(() -> PathConfig.loadConfig(file.toFile())));
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                String key = toKey(root, files.get(i));
+
+                try {
+                    configs.put(key, futures.get(i).get());
+                } catch (ExecutionException exception) {
+                    Throwable cause = exception.getCause();
+
+                    if (cause instanceof Exception failure) {
+                        errors.put(key, failure);
+                    } else if (cause instanceof Error error) {
+                        throw error;
+                    } else {
+                        throw new IllegalStateException("Could not load " + key, cause);
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading " + canonicalDirectory, exception);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new PathConfigRepository(canonicalDirectory, configs, errors);
+    }
+
+    /**
+     * Load every YAML file beneath the given directory of the plugin's data folder off the main thread. The returned
+     * future is completed on the main thread, either with the repository, or exceptionally with the
+     * {@link IOException} thrown if the directory cannot be walked.
+     *
+     * @param plugin    the plugin
+     * @param directory the path to the directory from the plugin's data folder
+     *
+     * @return the future of the new repository
+     *
+     * @see #load(File, int)
+     */
+    @NotNull
+    public static CompletableFuture<PathConfigRepository> loadAsync(
+        @NotNull Plugin plugin, @NotNull String directory
+    )
+    {
+        CompletableFuture<PathConfigRepository> future = new CompletableFuture<>();
+        File file = new File(plugin.getDataFolder(), directory);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                PathConfigRepository repository = load(file, DEFAULT_PARALLELISM);
+                Bukkit.getScheduler().runTask(plugin, () -> future.complete(repository));
+            } catch (IOException | RuntimeException exception) {
+                Bukkit.getScheduler().runTask(plugin, () -> future.completeExceptionally(exception));
+            }
+        });
+        return future;
+    }
+
+    @NotNull
+    private static String toKey(@NotNull Path root, @NotNull Path file) {
+        StringBuilder key = new StringBuilder();
+
+        for (Path part : root.relativize(file)) {
+            if (!key.isEmpty()) {
+                key.append('/');
+            }
+            key.append(part);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of color translated strings of a single {@link PathConfig}, keyed by path. When the cache is full,
+ * the least recently used entry is evicted. The cache is cleared when the config is reloaded, and entries are removed
+ * when the value at their path is set through {@link PathConfig#set(String, Object)}.
+ *
+ * @see PathConfig#getTranslated(String)
+ * @see PathConfig#translationCache()
+ * @since 1.1.0
+ */
+public final class TranslationCache {
+    private static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Map<String, String> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return this.size() > TranslationCache.this.maxSize;
+        }
+    };
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long epoch;
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    TranslationCache() {
+    }
+
+    /**
+     * Remove every entry.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+        this.epoch++;
+    }
+
+    /**
+     * Get the translated string at the given path, translating and caching it if it is not cached yet.
+     *
+     * @param path       the path
+     * @param translator the function translating the string at a path
+     *
+     * @return the translated string
+     */
+    @NotNull
+    String get(@NotNull String path, @NotNull Function<String, String> translator) {
+        String cached;
+        long startEpoch;
+
+        synchronized (this) {
+            cached = this.entries.get(path);
+            startEpoch = this.epoch;
+        }
+
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+
+        this.misses.increment();
+        String translated = translator.apply(path);
+
+        synchronized (this) {
+            // Do not cache a translation of a value that was replaced while translating.
+            if (this.epoch == startEpoch) {
+                this.entries.put(path, translated);
+            }
+        }
+        return translated;
+    }
+
+    /**
+     * Get the ratio of lookups that were answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing was looked up yet
+     */
+    public double hitRate() {
+        long hits = this.hits.sum();
+        long total = hits + this.misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Get the number of lookups that were answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the maximum number of cached strings.
+     *
+     * @return the maximum size
+     */
+    public synchronized int maxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Get the number of lookups that had to translate the string.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Store an already translated string.
+     *
+     * @param path       the path
+     * @param translated the translated string
+     */
+    synchronized void put(@NotNull String path, @NotNull String translated) {
+        this.entries.put(path, translated);
+    }
+
+    /**
+     * Remove the entry at the given path, and the entries of every path above and beneath it. Setting a value beneath
+     * a cached string turns that string into a section, so the entries above are stale as well.
+     *
+     * @param path      the path
+     * @param separator the path separator of the config
+     */
+    synchronized void remove(@NotNull String path, char separator) {
+        for (int index = path.indexOf(separator); index != -1; index = path.indexOf(separator, index + 1)) {
+            this.entries.remove(path.substring(0, index));
+        }
+
+        String prefix = path + separator;
+        Iterator<String> iterator = this.entries.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+
+            if (key.equals(path) || key.startsWith(prefix)) {
+                iterator.remove();
+            }
+        }
+        this.epoch++;
+    }
+
+    /**
+     * Reset the hit and miss counters.
+     */
+    public void resetStats() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    /**
+     * Set the maximum number of cached strings. If the cache holds more strings, the least recently used ones are
+     * evicted.
+     *
+     * @param maxSize the maximum size
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size may not be negative");
+        }
+        this.maxSize = maxSize;
+
+        Iterator<String> iterator = this.entries.keySet().iterator();
+
+        while (this.entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Get the number of cached strings.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+}
@@ -0,0 +1,347 @@
+package com.github.imajindevon.bluelib.config.binary;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact binary encoding of configuration values. It supports every type a YAML configuration is loaded with:
+ * strings, numbers, booleans, dates, lists, maps, {@link ConfigurationSection}s along with their comments, and
+ * {@link ConfigurationSerializable}s, which are encoded as their serialized map holding the
+ * {@value ConfigurationSerialization#SERIALIZED_TYPE_KEY} key, the same way YAML stores them. The keys of maps are
+ * encoded as values, so they keep their type.
+ *
+ * @since 1.1.0
+ */
+public final class ConfigValueCodec {
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_LIST = 6;
+    private static final byte TAG_MAP = 7;
+    private static final byte TAG_SECTION = 8;
+    private static final byte TAG_SERIALIZABLE = 9;
+    private static final byte TAG_BIG_INTEGER = 10;
+    private static final byte TAG_DATE = 11;
+    private static final byte TAG_FLOAT = 12;
+
+    private ConfigValueCodec() {
+    }
+
+    /**
+     * Read a list of strings written by {@link #writeStrings(DataOutput, List)}.
+     *
+     * @param in the input
+     *
+     * @return the strings, which may contain null
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @NotNull
+    public static List<String> readStrings(@NotNull DataInput in) throws IOException {
+        int size = in.readInt();
+        List<String> strings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    /**
+     * Read the entries written by {@link #writeSection(DataOutput, ConfigurationSection)} into the given section.
+     * Child sections are created in the target section.
+     *
+     * @param in     the input
+     * @param target the section to read into
+     *
+     * @throws IOException if an I/O error occurs, or the input is malformed
+     */
+    public static void readSection(@NotNull DataInput in, @NotNull ConfigurationSection target) throws IOException {
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+
+            if (key == null) {
+                throw new IOException("Section key is null");
+            }
+
+            List<String> comments = readStrings(in);
+            List<String> inlineComments = readStrings(in);
+
+            byte tag = in.readByte();
+
+            if (tag == TAG_SECTION) {
+                readSection(in, target.createSection(key));
+            } else {
+                target.set(key, readValue(in, tag));
+            }
+            if (!comments.isEmpty()) {
+                target.setComments(key, comments);
+            }
+            if (!inlineComments.isEmpty()) {
+                target.setInlineComments(key, inlineComments);
+            }
+        }
+    }
+
+    /**
+     * Read a value written by {@link #writeValue(DataOutput, Object)}.
+     *
+     * @param in the input
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs, or the input is malformed
+     */
+    @Nullable
+    public static Object readValue(@NotNull DataInput in) throws IOException {
+        return readValue(in, in.readByte());
+    }
+
+    /**
+     * Write every entry of the given section, including child sections and the comments of every entry.
+     *
+     * @param out     the output
+     * @param section the section
+     *
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the section holds a value that cannot be encoded
+     */
+    public static void writeSection(@NotNull DataOutput out, @NotNull ConfigurationSection section)
+    throws IOException
+    {
+        Set<String> keys = section.getKeys(false);
+        out.writeInt(keys.size());
+
+        for (String key : keys) {
+            writeString(out, key);
+            writeStrings(out, section.getComments(key));
+            writeStrings(out, section.getInlineComments(key));
+
+            Object value = section.get(key);
+
+            if (value instanceof ConfigurationSection child) {
+                out.writeByte(TAG_SECTION);
+                writeSection(out, child);
+            } else {
+                writeValue(out, value);
+            }
+        }
+    }
+
+    /**
+     * Write a list of nullable strings.
+     *
+     * @param out     the output
+     * @param strings the strings, or null to write an empty list
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeStrings(@NotNull DataOutput out, @Nullable List<String> strings) throws IOException {
+        if (strings == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(strings.size());
+
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    /**
+     * Write a single value.
+     *
+     * @param out   the output
+     * @param value the value
+     *
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the value, or a value it holds, cannot be encoded
+     */
+    public static void writeValue(@NotNull DataOutput out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TAG_STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt(integer);
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof BigInteger integer) {
+            out.writeByte(TAG_BIG_INTEGER);
+            writeBytes(out, integer.toByteArray());
+        } else if (value instanceof Date date) {
+            out.writeByte(TAG_DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof ConfigurationSection section) {
+            out.writeByte(TAG_SECTION);
+            writeSection(out, section);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, map);
+        } else if (value instanceof ConfigurationSerializable serializable) {
+            Map<String, Object> serialized = new LinkedHashMap<>();
+            serialized.put(
+                ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                ConfigurationSerialization.getAlias(serializable.getClass())
+            );
+            serialized.putAll(serializable.serialize());
+
+            out.writeByte(TAG_SERIALIZABLE);
+            writeMap(out, serialized);
+        } else {
+            throw new IllegalArgumentException("Cannot encode value of type " + value.getClass().getName());
+        }
+    }
+
+    private static byte @NotNull [] readBytes(@NotNull DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @NotNull
+    private static List<Object> readList(@NotNull DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Object> list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(in));
+        }
+        return list;
+    }
+
+    @NotNull
+    private static Map<Object, Object> readMap(@NotNull DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<Object, Object> map = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            map.put(readValue(in), readValue(in));
+        }
+        return map;
+    }
+
+    @NotNull
+    private static Map<String, Object> readSectionAsMap(@NotNull DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            // Comments cannot be kept outside a section.
+            readStrings(in);
+            readStrings(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    @NotNull
+    private static Map<String, Object> readSerialized(@NotNull DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            if (!(readValue(in) instanceof String key)) {
+                throw new IOException("Serialized key is not a string");
+            }
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInput in) throws IOException {
+        int length = in.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInput in, byte tag) throws IOException {
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> readString(in);
+            case TAG_INT -> in.readInt();
+            case TAG_LONG -> in.readLong();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_FLOAT -> in.readFloat();
+            case TAG_BOOLEAN -> in.readBoolean();
+            case TAG_BIG_INTEGER -> new BigInteger(readBytes(in));
+            case TAG_DATE -> new Date(in.readLong());
+            case TAG_LIST -> readList(in);
+            case TAG_MAP -> readMap(in);
+            case TAG_SECTION -> readSectionAsMap(in);
+            case TAG_SERIALIZABLE -> ConfigurationSerialization.deserializeObject(readSerialized(in));
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    private static void writeBytes(@NotNull DataOutput out, byte @NotNull [] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeMap(@NotNull DataOutput out, @NotNull Map<?, ?> map) throws IOException {
+        out.writeInt(map.size());
+
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static void writeString(@NotNull DataOutput out, @Nullable String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    }
+}
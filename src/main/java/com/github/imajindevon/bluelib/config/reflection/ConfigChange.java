@@ -0,0 +1,50 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A change of a single reflective config field, detected while reloading a {@link ReflectivePluginConfig}.
+ *
+ * @param path      the resolved configuration path of the field
+ * @param fieldName the name of the field
+ * @param oldValue  the value of the field before the reload
+ * @param newValue  the value of the field after the reload
+ *
+ * @see ConfigChangeListener
+ * @since 1.1.0
+ */
+public record ConfigChange(
+    @NotNull String path, @NotNull String fieldName,
+    @Nullable Object oldValue, @Nullable Object newValue
+) {
+    /**
+     * Get the old value, cast to the given type.
+     *
+     * @param type the type of the field, or its wrapper type if the field is primitive
+     * @param <V>  the type of the value
+     *
+     * @return the old value
+     *
+     * @throws ClassCastException if the value is not of the given type
+     */
+    @Nullable
+    public <V> V oldValue(@NotNull Class<V> type) {
+        return type.cast(this.oldValue);
+    }
+
+    /**
+     * Get the new value, cast to the given type.
+     *
+     * @param type the type of the field, or its wrapper type if the field is primitive
+     * @param <V>  the type of the value
+     *
+     * @return the new value
+     *
+     * @throws ClassCastException if the value is not of the given type
+     */
+    @Nullable
+    public <V> V newValue(@NotNull Class<V> type) {
+        return type.cast(this.newValue);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * A listener notified once per reload of a {@link ReflectivePluginConfig}, with every change it was registered for.
+ *
+ * @see ReflectivePluginConfig#addChangeListener(ConfigChangeListener)
+ * @see ReflectivePluginConfig#addChangeListener(ConfigChangeListener, String...)
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    /**
+     * Called after a reload changed at least one of the paths this listener was registered for.
+     *
+     * @param changes the changes, in field declaration order
+     */
+    void onChanges(@NotNull @Unmodifiable List<ConfigChange> changes);
+}
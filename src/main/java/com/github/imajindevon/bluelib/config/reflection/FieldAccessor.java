@@ -0,0 +1,279 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * A field accessor backed by {@link MethodHandle}s instead of {@link Field#get(Object)} and
+ * {@link Field#set(Object, Object)}. The handles are adapted to erased signatures once, so call sites use
+ * {@link MethodHandle#invokeExact} without a per-call type check. {@code int}, {@code double} and {@code boolean}
+ * fields get specialized accessors that read and write without boxing.
+ * <p>
+ * The handles are held in instance fields, which the JIT does not treat as constants, so each access is a linked call
+ * rather than an inlined field access. Only handles held in {@code static final} fields are inlined, which requires a
+ * class per field; {@code LambdaMetafactory} is no alternative, as it needs a method to call and fields have none.
+ * Classes with a generated {@link ReflectiveConfigBinder} avoid accessors altogether. {@code FieldAccessorBenchmark} in
+ * the benchmark module compares these accessors with {@link Field} and with constant handles.
+ *
+ * @see ReflectiveConfigPlan
+ */
+abstract class FieldAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final String fieldName;
+
+    private FieldAccessor(@NotNull String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Create an accessor for the given field. This function assumes that the given field is accessible. Accessors of
+     * static fields ignore the instance they are given.
+     *
+     * @param field the field
+     *
+     * @return the new accessor
+     */
+    @NotNull
+    static FieldAccessor of(@NotNull Field field) {
+        MethodHandle getter;
+        MethodHandle setter;
+
+        try {
+            getter = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("Field " + field.getName() + " is not accessible", exception);
+        }
+        try {
+            setter = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException exception) {
+            // Final fields of records and hidden classes can never be written to.
+            setter = null;
+        }
+
+        if (Modifier.isStatic(field.getModifiers())) {
+            // Static handles take no receiver, so they are adapted to ignore the instance every accessor is given.
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            setter = setter == null ? null : MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+
+        Class<?> type = field.getType();
+        String name = field.getName();
+
+        if (type == int.class) {
+            return new IntAccessor(name, getter, setter);
+        }
+        if (type == double.class) {
+            return new DoubleAccessor(name, getter, setter);
+        }
+        if (type == boolean.class) {
+            return new BooleanAccessor(name, getter, setter);
+        }
+        return new ObjectAccessor(name, getter, setter);
+    }
+
+    /**
+     * Get the value of this field, boxing it if the field is primitive.
+     *
+     * @param instance the instance holding the field
+     *
+     * @return the value
+     */
+    @Nullable
+    abstract Object get(@NotNull Object instance);
+
+    /**
+     * Set the value of this field, unboxing it if the field is primitive.
+     *
+     * @param instance the instance holding the field
+     * @param value    the value
+     *
+     * @throws IllegalAccessException if the field cannot be written to
+     */
+    abstract void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException;
+
+    @NotNull
+    IllegalAccessException readOnly() {
+        return new IllegalAccessException("Field " + this.fieldName + " cannot be written to");
+    }
+
+    @Contract("null, _ -> null; !null, _ -> !null")
+    private static MethodHandle adapt(@Nullable MethodHandle handle, @NotNull MethodType type) {
+        return handle == null ? null : handle.asType(type);
+    }
+
+    @NotNull
+    private static RuntimeException rethrow(@NotNull Throwable throwable) {
+        if (throwable instanceof RuntimeException exception) {
+            return exception;
+        }
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    static final class ObjectAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private ObjectAccessor(@NotNull String name, @NotNull MethodHandle getter, @Nullable MethodHandle setter) {
+            super(name);
+            // Adapting a primitive setter to Object unboxes and widens the value, as isAssignable permits.
+            this.getter = adapt(getter, MethodType.methodType(Object.class, Object.class));
+            this.setter = adapt(setter, MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        @Nullable
+        Object get(@NotNull Object instance) {
+            try {
+                return (Object) this.getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        @Override
+        void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
+            if (this.setter == null) {
+                throw this.readOnly();
+            }
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+    }
+
+    static final class IntAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private IntAccessor(@NotNull String name, @NotNull MethodHandle getter, @Nullable MethodHandle setter) {
+            super(name);
+            this.getter = adapt(getter, MethodType.methodType(int.class, Object.class));
+            this.setter = adapt(setter, MethodType.methodType(void.class, Object.class, int.class));
+        }
+
+        @Override
+        @NotNull
+        Object get(@NotNull Object instance) {
+            return this.getInt(instance);
+        }
+
+        @Override
+        void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
+            this.setInt(instance, ((Number) value).intValue());
+        }
+
+        int getInt(@NotNull Object instance) {
+            try {
+                return (int) this.getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        void setInt(@NotNull Object instance, int value) throws IllegalAccessException {
+            if (this.setter == null) {
+                throw this.readOnly();
+            }
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+    }
+
+    static final class DoubleAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private DoubleAccessor(@NotNull String name, @NotNull MethodHandle getter, @Nullable MethodHandle setter) {
+            super(name);
+            this.getter = adapt(getter, MethodType.methodType(double.class, Object.class));
+            this.setter = adapt(setter, MethodType.methodType(void.class, Object.class, double.class));
+        }
+
+        @Override
+        @NotNull
+        Object get(@NotNull Object instance) {
+            return this.getDouble(instance);
+        }
+
+        @Override
+        void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
+            this.setDouble(instance, ((Number) value).doubleValue());
+        }
+
+        double getDouble(@NotNull Object instance) {
+            try {
+                return (double) this.getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        void setDouble(@NotNull Object instance, double value) throws IllegalAccessException {
+            if (this.setter == null) {
+                throw this.readOnly();
+            }
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+    }
+
+    static final class BooleanAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private BooleanAccessor(@NotNull String name, @NotNull MethodHandle getter, @Nullable MethodHandle setter) {
+            super(name);
+            this.getter = adapt(getter, MethodType.methodType(boolean.class, Object.class));
+            this.setter = adapt(setter, MethodType.methodType(void.class, Object.class, boolean.class));
+        }
+
+        @Override
+        @NotNull
+        Object get(@NotNull Object instance) {
+            return this.getBoolean(instance);
+        }
+
+        @Override
+        void set(@NotNull Object instance, @Nullable Object value) throws IllegalAccessException {
+            this.setBoolean(instance, (Boolean) value);
+        }
+
+        boolean getBoolean(@NotNull Object instance) {
+            try {
+                return (boolean) this.getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+
+        void setBoolean(@NotNull Object instance, boolean value) throws IllegalAccessException {
+            if (this.setter == null) {
+                throw this.readOnly();
+            }
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (Throwable throwable) {
+                throw rethrow(throwable);
+            }
+        }
+    }
+}
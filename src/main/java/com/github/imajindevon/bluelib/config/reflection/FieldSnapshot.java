@@ -0,0 +1,157 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The values the bound fields of a reflective config had when they were last copied to or loaded from a
+ * configuration. {@link ReflectiveConfigWriter#copyChangedFields} compares every field to its recorded value, and
+ * writes only the fields that changed since.
+ * <p>
+ * {@code int}, {@code double} and {@code boolean} fields are recorded without boxing. Lists, maps and arrays are
+ * copied when recorded, so modifying them in place is detected. Other values are compared by
+ * {@link Objects#deepEquals(Object, Object)}, so a mutable object that is modified in place rather than reassigned is
+ * only written after {@link #invalidate()}.
+ *
+ * @since 1.1.0
+ */
+public final class FieldSnapshot {
+    private long[] bits;
+    private boolean[] recorded;
+    private Class<?> type;
+    private Object[] values;
+
+    /**
+     * Record the current values of every bound field of the given instance, so that they are considered unchanged.
+     *
+     * @param instance the instance
+     */
+    public synchronized void capture(@NotNull ReflectiveConfig instance) {
+        ReflectiveConfigPlan.Binding[] bindings = ReflectiveConfigPlan.of(instance).bindings();
+        this.prepare(instance.getClass(), bindings.length);
+
+        for (int i = 0; i < bindings.length; i++) {
+            this.update(i, bindings[i].accessor(), instance);
+        }
+    }
+
+    /**
+     * Forget every recorded value, so that every field is considered changed.
+     */
+    public synchronized void invalidate() {
+        this.type = null;
+    }
+
+    /**
+     * Check whether any bound field of the given instance changed since its value was recorded. Nothing is recorded.
+     *
+     * @param instance the instance
+     *
+     * @return true if at least one field changed, or no value was recorded for the instance's class
+     */
+    public synchronized boolean isDirty(@NotNull ReflectiveConfig instance) {
+        if (this.type != instance.getClass()) {
+            return true;
+        }
+
+        ReflectiveConfigPlan.Binding[] bindings = ReflectiveConfigPlan.of(instance).bindings();
+
+        for (int i = 0; i < bindings.length; i++) {
+            if (this.differs(i, bindings[i].accessor(), instance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prepare this snapshot for the fields of the given class, forgetting every recorded value if it was taken of
+     * another class. Must be called while holding the lock of this snapshot.
+     *
+     * @param type          the reflective config class
+     * @param bindingsCount the number of bound fields of the class
+     */
+    void prepare(@NotNull Class<?> type, int bindingsCount) {
+        if (this.type == type) {
+            return;
+        }
+        this.type = type;
+        this.bits = new long[bindingsCount];
+        this.recorded = new boolean[bindingsCount];
+        this.values = new Object[bindingsCount];
+    }
+
+    /**
+     * Record the current value of a field, if it differs from its recorded value. Must be called while holding the lock
+     * of this snapshot, after {@link #prepare(Class, int)}.
+     *
+     * @param index    the index of the field's binding
+     * @param accessor the accessor of the field
+     * @param instance the instance holding the field
+     *
+     * @return true if the value changed
+     */
+    boolean update(int index, @NotNull FieldAccessor accessor, @NotNull Object instance) {
+        if (!this.differs(index, accessor, instance)) {
+            return false;
+        }
+
+        if (isPrimitive(accessor)) {
+            this.bits[index] = primitiveBits(accessor, instance);
+        } else {
+            this.values[index] = copyValue(accessor.get(instance));
+        }
+        this.recorded[index] = true;
+        return true;
+    }
+
+    private boolean differs(int index, @NotNull FieldAccessor accessor, @NotNull Object instance) {
+        if (!this.recorded[index]) {
+            return true;
+        }
+        if (isPrimitive(accessor)) {
+            return this.bits[index] != primitiveBits(accessor, instance);
+        }
+        return !Objects.deepEquals(this.values[index], accessor.get(instance));
+    }
+
+    @Nullable
+    private static Object copyValue(@Nullable Object value) {
+        if (value instanceof List<?> list) {
+            return new ArrayList<>(list);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return value;
+    }
+
+    private static boolean isPrimitive(@NotNull FieldAccessor accessor) {
+        return accessor instanceof FieldAccessor.IntAccessor
+            || accessor instanceof FieldAccessor.DoubleAccessor
+            || accessor instanceof FieldAccessor.BooleanAccessor;
+    }
+
+    private static long primitiveBits(@NotNull FieldAccessor accessor, @NotNull Object instance) {
+        if (accessor instanceof FieldAccessor.IntAccessor ints) {
+            return ints.getInt(instance);
+        }
+        if (accessor instanceof FieldAccessor.DoubleAccessor doubles) {
+            return Double.doubleToRawLongBits(doubles.getDouble(instance));
+        }
+        return ((FieldAccessor.BooleanAccessor) accessor).getBoolean(instance) ? 1 : 0;
+    }
+}
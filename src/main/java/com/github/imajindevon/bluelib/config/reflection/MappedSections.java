@@ -0,0 +1,84 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The reflective config instances bound from the child sections of a parent section, keyed by the name of each child
+ * section in the parent's order. A child that could not be bound does not abort the others; its error is recorded
+ * instead.
+ *
+ * @param <T> the type of the reflective configs
+ *
+ * @see ReflectiveConfigInjector#mapSections(ConfigurationSection, java.util.function.Supplier, boolean, boolean)
+ * @since 1.1.0
+ */
+public final class MappedSections<T extends ReflectiveConfig> {
+    private final Map<String, Exception> errors;
+    private final Map<String, T> instances;
+
+    MappedSections(@NotNull Map<String, T> instances, @NotNull Map<String, Exception> errors) {
+        this.instances = Collections.unmodifiableMap(instances);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Get the error of every child section that could not be bound, in the parent's order. The errors are usually
+     * {@link IllegalArgumentException}s thrown for entries that are missing or incompatible with their field.
+     *
+     * @return the errors
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<String, Exception> errors() {
+        return this.errors;
+    }
+
+    /**
+     * Get the instance bound from the child section with the given name.
+     *
+     * @param key the name of the child section
+     *
+     * @return the instance, or null if no such child section was bound
+     */
+    @Nullable
+    public T get(@NotNull String key) {
+        return this.instances.get(key);
+    }
+
+    /**
+     * Check whether any child section could not be bound.
+     *
+     * @return true if there are errors
+     *
+     * @see #errors()
+     */
+    public boolean hasErrors() {
+        return !this.errors.isEmpty();
+    }
+
+    /**
+     * Get every successfully bound instance, in the parent's order.
+     *
+     * @return the instances
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<String, T> instances() {
+        return this.instances;
+    }
+
+    /**
+     * Get the number of successfully bound instances.
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.instances.size();
+    }
+}
@@ -0,0 +1,288 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup tables for binding configuration strings to enum constants and registry entries, such as {@code Material},
+ * {@code Sound} or {@code Enchantment}. A table is built once per type, and maps the normalized name of every constant
+ * or entry to it. Names are normalized by lowercasing them, removing the {@code minecraft:} namespace and removing
+ * underscores, hyphens, spaces and dots, so {@code DIAMOND_SWORD}, {@code diamond-sword} and
+ * {@code minecraft:diamond_sword} all resolve to the same value. A type whose names are not unique once normalized
+ * cannot be bound.
+ * <p>
+ * Registry entries are found by scanning the static {@link Registry} fields for the registry of the requested type.
+ *
+ * @see ReflectiveConfigInjector
+ */
+final class NamedValues {
+    // Whether a class, or any of its supertypes, has a lookup table.
+    private static final ClassValue<Boolean> NAMED_CLASSES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            return isNamed(type);
+        }
+    };
+    private static final ClassValue<Optional<NamedValues>> TABLES = new ClassValue<>() {
+        @Override
+        protected Optional<NamedValues> computeValue(@NotNull Class<?> type) {
+            return Optional.ofNullable(create(type));
+        }
+    };
+
+    private final Map<String, Object> values;
+    private final Class<?> type;
+
+    private NamedValues(@NotNull Class<?> type, @NotNull Map<String, Object> values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    /**
+     * Get the value with the given name.
+     *
+     * @param name the name, in any case and with any separators
+     *
+     * @return the value, or null if no value has the name
+     */
+    @Nullable
+    Object lookup(@NotNull String name) {
+        return this.values.get(normalize(name));
+    }
+
+    @NotNull
+    private Object resolve(@NotNull String name, @NotNull String path) {
+        Object value = this.lookup(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "Entry at %s is not a known %s: %s".formatted(path, this.type.getSimpleName(), name)
+            );
+        }
+        return value;
+    }
+
+    private static void add(
+        @NotNull Class<?> type, @NotNull Map<String, Object> values,
+        @NotNull String name, @NotNull Object value
+    )
+    {
+        Object previous = values.putIfAbsent(normalize(name), value);
+
+        if (previous != null) {
+            throw new IllegalStateException(
+                "%s and %s of %s have the same normalized name".formatted(previous, value, type.getName())
+            );
+        }
+    }
+
+    @Nullable
+    private static NamedValues create(@NotNull Class<?> type) {
+        Map<String, Object> values = new HashMap<>();
+
+        if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                add(type, values, ((Enum<?>) constant).name(), constant);
+            }
+            return new NamedValues(type, Collections.unmodifiableMap(values));
+        }
+
+        Registry<?> registry = Keyed.class.isAssignableFrom(type) ? findRegistry(type) : null;
+
+        if (registry == null) {
+            return null;
+        }
+
+        for (Keyed entry : registry) {
+            add(type, values, entry.getKey().toString(), entry);
+        }
+        return new NamedValues(type, Collections.unmodifiableMap(values));
+    }
+
+    @Nullable
+    private static Registry<?> findRegistry(@NotNull Class<?> type) {
+        for (Field field : Registry.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())
+                || !(field.getGenericType() instanceof ParameterizedType parameterized)
+                || parameterized.getActualTypeArguments()[0] != type)
+            {
+                continue;
+            }
+            try {
+                return (Registry<?>) field.get(null);
+            } catch (IllegalAccessException exception) {
+                // Fields of interfaces are always public.
+                throw new IllegalStateException(exception);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Convert a configuration value to the value that should be injected into a field. Strings are resolved to enum
+     * constants or registry entries if the field, or the elements of a list field, are of a named type.
+     *
+     * @param fieldType   the type of the field
+     * @param elementType the element type of a list field, or null
+     * @param value       the configuration value
+     * @param path        the path of the value, for error messages
+     *
+     * @return the converted value, or the value itself if it needs no conversion
+     *
+     * @throws IllegalArgumentException if a string is not the name of any value of the type
+     */
+    @NotNull
+    static Object fromConfigValue(
+        @NotNull Class<?> fieldType, @Nullable Class<?> elementType,
+        @NotNull Object value, @NotNull String path
+    )
+    {
+        if (value instanceof String name) {
+            NamedValues table = of(fieldType);
+            return table == null ? value : table.resolve(name, path);
+        }
+        if (elementType == null || !(value instanceof List<?> list)) {
+            return value;
+        }
+
+        NamedValues table = of(elementType);
+
+        if (table == null) {
+            return value;
+        }
+
+        List<Object> converted = new ArrayList<>(list.size());
+
+        for (Object element : list) {
+            converted.add(element instanceof String name ? table.resolve(name, path) : element);
+        }
+        return converted;
+    }
+
+    private static boolean isNamed(@NotNull Class<?> type) {
+        if (of(type) != null) {
+            return true;
+        }
+
+        Class<?> superclass = type.getSuperclass();
+
+        if (superclass != null && NAMED_CLASSES.get(superclass)) {
+            return true;
+        }
+        for (Class<?> superinterface : type.getInterfaces()) {
+            if (NAMED_CLASSES.get(superinterface)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static String keyName(@NotNull NamespacedKey key) {
+        return key.getNamespace().equals(NamespacedKey.MINECRAFT) ? key.getKey() : key.toString();
+    }
+
+    /**
+     * Get the element type of the given list field, if it is a named type.
+     *
+     * @param field the field
+     *
+     * @return the element type, or null if the field is not a list of a named type
+     */
+    @Nullable
+    static Class<?> namedElementType(@NotNull Field field) {
+        if (!List.class.isAssignableFrom(field.getType())
+            || !(field.getGenericType() instanceof ParameterizedType parameterized))
+        {
+            return null;
+        }
+
+        Type[] arguments = parameterized.getActualTypeArguments();
+
+        if (arguments.length == 1 && arguments[0] instanceof Class<?> elementType && of(elementType) != null) {
+            return elementType;
+        }
+        return null;
+    }
+
+    @NotNull
+    private static String normalize(@NotNull String name) {
+        String lower = name.trim().toLowerCase(Locale.ROOT);
+
+        if (lower.startsWith(NamespacedKey.MINECRAFT + ':')) {
+            lower = lower.substring(NamespacedKey.MINECRAFT.length() + 1);
+        }
+
+        StringBuilder normalized = new StringBuilder(lower.length());
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+
+            if (c != '_' && c != '-' && c != ' ' && c != '.') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Get the lookup table of the given type, building it on first use.
+     *
+     * @param type the type
+     *
+     * @return the table, or null if the type is neither an enum nor the type of a registry
+     *
+     * @throws IllegalStateException if two values of the type have the same normalized name
+     */
+    @Nullable
+    static NamedValues of(@NotNull Class<?> type) {
+        return TABLES.get(type).orElse(null);
+    }
+
+    /**
+     * Convert a field's value to the value that should be written to a configuration. Enum constants are written as
+     * their names, and keyed values of a type with a lookup table as their keys, also inside lists. Other keyed values
+     * are written as they are, as their keys could not be read back.
+     *
+     * @param value the field's value
+     *
+     * @return the converted value, or the value itself if it needs no conversion
+     */
+    @Contract("null -> null")
+    static Object toConfigValue(@Nullable Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof Keyed keyed && NAMED_CLASSES.get(keyed.getClass())) {
+            return keyName(keyed.getKey());
+        }
+        if (!(value instanceof List<?> list) || list.isEmpty()
+            || !(list.get(0) instanceof Enum<?>) && !(list.get(0) instanceof Keyed))
+        {
+            return value;
+        }
+
+        List<Object> converted = new ArrayList<>(list.size());
+
+        for (Object element : list) {
+            converted.add(toConfigValue(element));
+        }
+        return converted;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import com.github.imajindevon.bluelib.config.reflection.annotation.GenerateBinder;
+import com.github.imajindevon.bluelib.util.naming.NamingConventionConverter;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A binder that injects and writes the fields of a {@link ReflectiveConfig} without reflection. Implementations are
+ * generated at compile time by the {@code ReflectiveConfigProcessor} annotation processor for classes annotated with
+ * {@link GenerateBinder}, and are looked up by {@link ReflectiveConfigBinders#find(ReflectiveConfig)}.
+ *
+ * @param <T> the type of the reflective config
+ *
+ * @see ReflectiveConfigInjector
+ * @see ReflectiveConfigWriter
+ * @since 1.1.0
+ */
+public interface ReflectiveConfigBinder<T extends ReflectiveConfig> {
+    /**
+     * Check whether the paths of this binder were resolved for the given naming convention.
+     *
+     * @param converter the naming convention converter
+     *
+     * @return true if this binder can be used with the converter
+     */
+    boolean supports(@NotNull NamingConventionConverter converter);
+
+    /**
+     * Inject the configuration values into the given instance. This method behaves exactly like
+     * {@link ReflectiveConfigInjector#getAndInject(ReflectiveConfig, ConfigurationSection, boolean, boolean)}.
+     *
+     * @param instance         the instance to inject into
+     * @param configuration    the section to retrieve the values from
+     * @param translateStrings if true, all strings will be color translated
+     * @param copyDefaults     if a field is missing, the field's current value will be copied
+     *
+     * @throws IllegalArgumentException if the config is not compatible with the given instance
+     */
+    void inject(
+        @NotNull T instance, @NotNull ConfigurationSection configuration,
+        boolean translateStrings, boolean copyDefaults
+    );
+
+    /**
+     * Inject only the configuration values that differ from the instance's current field values, and report what
+     * changed. This method behaves exactly like
+     * {@link ReflectiveConfigInjector#injectChanges(ReflectiveConfig, ConfigurationSection, boolean, boolean)}.
+     *
+     * @param instance         the instance to inject into
+     * @param configuration    the section to retrieve the values from
+     * @param translateStrings if true, all strings will be color translated
+     * @param copyDefaults     if a field is missing, the field's current value will be copied
+     *
+     * @return the changes, in field declaration order
+     *
+     * @throws IllegalArgumentException if the config is not compatible with the given instance
+     */
+    @NotNull
+    List<ConfigChange> injectChanges(
+        @NotNull T instance, @NotNull ConfigurationSection configuration,
+        boolean translateStrings, boolean copyDefaults
+    );
+
+    /**
+     * Write the fields of the given instance to the given configuration section. This method behaves exactly like
+     * {@link ReflectiveConfigWriter#copyFields(ReflectiveConfig, ConfigurationSection)}.
+     *
+     * @param instance the instance to retrieve the fields from
+     * @param copyTo   the configuration section to copy the values to
+     */
+    void write(@NotNull T instance, @NotNull ConfigurationSection copyTo);
+}
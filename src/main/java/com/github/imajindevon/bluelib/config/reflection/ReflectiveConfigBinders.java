@@ -0,0 +1,205 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Utility class for looking up compile-time generated {@link ReflectiveConfigBinder}s, and the runtime support methods
+ * used by the generated code.
+ *
+ * @since 1.1.0
+ */
+public final class ReflectiveConfigBinders {
+    /**
+     * The suffix appended to the binary name of a reflective config class to get the name of its generated binder.
+     */
+    public static final String BINDER_SUFFIX = "_ConfigBinder";
+
+    private static final ClassValue<Optional<ReflectiveConfigBinder<?>>> BINDERS = new ClassValue<>() {
+        @Override
+        protected Optional<ReflectiveConfigBinder<?>> computeValue(@NotNull Class<?> type) {
+            return loadBinder(type);
+        }
+    };
+
+    private ReflectiveConfigBinders() {
+    }
+
+    /**
+     * Get the changes between the old and new values of a binder's fields. This method is called by generated binders.
+     *
+     * @param paths      the paths of the fields
+     * @param fieldNames the names of the fields
+     * @param oldValues  the values of the fields before injection
+     * @param newValues  the values of the fields after injection
+     *
+     * @return the changes, in field order
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static List<ConfigChange> changes(
+        @NotNull String @NotNull [] paths, @NotNull String @NotNull [] fieldNames,
+        @Nullable Object @NotNull [] oldValues, @Nullable Object @NotNull [] newValues
+    )
+    {
+        List<ConfigChange> changes = null;
+
+        for (int i = 0; i < paths.length; i++) {
+            if (!Objects.deepEquals(oldValues[i], newValues[i])) {
+                if (changes == null) {
+                    changes = new ArrayList<>();
+                }
+                changes.add(new ConfigChange(paths[i], fieldNames[i], oldValues[i], newValues[i]));
+            }
+        }
+        return changes == null ? List.of() : Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Find the generated binder for the given instance. A binder is only returned if one was generated for the exact
+     * class of the instance, and its paths were resolved for the instance's naming convention.
+     *
+     * @param instance the reflective config instance
+     * @param <T>      the type of the instance
+     *
+     * @return the binder, or null if reflection must be used instead
+     */
+    @Nullable
+    public static <T extends ReflectiveConfig> ReflectiveConfigBinder<T> find(@NotNull T instance) {
+        //noinspection unchecked
+        ReflectiveConfigBinder<T> binder = (ReflectiveConfigBinder<T>) BINDERS.get(instance.getClass()).orElse(null);
+
+        if (binder == null || !binder.supports(instance.getNamingConventionConverter())) {
+            return null;
+        }
+        return binder;
+    }
+
+    /**
+     * Resolve the value that should be injected into a field. This method is called by generated binders.
+     *
+     * @param configuration    the section to retrieve the value from
+     * @param path             the path of the field
+     * @param fieldType        the type of the field
+     * @param fieldName        the name of the field
+     * @param optional         whether the field is optional
+     * @param currentValue     the current value of the field
+     * @param translateStrings if true, strings will be color translated
+     * @param copyDefaults     if the value is missing, the field's current value will be copied
+     *
+     * @return the value to inject
+     *
+     * @throws IllegalArgumentException if the entry is not compatible with the field
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public static Object resolve(
+        @NotNull ConfigurationSection configuration, @NotNull String path, @NotNull Class<?> fieldType,
+        @NotNull String fieldName, boolean optional, @Nullable Object currentValue,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        return ReflectiveConfigInjector.resolveValue(
+            configuration, path, fieldType, null, fieldName, optional, currentValue, translateStrings, copyDefaults
+        );
+    }
+
+    /**
+     * Resolve the value that should be injected into a list field whose elements are enum constants or registry
+     * entries. This method is called by generated binders.
+     *
+     * @param configuration    the section to retrieve the value from
+     * @param path             the path of the field
+     * @param fieldType        the type of the field
+     * @param elementType      the element type of the list
+     * @param fieldName        the name of the field
+     * @param optional         whether the field is optional
+     * @param currentValue     the current value of the field
+     * @param translateStrings if true, strings will be color translated
+     * @param copyDefaults     if the value is missing, the field's current value will be copied
+     *
+     * @return the value to inject
+     *
+     * @throws IllegalArgumentException if the entry is not compatible with the field, or names an unknown constant
+     */
+    @ApiStatus.Internal
+    @Nullable
+    public static Object resolve(
+        @NotNull ConfigurationSection configuration, @NotNull String path, @NotNull Class<?> fieldType,
+        @NotNull Class<?> elementType, @NotNull String fieldName, boolean optional, @Nullable Object currentValue,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        return ReflectiveConfigInjector.resolveValue(
+            configuration, path, fieldType, NamedValues.of(elementType) == null ? null : elementType, fieldName,
+            optional, currentValue, translateStrings, copyDefaults
+        );
+    }
+
+    /**
+     * Convert a throwable thrown by a method handle into an unchecked exception. Errors are thrown directly. This
+     * method is called by generated binders.
+     *
+     * @param throwable the throwable
+     *
+     * @return the throwable if it is a runtime exception, otherwise a runtime exception wrapping it
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static RuntimeException rethrow(@NotNull Throwable throwable) {
+        if (throwable instanceof RuntimeException exception) {
+            return exception;
+        }
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    /**
+     * Write a field's value to the given section. Enum constants and registry entries are written as their names. This
+     * method is called by generated binders.
+     *
+     * @param copyTo the section to write to
+     * @param path   the path of the field
+     * @param value  the value of the field
+     */
+    @ApiStatus.Internal
+    public static void write(@NotNull ConfigurationSection copyTo, @NotNull String path, @Nullable Object value) {
+        copyTo.set(path, NamedValues.toConfigValue(value));
+    }
+
+    @NotNull
+    private static Optional<ReflectiveConfigBinder<?>> loadBinder(@NotNull Class<?> type) {
+        Class<?> binderClass;
+
+        try {
+            binderClass = Class.forName(type.getName() + BINDER_SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException exception) {
+            return Optional.empty();
+        } catch (ExceptionInInitializerError error) {
+            // The binder's field handles could not be created, so the config falls back to reflection.
+            error.printStackTrace();
+            return Optional.empty();
+        }
+
+        if (!ReflectiveConfigBinder.class.isAssignableFrom(binderClass)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((ReflectiveConfigBinder<?>) binderClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException exception) {
+            exception.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
@@ -8,14 +8,120 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 public final class ReflectiveConfigInjector {
+    /**
+     * The number of child sections from which {@link #mapSections(ConfigurationSection, Supplier, boolean, boolean)}
+     * binds in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
     private ReflectiveConfigInjector() {
     }
 
+    /**
+     * Copy the value of every bound field of the source that differs from the target's into the target, and report
+     * what changed. Values are compared by {@link Objects#deepEquals(Object, Object)}, and are not copied themselves,
+     * so the source should be discarded afterwards.
+     *
+     * @param source the instance holding the new values
+     * @param target the instance to copy the values into, of the same class as the source
+     *
+     * @return the changes, in field declaration order
+     *
+     * @throws IllegalAccessException if a field cannot be written to
+     */
+    @NotNull
+    static List<ConfigChange> copyChanges(@NotNull ReflectiveConfig source, @NotNull ReflectiveConfig target)
+    throws IllegalAccessException
+    {
+        List<ConfigChange> changes = null;
+
+        for (ReflectiveConfigPlan.Binding binding : ReflectiveConfigPlan.of(target).bindings()) {
+            Object oldValue = binding.accessor().get(target);
+            Object newValue = binding.accessor().get(source);
+
+            if (!Objects.deepEquals(oldValue, newValue)) {
+                if (changes == null) {
+                    changes = new ArrayList<>();
+                }
+                injectValue(binding.accessor(), target, newValue);
+                changes.add(new ConfigChange(binding.path(), binding.name(), oldValue, newValue));
+            }
+        }
+        return changes == null ? List.of() : Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Compare every bound field of two instances of the same reflective config class.
+     *
+     * @param oldInstance the previous instance
+     * @param newInstance the new instance
+     *
+     * @return the changes, in field declaration order
+     */
+    @NotNull
+    static List<ConfigChange> diff(@NotNull ReflectiveConfig oldInstance, @NotNull ReflectiveConfig newInstance) {
+        List<ConfigChange> changes = null;
+
+        for (ReflectiveConfigPlan.Binding binding : ReflectiveConfigPlan.of(oldInstance).bindings()) {
+            Object oldValue = binding.accessor().get(oldInstance);
+            Object newValue = binding.accessor().get(newInstance);
+
+            if (!Objects.deepEquals(oldValue, newValue)) {
+                if (changes == null) {
+                    changes = new ArrayList<>();
+                }
+                changes.add(new ConfigChange(binding.path(), binding.name(), oldValue, newValue));
+            }
+        }
+        return changes == null ? List.of() : Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Construct a new record from the configuration values, through the record's canonical constructor. Components
+     * that are missing from the configuration, or that are not bound, take the value of the given template.
+     * <p>
+     * Records cannot be injected into, as their fields are final. Use this method instead of
+     * {@link #getAndInject(ReflectiveConfig, ConfigurationSection, boolean, boolean)} for them.
+     *
+     * @param template         the record providing the default values and naming convention
+     * @param configuration    the class to retrieve the values from
+     * @param translateStrings if true, all strings will be color translated
+     * @param copyDefaults     if a component is missing, the template's value will be copied
+     * @param <T>              the type of the record
+     *
+     * @return the new record
+     *
+     * @throws IllegalArgumentException if the template is not a record, or the config is not compatible with it
+     */
+    @NotNull
+    public static <T extends ReflectiveConfig> T getAndConstruct(
+        @NotNull T template, @NotNull ConfigurationSection configuration,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        ReflectiveConfigPlan plan = ReflectiveConfigPlan.of(template);
+        ReflectiveConfigPlan.RecordShape shape = plan.recordShape();
+
+        if (shape == null) {
+            throw new IllegalArgumentException(template.getClass() + " is not a record");
+        }
+
+        //noinspection unchecked
+        return (T) construct(plan.bindings(), shape, template, configuration, translateStrings, copyDefaults);
+    }
+
     /**
      * Inject the configuration values into the given instance. All fields names will by default converted to
      * kebab-case. This can be changed by overriding the {@link ReflectiveConfig#getNamingConventionConverter()}
@@ -40,55 +146,256 @@ public final class ReflectiveConfigInjector {
         boolean translateStrings, boolean copyDefaults
     ) throws IllegalAccessException
     {
-        Class<?> clazz = instance.getClass();
-        Class<?>[] typesToIgnore = ReflectiveConfigUtils.getIgnoredTypes(clazz);
+        inject(ReflectiveConfigPlan.of(instance).bindings(), instance, configuration, translateStrings, copyDefaults);
+    }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            Class<?> fieldType = field.getType();
-            String fieldName = field.getName();
+    /**
+     * Inject only the configuration values that differ from the instance's current field values, and report what
+     * changed. Values are compared by {@link Objects#deepEquals(Object, Object)} after string translation, so
+     * unchanged entries never cause a write. Every value is resolved before any field is written, so if the
+     * configuration is not compatible with the instance, the instance is left untouched.
+     *
+     * @param instance         the instance to inject into
+     * @param configuration    the class to retrieve the values from
+     * @param translateStrings if true, all strings will be color translated
+     * @param copyDefaults     if a field is missing, the field's current value will be copied
+     * @param <T>              the type of the instance
+     *
+     * @return the changes, in field declaration order
+     *
+     * @throws IllegalAccessException   if unauthorized access is attempted
+     * @throws IllegalArgumentException if the config is not compatible with the given instance
+     * @see #getAndInject(ReflectiveConfig, ConfigurationSection, boolean, boolean)
+     */
+    @NotNull
+    public static <T extends ReflectiveConfig> List<ConfigChange> injectChanges(
+        @NotNull T instance, @NotNull ConfigurationSection configuration,
+        boolean translateStrings, boolean copyDefaults
+    ) throws IllegalAccessException
+    {
+        ReflectiveConfigPlan.Binding[] bindings = ReflectiveConfigPlan.of(instance).bindings();
+        Object[] oldValues = new Object[bindings.length];
+        Object[] newValues = new Object[bindings.length];
+        boolean[] changedFields = new boolean[bindings.length];
+        int changed = 0;
+
+        for (int i = 0; i < bindings.length; i++) {
+            ReflectiveConfigPlan.Binding binding = bindings[i];
+            Object oldValue = binding.accessor().get(instance);
+            Object newValue = resolveValue(
+                configuration, binding.path(), binding.type(), binding.elementType(), binding.name(),
+                binding.optional(), oldValue, translateStrings, copyDefaults
+            );
 
-            if (ReflectiveConfigUtils.shouldIgnoreField(field, typesToIgnore)) {
-                continue;
+            if (!Objects.deepEquals(oldValue, newValue)) {
+                oldValues[i] = oldValue;
+                newValues[i] = newValue;
+                changedFields[i] = true;
+                changed++;
             }
+        }
 
-            field.setAccessible(true);
+        if (changed == 0) {
+            return List.of();
+        }
 
-            String path = ReflectiveConfigUtils.extractQualifiedPath(instance, field);
-            Object value;
+        List<ConfigChange> changes = new ArrayList<>(changed);
 
-            if (configuration.isSet(path)) {
-                value = configuration.get(path);
+        for (int i = 0; i < bindings.length; i++) {
+            if (changedFields[i]) {
+                ReflectiveConfigPlan.Binding binding = bindings[i];
+                injectValue(binding.accessor(), instance, newValues[i]);
+                changes.add(new ConfigChange(binding.path(), binding.name(), oldValues[i], newValues[i]));
+            }
+        }
+        return Collections.unmodifiableList(changes);
+    }
 
-                if (value == null) {
-                    if (fieldType.isPrimitive()) {
-                        throw new IllegalArgumentException("Received null for non-null field " + fieldName);
-                    }
-                } else {
-                    Class<?> valueType = value.getClass();
+    /**
+     * Bind every child section of the given parent into a new instance created by the factory. The binding plan,
+     * generated binder and record shape are resolved once and shared by every child, and large sections are bound in
+     * parallel. The factory is always called on the calling thread, so it does not need to be thread-safe.
+     * <p>
+     * Records are built through {@link #getAndConstruct(ReflectiveConfig, ConfigurationSection, boolean, boolean)},
+     * with the factory's instance as the template. A child that cannot be bound does not abort the others; its error
+     * is recorded in the result instead. Entries of the parent that are not sections are ignored.
+     *
+     * @param parent           the section holding the child sections
+     * @param factory          the factory creating an instance for every child section
+     * @param translateStrings if true, all strings will be color translated
+     * @param copyDefaults     if a field is missing, the field's current value will be copied into the child section
+     * @param <T>              the type of the instances
+     *
+     * @return the instances and errors, keyed by child section name in the parent's order
+     *
+     * @since 1.1.0
+     */
+    @NotNull
+    public static <T extends ReflectiveConfig> MappedSections<T> mapSections(
+        @NotNull ConfigurationSection parent, @NotNull Supplier<? extends T> factory,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        List<String> keys = new ArrayList<>();
+        List<ConfigurationSection> sections = new ArrayList<>();
+
+        for (String key : parent.getKeys(false)) {
+            if (parent.get(key) instanceof ConfigurationSection section) {
+                keys.add(key);
+                sections.add(section);
+            }
+        }
+
+        int size = keys.size();
+
+        if (size == 0) {
+            return new MappedSections<>(new LinkedHashMap<>(), new LinkedHashMap<>());
+        }
+
+        List<T> instances = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            instances.add(factory.get());
+        }
+
+        T first = instances.get(0);
+        ReflectiveConfigPlan plan = ReflectiveConfigPlan.of(first);
+        ReflectiveConfigPlan.Binding[] bindings = plan.bindings();
+        ReflectiveConfigPlan.RecordShape shape = plan.recordShape();
+        ReflectiveConfigBinder<T> binder = shape == null ? ReflectiveConfigBinders.find(first) : null;
+
+        Object[] results = new Object[size];
+        Exception[] errors = new Exception[size];
 
-                    if (!fieldType.isAssignableFrom(valueType)) {
-                        throw new IllegalArgumentException(
-                            "Entry at %s is of type %s, but field %s is of type %s"
-                                .formatted(path, valueType, fieldName, fieldType)
-                        );
+        IntConsumer bindChild = i -> {
+            T instance = instances.get(i);
+            ConfigurationSection section = sections.get(i);
+
+            try {
+                if (shape != null) {
+                    results[i] = construct(bindings, shape, instance, section, translateStrings, copyDefaults);
+                } else {
+                    if (binder != null) {
+                        binder.inject(instance, section, translateStrings, copyDefaults);
+                    } else {
+                        inject(bindings, instance, section, translateStrings, copyDefaults);
                     }
+                    results[i] = instance;
                 }
+            } catch (IllegalAccessException | RuntimeException exception) {
+                errors[i] = exception;
+            }
+        };
+
+        if (size < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                bindChild.accept(i);
+            }
+        } else {
+            IntStream.range(0, size).parallel().forEach(bindChild);
+        }
+
+        Map<String, T> mapped = new LinkedHashMap<>();
+        Map<String, Exception> failed = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                failed.put(keys.get(i), errors[i]);
             } else {
-                value = field.get(instance);
+                //noinspection unchecked
+                mapped.put(keys.get(i), (T) results[i]);
+            }
+        }
+        return new MappedSections<>(mapped, failed);
+    }
 
-                if (copyDefaults) {
-                    configuration.set(path, value);
-                } else if (!field.isAnnotationPresent(Optional.class)) {
-                    throw new IllegalArgumentException("Field " + path + " is not present in the configuration, nor " +
-                        "is it optional");
+    /**
+     * Resolve the value that should be injected into the given binding's field.
+     *
+     * @param binding          the field binding
+     * @param instance         the instance holding the field
+     * @param configuration    the configuration to retrieve the value from
+     * @param translateStrings if true, strings will be color translated
+     * @param copyDefaults     if the value is missing, the field's current value will be copied
+     *
+     * @return the value to inject
+     *
+     * @throws IllegalArgumentException if the entry is not compatible with the field
+     */
+    @Nullable
+    static Object resolveValue(
+        @NotNull ReflectiveConfigPlan.Binding binding, @NotNull Object instance,
+        @NotNull ConfigurationSection configuration, boolean translateStrings, boolean copyDefaults
+    )
+    {
+        return resolveValue(
+            configuration, binding.path(), binding.type(), binding.elementType(), binding.name(),
+            binding.optional(), binding.accessor().get(instance), translateStrings, copyDefaults
+        );
+    }
+
+    /**
+     * Resolve the value that should be injected into a field. Strings are resolved to enum constants or registry
+     * entries if the field, or the elements of a list field, are of such a type.
+     *
+     * @param configuration    the configuration to retrieve the value from
+     * @param path             the path of the field
+     * @param fieldType        the type of the field
+     * @param elementType      the element type of a list field of enum constants or registry entries, or null
+     * @param fieldName        the name of the field
+     * @param optional         whether the field is annotated with {@link Optional}
+     * @param currentValue     the current value of the field
+     * @param translateStrings if true, strings will be color translated
+     * @param copyDefaults     if the value is missing, the field's current value will be copied
+     *
+     * @return the value to inject
+     *
+     * @throws IllegalArgumentException if the entry is not compatible with the field, or names an unknown constant
+     * @see NamedValues
+     */
+    @Nullable
+    static Object resolveValue(
+        @NotNull ConfigurationSection configuration, @NotNull String path, @NotNull Class<?> fieldType,
+        @Nullable Class<?> elementType, @NotNull String fieldName, boolean optional, @Nullable Object currentValue,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        Object value;
+
+        if (configuration.isSet(path)) {
+            value = configuration.get(path);
+
+            if (value == null) {
+                if (fieldType.isPrimitive()) {
+                    throw new IllegalArgumentException("Received null for non-null field " + fieldName);
                 }
+            } else {
+                value = NamedValues.fromConfigValue(fieldType, elementType, value, path);
+                Class<?> valueType = value.getClass();
+
+                if (!ReflectiveConfigUtils.isAssignable(fieldType, valueType)) {
+                    throw new IllegalArgumentException(
+                        "Entry at %s is of type %s, but field %s is of type %s"
+                            .formatted(path, valueType, fieldName, fieldType)
+                    );
+                }
+                value = ReflectiveConfigUtils.widen(fieldType, value);
             }
+        } else {
+            value = currentValue;
 
-            if (translateStrings) {
-                value = attemptStringTranslations(value);
+            if (copyDefaults) {
+                configuration.set(path, NamedValues.toConfigValue(value));
+            } else if (!optional) {
+                throw new IllegalArgumentException("Field " + path + " is not present in the configuration, nor " +
+                    "is it optional");
             }
-            injectValue(field, instance, value);
         }
+
+        if (translateStrings) {
+            value = attemptStringTranslations(value);
+        }
+        return value;
     }
 
     @Contract("null -> null")
@@ -105,24 +412,49 @@ public final class ReflectiveConfigInjector {
         return value;
     }
 
+    @NotNull
+    private static Object construct(
+        ReflectiveConfigPlan.Binding @NotNull [] bindings, @NotNull ReflectiveConfigPlan.RecordShape shape,
+        @NotNull Object template, @NotNull ConfigurationSection configuration,
+        boolean translateStrings, boolean copyDefaults
+    )
+    {
+        Object[] componentValues = shape.componentValues(template);
+
+        for (int i = 0; i < bindings.length; i++) {
+            ReflectiveConfigPlan.Binding binding = bindings[i];
+            Object value = resolveValue(binding, template, configuration, translateStrings, copyDefaults);
+            componentValues[shape.bindingComponents()[i]] = value;
+        }
+        return shape.construct(componentValues);
+    }
+
+    private static void inject(
+        ReflectiveConfigPlan.Binding @NotNull [] bindings, @NotNull Object instance,
+        @NotNull ConfigurationSection configuration, boolean translateStrings, boolean copyDefaults
+    ) throws IllegalAccessException
+    {
+        for (ReflectiveConfigPlan.Binding binding : bindings) {
+            Object value = resolveValue(binding, instance, configuration, translateStrings, copyDefaults);
+            injectValue(binding.accessor(), instance, value);
+        }
+    }
+
     /**
-     * This function assumes that the given field is accessible.
+     * Inject the value into the field of the given accessor.
      *
-     * @param field    the field to inject the value into
+     * @param accessor the accessor of the field to inject the value into
      * @param instance the instance holding the field
      * @param value    the value to inject
      * @param <T>      the type of the instance
+     *
+     * @throws IllegalAccessException if the field cannot be written to
      */
     static <T> void injectValue(
-        @NotNull Field field, @NotNull T instance,
+        @NotNull FieldAccessor accessor, @NotNull T instance,
         @Nullable Object value
-    )
+    ) throws IllegalAccessException
     {
-        try {
-            field.set(instance, value);
-        } catch (IllegalAccessException exception) {
-            // Since we are forcefully allowing access to the field, this should never happen.
-            exception.printStackTrace();
-        }
+        accessor.set(instance, value);
     }
 }
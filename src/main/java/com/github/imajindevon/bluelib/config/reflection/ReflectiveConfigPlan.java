@@ -0,0 +1,274 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import com.github.imajindevon.bluelib.config.reflection.annotation.Optional;
+import com.github.imajindevon.bluelib.util.naming.NamingConventionConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A precompiled binding plan for a {@link ReflectiveConfig} class. The plan resolves every field's path, ignore
+ * decision and {@link FieldAccessor} once, so that the injector and writer never have to look up annotations or build
+ * path strings again.
+ * <p>
+ * Plans are cached per class and per {@link NamingConventionConverter}. The cache is backed by a {@link ClassValue},
+ * so plans do not keep plugin classes loaded after their plugin has been unloaded, and holds converters weakly, so
+ * converters created for every call do not accumulate.
+ * <p>
+ * Non-final static fields are bound like instance fields. Static final fields, and static fields of records, are
+ * never bound.
+ *
+ * @see ReflectiveConfigInjector
+ * @see ReflectiveConfigWriter
+ */
+final class ReflectiveConfigPlan {
+    private static final ClassValue<Map<NamingConventionConverter, ReflectiveConfigPlan>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<NamingConventionConverter, ReflectiveConfigPlan> computeValue(@NotNull Class<?> type) {
+            return Collections.synchronizedMap(new WeakHashMap<>(2));
+        }
+    };
+
+    private final Binding[] bindings;
+    private final Map<String, Binding> bindingsByField;
+    private final RecordShape recordShape;
+
+    private ReflectiveConfigPlan(@NotNull Class<?> clazz, @NotNull NamingConventionConverter converter) {
+        Class<?>[] typesToIgnore = ReflectiveConfigUtils.getIgnoredTypes(clazz);
+        List<Binding> bindings = new ArrayList<>();
+
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isSynthetic() || isConstantOrRecordStatic(clazz, field)) {
+                continue;
+            }
+            if (ReflectiveConfigUtils.shouldIgnoreField(field, typesToIgnore)) {
+                continue;
+            }
+
+            field.setAccessible(true);
+
+            bindings.add(new Binding(
+                field,
+                FieldAccessor.of(field),
+                ReflectiveConfigUtils.extractQualifiedPath(converter, field),
+                field.isAnnotationPresent(Optional.class),
+                NamedValues.namedElementType(field)
+            ));
+        }
+        this.bindings = bindings.toArray(new Binding[0]);
+        this.bindingsByField = new HashMap<>(this.bindings.length * 2);
+
+        for (Binding binding : this.bindings) {
+            this.bindingsByField.put(binding.name(), binding);
+        }
+        this.recordShape = clazz.isRecord() ? this.createRecordShape(clazz) : null;
+    }
+
+    /**
+     * Check whether the given field is a static field that cannot be bound. Non-final static fields are bound like
+     * instance fields, but static final fields are constants that can never be written to, and the state of a record
+     * consists only of its components.
+     */
+    private static boolean isConstantOrRecordStatic(@NotNull Class<?> clazz, @NotNull Field field) {
+        int modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) && (Modifier.isFinal(modifiers) || clazz.isRecord());
+    }
+
+    @NotNull
+    private RecordShape createRecordShape(@NotNull Class<?> clazz) {
+        RecordComponent[] components = clazz.getRecordComponents();
+        Class<?>[] componentTypes = new Class<?>[components.length];
+        FieldAccessor[] componentAccessors = new FieldAccessor[components.length];
+        int[] bindingComponents = new int[this.bindings.length];
+
+        for (int i = 0; i < components.length; i++) {
+            String name = components[i].getName();
+            componentTypes[i] = components[i].getType();
+
+            try {
+                Field field = clazz.getDeclaredField(name);
+                field.setAccessible(true);
+                componentAccessors[i] = FieldAccessor.of(field);
+            } catch (NoSuchFieldException exception) {
+                // Every record component is backed by a private field of the same name.
+                throw new IllegalStateException(exception);
+            }
+
+            for (int j = 0; j < this.bindings.length; j++) {
+                if (this.bindings[j].name().equals(name)) {
+                    bindingComponents[j] = i;
+                }
+            }
+        }
+
+        try {
+            Constructor<?> constructor = clazz.getDeclaredConstructor(componentTypes);
+            constructor.setAccessible(true);
+
+            MethodHandle handle = MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(components.length))
+                .asSpreader(Object[].class, components.length);
+
+            return new RecordShape(handle, componentAccessors, bindingComponents);
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new IllegalArgumentException(
+                "The canonical constructor of " + clazz + " is not accessible", exception
+            );
+        }
+    }
+
+    /**
+     * Get the cached plan for the given instance's class and naming convention, computing it if necessary.
+     *
+     * @param instance the reflective config instance
+     *
+     * @return the plan
+     */
+    @NotNull
+    static ReflectiveConfigPlan of(@NotNull ReflectiveConfig instance) {
+        return of(instance.getClass(), instance.getNamingConventionConverter());
+    }
+
+    /**
+     * Get the cached plan for the given class and naming convention, computing it if necessary.
+     *
+     * @param clazz     the reflective config class
+     * @param converter the naming convention converter
+     *
+     * @return the plan
+     *
+     * @throws IllegalArgumentException if a field declares both {@code @SuperPath} and {@code @QualifiedPath}
+     */
+    @NotNull
+    static ReflectiveConfigPlan of(@NotNull Class<?> clazz, @NotNull NamingConventionConverter converter) {
+        return CACHE.get(clazz).computeIfAbsent(converter, c -> new ReflectiveConfigPlan(clazz, c));
+    }
+
+    /**
+     * Get the bindings of this plan, in field declaration order. The returned array must not be modified.
+     *
+     * @return the bindings
+     */
+    @NotNull
+    Binding @NotNull [] bindings() {
+        return this.bindings;
+    }
+
+    /**
+     * Get the binding of the field with the given name.
+     *
+     * @param fieldName the name of the field
+     *
+     * @return the binding, or null if the field does not exist or is ignored
+     */
+    @Nullable
+    Binding bindingOf(@NotNull String fieldName) {
+        return this.bindingsByField.get(fieldName);
+    }
+
+    /**
+     * Get the shape of the record this plan was created for.
+     *
+     * @return the record shape, or null if the class is not a record
+     */
+    @Nullable
+    RecordShape recordShape() {
+        return this.recordShape;
+    }
+
+    /**
+     * A single field binding, holding the field, its accessor and its resolved path.
+     *
+     * @param field       the accessible field
+     * @param accessor    the accessor used to read and write the field
+     * @param path        the resolved configuration path
+     * @param optional    whether the field is annotated with {@link Optional}
+     * @param elementType the element type of a list field of enum constants or registry entries, or null
+     */
+    record Binding(
+        @NotNull Field field, @NotNull FieldAccessor accessor, @NotNull String path,
+        boolean optional, @Nullable Class<?> elementType
+    ) {
+        /**
+         * Get the type of the bound field.
+         *
+         * @return the field type
+         */
+        @NotNull
+        Class<?> type() {
+            return this.field.getType();
+        }
+
+        /**
+         * Get the name of the bound field.
+         *
+         * @return the field name
+         */
+        @NotNull
+        String name() {
+            return this.field.getName();
+        }
+    }
+
+    /**
+     * The canonical constructor and components of a record, used to build new instances instead of writing to the
+     * record's final fields.
+     *
+     * @param constructor       the canonical constructor, spread to accept an array of every component value
+     * @param components        the accessors of every component, in declaration order
+     * @param bindingComponents the component index of each binding, in binding order
+     */
+    record RecordShape(
+        @NotNull MethodHandle constructor, @NotNull FieldAccessor @NotNull [] components,
+        int @NotNull [] bindingComponents
+    ) {
+        /**
+         * Construct a new record from the given component values.
+         *
+         * @param componentValues the value of every component, in declaration order
+         *
+         * @return the new record
+         */
+        @NotNull
+        Object construct(@Nullable Object @NotNull [] componentValues) {
+            try {
+                return (Object) this.constructor.invokeExact(componentValues);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        /**
+         * Read the value of every component of the given record.
+         *
+         * @param instance the record
+         *
+         * @return the component values, in declaration order
+         */
+        @Nullable
+        Object @NotNull [] componentValues(@NotNull Object instance) {
+            Object[] values = new Object[this.components.length];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.components[i].get(instance);
+            }
+            return values;
+        }
+    }
+}
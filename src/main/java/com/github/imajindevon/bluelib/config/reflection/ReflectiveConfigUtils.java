@@ -2,10 +2,13 @@ package com.github.imajindevon.bluelib.config.reflection;
 
 import com.github.imajindevon.bluelib.config.reflection.annotation.IgnoreField;
 import com.github.imajindevon.bluelib.config.reflection.annotation.IgnoreTypes;
+import com.github.imajindevon.bluelib.config.reflection.annotation.KeepName;
 import com.github.imajindevon.bluelib.config.reflection.annotation.QualifiedPath;
 import com.github.imajindevon.bluelib.config.reflection.annotation.SuperPath;
 import com.github.imajindevon.bluelib.util.naming.NamingConventionConverter;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 
@@ -16,11 +19,11 @@ final class ReflectiveConfigUtils {
     }
 
     @NotNull
-    static <T extends ReflectiveConfig> String extractQualifiedPath(@NotNull T config, @NotNull Field field) {
+    static String extractQualifiedPath(@NotNull NamingConventionConverter converter, @NotNull Field field) {
         String fieldName = field.getName();
-
-        NamingConventionConverter converter = config.getNamingConventionConverter();
-        String key = converter.fromCamelCase(fieldName);
+        String key = field.isAnnotationPresent(KeepName.class)
+            ? fieldName
+            : converter.fromCamelCase(fieldName);
 
         SuperPath superPath = field.getDeclaredAnnotation(SuperPath.class);
         QualifiedPath qualifiedPath = field.getDeclaredAnnotation(QualifiedPath.class);
@@ -46,6 +49,46 @@ final class ReflectiveConfigUtils {
             : ignoreAnnotation.value();
     }
 
+    /**
+     * Check whether a value of the given type may be injected into a field of the given type. Primitive fields accept
+     * their wrapper type, and wider numeric fields accept the narrower boxed types produced by YAML parsers. Float fields
+     * also accept doubles, as YAML parsers read every decimal as a double.
+     *
+     * @param fieldType the type of the field
+     * @param valueType the runtime type of the value
+     *
+     * @return true if the value may be injected
+     */
+    static boolean isAssignable(@NotNull Class<?> fieldType, @NotNull Class<?> valueType) {
+        if (!fieldType.isPrimitive()) {
+            return fieldType.isAssignableFrom(valueType);
+        }
+        if (fieldType == int.class) {
+            return valueType == Integer.class || valueType == Short.class || valueType == Byte.class;
+        }
+        if (fieldType == long.class) {
+            return valueType == Long.class || valueType == Integer.class
+                || valueType == Short.class || valueType == Byte.class;
+        }
+        if (fieldType == double.class) {
+            return Number.class.isAssignableFrom(valueType);
+        }
+        if (fieldType == float.class) {
+            return valueType == Float.class || valueType == Double.class || valueType == Long.class
+                || valueType == Integer.class || valueType == Short.class || valueType == Byte.class;
+        }
+        if (fieldType == boolean.class) {
+            return valueType == Boolean.class;
+        }
+        if (fieldType == char.class) {
+            return valueType == Character.class;
+        }
+        if (fieldType == short.class) {
+            return valueType == Short.class || valueType == Byte.class;
+        }
+        return valueType == Byte.class;
+    }
+
     static boolean shouldIgnoreField(@NotNull Field field, @NotNull Class<?> @NotNull [] ignoreTypes) {
         if (field.isAnnotationPresent(IgnoreField.class)) {
             return true;
@@ -60,4 +103,38 @@ final class ReflectiveConfigUtils {
         }
         return false;
     }
+
+    /**
+     * Convert a boxed number to the wrapper type of the given primitive field type. {@link #isAssignable(Class, Class)}
+     * permits values such as an {@link Integer} for a {@code long} field, which would otherwise never equal the boxed
+     * value read back from the field, so every reload would report the field as changed. A {@link Double} for a
+     * {@code float} field is narrowed, as a method handle would not unbox it to a float.
+     *
+     * @param fieldType the type of the field
+     * @param value     the value
+     *
+     * @return the converted value, or the value itself if no conversion is needed
+     */
+    @Contract("_, null -> null")
+    static Object widen(@NotNull Class<?> fieldType, @Nullable Object value) {
+        if (!fieldType.isPrimitive() || !(value instanceof Number number)) {
+            return value;
+        }
+        if (fieldType == int.class) {
+            return number.intValue();
+        }
+        if (fieldType == long.class) {
+            return number.longValue();
+        }
+        if (fieldType == double.class) {
+            return number.doubleValue();
+        }
+        if (fieldType == float.class) {
+            return number.floatValue();
+        }
+        if (fieldType == short.class) {
+            return number.shortValue();
+        }
+        return value;
+    }
 }
@@ -3,14 +3,50 @@ package com.github.imajindevon.bluelib.config.reflection;
 import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Field;
-
 public final class ReflectiveConfigWriter {
     private ReflectiveConfigWriter() {
     }
 
     /**
-     * Write the fields of the given instance to the given configuration section.
+     * Write only the fields of the given instance that changed since the snapshot last recorded them, and record their
+     * new values. If the snapshot has not recorded the instance's class yet, every field is written.
+     *
+     * @param instance the instance to retrieve the fields from
+     * @param copyTo   the configuration section to copy the changed values to
+     * @param snapshot the snapshot of the values last copied
+     * @param <T>      the type of the instance
+     *
+     * @return true if at least one field changed and was written
+     *
+     * @see FieldSnapshot
+     * @since 1.1.0
+     */
+    public static <T extends ReflectiveConfig> boolean copyChangedFields(
+        @NotNull T instance, @NotNull ConfigurationSection copyTo,
+        @NotNull FieldSnapshot snapshot
+    )
+    {
+        ReflectiveConfigPlan.Binding[] bindings = ReflectiveConfigPlan.of(instance).bindings();
+        boolean dirty = false;
+
+        synchronized (snapshot) {
+            snapshot.prepare(instance.getClass(), bindings.length);
+
+            for (int i = 0; i < bindings.length; i++) {
+                ReflectiveConfigPlan.Binding binding = bindings[i];
+
+                if (snapshot.update(i, binding.accessor(), instance)) {
+                    ReflectiveConfigBinders.write(copyTo, binding.path(), binding.accessor().get(instance));
+                    dirty = true;
+                }
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Write the fields of the given instance to the given configuration section. Enum constants and registry entries
+     * are written as their names, so they can be injected again.
      *
      * @param instance the instance to retrieve the fields from
      * @param copyTo   the configuration section to copy the values to
@@ -25,20 +61,8 @@ public final class ReflectiveConfigWriter {
     )
     throws IllegalAccessException
     {
-        Class<?> clazz = instance.getClass();
-        Class<?>[] typesToIgnore = ReflectiveConfigUtils.getIgnoredTypes(clazz);
-
-        for (Field field : clazz.getDeclaredFields()) {
-            if (ReflectiveConfigUtils.shouldIgnoreField(field, typesToIgnore)) {
-                continue;
-            }
-
-            field.setAccessible(true);
-
-            String path = ReflectiveConfigUtils.extractQualifiedPath(instance, field);
-            Object fieldValue = field.get(instance);
-
-            copyTo.set(path, fieldValue);
+        for (ReflectiveConfigPlan.Binding binding : ReflectiveConfigPlan.of(instance).bindings()) {
+            ReflectiveConfigBinders.write(copyTo, binding.path(), binding.accessor().get(instance));
         }
     }
 }
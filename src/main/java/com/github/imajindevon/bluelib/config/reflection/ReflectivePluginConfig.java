@@ -1,33 +1,165 @@
 package com.github.imajindevon.bluelib.config.reflection;
 
+import com.github.imajindevon.bluelib.config.ConfigFileWatcher;
+import com.github.imajindevon.bluelib.config.ParsedConfig;
 import com.github.imajindevon.bluelib.config.PathConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class ReflectivePluginConfig<T extends ReflectiveConfig> {
+    private final List<ConfigChangeListener> changeListeners = new CopyOnWriteArrayList<>();
     private final PathConfig configFile;
+    private final FieldSnapshot fieldSnapshot = new FieldSnapshot();
+    private final Map<String, List<ConfigChangeListener>> pathChangeListeners = new ConcurrentHashMap<>();
     private final Plugin plugin;
-    private final T reflectiveConfig;
+    private final AtomicLong reloadGeneration = new AtomicLong();
+    private final Supplier<? extends T> snapshotFactory;
+    private volatile T reflectiveConfig;
 
+    /**
+     * Create a reflective plugin config that injects every reload into the given instance, in place.
+     * <p>
+     * Threads other than the main thread may observe a partially updated instance while a reload is applied. If the
+     * config is read asynchronously, use {@link #withSnapshots(Plugin, PathConfig, Supplier)} instead.
+     *
+     * @param plugin           the plugin
+     * @param configFile       the configuration file
+     * @param reflectiveConfig the reflective config instance
+     *
+     * @throws IllegalArgumentException if the reflective config is a record
+     */
     public ReflectivePluginConfig(@NotNull Plugin plugin, @NotNull PathConfig configFile, @NotNull T reflectiveConfig) {
+        this(plugin, configFile, reflectiveConfig, null);
+    }
+
+    private ReflectivePluginConfig(
+        @NotNull Plugin plugin, @NotNull PathConfig configFile,
+        @NotNull T reflectiveConfig, @Nullable Supplier<? extends T> snapshotFactory
+    )
+    {
+        if (snapshotFactory == null && reflectiveConfig.getClass().isRecord()) {
+            throw new IllegalArgumentException("Records cannot be updated in place, use snapshots instead");
+        }
         this.plugin = plugin;
         this.configFile = configFile;
         this.reflectiveConfig = reflectiveConfig;
-        this.updateFields();
+        this.snapshotFactory = snapshotFactory;
+
+        if (snapshotFactory != null) {
+            // The factory's first instance is bound directly, so the factory is only called once.
+            this.updateSnapshot(reflectiveConfig);
+        } else {
+            this.updateFields();
+        }
+    }
+
+    /**
+     * Register a listener that is notified once per reload with every field that changed.
+     *
+     * @param listener the listener
+     *
+     * @see #addChangeListener(ConfigChangeListener, String...)
+     * @see #addFieldChangeListener(String, Class, BiConsumer)
+     */
+    public void addChangeListener(@NotNull ConfigChangeListener listener) {
+        this.changeListeners.add(listener);
+    }
+
+    /**
+     * Register a listener that is notified once per reload with the changes of the given paths. The listener is not
+     * notified if none of the paths changed.
+     *
+     * @param listener the listener
+     * @param paths    the resolved configuration paths to listen to
+     *
+     * @see #addChangeListener(ConfigChangeListener)
+     */
+    public void addChangeListener(@NotNull ConfigChangeListener listener, @NotNull String @NotNull ... paths) {
+        for (String path : paths) {
+            this.pathChangeListeners.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>()).add(listener);
+        }
     }
 
     /**
-     * Get the inner reflective config.
+     * Register a typed listener for the field with the given name, which is called with the old and new value of the
+     * field whenever a reload changes it.
+     *
+     * @param fieldName the name of the field
+     * @param type      the type of the field, or its wrapper type if the field is primitive
+     * @param listener  the listener, accepting the old and new value
+     * @param <V>       the type of the field
+     *
+     * @return the registered change listener, which may be passed to {@link #removeChangeListener}
+     *
+     * @throws IllegalArgumentException if no field with the given name is bound
+     */
+    @NotNull
+    public <V> ConfigChangeListener addFieldChangeListener(
+        @NotNull String fieldName, @NotNull Class<V> type,
+        @NotNull BiConsumer<? super V, ? super V> listener
+    )
+    {
+        ReflectiveConfigPlan.Binding binding = ReflectiveConfigPlan.of(this.reflectiveConfig).bindingOf(fieldName);
+
+        if (binding == null) {
+            throw new IllegalArgumentException("No bound field named " + fieldName);
+        }
+
+        ConfigChangeListener changeListener = changes -> {
+            for (ConfigChange change : changes) {
+                listener.accept(change.oldValue(type), change.newValue(type));
+            }
+        };
+        this.addChangeListener(changeListener, binding.path());
+        return changeListener;
+    }
+
+    @NotNull
+    private T bind(@NotNull T instance, @NotNull ConfigurationSection configuration) throws IllegalAccessException {
+        if (instance.getClass().isRecord()) {
+            return ReflectiveConfigInjector.getAndConstruct(instance, configuration, true, true);
+        }
+
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(instance);
+
+        if (binder != null) {
+            binder.inject(instance, configuration, true, true);
+        } else {
+            ReflectiveConfigInjector.getAndInject(instance, configuration, true, true);
+        }
+        return instance;
+    }
+
+    /**
+     * Get the inner reflective config. In snapshot mode, the returned instance is never modified by a reload, so it
+     * may be read from any thread. Callers that read several values should hold on to a single snapshot.
      *
      * @return the config
+     *
+     * @see #isSnapshotMode()
      */
     @NotNull
     public T config() {
@@ -45,14 +177,48 @@ public class ReflectivePluginConfig<T extends ReflectiveConfig> {
     }
 
     /**
-     * Copy the reflective config instance's fields into the configuration.
+     * Copy only the reflective config instance's fields that changed since they were last copied to or loaded from the
+     * configuration.
+     *
+     * @return true if at least one field changed
+     *
+     * @see #copyFields()
+     * @see ReflectiveConfigWriter#copyChangedFields(ReflectiveConfig, org.bukkit.configuration.ConfigurationSection,
+     * FieldSnapshot)
+     */
+    public boolean copyChangedFields() {
+        boolean dirty = ReflectiveConfigWriter.copyChangedFields(
+            this.reflectiveConfig, this.configFile.config(), this.fieldSnapshot
+        );
+
+        if (dirty) {
+            this.configFile.invalidate();
+        }
+        return dirty;
+    }
+
+    /**
+     * Copy the reflective config instance's fields into the configuration. If a binder was generated for the
+     * reflective config class at compile time, it is used instead of reflection.
+     *
+     * @see #copyChangedFields()
+     * @see ReflectiveConfigBinders#find(ReflectiveConfig)
      */
     public void copyFields() {
-        try {
-            ReflectiveConfigWriter.copyFields(this.reflectiveConfig, this.configFile.config());
-        } catch (IllegalAccessException exception) {
-            exception.printStackTrace();
+        T config = this.reflectiveConfig;
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(config);
+
+        if (binder != null) {
+            binder.write(config, this.configFile.config());
+        } else {
+            try {
+                ReflectiveConfigWriter.copyFields(config, this.configFile.config());
+            } catch (IllegalAccessException exception) {
+                exception.printStackTrace();
+            }
         }
+        this.fieldSnapshot.capture(config);
+        this.configFile.invalidate();
     }
 
     /**
@@ -60,6 +226,7 @@ public class ReflectivePluginConfig<T extends ReflectiveConfig> {
      * {@link IOException} is thrown, print the stack trace.
      *
      * @see #copySaveAsync(Consumer)
+     * @see #copySaveAsyncIfChanged()
      */
     public void copySaveAsync() {
         this.copySaveAsync(IOException::printStackTrace);
@@ -68,27 +235,261 @@ public class ReflectivePluginConfig<T extends ReflectiveConfig> {
     /**
      * Copy the reflective config instance's fields into the configuration, then save to the file asynchronously.
      *
+     * @param exceptionHandler the exception handler
+     *
      * @see #copyFields()
      * @see #saveAsync(Consumer)
+     * @see #copySaveAsyncIfChanged(Consumer)
      */
     public void copySaveAsync(@NotNull Consumer<IOException> exceptionHandler) {
         this.copyFields();
         this.saveAsync(exceptionHandler);
     }
 
+    /**
+     * Copy the reflective config instance's changed fields into the configuration, then save to the file
+     * asynchronously if any field changed. If an {@link IOException} is thrown, print the stack trace.
+     *
+     * @return true if a save was requested
+     *
+     * @see #copySaveAsyncIfChanged(Consumer)
+     */
+    public boolean copySaveAsyncIfChanged() {
+        return this.copySaveAsyncIfChanged(IOException::printStackTrace);
+    }
+
+    /**
+     * Copy the reflective config instance's changed fields into the configuration, then save to the file
+     * asynchronously if any field changed since the fields were last copied, loaded or saved. Unlike
+     * {@link #copySaveAsync(Consumer)}, entries that were modified in the configuration directly are not overwritten,
+     * and nothing is saved if no field changed.
+     *
+     * @param exceptionHandler the exception handler
+     *
+     * @return true if a save was requested
+     *
+     * @see #copyChangedFields()
+     * @see #saveAsync(Consumer)
+     */
+    public boolean copySaveAsyncIfChanged(@NotNull Consumer<IOException> exceptionHandler) {
+        if (this.copyChangedFields()) {
+            this.saveAsync(exceptionHandler);
+            return true;
+        }
+        return false;
+    }
+
+    @NotNull
+    private T createStaging() throws ReflectiveOperationException {
+        if (this.snapshotFactory != null) {
+            return this.snapshotFactory.get();
+        }
+
+        Constructor<?> constructor = this.reflectiveConfig.getClass().getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        //noinspection unchecked
+        T staging = (T) constructor.newInstance();
+
+        // Entries missing from the file keep their current values, as they do when reloading synchronously.
+        ReflectiveConfigInjector.copyChanges(this.reflectiveConfig, staging);
+        return staging;
+    }
+
+    private void fireChanges(@NotNull List<ConfigChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (ConfigChangeListener listener : this.changeListeners) {
+            listener.onChanges(changes);
+        }
+
+        if (this.pathChangeListeners.isEmpty()) {
+            return;
+        }
+
+        Map<ConfigChangeListener, List<ConfigChange>> batches = new LinkedHashMap<>();
+
+        for (ConfigChange change : changes) {
+            List<ConfigChangeListener> listeners = this.pathChangeListeners.get(change.path());
+
+            if (listeners == null) {
+                continue;
+            }
+            for (ConfigChangeListener listener : listeners) {
+                batches.computeIfAbsent(listener, l -> new ArrayList<>(1)).add(change);
+            }
+        }
+
+        for (Map.Entry<ConfigChangeListener, List<ConfigChange>> batch : batches.entrySet()) {
+            batch.getKey().onChanges(Collections.unmodifiableList(batch.getValue()));
+        }
+    }
+
+    /**
+     * Check whether this config publishes a new instance on every reload, instead of updating its instance in place.
+     *
+     * @return true if snapshot mode is enabled
+     *
+     * @see #withSnapshots(Plugin, PathConfig, Supplier)
+     */
+    public boolean isSnapshotMode() {
+        return this.snapshotFactory != null;
+    }
+
+    @Nullable
+    private T loadSnapshot(@NotNull T defaults) {
+        try {
+            return this.bind(defaults, this.configFile.config());
+        } catch (IllegalAccessException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    private void publish(
+        @NotNull CompletableFuture<List<ConfigChange>> future, long generation,
+        @NotNull ParsedConfig parsed, @NotNull T staged
+    )
+    {
+        // A save or a change of the file since it was parsed would be reverted by the parsed contents.
+        if (this.reloadGeneration.get() != generation || !this.configFile.isCurrent(parsed)) {
+            future.cancel(false);
+            return;
+        }
+
+        List<ConfigChange> changes;
+
+        try {
+            if (this.snapshotFactory != null) {
+                changes = ReflectiveConfigInjector.diff(this.reflectiveConfig, staged);
+
+                if (!changes.isEmpty()) {
+                    this.reflectiveConfig = staged;
+                }
+            } else {
+                changes = ReflectiveConfigInjector.copyChanges(staged, this.reflectiveConfig);
+            }
+        } catch (IllegalAccessException exception) {
+            future.completeExceptionally(exception);
+            return;
+        }
+
+        this.configFile.replaceContents(parsed);
+        this.fieldSnapshot.capture(this.reflectiveConfig);
+
+        try {
+            this.fireChanges(changes);
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+            return;
+        }
+        future.complete(changes);
+    }
+
+    /**
+     * Reload this configuration from its file without blocking the main thread.
+     *
+     * @return a future completed on the main thread with the changes
+     *
+     * @see #reloadAsync(Consumer)
+     */
+    @NotNull
+    public CompletableFuture<List<ConfigChange>> reloadAsync() {
+        return this.reloadAsync(config -> {
+        });
+    }
+
+    /**
+     * Reload this configuration from its file without blocking the main thread. The file is read and parsed, and its
+     * entries are bound into a new staging instance, off the main thread. The staging instance is then passed to the
+     * validator, which rejects it by throwing an exception. Only an accepted reload is published, in a single short
+     * step on the main thread: the changed fields are copied into the live instance, or in snapshot mode the staging
+     * instance becomes the live instance, the configuration's contents are replaced and the change listeners are
+     * notified.
+     * <p>
+     * If the file cannot be read or parsed, an entry is incompatible with its field, or the validator rejects the
+     * staging instance, the returned future completes exceptionally and the previous configuration stays in effect.
+     * If another reload is started before this one is published, the configuration is saved or its file is modified
+     * after being read, or the plugin is disabled meanwhile, this reload is discarded and the future is cancelled.
+     * <p>
+     * The staging instance is created on the calling thread. In snapshot mode, it is created by the snapshot factory,
+     * and entries missing from the file take its values. Otherwise, it is created through the reflective config
+     * class's no-argument constructor and takes the values of the live instance, so entries missing from the file keep
+     * their current values, like they do in {@link #reloadFromFile()}.
+     *
+     * @param validator the validator, throwing an exception to reject the staging instance
+     *
+     * @return a future completed on the main thread with the changes
+     *
+     * @see #reloadFromFile()
+     * @see PathConfig#parseFile()
+     */
+    @NotNull
+    public CompletableFuture<List<ConfigChange>> reloadAsync(@NotNull Consumer<? super T> validator) {
+        CompletableFuture<List<ConfigChange>> future = new CompletableFuture<>();
+        long generation = this.reloadGeneration.incrementAndGet();
+        T staging;
+
+        try {
+            staging = this.createStaging();
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            future.completeExceptionally(exception);
+            return future;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            ParsedConfig parsed;
+            T staged;
+
+            try {
+                parsed = this.configFile.parseFile();
+                staged = this.bind(staging, parsed.config());
+                validator.accept(staged);
+            } catch (Exception exception) {
+                // Includes the exceptions thrown by the validator to reject the reload.
+                future.completeExceptionally(exception);
+                return;
+            }
+
+            if (!this.plugin.isEnabled()) {
+                future.cancel(false);
+                return;
+            }
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.publish(future, generation, parsed, staged));
+        });
+        return future;
+    }
+
     /**
      * Reload this configuration from the file, and update the reflective config instance's fields with the new
-     * entries.
+     * entries. Only fields whose value changed are written, and the registered change listeners are notified of them.
      *
      * @throws IOException                   if an I/O error occurs
      * @throws InvalidConfigurationException if the configuration in the file is invalid
      * @throws FileNotFoundException         if the configuration file does not exist
-     * @see #updateFields()
+     * @see #updateChangedFields()
      * @see #tryReloadFromFile()
+     * @see #reloadAsync(Consumer)
      */
     public void reloadFromFile() throws IOException, InvalidConfigurationException, FileNotFoundException {
+        this.reloadGeneration.incrementAndGet();
         this.configFile.reload();
-        this.updateFields();
+        this.updateChangedFields();
+    }
+
+    /**
+     * Unregister the given listener from every path it was registered for.
+     *
+     * @param listener the listener
+     */
+    public void removeChangeListener(@NotNull ConfigChangeListener listener) {
+        this.changeListeners.remove(listener);
+
+        for (List<ConfigChangeListener> listeners : this.pathChangeListeners.values()) {
+            listeners.remove(listener);
+        }
     }
 
     /**
@@ -136,16 +537,117 @@ public class ReflectivePluginConfig<T extends ReflectiveConfig> {
     }
 
     /**
-     * Copy values from the configuration in memory to the reflective config instance.
+     * Copy only the values from the configuration in memory that differ from the reflective config instance's fields,
+     * then notify the registered change listeners. If a binder was generated for the reflective config class at
+     * compile time, it is used instead of reflection.
+     * <p>
+     * In snapshot mode, a new instance is built instead, and it is only published if at least one value changed.
+     *
+     * @return the changes
+     *
+     * @see #addChangeListener(ConfigChangeListener)
+     */
+    @NotNull
+    public List<ConfigChange> updateChangedFields() {
+        List<ConfigChange> changes;
+
+        if (this.snapshotFactory != null) {
+            T current = this.reflectiveConfig;
+            T snapshot = this.loadSnapshot(this.snapshotFactory.get());
+
+            if (snapshot == null) {
+                return List.of();
+            }
+
+            changes = ReflectiveConfigInjector.diff(current, snapshot);
+
+            if (!changes.isEmpty()) {
+                this.reflectiveConfig = snapshot;
+                this.fieldSnapshot.capture(snapshot);
+            }
+            this.fireChanges(changes);
+            return changes;
+        }
+
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(this.reflectiveConfig);
+
+        if (binder != null) {
+            changes = binder.injectChanges(this.reflectiveConfig, this.configFile.config(), true, true);
+        } else {
+            try {
+                changes = ReflectiveConfigInjector.injectChanges(
+                    this.reflectiveConfig, this.configFile.config(), true, true
+                );
+            } catch (IllegalAccessException exception) {
+                exception.printStackTrace();
+                return List.of();
+            }
+        }
+        this.fieldSnapshot.capture(this.reflectiveConfig);
+        this.fireChanges(changes);
+        return changes;
+    }
+
+    /**
+     * Copy values from the configuration in memory to the reflective config instance. If a binder was generated for
+     * the reflective config class at compile time, it is used instead of reflection.
+     * <p>
+     * In snapshot mode, a new instance is built from the configuration and published with a single volatile write,
+     * so readers on other threads observe either the previous or the new instance, and never a mix of both.
+     *
+     * @see ReflectiveConfigBinders#find(ReflectiveConfig)
      */
     public void updateFields() {
-        try {
-            ReflectiveConfigInjector.getAndInject(this.reflectiveConfig, this.configFile.config(), true, true);
-        } catch (IllegalAccessException exception) {
-            exception.printStackTrace();
+        if (this.snapshotFactory != null) {
+            this.updateSnapshot(this.snapshotFactory.get());
+            return;
+        }
+
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(this.reflectiveConfig);
+
+        if (binder != null) {
+            binder.inject(this.reflectiveConfig, this.configFile.config(), true, true);
+        } else {
+            try {
+                ReflectiveConfigInjector.getAndInject(this.reflectiveConfig, this.configFile.config(), true, true);
+            } catch (IllegalAccessException exception) {
+                exception.printStackTrace();
+                return;
+            }
+        }
+        this.fieldSnapshot.capture(this.reflectiveConfig);
+    }
+
+    private void updateSnapshot(@NotNull T defaults) {
+        T snapshot = this.loadSnapshot(defaults);
+
+        if (snapshot != null) {
+            this.reflectiveConfig = snapshot;
+            this.fieldSnapshot.capture(snapshot);
         }
     }
 
+    /**
+     * Stop reloading this configuration when its file changes.
+     *
+     * @see #watchFile()
+     */
+    public void unwatchFile() {
+        ConfigFileWatcher.unwatch(this.configFile);
+    }
+
+    /**
+     * Start reloading this configuration whenever its file changes. The file is parsed off the main thread, and only
+     * if its content changed are the changed fields updated on the main thread and the change listeners notified.
+     *
+     * @throws IOException if the file's directory cannot be watched
+     * @see ConfigFileWatcher
+     * @see #unwatchFile()
+     */
+    public void watchFile() throws IOException {
+        ConfigFileWatcher.watch(this.plugin, this.configFile, this::updateChangedFields);
+    }
+
     /**
      * Load a configuration from the given path and copy the values into the reflective config instance.
      * <br>
@@ -180,4 +682,33 @@ public class ReflectivePluginConfig<T extends ReflectiveConfig> {
         }
         return self;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a reflective plugin config in snapshot mode. Instead of updating a single instance in place, every load
+     * and reload builds a new instance and publishes it atomically, so {@link #config()} may be read from any thread
+     * without locking.
+     * <p>
+     * The factory must return a new instance holding the default values every time it is called, as the instance is
+     * populated before it is published. Records are supported, and are constructed through their canonical
+     * constructor with the factory's record providing the defaults.
+     *
+     * @param plugin          the plugin
+     * @param configFile      the configuration file
+     * @param snapshotFactory the factory creating default instances
+     * @param <T>             the type of the reflective config
+     *
+     * @return the new ReflectivePluginConfig
+     *
+     * @see ReflectiveConfigInjector#getAndConstruct(ReflectiveConfig, org.bukkit.configuration.ConfigurationSection,
+     * boolean, boolean)
+     */
+    @Contract("_, _, _ -> new")
+    public static <T extends ReflectiveConfig> ReflectivePluginConfig<T> withSnapshots(
+        @NotNull Plugin plugin,
+        @NotNull PathConfig configFile,
+        @NotNull Supplier<? extends T> snapshotFactory
+    )
+    {
+        return new ReflectivePluginConfig<>(plugin, configFile, snapshotFactory.get(), snapshotFactory);
+    }
+}
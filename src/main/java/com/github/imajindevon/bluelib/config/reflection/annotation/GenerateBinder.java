@@ -0,0 +1,22 @@
+package com.github.imajindevon.bluelib.config.reflection.annotation;
+
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinder;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tells the {@code ReflectiveConfigProcessor} annotation processor to generate a {@link ReflectiveConfigBinder} for
+ * this {@link ReflectiveConfig} class. The processor only runs if BlueLib's {@code processor} artifact is on the
+ * annotation processor path; otherwise, this annotation has no effect and the config uses reflection.
+ *
+ * @see ReflectiveConfigBinder
+ * @since 1.1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateBinder {
+}
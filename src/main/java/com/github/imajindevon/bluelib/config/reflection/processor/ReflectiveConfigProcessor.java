@@ -0,0 +1,617 @@
+package com.github.imajindevon.bluelib.config.reflection.processor;
+
+import com.github.imajindevon.bluelib.config.reflection.ConfigChange;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinder;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinders;
+import com.github.imajindevon.bluelib.config.reflection.annotation.GenerateBinder;
+import com.github.imajindevon.bluelib.config.reflection.annotation.IgnoreField;
+import com.github.imajindevon.bluelib.config.reflection.annotation.IgnoreTypes;
+import com.github.imajindevon.bluelib.config.reflection.annotation.KeepName;
+import com.github.imajindevon.bluelib.config.reflection.annotation.Optional;
+import com.github.imajindevon.bluelib.config.reflection.annotation.QualifiedPath;
+import com.github.imajindevon.bluelib.config.reflection.annotation.SuperPath;
+import com.github.imajindevon.bluelib.util.naming.LowerKebabCaseConverter;
+import com.github.imajindevon.bluelib.util.naming.LowerSnakeCaseConverter;
+import com.github.imajindevon.bluelib.util.naming.NamingConventionConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates a {@link ReflectiveConfigBinder} for every {@link ReflectiveConfig} class
+ * annotated with {@link GenerateBinder}. The generated binders access fields directly, so no reflection is needed to
+ * inject or write the configuration at runtime. Paths are resolved at compile time for both
+ * {@link LowerKebabCaseConverter lower-kebab-case} and {@link LowerSnakeCaseConverter lower_snake_case}; configs using
+ * any other naming convention fall back to reflection.
+ * <p>
+ * The processor is not registered in BlueLib's main artifact, so it never runs unless requested. To use it, add the
+ * artifact with the {@code processor} classifier to the compiler's annotation processor path.
+ * <p>
+ * The annotated class must be a non-generic, non-abstract class accessible from its package, and its bound fields must
+ * not be final. Static final fields are never bound, and other static fields are bound like instance fields. Private
+ * fields are read and written through {@link java.lang.invoke.MethodHandle MethodHandles} held in static final fields
+ * of the binder, found through a private lookup in the config class, and all other fields are accessed directly.
+ *
+ * @see ReflectiveConfigBinders#find(ReflectiveConfig)
+ * @since 1.1.0
+ */
+public class ReflectiveConfigProcessor extends AbstractProcessor {
+    private static final String GENERATED_ANNOTATION = "javax.annotation.processing.Generated";
+    private static final String KEYED_TYPE = "org.bukkit.Keyed";
+
+    @Override
+    @NotNull
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GenerateBinder.class.getCanonicalName());
+    }
+
+    @Override
+    @NotNull
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+        TypeElement configElement = this.processingEnv
+            .getElementUtils()
+            .getTypeElement(ReflectiveConfig.class.getCanonicalName());
+
+        if (configElement == null) {
+            return false;
+        }
+
+        TypeMirror configType = configElement.asType();
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(GenerateBinder.class))) {
+            this.processType(type, configType);
+        }
+        return true;
+    }
+
+    private void processType(@NotNull TypeElement type, @NotNull TypeMirror configType) {
+        String reason = type.getKind() == ElementKind.CLASS
+            && this.processingEnv.getTypeUtils().isAssignable(type.asType(), configType)
+            ? this.unsupportedReason(type)
+            : "the type is not a ReflectiveConfig class";
+
+        if (reason != null) {
+            this.error(type, "Cannot generate a binder for " + type.getQualifiedName() + ": " + reason);
+            return;
+        }
+
+        List<BoundField> fields;
+
+        try {
+            fields = this.collectFields(type);
+        } catch (IllegalArgumentException exception) {
+            this.error(type, exception.getMessage());
+            return;
+        }
+
+        try {
+            this.writeBinder(type, fields);
+        } catch (IOException exception) {
+            this.error(type, "Could not write binder for " + type.getQualifiedName() + ": " + exception.getMessage());
+        }
+    }
+
+    @Nullable
+    private String unsupportedReason(@NotNull TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            return "the class is abstract";
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return "the class is generic";
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return "the class is local or anonymous";
+        }
+
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return "the class is not accessible from its package";
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private List<BoundField> collectFields(@NotNull TypeElement type) {
+        List<TypeMirror> ignoredTypes = this.getIgnoredTypes(type);
+        List<BoundField> fields = new ArrayList<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+
+            boolean isStatic = modifiers.contains(Modifier.STATIC);
+
+            // Static final fields are constants, which the runtime never binds either.
+            if (isStatic && modifiers.contains(Modifier.FINAL) || this.shouldIgnoreField(field, ignoredTypes)) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+
+            if (modifiers.contains(Modifier.FINAL)) {
+                throw new IllegalArgumentException("Cannot generate a binder for " + type.getQualifiedName()
+                    + ": field " + name + " is final; remove the modifier or annotate the field with @IgnoreField");
+            }
+
+            fields.add(new BoundField(
+                type.getQualifiedName().toString(),
+                name,
+                field.asType(),
+                this.extractQualifiedPath(field, LowerKebabCaseConverter.INSTANCE.fromCamelCase(name)),
+                this.extractQualifiedPath(field, LowerSnakeCaseConverter.INSTANCE.fromCamelCase(name)),
+                field.getAnnotation(Optional.class) != null,
+                modifiers.contains(Modifier.PRIVATE),
+                isStatic
+            ));
+        }
+        return fields;
+    }
+
+    @NotNull
+    private List<TypeMirror> getIgnoredTypes(@NotNull TypeElement type) {
+        List<TypeMirror> ignoredTypes = new ArrayList<>();
+
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+            if (!annotationType.getQualifiedName().contentEquals(IgnoreTypes.class.getCanonicalName())) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet())
+            {
+                if (!entry.getKey().getSimpleName().contentEquals("value")) {
+                    continue;
+                }
+                for (Object value : (List<?>) entry.getValue().getValue()) {
+                    ignoredTypes.add((TypeMirror) ((AnnotationValue) value).getValue());
+                }
+            }
+        }
+        return ignoredTypes;
+    }
+
+    private boolean shouldIgnoreField(@NotNull VariableElement field, @NotNull List<TypeMirror> ignoredTypes) {
+        if (field.getAnnotation(IgnoreField.class) != null) {
+            return true;
+        }
+
+        Types types = this.processingEnv.getTypeUtils();
+        TypeMirror fieldType = types.erasure(field.asType());
+
+        for (TypeMirror ignoredType : ignoredTypes) {
+            // Mirrors Class#isAssignableFrom: no boxing, and a primitive only matches itself.
+            boolean matches = fieldType.getKind().isPrimitive()
+                ? types.isSameType(fieldType, ignoredType)
+                : types.isSubtype(fieldType, types.erasure(ignoredType));
+
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mirrors the runtime path resolution of the reflective config engine.
+     */
+    @NotNull
+    private String extractQualifiedPath(@NotNull VariableElement field, @NotNull String convertedName) {
+        String key = field.getAnnotation(KeepName.class) == null
+            ? convertedName
+            : field.getSimpleName().toString();
+
+        SuperPath superPath = field.getAnnotation(SuperPath.class);
+        QualifiedPath qualifiedPath = field.getAnnotation(QualifiedPath.class);
+
+        if (superPath != null) {
+            if (qualifiedPath != null) {
+                throw new IllegalArgumentException("Field " + field.getSimpleName() + " cannot declare both " +
+                    "@SuperPath and @QualifiedPath");
+            }
+            return superPath.value() + '.' + key;
+        }
+        if (qualifiedPath == null) {
+            return key;
+        }
+        return qualifiedPath.value();
+    }
+
+    private void writeBinder(@NotNull TypeElement type, @NotNull List<BoundField> fields) throws IOException {
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String binderName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+            + ReflectiveConfigBinders.BINDER_SUFFIX;
+        String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + '.' + binderName;
+        String configName = type.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder(1024);
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        if (this.processingEnv.getElementUtils().getTypeElement(GENERATED_ANNOTATION) != null) {
+            source.append('@').append(GENERATED_ANNOTATION).append("(\"")
+                .append(ReflectiveConfigProcessor.class.getName()).append("\")\n");
+        }
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(binderName)
+            .append(" implements ").append(ReflectiveConfigBinder.class.getCanonicalName())
+            .append('<').append(configName).append("> {\n");
+
+        List<String> kebabPaths = new ArrayList<>(fields.size());
+        List<String> snakePaths = new ArrayList<>(fields.size());
+        List<String> names = new ArrayList<>(fields.size());
+
+        for (BoundField field : fields) {
+            kebabPaths.add(field.kebabPath);
+            snakePaths.add(field.snakePath);
+            names.add(field.name);
+        }
+        this.appendStrings(source, "KEBAB_PATHS", kebabPaths);
+        this.appendStrings(source, "SNAKE_PATHS", snakePaths);
+        this.appendStrings(source, "FIELD_NAMES", names);
+
+        String converter = NamingConventionConverter.class.getCanonicalName();
+        String kebab = LowerKebabCaseConverter.class.getCanonicalName() + ".INSTANCE";
+        String snake = LowerSnakeCaseConverter.class.getCanonicalName() + ".INSTANCE";
+        String section = "org.bukkit.configuration.ConfigurationSection";
+        String binders = ReflectiveConfigBinders.class.getCanonicalName();
+        boolean usesHandles = fields.stream().anyMatch(BoundField::usesHandles);
+
+        if (usesHandles) {
+            this.appendHandles(source, configName, fields);
+        }
+
+        String indent = usesHandles ? "            " : "        ";
+
+        source.append("\n    @Override\n    public boolean supports(").append(converter).append(" converter) {\n")
+            .append("        return converter == ").append(kebab).append(" || converter == ").append(snake)
+            .append(";\n    }\n");
+
+        source.append("\n    @Override\n    public void inject(\n        ").append(configName)
+            .append(" instance, ").append(section).append(" configuration,\n")
+            .append("        boolean translateStrings, boolean copyDefaults\n    ) {\n")
+            .append("        String[] paths = paths(instance);\n");
+        this.appendTry(source, usesHandles);
+
+        for (int i = 0; i < fields.size(); i++) {
+            BoundField field = fields.get(i);
+            String resolve = this.resolveValue(field, i, this.readField(field, i), binders);
+            source.append(indent).append(this.assignField(field, i, resolve)).append('\n');
+        }
+        this.appendCatch(source, usesHandles, binders);
+        source.append("    }\n");
+
+        String changes = "java.util.List<" + ConfigChange.class.getCanonicalName() + '>';
+
+        source.append("\n    @Override\n    public ").append(changes).append(" injectChanges(\n        ")
+            .append(configName).append(" instance, ").append(section).append(" configuration,\n")
+            .append("        boolean translateStrings, boolean copyDefaults\n    ) {\n")
+            .append("        String[] paths = paths(instance);\n")
+            .append("        Object[] oldValues = new Object[").append(fields.size()).append("];\n")
+            .append("        Object[] newValues = new Object[").append(fields.size()).append("];\n");
+        this.appendTry(source, usesHandles);
+
+        for (int i = 0; i < fields.size(); i++) {
+            BoundField field = fields.get(i);
+            source.append(indent).append("oldValues[").append(i).append("] = ").append(this.readField(field, i))
+                .append(";\n")
+                .append(indent).append("newValues[").append(i).append("] = ")
+                .append(this.resolveValue(field, i, "oldValues[" + i + ']', binders)).append(";\n");
+        }
+        // Every value is resolved before any field is written, so an incompatible entry leaves the instance untouched.
+        for (int i = 0; i < fields.size(); i++) {
+            source.append(indent).append("if (!java.util.Objects.deepEquals(oldValues[").append(i)
+                .append("], newValues[").append(i).append("])) {\n")
+                .append(indent).append("    ").append(this.assignField(fields.get(i), i, "newValues[" + i + ']'))
+                .append('\n').append(indent).append("}\n");
+        }
+        this.appendCatch(source, usesHandles, binders);
+        source.append("        return ").append(binders)
+            .append(".changes(paths, FIELD_NAMES, oldValues, newValues);\n    }\n");
+
+        source.append("\n    @Override\n    public void write(").append(configName).append(" instance, ")
+            .append(section).append(" copyTo) {\n")
+            .append("        String[] paths = paths(instance);\n");
+        this.appendTry(source, usesHandles);
+
+        for (int i = 0; i < fields.size(); i++) {
+            source.append(indent).append(binders).append(".write(copyTo, paths[").append(i)
+                .append("], ").append(this.readField(fields.get(i), i)).append(");\n");
+        }
+        this.appendCatch(source, usesHandles, binders);
+        source.append("    }\n");
+
+        source.append("\n    private static String[] paths(").append(configName).append(" instance) {\n")
+            .append("        return instance.getNamingConventionConverter() == ").append(snake)
+            .append(" ? SNAKE_PATHS : KEBAB_PATHS;\n    }\n}\n");
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedBinderName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void appendHandles(
+        @NotNull StringBuilder source, @NotNull String configName,
+        @NotNull List<BoundField> fields
+    )
+    {
+        StringBuilder initializers = new StringBuilder();
+
+        for (int i = 0; i < fields.size(); i++) {
+            BoundField field = fields.get(i);
+
+            if (!field.usesHandles) {
+                continue;
+            }
+
+            for (String kind : new String[] {"Getter", "Setter"}) {
+                String handle = kind.toUpperCase(Locale.ROOT) + '_' + i;
+
+                source.append("    private static final java.lang.invoke.MethodHandle ").append(handle).append(";\n");
+                initializers.append("            ").append(handle).append(" = lookup.find")
+                    .append(field.isStatic ? "Static" : "").append(kind).append('(')
+                    .append(configName).append(".class, \"").append(field.name).append("\", ")
+                    .append(this.classLiteral(field.type)).append(");\n");
+            }
+        }
+
+        // The binder shares the config's package, so it may look up the config's private fields.
+        source.append("\n    static {\n        try {\n")
+            .append("            java.lang.invoke.MethodHandles.Lookup lookup = ")
+            .append("java.lang.invoke.MethodHandles.privateLookupIn(\n")
+            .append("                ").append(configName).append(".class, java.lang.invoke.MethodHandles.lookup()\n")
+            .append("            );\n")
+            .append(initializers)
+            .append("        } catch (ReflectiveOperationException exception) {\n")
+            .append("            throw new ExceptionInInitializerError(exception);\n")
+            .append("        }\n    }\n");
+    }
+
+    private void appendStrings(@NotNull StringBuilder source, @NotNull String name, @NotNull List<String> values) {
+        source.append("    private static final String[] ").append(name).append(" = {");
+
+        for (int i = 0; i < values.size(); i++) {
+            if (i != 0) {
+                source.append(", ");
+            }
+            source.append('"').append(escape(values.get(i))).append('"');
+        }
+        source.append("};\n");
+    }
+
+    private void appendCatch(@NotNull StringBuilder source, boolean usesHandles, @NotNull String binders) {
+        if (usesHandles) {
+            source.append("        } catch (Throwable throwable) {\n")
+                .append("            throw ").append(binders).append(".rethrow(throwable);\n")
+                .append("        }\n");
+        }
+    }
+
+    private void appendTry(@NotNull StringBuilder source, boolean usesHandles) {
+        if (usesHandles) {
+            source.append("        try {\n");
+        }
+    }
+
+    /**
+     * Get the statement assigning the given value to the given field of {@code instance}.
+     *
+     * @param field the field
+     * @param index the index of the field
+     * @param value the expression of the value, which is cast to the field's type
+     *
+     * @return the statement
+     */
+    @NotNull
+    private String assignField(@NotNull BoundField field, int index, @NotNull String value) {
+        String cast = this.castResolved(field.type, value);
+
+        if (field.usesHandles) {
+            return "SETTER_" + index + ".invokeExact(" + (field.isStatic ? "" : "instance, ") + cast + ");";
+        }
+        return this.fieldOwner(field) + '.' + field.name + " = " + cast + ';';
+    }
+
+    @NotNull
+    private String castResolved(@NotNull TypeMirror type, @NotNull String resolve) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "((Boolean) " + resolve + ").booleanValue()";
+            case CHAR -> "((Character) " + resolve + ").charValue()";
+            case BYTE -> "((Number) " + resolve + ").byteValue()";
+            case SHORT -> "((Number) " + resolve + ").shortValue()";
+            case INT -> "((Number) " + resolve + ").intValue()";
+            case LONG -> "((Number) " + resolve + ").longValue()";
+            case FLOAT -> "((Number) " + resolve + ").floatValue()";
+            case DOUBLE -> "((Number) " + resolve + ").doubleValue()";
+            default -> '(' + this.rawSourceName(type) + ") " + resolve;
+        };
+    }
+
+    @NotNull
+    private String classLiteral(@NotNull TypeMirror type) {
+        return this.rawSourceName(type) + ".class";
+    }
+
+    @NotNull
+    private String rawSourceName(@NotNull TypeMirror type) {
+        TypeKind kind = type.getKind();
+
+        if (kind.isPrimitive()) {
+            return kind.name().toLowerCase(Locale.ROOT);
+        }
+        if (kind == TypeKind.ARRAY) {
+            return this.rawSourceName(((ArrayType) type).getComponentType()) + "[]";
+        }
+        if (kind == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) this.processingEnv.getTypeUtils().asElement(type);
+            return element.getQualifiedName().toString();
+        }
+        return this.rawSourceName(this.processingEnv.getTypeUtils().erasure(type));
+    }
+
+    /**
+     * Get the expression reading the given field of {@code instance}. Fields accessed through method handles are read
+     * with an exact invocation, so the result is cast to the erased type of the field.
+     *
+     * @param field the field
+     * @param index the index of the field
+     *
+     * @return the expression
+     */
+    @NotNull
+    private String readField(@NotNull BoundField field, int index) {
+        if (field.usesHandles) {
+            return "(" + this.rawSourceName(field.type) + ") GETTER_" + index + ".invokeExact("
+                + (field.isStatic ? "" : "instance") + ')';
+        }
+        return this.fieldOwner(field) + '.' + field.name;
+    }
+
+    /**
+     * Get the expression qualifying a direct access of the given field: the config class for static fields, and
+     * {@code instance} for all other fields.
+     *
+     * @param field the field
+     *
+     * @return the expression
+     */
+    @NotNull
+    private String fieldOwner(@NotNull BoundField field) {
+        return field.isStatic ? field.owner : "instance";
+    }
+
+    /**
+     * Get the expression resolving the value of the given field from {@code configuration}.
+     *
+     * @param field        the field
+     * @param index        the index of the field
+     * @param currentValue the expression of the field's current value
+     * @param binders      the name of {@link ReflectiveConfigBinders}
+     *
+     * @return the expression
+     */
+    @NotNull
+    private String resolveValue(
+        @NotNull BoundField field, int index,
+        @NotNull String currentValue, @NotNull String binders
+    )
+    {
+        TypeMirror elementType = this.namedElementType(field.type);
+
+        return binders + ".resolve(configuration, paths[" + index + "], " + this.classLiteral(field.type)
+            + (elementType == null ? "" : ", " + this.classLiteral(elementType))
+            + ", \"" + field.name + "\", " + field.optional + ", " + currentValue + ", translateStrings, copyDefaults)";
+    }
+
+    /**
+     * Get the element type of a list whose elements are enum constants or registry entries, which the runtime resolves
+     * by name.
+     *
+     * @param type the type of the field
+     *
+     * @return the element type, or null if the type is not such a list
+     */
+    @Nullable
+    private TypeMirror namedElementType(@NotNull TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        DeclaredType declared = (DeclaredType) type;
+        TypeElement element = (TypeElement) declared.asElement();
+
+        if (!element.getQualifiedName().contentEquals(List.class.getName())
+            || declared.getTypeArguments().size() != 1)
+        {
+            return null;
+        }
+
+        TypeMirror argument = declared.getTypeArguments().get(0);
+
+        if (argument.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        if (this.processingEnv.getTypeUtils().asElement(argument).getKind() == ElementKind.ENUM) {
+            return argument;
+        }
+
+        TypeElement keyed = this.processingEnv.getElementUtils().getTypeElement(KEYED_TYPE);
+
+        if (keyed != null && this.processingEnv.getTypeUtils().isAssignable(argument, keyed.asType())) {
+            return argument;
+        }
+        return null;
+    }
+
+    private void error(@NotNull Element element, @NotNull String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    @NotNull
+    private static String escape(@NotNull String string) {
+        StringBuilder escaped = new StringBuilder(string.length());
+
+        for (char c : string.toCharArray()) {
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * A field bound by a generated binder. Private fields cannot be accessed from generated code, so they are accessed
+     * through method handles. Static fields are accessed through their owner, the config class, instead of the
+     * instance.
+     */
+    private record BoundField(
+        @NotNull String owner, @NotNull String name, @NotNull TypeMirror type,
+        @NotNull String kebabPath, @NotNull String snakePath, boolean optional, boolean usesHandles, boolean isStatic
+    ) {
+    }
+}
@@ -0,0 +1,633 @@
+package com.github.imajindevon.bluelib.config.store;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * An embedded key-value store persisted to a single append-only log file. Every write appends its records to the end
+ * of the file, followed by a commit marker holding the number of records and a CRC-32 checksum of the batch. Opening
+ * the store replays the log into a sorted in-memory index of where each value is stored, and values are read from the
+ * file when requested. A batch whose commit marker is missing or does not match, such as one interrupted by a crash, is
+ * discarded along with everything after it, so every batch is applied either entirely or not at all.
+ * <p>
+ * Replaced and deleted values stay in the log until it is compacted, which happens automatically once they take up
+ * more space than the live values. All methods are thread-safe.
+ *
+ * @see StoreConfiguration
+ * @since 1.1.0
+ */
+public final class LogKeyValueStore implements Closeable {
+    private static final int MAGIC = 0x424C4B56;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_DELETE = 2;
+    private static final byte RECORD_COMMIT = 3;
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final NavigableMap<String, Location> index = new TreeMap<>();
+    private final Path path;
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+
+    private LogKeyValueStore(@NotNull Path path, @NotNull FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Start a new batch of writes, which are applied atomically when the batch is committed.
+     *
+     * @return the new batch
+     */
+    @NotNull
+    @Contract(" -> new")
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Close the log file. Any further operation on this store throws an {@link IllegalStateException}.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Rewrite the log file so that it only holds the live values. The compacted log is written to a temporary file,
+     * which then atomically replaces the log file.
+     *
+     * @throws IOException if an I/O error occurs, in which case the store is left unchanged
+     */
+    public synchronized void compact() throws IOException {
+        this.ensureOpen();
+
+        Path temp = this.path.resolveSibling("." + this.path.getFileName() + ".compact.tmp");
+        Files.deleteIfExists(temp);
+
+        FileChannel target = FileChannel.open(
+            temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+        NavigableMap<String, Location> compacted = new TreeMap<>();
+        long position;
+
+        try {
+            CRC32 checksum = new CRC32();
+            // The output stream is not closed, as that would close the channel.
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(target), 1 << 16)
+            );
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+
+            DataOutputStream records = new DataOutputStream(new CheckedOutputStream(out, checksum));
+            position = HEADER_SIZE;
+
+            for (Map.Entry<String, Location> entry : this.index.entrySet()) {
+                Location location = this.writePut(records, entry.getKey(), this.read(entry.getValue()), position);
+                compacted.put(entry.getKey(), location);
+                position += location.recordLength();
+            }
+
+            if (!compacted.isEmpty()) {
+                position += writeCommit(records, checksum, compacted.size());
+            }
+            records.flush();
+            target.force(true);
+
+            try {
+                Files.move(temp, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException exception) {
+            target.close();
+            Files.deleteIfExists(temp);
+            throw exception;
+        }
+
+        this.channel.close();
+        this.channel = target;
+        this.index.clear();
+        this.index.putAll(compacted);
+        this.end = position;
+        this.liveBytes = 0;
+
+        for (Location location : compacted.values()) {
+            this.liveBytes += location.recordLength();
+        }
+    }
+
+    /**
+     * Check whether the given key has a value.
+     *
+     * @param key the key
+     *
+     * @return true if the key has a value
+     */
+    public synchronized boolean containsKey(@NotNull String key) {
+        this.ensureOpen();
+        return this.index.containsKey(key);
+    }
+
+    /**
+     * Get the number of bytes in the log file taken by replaced or deleted values and commit markers, which compaction
+     * would reclaim.
+     *
+     * @return the number of reclaimable bytes
+     */
+    public synchronized long deadBytes() {
+        return this.end - HEADER_SIZE - this.liveBytes;
+    }
+
+    /**
+     * Delete the value of the given key, in a batch of its own.
+     *
+     * @param key the key
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void delete(@NotNull String key) throws IOException {
+        this.batch().delete(key).commit();
+    }
+
+    /**
+     * Read the value of the given key.
+     *
+     * @param key the key
+     *
+     * @return the value, or null if the key has no value
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized byte @Nullable [] get(@NotNull String key) throws IOException {
+        this.ensureOpen();
+        Location location = this.index.get(key);
+        return location == null ? null : this.read(location);
+    }
+
+    /**
+     * Get every key starting with the given prefix, in ascending order.
+     *
+     * @param prefix the prefix, or an empty string for every key
+     *
+     * @return the keys
+     */
+    @NotNull
+    @Unmodifiable
+    public synchronized List<String> keys(@NotNull String prefix) {
+        this.ensureOpen();
+        List<String> keys = new ArrayList<>();
+
+        for (String key : this.index.tailMap(prefix, true).keySet()) {
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            keys.add(key);
+        }
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * Get the path to the log file.
+     *
+     * @return the path
+     */
+    @NotNull
+    public Path path() {
+        return this.path;
+    }
+
+    /**
+     * Set the value of the given key, in a batch of its own.
+     *
+     * @param key   the key
+     * @param value the value
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void put(@NotNull String key, byte @NotNull [] value) throws IOException {
+        this.batch().put(key, value).commit();
+    }
+
+    /**
+     * Read every entry whose key starts with the given prefix.
+     *
+     * @param prefix the prefix, or an empty string for every entry
+     *
+     * @return the entries, sorted by key
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @NotNull
+    public synchronized SortedMap<String, byte[]> scan(@NotNull String prefix) throws IOException {
+        this.ensureOpen();
+        SortedMap<String, byte[]> entries = new TreeMap<>();
+
+        for (Map.Entry<String, Location> entry : this.index.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            entries.put(entry.getKey(), this.read(entry.getValue()));
+        }
+        return entries;
+    }
+
+    /**
+     * Get the number of keys with a value.
+     *
+     * @return the number of keys
+     */
+    public synchronized int size() {
+        return this.index.size();
+    }
+
+    private void apply(@NotNull List<Record> records) {
+        for (Record record : records) {
+            Location previous = record.location() == null
+                ? this.index.remove(record.key())
+                : this.index.put(record.key(), record.location());
+
+            if (previous != null) {
+                this.liveBytes -= previous.recordLength();
+            }
+            if (record.location() != null) {
+                this.liveBytes += record.location().recordLength();
+            }
+        }
+    }
+
+    private synchronized int commit(@NotNull Map<String, byte[]> changes) throws IOException {
+        this.ensureOpen();
+
+        CRC32 checksum = new CRC32();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, checksum));
+        List<Record> records = new ArrayList<>(changes.size());
+
+        for (Map.Entry<String, byte[]> change : changes.entrySet()) {
+            String key = change.getKey();
+
+            if (change.getValue() != null) {
+                records.add(new Record(key, this.writePut(out, key, change.getValue(), this.end + out.size())));
+            } else if (this.index.containsKey(key)) {
+                byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                out.writeByte(RECORD_DELETE);
+                out.writeInt(keyBytes.length);
+                out.write(keyBytes);
+                records.add(new Record(key, null));
+            }
+        }
+
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        writeCommit(out, checksum, records.size());
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long position = this.end;
+
+        try {
+            while (buffer.hasRemaining()) {
+                position += this.channel.write(buffer, position);
+            }
+            this.channel.force(false);
+        } catch (IOException exception) {
+            // Without its commit marker, a partially written batch would be discarded on the next load anyway.
+            try {
+                this.channel.truncate(this.end);
+            } catch (IOException suppressed) {
+                exception.addSuppressed(suppressed);
+            }
+            throw exception;
+        }
+
+        this.end = position;
+        this.apply(records);
+
+        long deadBytes = this.deadBytes();
+
+        if (deadBytes > MIN_COMPACTION_BYTES && deadBytes > this.liveBytes) {
+            try {
+                this.compact();
+            } catch (IOException ignored) {
+                // The batch is committed regardless, and compaction is attempted again by the next commit.
+            }
+        }
+        return records.size();
+    }
+
+    private void ensureOpen() {
+        if (this.channel == null) {
+            throw new IllegalStateException("The store is closed");
+        }
+    }
+
+    private byte @NotNull [] read(@NotNull Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.valueLength());
+        long position = location.valueOffset();
+
+        while (buffer.hasRemaining()) {
+            int read = this.channel.read(buffer, position);
+
+            if (read < 0) {
+                throw new EOFException("Value at " + location.valueOffset() + " exceeds " + this.path);
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    private void replay() throws IOException {
+        long size = this.channel.size();
+
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+            this.channel.force(true);
+            this.end = HEADER_SIZE;
+            return;
+        }
+
+        CRC32 checksum = new CRC32();
+        // The input stream is not closed, as that would close the channel.
+        DataInputStream in = new DataInputStream(new CheckedInputStream(
+            new BufferedInputStream(Channels.newInputStream(this.channel.position(0)), 1 << 16), checksum
+        ));
+
+        if (size < HEADER_SIZE || in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException(this.path + " is not a key-value store log");
+        }
+
+        List<Record> pending = new ArrayList<>();
+        long position = HEADER_SIZE;
+        long committed = HEADER_SIZE;
+        checksum.reset();
+
+        try {
+            records:
+            while (position < size) {
+                switch (in.readByte()) {
+                    case RECORD_PUT -> {
+                        byte[] key = readKey(in, size);
+                        int valueLength = in.readInt();
+
+                        if (valueLength < 0) {
+                            break records;
+                        }
+
+                        in.skipNBytes(valueLength);
+                        int recordLength = 9 + key.length + valueLength;
+                        pending.add(new Record(
+                            new String(key, StandardCharsets.UTF_8),
+                            new Location(position + recordLength - valueLength, valueLength, recordLength)
+                        ));
+                        position += recordLength;
+                    }
+                    case RECORD_DELETE -> {
+                        byte[] key = readKey(in, size);
+                        pending.add(new Record(new String(key, StandardCharsets.UTF_8), null));
+                        position += 5 + key.length;
+                    }
+                    case RECORD_COMMIT -> {
+                        int count = in.readInt();
+                        long expected = checksum.getValue();
+
+                        if (count != pending.size() || in.readLong() != expected) {
+                            break records;
+                        }
+
+                        position += 13;
+                        this.apply(pending);
+                        pending.clear();
+                        committed = position;
+                        checksum.reset();
+                    }
+                    default -> {
+                        break records;
+                    }
+                }
+            }
+        } catch (EOFException ignored) {
+            // The last batch was cut off.
+        }
+
+        if (committed < size) {
+            this.channel.truncate(committed);
+            this.channel.force(true);
+        }
+        this.end = committed;
+    }
+
+    @NotNull
+    private Location writePut(
+        @NotNull DataOutputStream out, @NotNull String key,
+        byte @NotNull [] value, long position
+    )
+    throws IOException
+    {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(RECORD_PUT);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(value.length);
+        out.write(value);
+        return new Location(position + 9 + keyBytes.length, value.length, 9 + keyBytes.length + value.length);
+    }
+
+    /**
+     * Open the store persisted to the given log file, creating the file if it does not exist. Batches that were not
+     * completely written are removed from the file.
+     *
+     * @param path the log file
+     *
+     * @return the opened store
+     *
+     * @throws IOException if an I/O error occurs, or the file is not a key-value store log
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static LogKeyValueStore open(@NotNull Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Files.createDirectories(absolutePath.getParent());
+
+        FileChannel channel = FileChannel.open(
+            absolutePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+
+        try {
+            LogKeyValueStore store = new LogKeyValueStore(absolutePath, channel);
+            store.replay();
+            return store;
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static byte @NotNull [] readKey(@NotNull DataInputStream in, long size) throws IOException {
+        int length = in.readInt();
+
+        if (length < 0 || length > size) {
+            throw new EOFException("Invalid key length " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static int writeCommit(@NotNull DataOutputStream out, @NotNull CRC32 checksum, int count)
+    throws IOException
+    {
+        out.writeByte(RECORD_COMMIT);
+        out.writeInt(count);
+        out.flush();
+        out.writeLong(checksum.getValue());
+        return 13;
+    }
+
+    /**
+     * A set of writes to a {@link LogKeyValueStore}, which are applied atomically on {@link #commit()}. A later write
+     * to the same key replaces an earlier one. A batch is not thread-safe, and can be reused after it is committed.
+     *
+     * @since 1.1.0
+     */
+    public final class Batch {
+        private final NavigableMap<String, byte[]> changes = new TreeMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Write every change of this batch to the log, then clear this batch.
+         *
+         * @return the number of records written
+         *
+         * @throws IOException if an I/O error occurs, in which case none of the changes are applied
+         */
+        public int commit() throws IOException {
+            int written = LogKeyValueStore.this.commit(this.changes);
+            this.changes.clear();
+            return written;
+        }
+
+        /**
+         * Delete the value of the given key.
+         *
+         * @param key the key
+         *
+         * @return this batch
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Batch delete(@NotNull String key) {
+            this.changes.put(key, null);
+            return this;
+        }
+
+        /**
+         * Delete the value of every key starting with the given prefix, including those written to this batch.
+         *
+         * @param prefix the prefix, or an empty string for every key
+         *
+         * @return this batch
+         */
+        @NotNull
+        @Contract("_ -> this")
+        public Batch deletePrefix(@NotNull String prefix) {
+            for (String key : LogKeyValueStore.this.keys(prefix)) {
+                this.changes.put(key, null);
+            }
+            for (Map.Entry<String, byte[]> change : this.changes.tailMap(prefix, true).entrySet()) {
+                if (!change.getKey().startsWith(prefix)) {
+                    break;
+                }
+                change.setValue(null);
+            }
+            return this;
+        }
+
+        /**
+         * Check whether this batch has no changes.
+         *
+         * @return true if this batch is empty
+         */
+        public boolean isEmpty() {
+            return this.changes.isEmpty();
+        }
+
+        /**
+         * Set the value of the given key.
+         *
+         * @param key   the key
+         * @param value the value
+         *
+         * @return this batch
+         */
+        @NotNull
+        @Contract("_, _ -> this")
+        public Batch put(@NotNull String key, byte @NotNull [] value) {
+            this.changes.put(key, value);
+            return this;
+        }
+
+        /**
+         * Get the number of keys changed by this batch.
+         *
+         * @return the number of changes
+         */
+        public int size() {
+            return this.changes.size();
+        }
+    }
+
+    private record Location(long valueOffset, int valueLength, int recordLength) {
+    }
+
+    private record Record(@NotNull String key, @Nullable Location location) {
+    }
+}
@@ -0,0 +1,372 @@
+package com.github.imajindevon.bluelib.config.store;
+
+import com.github.imajindevon.bluelib.config.ConfigVisitor;
+import com.github.imajindevon.bluelib.config.ConfigWalker;
+import com.github.imajindevon.bluelib.config.binary.ConfigValueCodec;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link YamlConfiguration} persisted to a {@link LogKeyValueStore} rather than a YAML file. Every value that is not
+ * a section is stored under its full path, encoded by {@link ConfigValueCodec}, and empty sections are stored as empty
+ * maps. {@link #commit()} writes only the paths changed since the last commit, in a single batch, so the cost of
+ * saving depends on what changed rather than on the size of the configuration.
+ * <p>
+ * Changes are tracked for every path set through this configuration, including through
+ * {@link com.github.imajindevon.bluelib.config.PathConfig#set(String, Object)}. Values changed through a child section
+ * must be reported with {@link #markDirty(String)}. Comments are not stored, and keys are loaded in sorted order.
+ *
+ * @see com.github.imajindevon.bluelib.config.PathConfig#openStore(File)
+ * @since 1.1.0
+ */
+public class StoreConfiguration extends YamlConfiguration implements Closeable {
+    private static final String ROOT = "";
+
+    private final Object commitLock = new Object();
+    // Every changed path, along with the number of changes made to this configuration when it last changed.
+    private final Map<String, Long> dirtyPaths = new HashMap<>();
+    private final LogKeyValueStore store;
+    private long changes;
+    // Commits prepared before this many changes were made are outdated, and are not written.
+    private long committedChanges;
+
+    /**
+     * Create an empty configuration persisted to the given store. Use {@link #reload()} to load the store's contents.
+     *
+     * @param store the store
+     */
+    public StoreConfiguration(@NotNull LogKeyValueStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Close the underlying store.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        this.store.close();
+    }
+
+    /**
+     * Write every path changed since the last commit to the store, in a single batch. The values of a changed section
+     * replace every value previously stored beneath it.
+     *
+     * @return the number of records written
+     *
+     * @throws IOException              if an I/O error occurs, in which case the paths remain marked as changed
+     * @throws IllegalArgumentException if a changed path holds a value that cannot be encoded
+     * @see #prepareCommit()
+     */
+    public int commit() throws IOException {
+        return this.prepareCommit().write();
+    }
+
+    @Override
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path) {
+        this.markDirty(path);
+        return super.createSection(path);
+    }
+
+    @Override
+    @NotNull
+    public ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+        this.markDirty(path);
+        return super.createSection(path, map);
+    }
+
+    /**
+     * Check whether any path changed since the last commit.
+     *
+     * @return true if there are uncommitted changes
+     */
+    public boolean isDirty() {
+        synchronized (this.dirtyPaths) {
+            return !this.dirtyPaths.isEmpty();
+        }
+    }
+
+    /**
+     * Encode the values of every path changed since the last commit into a batch, without writing it. The values are
+     * read on the calling thread, which must be the thread modifying this configuration, so the batch can then be
+     * written on any other thread. The paths remain marked as changed until the batch is written.
+     *
+     * @return the prepared commit
+     *
+     * @throws IllegalArgumentException if a changed path holds a value that cannot be encoded
+     */
+    @NotNull
+    @Contract("-> new")
+    public PreparedCommit prepareCommit() {
+        Map<String, Long> paths;
+        long prepared;
+
+        synchronized (this.dirtyPaths) {
+            paths = new HashMap<>(this.dirtyPaths);
+            prepared = this.changes;
+        }
+
+        char separator = this.options().pathSeparator();
+        LogKeyValueStore.Batch batch = this.store.batch();
+
+        for (String path : paths.keySet()) {
+            if (isCovered(path, paths.keySet(), separator)) {
+                continue;
+            }
+
+            if (path.isEmpty()) {
+                batch.deletePrefix(ROOT);
+            } else {
+                batch.delete(path);
+                batch.deletePrefix(path + separator);
+            }
+
+            Object value = path.isEmpty() ? this : super.get(path, null);
+
+            if (value instanceof ConfigurationSection section) {
+                writeSection(batch, path.isEmpty() ? ROOT : path + separator, section);
+            } else if (value != null) {
+                batch.put(path, encode(value));
+            }
+        }
+        return new PreparedCommit(batch, paths, prepared);
+    }
+
+    /**
+     * Load a YAML document into this configuration, replacing the whole store on the next commit.
+     *
+     * @param contents the YAML document
+     *
+     * @throws InvalidConfigurationException if the document is not a valid configuration
+     */
+    @Override
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        super.loadFromString(contents);
+        this.markDirty(ROOT);
+    }
+
+    /**
+     * Mark the given path as changed, so it is written on the next commit. This must be called after modifying a
+     * value through a child section rather than through this configuration.
+     *
+     * @param path the path, or an empty string for the whole configuration
+     */
+    public void markDirty(@NotNull String path) {
+        synchronized (this.dirtyPaths) {
+            this.dirtyPaths.put(path, ++this.changes);
+        }
+    }
+
+    /**
+     * Replace the contents of this configuration with those of the store, discarding uncommitted changes.
+     *
+     * @throws IOException if an I/O error occurs, or a stored value is malformed
+     */
+    public void reload() throws IOException {
+        synchronized (this.commitLock) {
+            Map<String, Object> values = new LinkedHashMap<>();
+
+            for (Map.Entry<String, byte[]> entry : this.store.scan(ROOT).entrySet()) {
+                values.put(entry.getKey(), decode(entry.getValue()));
+            }
+
+            for (String key : super.getKeys(false)) {
+                super.set(key, null);
+            }
+
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (entry.getValue() instanceof Map<?, ?> map) {
+                    super.createSection(entry.getKey(), map);
+                } else {
+                    super.set(entry.getKey(), entry.getValue());
+                }
+            }
+
+            synchronized (this.dirtyPaths) {
+                this.dirtyPaths.clear();
+                // Commits prepared before the reload would overwrite the store's contents.
+                this.committedChanges = ++this.changes;
+            }
+        }
+    }
+
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        super.set(path, value);
+        this.markDirty(path);
+    }
+
+    /**
+     * Get the store this configuration is persisted to.
+     *
+     * @return the store
+     */
+    @NotNull
+    public LogKeyValueStore store() {
+        return this.store;
+    }
+
+    @Nullable
+    private static Object decode(byte @NotNull [] data) throws IOException {
+        return ConfigValueCodec.readValue(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    private static byte @NotNull [] encode(@Nullable Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ConfigValueCodec.writeValue(out, value);
+        } catch (IOException exception) {
+            // Writing to a byte array never fails.
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Check whether the given changed path lies beneath another changed path, whose values are written along with it.
+     *
+     * @param path      the changed path
+     * @param paths     every changed path
+     * @param separator the path separator
+     *
+     * @return true if the path need not be written on its own
+     */
+    static boolean isCovered(@NotNull String path, @NotNull Set<String> paths, char separator) {
+        if (path.isEmpty()) {
+            return false;
+        }
+        if (paths.contains(ROOT)) {
+            return true;
+        }
+
+        for (int i = path.indexOf(separator); i >= 0; i = path.indexOf(separator, i + 1)) {
+            if (paths.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Open the configuration persisted to the given store file, creating the file if it does not exist.
+     *
+     * @param file the store file
+     *
+     * @return the new configuration, holding the contents of the store
+     *
+     * @throws IOException if an I/O error occurs, or the file is not a valid store
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static StoreConfiguration open(@NotNull File file) throws IOException {
+        LogKeyValueStore store = LogKeyValueStore.open(file.toPath());
+
+        try {
+            StoreConfiguration config = new StoreConfiguration(store);
+            config.reload();
+            return config;
+        } catch (IOException | RuntimeException exception) {
+            store.close();
+            throw exception;
+        }
+    }
+
+    private static void writeSection(
+        @NotNull LogKeyValueStore.Batch batch, @NotNull String prefix,
+        @NotNull ConfigurationSection section
+    )
+    {
+        if (section.getKeys(false).isEmpty()) {
+            if (!prefix.isEmpty()) {
+                batch.put(prefix.substring(0, prefix.length() - 1), encode(Map.of()));
+            }
+            return;
+        }
+
+        new ConfigWalker().walk(section, new ConfigVisitor() {
+            @Override
+            public boolean enterSection(@NotNull CharSequence path, @NotNull ConfigurationSection child, int depth) {
+                if (child.getKeys(false).isEmpty()) {
+                    batch.put(prefix + path, encode(Map.of()));
+                }
+                return true;
+            }
+
+            @Override
+            public void visitValue(@NotNull CharSequence path, @Nullable Object value, int depth) {
+                batch.put(prefix + path, encode(value));
+            }
+        });
+    }
+
+    /**
+     * The values of the paths changed since the last commit, encoded by {@link #prepareCommit()}.
+     */
+    public final class PreparedCommit {
+        private final LogKeyValueStore.Batch batch;
+        private final Map<String, Long> paths;
+        private final long prepared;
+
+        private PreparedCommit(@NotNull LogKeyValueStore.Batch batch, @NotNull Map<String, Long> paths, long prepared) {
+            this.batch = batch;
+            this.paths = paths;
+            this.prepared = prepared;
+        }
+
+        /**
+         * Write the encoded values to the store, in a single batch, and unmark the paths that did not change again
+         * since the commit was prepared. Nothing is written if a commit prepared later was already written, or the
+         * configuration was reloaded since. This may be called on any thread.
+         *
+         * @return the number of records written
+         *
+         * @throws IOException if an I/O error occurs, in which case the paths remain marked as changed
+         */
+        public int write() throws IOException {
+            StoreConfiguration configuration = StoreConfiguration.this;
+
+            if (this.paths.isEmpty()) {
+                return 0;
+            }
+
+            synchronized (configuration.commitLock) {
+                synchronized (configuration.dirtyPaths) {
+                    if (this.prepared < configuration.committedChanges) {
+                        return 0;
+                    }
+                }
+
+                int written = this.batch.commit();
+
+                synchronized (configuration.dirtyPaths) {
+                    configuration.committedChanges = this.prepared;
+
+                    for (Map.Entry<String, Long> path : this.paths.entrySet()) {
+                        configuration.dirtyPaths.remove(path.getKey(), path.getValue());
+                    }
+                }
+                return written;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import com.github.imajindevon.bluelib.config.binary.ConfigValueCodec;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The entries of a configuration that changed on one node, published to the other nodes sharing the configuration.
+ * Every entry maps a path to its new value, or to null if the path was removed. Sections are never part of a change
+ * set; only the values beneath them are.
+ * <p>
+ * Change sets are immutable. They are encoded with {@link ConfigValueCodec}, so they may hold any value a YAML
+ * configuration can hold.
+ *
+ * @see ConfigSync
+ * @since 1.1.0
+ */
+public final class ConfigChangeSet {
+    private static final int VERSION = 1;
+
+    private final String channel;
+    private final Map<String, Object> entries;
+    private final String origin;
+    private final long sequence;
+
+    /**
+     * @param channel  the name of the synchronized configuration
+     * @param origin   the identifier of the node that published the changes
+     * @param sequence the sequence number of the change set, increasing with every change set the origin publishes
+     * @param entries  the new value of every changed path, or null for removed paths
+     */
+    public ConfigChangeSet(
+        @NotNull String channel, @NotNull String origin,
+        long sequence, @NotNull Map<String, Object> entries
+    )
+    {
+        this.channel = channel;
+        this.origin = origin;
+        this.sequence = sequence;
+        this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+    }
+
+    /**
+     * Get the name of the synchronized configuration. Nodes ignore change sets of channels they do not synchronize.
+     *
+     * @return the channel
+     */
+    @NotNull
+    public String channel() {
+        return this.channel;
+    }
+
+    /**
+     * Encode this change set.
+     *
+     * @return the encoded change set
+     *
+     * @throws IllegalArgumentException if a value cannot be encoded
+     * @see #decode(byte[])
+     */
+    public byte @NotNull [] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(this.channel);
+            out.writeUTF(this.origin);
+            out.writeLong(this.sequence);
+            out.writeInt(this.entries.size());
+
+            for (Map.Entry<String, Object> entry : this.entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                ConfigValueCodec.writeValue(out, entry.getValue());
+            }
+        } catch (IOException exception) {
+            // A ByteArrayOutputStream never throws.
+            throw new IllegalStateException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Get the new value of every changed path, in the order the changes were found. Removed paths map to null.
+     *
+     * @return the entries
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<String, Object> entries() {
+        return this.entries;
+    }
+
+    /**
+     * Check whether this change set holds no changes.
+     *
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Get the identifier of the node that published this change set.
+     *
+     * @return the origin
+     */
+    @NotNull
+    public String origin() {
+        return this.origin;
+    }
+
+    /**
+     * Get the sequence number of this change set. Change sets of the same origin with a lower or equal sequence number
+     * than one already applied are stale, and are ignored.
+     *
+     * @return the sequence number
+     */
+    public long sequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Decode a change set encoded by {@link #encode()}.
+     *
+     * @param data the encoded change set
+     *
+     * @return the change set
+     *
+     * @throws IOException if the data is not a valid change set
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static ConfigChangeSet decode(byte @NotNull [] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported change set version " + version);
+            }
+
+            String channel = in.readUTF();
+            String origin = in.readUTF();
+            long sequence = in.readLong();
+            int size = in.readInt();
+
+            if (size < 0) {
+                throw new IOException("Negative entry count " + size);
+            }
+
+            Map<String, Object> entries = new LinkedHashMap<>();
+
+            for (int i = 0; i < size; i++) {
+                entries.put(in.readUTF(), ConfigValueCodec.readValue(in));
+            }
+            return new ConfigChangeSet(channel, origin, sequence, entries);
+        }
+    }
+}
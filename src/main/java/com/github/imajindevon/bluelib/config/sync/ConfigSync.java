@@ -0,0 +1,340 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import com.github.imajindevon.bluelib.config.ConfigVisitor;
+import com.github.imajindevon.bluelib.config.ConfigWalker;
+import com.github.imajindevon.bluelib.config.PathConfig;
+import com.github.imajindevon.bluelib.config.reflection.ConfigChange;
+import com.github.imajindevon.bluelib.config.reflection.ConfigChangeListener;
+import com.github.imajindevon.bluelib.config.reflection.ReflectivePluginConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Synchronizes a {@link ReflectivePluginConfig} with the same configuration on other nodes, such as the backend
+ * servers of a network. Local changes are found by diffing every value of the configuration against the values last
+ * published or applied, and are published as a {@link ConfigChangeSet} holding only the changed paths. Other nodes set
+ * those paths in memory and update only the affected fields, without reading their files.
+ * <p>
+ * Changes are published whenever the config is reloaded, and when {@link #publishChanges()} is called after modifying
+ * the config's fields or configuration in code. Change sets received from the transport are applied on the main
+ * thread, after which the configuration is saved asynchronously.
+ * <p>
+ * Change sets never loop between nodes: a node ignores its own change sets and those of other channels, ignores change
+ * sets older than one already applied from the same origin, does not publish while applying a change set, and records
+ * every applied value as already published.
+ * <p>
+ * Removed paths are ordered before set paths, so a value replaced by a section of the same path, or the other way
+ * around, is never removed after being set. The sync is closed automatically when the plugin is disabled.
+ *
+ * @see SyncTransport
+ * @since 1.1.0
+ */
+public final class ConfigSync implements Closeable {
+    private final Map<String, Object> baseline = new HashMap<>();
+    private final String channel;
+    private final ConfigChangeListener changeListener = changes -> this.publishChanges();
+    private final ReflectivePluginConfig<?> config;
+    private final Listener disableListener = new DisableListener(this);
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Plugin plugin;
+    private final ExecutorService publisher;
+    private final Consumer<ConfigChangeSet> subscriber = this::receive;
+    private final SyncTransport transport;
+    private boolean applying;
+    private boolean closed;
+    private long sequence;
+
+    private ConfigSync(
+        @NotNull Plugin plugin, @NotNull ReflectivePluginConfig<?> config,
+        @NotNull String channel, @NotNull SyncTransport transport
+    )
+    {
+        this.plugin = plugin;
+        this.config = config;
+        this.channel = channel;
+        this.transport = transport;
+        // A single thread keeps the change sets of this node in sequence order.
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BlueLib Config Sync Publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Apply a change set received from another node. Fields changed by the configuration before it are copied into it
+     * first, so they are not lost. The change set's removed paths are then removed from the configuration and its
+     * values set, the fields whose value changed are updated, the change listeners of the config are notified, and the
+     * configuration is saved asynchronously. This must be called on the main thread.
+     * <p>
+     * Once this sync is closed, change sets are ignored, including those received before it was closed whose task had
+     * not run yet.
+     *
+     * @param changeSet the change set
+     *
+     * @return the changes of the config's fields, or an empty list if the change set is stale or this sync is closed
+     */
+    @NotNull
+    public List<ConfigChange> apply(@NotNull ConfigChangeSet changeSet) {
+        if (this.closed) {
+            return List.of();
+        }
+
+        Long lastSequence = this.lastSequences.get(changeSet.origin());
+
+        if (lastSequence != null && changeSet.sequence() <= lastSequence) {
+            return List.of();
+        }
+        this.lastSequences.put(changeSet.origin(), changeSet.sequence());
+
+        PathConfig configFile = this.config.configFile();
+        List<ConfigChange> changes;
+        this.applying = true;
+
+        try {
+            this.config.copyChangedFields();
+            setEntries(configFile, changeSet.entries());
+
+            for (Map.Entry<String, Object> entry : changeSet.entries().entrySet()) {
+                if (entry.getValue() == null) {
+                    this.baseline.remove(entry.getKey());
+                } else {
+                    this.baseline.put(entry.getKey(), copyValue(entry.getValue()));
+                }
+            }
+            changes = this.config.updateChangedFields();
+        } finally {
+            this.applying = false;
+        }
+
+        this.config.saveAsync();
+        return changes;
+    }
+
+    /**
+     * Stop synchronizing the config. The transport is not closed, as it may be shared with other configs. This is
+     * called automatically when the plugin is disabled.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        HandlerList.unregisterAll(this.disableListener);
+        this.transport.unsubscribe(this.subscriber);
+        this.config.removeChangeListener(this.changeListener);
+        this.publisher.shutdown();
+    }
+
+    /**
+     * Get the identifier of this node, which is the origin of every change set it publishes.
+     *
+     * @return the node identifier
+     */
+    @NotNull
+    public String nodeId() {
+        return this.nodeId;
+    }
+
+    /**
+     * Copy the config's changed fields into its configuration, then publish every value of the configuration that
+     * changed since the last change set was published or applied. The change set is encoded on the calling thread and
+     * sent on a background thread; a failure to send it is logged. This must be called on the main thread.
+     *
+     * @return the published change set, or null if nothing changed or this sync is closed
+     *
+     * @throws IllegalArgumentException if a changed value cannot be encoded
+     */
+    @Nullable
+    public ConfigChangeSet publishChanges() {
+        if (this.applying || this.closed) {
+            return null;
+        }
+
+        this.config.copyChangedFields();
+
+        Map<String, Object> current = flatten(this.config.configFile().config());
+        Map<String, Object> entries = changedEntries(this.baseline, current);
+
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        ConfigChangeSet changeSet = new ConfigChangeSet(this.channel, this.nodeId, ++this.sequence, entries);
+        byte[] data = changeSet.encode();
+
+        this.baseline.clear();
+        this.baseline.putAll(current);
+        this.publisher.execute(() -> this.send(changeSet, data.length));
+        return changeSet;
+    }
+
+    private void receive(@NotNull ConfigChangeSet changeSet) {
+        if (!changeSet.channel().equals(this.channel)
+            || changeSet.origin().equals(this.nodeId)
+            || !this.plugin.isEnabled())
+        {
+            return;
+        }
+        Bukkit.getScheduler().runTask(this.plugin, () -> this.apply(changeSet));
+    }
+
+    private void send(@NotNull ConfigChangeSet changeSet, int size) {
+        try {
+            this.transport.publish(changeSet);
+        } catch (IOException exception) {
+            this.plugin.getLogger().log(
+                Level.WARNING,
+                "Could not publish " + changeSet.entries().size() + " changes (" + size + " bytes) of " + this.channel,
+                exception
+            );
+        }
+    }
+
+    /**
+     * Find the entries of a change set between two flattened configurations. Removed paths, mapped to null, come
+     * before changed paths.
+     *
+     * @param baseline the values last published or applied
+     * @param current  the current values
+     *
+     * @return the changed entries, in the order they must be applied
+     */
+    @NotNull
+    static Map<String, Object> changedEntries(
+        @NotNull Map<String, Object> baseline, @NotNull Map<String, Object> current
+    )
+    {
+        Map<String, Object> entries = new LinkedHashMap<>();
+
+        for (String path : baseline.keySet()) {
+            if (!current.containsKey(path)) {
+                entries.put(path, null);
+            }
+        }
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            String path = entry.getKey();
+
+            if (!baseline.containsKey(path) || !Objects.deepEquals(baseline.get(path), entry.getValue())) {
+                entries.put(path, entry.getValue());
+            }
+        }
+        return entries;
+    }
+
+    @Nullable
+    private static Object copyValue(@Nullable Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+
+            for (Object element : list) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    @NotNull
+    private static Map<String, Object> flatten(@NotNull ConfigurationSection section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        new ConfigWalker().walk(section, new ConfigVisitor() {
+            @Override
+            public void visitValue(@NotNull CharSequence path, @Nullable Object value, int depth) {
+                values.put(path.toString(), copyValue(value));
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Set the entries of a change set in a configuration. Removed paths are removed first, even if the change set was
+     * published by a node ordering them after set paths, so they never remove a value set by the same change set.
+     *
+     * @param configFile the configuration
+     * @param entries    the entries, with null values for removed paths
+     */
+    static void setEntries(@NotNull PathConfig configFile, @NotNull Map<String, Object> entries) {
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            if (entry.getValue() == null) {
+                configFile.set(entry.getKey(), null);
+            }
+        }
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            if (entry.getValue() != null) {
+                configFile.set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Start synchronizing the given config over the given transport. Every node must use the same channel for the
+     * same configuration. The config's current values are considered already shared by every node, so only later
+     * changes are published. This must be called on the main thread.
+     *
+     * @param plugin    the plugin owning the config
+     * @param config    the config
+     * @param channel   the name of the configuration shared by every node
+     * @param transport the transport
+     *
+     * @return the new sync, which is closed when the plugin is disabled
+     */
+    @NotNull
+    @Contract("_, _, _, _ -> new")
+    public static ConfigSync start(
+        @NotNull Plugin plugin, @NotNull ReflectivePluginConfig<?> config,
+        @NotNull String channel, @NotNull SyncTransport transport
+    )
+    {
+        ConfigSync sync = new ConfigSync(plugin, config, channel, transport);
+        sync.baseline.putAll(flatten(config.configFile().config()));
+        transport.subscribe(sync.subscriber);
+        config.addChangeListener(sync.changeListener);
+        Bukkit.getPluginManager().registerEvents(sync.disableListener, plugin);
+        return sync;
+    }
+
+    private record DisableListener(@NotNull ConfigSync sync) implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(@NotNull PluginDisableEvent event) {
+            if (event.getPlugin() == this.sync.plugin) {
+                this.sync.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An in-process transport, delivering every published change set to every subscriber, the publisher included, on the
+ * publishing thread. Several {@link ConfigSync}s sharing a single loopback transport behave like nodes connected to the
+ * same bus, which makes it suitable for tests and for synchronizing configurations within a single server.
+ * <p>
+ * Change sets are encoded and decoded before they are delivered, like they would be by a network transport, so every
+ * subscriber receives its own copy, and values that cannot be sent over the network fail to publish.
+ *
+ * @since 1.1.0
+ */
+public final class LoopbackTransport implements SyncTransport {
+    private final List<Consumer<? super ConfigChangeSet>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.subscribers.clear();
+    }
+
+    @Override
+    public synchronized void publish(@NotNull ConfigChangeSet changeSet) throws IOException {
+        if (this.closed) {
+            throw new IOException("Transport is closed");
+        }
+
+        byte[] data = changeSet.encode();
+
+        for (Consumer<? super ConfigChangeSet> subscriber : this.subscribers) {
+            subscriber.accept(ConfigChangeSet.decode(data));
+        }
+    }
+
+    @Override
+    public void subscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber) {
+        this.subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,323 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A transport connecting nodes over TCP in a hub-and-spoke topology. One node {@link #listen(int) listens} and acts as
+ * the hub, and every other node {@link #connect(int) connects} to it. The hub relays every change set it receives to
+ * every other connected node, so change sets published on any node reach all of them.
+ * <p>
+ * Change sets are sent as length-prefixed frames: a four-byte big-endian length followed by the
+ * {@link ConfigChangeSet#encode() encoded} change set. Each connection is read by its own daemon thread, on which
+ * subscribers are called. Connections are not re-established once lost; a node that lost its connection must connect
+ * again with a new transport.
+ *
+ * @since 1.1.0
+ */
+public final class SocketTransport implements SyncTransport {
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final int MAX_FRAME_BYTES = 16 << 20;
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final ServerSocket server;
+    private final List<Consumer<? super ConfigChangeSet>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    private SocketTransport(@Nullable ServerSocket server) {
+        this.server = server;
+    }
+
+    private void acceptConnections() {
+        while (!this.closed) {
+            Socket socket;
+
+            try {
+                socket = this.server.accept();
+            } catch (IOException exception) {
+                // The server socket was closed.
+                return;
+            }
+
+            try {
+                this.open(socket);
+            } catch (IOException exception) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+
+        for (Connection connection : this.connections) {
+            connection.close();
+        }
+        if (this.server != null) {
+            this.server.close();
+        }
+    }
+
+    /**
+     * Count the open connections of this transport. For the hub, this is the number of connected nodes.
+     *
+     * @return the number of connections
+     */
+    int connectionCount() {
+        return this.connections.size();
+    }
+
+    private synchronized void deliver(@NotNull ConfigChangeSet changeSet) {
+        for (Consumer<? super ConfigChangeSet> subscriber : this.subscribers) {
+            subscriber.accept(changeSet);
+        }
+    }
+
+    /**
+     * Check whether this transport is the hub, accepting connections from other nodes.
+     *
+     * @return true if this transport listens for connections
+     */
+    public boolean isHub() {
+        return this.server != null;
+    }
+
+    /**
+     * Get the local port of this transport. For the hub, this is the port it listens on.
+     *
+     * @return the port, or -1 if the transport is not connected
+     */
+    public int localPort() {
+        if (this.server != null) {
+            return this.server.getLocalPort();
+        }
+        return this.connections.isEmpty() ? -1 : this.connections.get(0).socket.getLocalPort();
+    }
+
+    private void open(@NotNull Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+
+        Connection connection = new Connection(socket);
+        this.connections.add(connection);
+
+        Thread reader = new Thread(connection::read, "BlueLib Config Sync " + socket.getRemoteSocketAddress());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The hub sends the change set to every connected node, and drops the connections it cannot be sent over. Other
+     * nodes send it to the hub.
+     *
+     * @throws IOException if this node is not the hub and the change set could not be sent to the hub
+     */
+    @Override
+    public void publish(@NotNull ConfigChangeSet changeSet) throws IOException {
+        if (this.closed) {
+            throw new IOException("Transport is closed");
+        }
+
+        byte[] data = changeSet.encode();
+
+        if (data.length > MAX_FRAME_BYTES) {
+            throw new IOException("Change set of " + data.length + " bytes exceeds the maximum frame size");
+        }
+        if (this.server == null && this.connections.isEmpty()) {
+            throw new IOException("Connection to the hub was lost");
+        }
+
+        for (Connection connection : this.connections) {
+            try {
+                connection.send(data);
+            } catch (IOException exception) {
+                connection.close();
+
+                if (this.server == null) {
+                    throw exception;
+                }
+            }
+        }
+    }
+
+    private void receive(@NotNull Connection source, byte @NotNull [] data) throws IOException {
+        ConfigChangeSet changeSet = ConfigChangeSet.decode(data);
+
+        if (this.server != null) {
+            for (Connection connection : this.connections) {
+                if (connection == source) {
+                    continue;
+                }
+                try {
+                    connection.send(data);
+                } catch (IOException exception) {
+                    connection.close();
+                }
+            }
+        }
+        this.deliver(changeSet);
+    }
+
+    @Override
+    public void subscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber) {
+        this.subscribers.remove(subscriber);
+    }
+
+    private static void closeQuietly(@NotNull Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // The socket is discarded either way.
+        }
+    }
+
+    /**
+     * Connect to a hub listening on the given port of the loopback address.
+     *
+     * @param port the port of the hub
+     *
+     * @return the new transport
+     *
+     * @throws IOException if the connection cannot be established
+     * @see #listen(int)
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static SocketTransport connect(int port) throws IOException {
+        return connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Connect to a hub listening on the given address.
+     *
+     * @param address the address of the hub
+     *
+     * @return the new transport
+     *
+     * @throws IOException if the connection cannot be established
+     * @see #listen(InetSocketAddress)
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static SocketTransport connect(@NotNull InetSocketAddress address) throws IOException {
+        Socket socket = new Socket();
+
+        try {
+            socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+
+            SocketTransport transport = new SocketTransport(null);
+            transport.open(socket);
+            return transport;
+        } catch (IOException exception) {
+            closeQuietly(socket);
+            throw exception;
+        }
+    }
+
+    /**
+     * Start a hub listening on the given port of the loopback address, so only nodes on the same machine can connect.
+     *
+     * @param port the port, or 0 to pick a free port
+     *
+     * @return the new transport
+     *
+     * @throws IOException if the port cannot be bound
+     * @see #localPort()
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static SocketTransport listen(int port) throws IOException {
+        return listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Start a hub listening on the given address. Change sets are neither encrypted nor authenticated, so the address
+     * should only be reachable from trusted nodes.
+     *
+     * @param address the address to bind to
+     *
+     * @return the new transport
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public static SocketTransport listen(@NotNull InetSocketAddress address) throws IOException {
+        ServerSocket server = new ServerSocket();
+
+        try {
+            server.bind(address);
+        } catch (IOException exception) {
+            server.close();
+            throw exception;
+        }
+
+        SocketTransport transport = new SocketTransport(server);
+        Thread acceptor = new Thread(transport::acceptConnections, "BlueLib Config Sync Hub");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return transport;
+    }
+
+    private final class Connection {
+        private final DataOutputStream out;
+        private final Socket socket;
+
+        private Connection(@NotNull Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        private void close() {
+            SocketTransport.this.connections.remove(this);
+            closeQuietly(this.socket);
+        }
+
+        private void read() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()))) {
+                while (!SocketTransport.this.closed) {
+                    int length = in.readInt();
+
+                    if (length < 0 || length > MAX_FRAME_BYTES) {
+                        throw new IOException("Invalid frame length " + length);
+                    }
+
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    SocketTransport.this.receive(this, data);
+                }
+            } catch (IOException exception) {
+                // The connection was closed, or the peer sent an invalid frame.
+            } finally {
+                this.close();
+            }
+        }
+
+        private synchronized void send(byte @NotNull [] data) throws IOException {
+            this.out.writeInt(data.length);
+            this.out.write(data);
+            this.out.flush();
+        }
+    }
+}
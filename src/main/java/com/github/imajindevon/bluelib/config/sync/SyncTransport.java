@@ -0,0 +1,45 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * A message bus carrying {@link ConfigChangeSet}s between the nodes sharing a configuration. A transport may be shared
+ * by several {@link ConfigSync}s, which tell their change sets apart by channel.
+ * <p>
+ * A transport may deliver a change set back to the node that published it, and may deliver change sets of channels a
+ * subscriber does not synchronize; {@link ConfigSync} ignores both.
+ *
+ * @see LoopbackTransport
+ * @see SocketTransport
+ * @since 1.1.0
+ */
+public interface SyncTransport extends Closeable {
+    /**
+     * Publish a change set to every other node. This may block until the change set was handed to the underlying
+     * connection, so it should not be called on the main thread.
+     *
+     * @param changeSet the change set
+     *
+     * @throws IOException if the change set could not be sent
+     */
+    void publish(@NotNull ConfigChangeSet changeSet) throws IOException;
+
+    /**
+     * Register a subscriber that is called with every change set received from the bus. Subscribers may be called on
+     * any thread, but are never called concurrently by the same transport.
+     *
+     * @param subscriber the subscriber
+     */
+    void subscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber);
+
+    /**
+     * Unregister a subscriber.
+     *
+     * @param subscriber the subscriber
+     */
+    void unsubscribe(@NotNull Consumer<? super ConfigChangeSet> subscriber);
+}
@@ -0,0 +1,572 @@
+package com.github.imajindevon.bluelib.player;
+
+import com.github.imajindevon.bluelib.config.PathConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinder;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinders;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigInjector;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigWriter;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A store of per-player data, held in one {@link ReflectiveConfig} instance per player and persisted to one YAML file
+ * per player. Files are sharded into subdirectories by the first two characters of the player's UUID, such as
+ * {@code playerdata/3f/3f2a...yml}.
+ * <p>
+ * The data of a joining player is loaded while the player logs in, on the thread handling the
+ * {@link AsyncPlayerPreLoginEvent}, so joining never blocks the main thread. If it cannot be loaded, the login is
+ * disallowed rather than risking the data being overwritten with defaults. Loaded data is cached while the player is
+ * logging in or online, and for a grace period after they quit, so rejoining does not read the file again. Beyond the
+ * maximum number of cached entries, the least recently used offline entries are evicted early.
+ * <p>
+ * Changes are written behind: after modifying the data of a player, call {@link #markDirty(UUID)}. Periodically, the
+ * fields of every dirty entry are copied into a snapshot on the main thread, and the snapshots are written together on
+ * a single worker thread. An entry is only evicted once it is clean and its writes have completed. Every dirty entry
+ * is written before the owning plugin finishes disabling.
+ * <p>
+ * Data must only be accessed and modified on the main thread.
+ *
+ * @param <T> the type of the player data
+ *
+ * @since 1.1.0
+ */
+public final class PlayerDataStore<T extends ReflectiveConfig> {
+    private static final long DEFAULT_FLUSH_INTERVAL_TICKS = 100;
+    private static final Duration DEFAULT_GRACE_PERIOD = Duration.ofMinutes(5);
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final File directory;
+    // Access-ordered, so iteration starts at the least recently used entry.
+    private final Map<UUID, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Supplier<? extends T> factory;
+    private final Plugin plugin;
+    private final ExecutorService writer;
+    private volatile boolean closed;
+    private volatile long gracePeriodMillis = DEFAULT_GRACE_PERIOD.toMillis();
+    private Listener listener;
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+    private BukkitTask task;
+
+    private PlayerDataStore(@NotNull Plugin plugin, @NotNull File directory, @NotNull Supplier<? extends T> factory) {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.factory = factory;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "BlueLib Player Data Writer (" + plugin.getName() + ")");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop this store and write every dirty entry, blocking until the writes completed. The data of joining players
+     * is no longer loaded, and entries marked dirty afterwards are never written. This is called automatically when the
+     * owning plugin is disabled.
+     */
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.task.cancel();
+        HandlerList.unregisterAll(this.listener);
+        this.writeDirtyEntries();
+        // Set after the last write is submitted, as the writer rejects writes once shut down.
+        this.closed = true;
+        this.writer.shutdown();
+
+        try {
+            if (!this.writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                this.plugin.getLogger().severe("Timed out writing player data of " + this.directory);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the directory the player data files are stored in.
+     *
+     * @return the directory
+     */
+    @NotNull
+    public File directory() {
+        return this.directory;
+    }
+
+    /**
+     * Get the file the data of the given player is stored in.
+     *
+     * @param uuid the UUID of the player
+     *
+     * @return the file
+     */
+    @NotNull
+    public File fileOf(@NotNull UUID uuid) {
+        String name = uuid.toString();
+        return new File(new File(this.directory, name.substring(0, 2)), name + ".yml");
+    }
+
+    /**
+     * Snapshot the fields of every dirty entry on the calling thread, and write the snapshots on the worker thread.
+     * This is called periodically, and does not need to be called manually. Once this store is closed, this does
+     * nothing.
+     */
+    public void flush() {
+        if (!this.closed) {
+            this.writeDirtyEntries();
+        }
+    }
+
+    /**
+     * Get the loaded data of the given player, and mark it as recently used.
+     *
+     * @param uuid the UUID of the player
+     *
+     * @return the data, or null if it is not loaded
+     *
+     * @see #load(UUID)
+     */
+    @Nullable
+    public T get(@NotNull UUID uuid) {
+        synchronized (this.entries) {
+            Entry<T> entry = this.entries.get(uuid);
+            return entry == null ? null : entry.data;
+        }
+    }
+
+    /**
+     * Get the data of the given online player.
+     *
+     * @param player the player
+     *
+     * @return the data
+     *
+     * @throws IllegalStateException if the data of the player is not loaded
+     */
+    @NotNull
+    public T get(@NotNull Player player) {
+        T data = this.get(player.getUniqueId());
+
+        if (data == null) {
+            throw new IllegalStateException("Data of " + player.getName() + " is not loaded");
+        }
+        return data;
+    }
+
+    /**
+     * Get the data of the given player, loading it off the main thread if it is not loaded yet. This also allows the
+     * data of offline players to be read and modified, in which case it is cached for the grace period. The returned
+     * future is completed on the main thread.
+     *
+     * @param uuid the UUID of the player
+     *
+     * @return the future of the data
+     */
+    @NotNull
+    public CompletableFuture<T> load(@NotNull UUID uuid) {
+        T loaded = this.get(uuid);
+
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            try {
+                Entry<T> entry = this.loadEntry(uuid);
+
+                Bukkit.getScheduler().runTask(this.plugin, () -> {
+                    if (Bukkit.getPlayer(uuid) != null) {
+                        this.setOnline(uuid, true);
+                    }
+                    future.complete(entry.data);
+                });
+            } catch (Exception exception) {
+                Bukkit.getScheduler().runTask(this.plugin, () -> future.completeExceptionally(exception));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Mark the data of the given player as modified, so it is written by the next flush.
+     *
+     * @param uuid the UUID of the player
+     *
+     * @throws IllegalStateException if the data of the player is not loaded
+     */
+    public void markDirty(@NotNull UUID uuid) {
+        synchronized (this.entries) {
+            this.requireEntry(uuid).dirty = true;
+        }
+    }
+
+    /**
+     * Replace the data of the given player, and mark it as modified. This is required to modify immutable data, such
+     * as records.
+     *
+     * @param uuid the UUID of the player
+     * @param data the new data
+     *
+     * @throws IllegalStateException if the data of the player is not loaded
+     */
+    public void set(@NotNull UUID uuid, @NotNull T data) {
+        synchronized (this.entries) {
+            Entry<T> entry = this.requireEntry(uuid);
+            entry.data = data;
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Set how long the data of a player stays cached after they quit.
+     *
+     * @param gracePeriod the grace period
+     */
+    public void setGracePeriod(@NotNull Duration gracePeriod) {
+        if (gracePeriod.isNegative()) {
+            throw new IllegalArgumentException("Grace period may not be negative");
+        }
+        this.gracePeriodMillis = gracePeriod.toMillis();
+    }
+
+    /**
+     * Set the number of entries beyond which offline entries are evicted before their grace period ends. The entries
+     * of online players are never evicted, so the cache may still grow beyond this number.
+     *
+     * @param maxEntries the maximum number of cached entries
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Maximum entries may not be negative");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+
+        synchronized (this.entries) {
+            int excess = this.entries.size() - this.maxEntries;
+            Iterator<Entry<T>> iterator = this.entries.values().iterator();
+
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+
+                if (entry.online || entry.dirty || entry.writesInFlight.get() > 0) {
+                    continue;
+                }
+
+                boolean expired = now - entry.offlineSince >= this.gracePeriodMillis;
+
+                // A login never takes a whole grace period, so the pin of a login that never joined expires.
+                if (entry.loggingIn && !expired) {
+                    continue;
+                }
+                if (excess > 0 || expired) {
+                    iterator.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private Entry<T> loadEntry(@NotNull UUID uuid)
+    throws IOException, InvalidConfigurationException, IllegalAccessException
+    {
+        synchronized (this.entries) {
+            Entry<T> entry = this.entries.get(uuid);
+
+            if (entry != null) {
+                return entry;
+            }
+        }
+
+        // Entries are only evicted after their writes completed, so the file is up to date.
+        File file = this.fileOf(uuid);
+        ConfigurationSection config = file.exists()
+            ? PathConfig.loadConfig(file).config()
+            : new YamlConfiguration();
+        Entry<T> loaded = new Entry<>(read(this.factory.get(), config));
+
+        synchronized (this.entries) {
+            Entry<T> entry = this.entries.putIfAbsent(uuid, loaded);
+            return entry == null ? loaded : entry;
+        }
+    }
+
+    @NotNull
+    private Entry<T> requireEntry(@NotNull UUID uuid) {
+        Entry<T> entry = this.entries.get(uuid);
+
+        if (entry == null) {
+            throw new IllegalStateException("Data of " + uuid + " is not loaded");
+        }
+        return entry;
+    }
+
+    private void setLoggingIn(@NotNull UUID uuid, boolean loggingIn) {
+        synchronized (this.entries) {
+            Entry<T> entry = this.entries.get(uuid);
+
+            if (entry != null) {
+                entry.loggingIn = loggingIn;
+                entry.offlineSince = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void setOnline(@NotNull UUID uuid, boolean online) {
+        synchronized (this.entries) {
+            Entry<T> entry = this.entries.get(uuid);
+
+            if (entry != null) {
+                entry.online = online;
+                entry.loggingIn = false;
+                entry.offlineSince = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void start() {
+        this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, () -> {
+            this.flush();
+            this.evict();
+        }, DEFAULT_FLUSH_INTERVAL_TICKS, DEFAULT_FLUSH_INTERVAL_TICKS);
+
+        this.listener = new PlayerListener(this);
+        Bukkit.getPluginManager().registerEvents(this.listener, this.plugin);
+
+        // Players already online when the store is created, such as after a reload, never log in again.
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            this.load(player.getUniqueId());
+        }
+    }
+
+    private void writeDirtyEntries() {
+        List<Write> writes = new ArrayList<>();
+
+        synchronized (this.entries) {
+            for (Map.Entry<UUID, Entry<T>> mapEntry : this.entries.entrySet()) {
+                Entry<T> entry = mapEntry.getValue();
+
+                if (!entry.dirty) {
+                    continue;
+                }
+
+                YamlConfiguration snapshot = new YamlConfiguration();
+
+                try {
+                    write(entry.data, snapshot);
+                } catch (RuntimeException exception) {
+                    this.plugin.getLogger().log(
+                        Level.SEVERE, "Failed to snapshot player data of " + mapEntry.getKey(), exception
+                    );
+                    continue;
+                }
+
+                entry.dirty = false;
+                entry.writesInFlight.incrementAndGet();
+                writes.add(new Write(mapEntry.getKey(), entry, snapshot));
+            }
+        }
+
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        this.writer.execute(() -> {
+            for (Write write : writes) {
+                try {
+                    new PathConfig(this.fileOf(write.uuid()).getPath(), write.snapshot()).save();
+                } catch (IOException | RuntimeException exception) {
+                    this.plugin.getLogger().log(
+                        Level.SEVERE, "Failed to save player data of " + write.uuid(), exception
+                    );
+                    // Written again by the next flush.
+                    write.entry().dirty = true;
+                } finally {
+                    write.entry().writesInFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Create a player data store in the given directory of the plugin's data folder, and start loading the data of
+     * joining players. The factory must return a new instance holding the default values every time it is called.
+     *
+     * @param plugin    the plugin
+     * @param directory the path to the directory from the plugin's data folder
+     * @param factory   the factory creating default instances
+     * @param <T>       the type of the player data
+     *
+     * @return the new store
+     */
+    @NotNull
+    @Contract("_, _, _ -> new")
+    public static <T extends ReflectiveConfig> PlayerDataStore<T> create(
+        @NotNull Plugin plugin, @NotNull String directory,
+        @NotNull Supplier<? extends T> factory
+    )
+    {
+        PlayerDataStore<T> store = new PlayerDataStore<>(plugin, new File(plugin.getDataFolder(), directory), factory);
+        store.start();
+        return store;
+    }
+
+    @NotNull
+    private static <T extends ReflectiveConfig> T read(@NotNull T instance, @NotNull ConfigurationSection config)
+    throws IllegalAccessException
+    {
+        if (instance.getClass().isRecord()) {
+            return ReflectiveConfigInjector.getAndConstruct(instance, config, false, true);
+        }
+
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(instance);
+
+        if (binder != null) {
+            binder.inject(instance, config, false, true);
+        } else {
+            ReflectiveConfigInjector.getAndInject(instance, config, false, true);
+        }
+        return instance;
+    }
+
+    private static <T extends ReflectiveConfig> void write(@NotNull T instance, @NotNull ConfigurationSection config) {
+        ReflectiveConfigBinder<T> binder = ReflectiveConfigBinders.find(instance);
+
+        if (binder != null) {
+            binder.write(instance, config);
+            return;
+        }
+        try {
+            ReflectiveConfigWriter.copyFields(instance, config);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final AtomicInteger writesInFlight = new AtomicInteger();
+        private volatile T data;
+        private volatile boolean dirty;
+        private boolean loggingIn;
+        private boolean online;
+        private long offlineSince = System.currentTimeMillis();
+
+        private Entry(@NotNull T data) {
+            this.data = data;
+        }
+    }
+
+    private record PlayerListener(@NotNull PlayerDataStore<?> store) implements Listener {
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onAsyncPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+            if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+                return;
+            }
+            try {
+                this.store.loadEntry(event.getUniqueId());
+                // Pinned until the player joins, so the entry is not evicted in between.
+                this.store.setLoggingIn(event.getUniqueId(), true);
+            } catch (Exception exception) {
+                this.store.plugin.getLogger().log(
+                    Level.SEVERE, "Failed to load player data of " + event.getUniqueId(), exception
+                );
+                event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, "Your data could not be loaded.");
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onAsyncPreLoginResult(@NotNull AsyncPlayerPreLoginEvent event) {
+            if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+                this.store.setLoggingIn(event.getUniqueId(), false);
+            }
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(@NotNull PlayerJoinEvent event) {
+            UUID uuid = event.getPlayer().getUniqueId();
+
+            if (this.store.get(uuid) == null) {
+                // Evicted between logging in and joining, or not loaded because the store was created in between.
+                this.store.load(uuid);
+            } else {
+                this.store.setOnline(uuid, true);
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onLogin(@NotNull PlayerLoginEvent event) {
+            if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+                this.store.setLoggingIn(event.getPlayer().getUniqueId(), false);
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(@NotNull PluginDisableEvent event) {
+            if (event.getPlugin() == this.store.plugin) {
+                this.store.close();
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(@NotNull PlayerQuitEvent event) {
+            this.store.setOnline(event.getPlayer().getUniqueId(), false);
+        }
+    }
+
+    private record Write(@NotNull UUID uuid, @NotNull Entry<?> entry, @NotNull YamlConfiguration snapshot) {
+    }
+}
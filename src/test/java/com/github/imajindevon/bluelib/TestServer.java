@@ -0,0 +1,446 @@
+package com.github.imajindevon.bluelib;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * A server for tests, installed once per JVM. Scheduled tasks are queued instead of run, and {@link #tick(long)} runs
+ * them on the calling thread, whether they were scheduled synchronously or asynchronously. Only the few methods used
+ * by BlueLib are implemented; all other methods return a default value.
+ */
+public final class TestServer {
+    private static TestServer instance;
+
+    private final Map<Plugin, AtomicBoolean> enabled = new ConcurrentHashMap<>();
+    // A real handler list, so listeners can be unregistered through HandlerList.unregisterAll.
+    private final HandlerList listeners = new HandlerList();
+    private final Logger logger = Logger.getLogger("TestServer");
+    private final Map<UUID, Player> onlinePlayers = new ConcurrentHashMap<>();
+    private final PluginManager pluginManager = proxy(PluginManager.class, this::handlePluginManager);
+    private final Map<Class<?>, List<Keyed>> registries = new ConcurrentHashMap<>();
+    private final BukkitScheduler scheduler = proxy(BukkitScheduler.class, this::handleScheduler);
+    private final AtomicInteger taskIds = new AtomicInteger();
+    private final List<Task> tasks = new ArrayList<>();
+    private long currentTick;
+
+    private TestServer() {
+    }
+
+    /**
+     * Wait until a task is scheduled by another thread, then run every due task.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     *
+     * @return the number of tasks run, which is 0 if the timeout elapsed
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public int awaitTasks(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (this) {
+            while (this.tasks.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    return 0;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return this.runTasks();
+    }
+
+    /**
+     * Fire the given event to every registered listener with an event handler accepting it.
+     *
+     * @param event the event
+     */
+    public void callEvent(@NotNull Event event) {
+        for (EventPriority priority : EventPriority.values()) {
+            for (Listener listener : this.registeredListeners()) {
+                for (Method method : listener.getClass().getDeclaredMethods()) {
+                    EventHandler handler = method.getAnnotation(EventHandler.class);
+
+                    if (handler == null
+                        || handler.priority() != priority
+                        || method.getParameterCount() != 1
+                        || !method.getParameterTypes()[0].isInstance(event))
+                    {
+                        continue;
+                    }
+                    invoke(method, listener, event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a player that is not online yet.
+     *
+     * @param uuid the UUID of the player
+     * @param name the name of the player
+     *
+     * @return the player
+     */
+    @NotNull
+    public Player createPlayer(@NotNull UUID uuid, @NotNull String name) {
+        return proxy(Player.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUniqueId" -> uuid;
+            case "isOnline" -> this.onlinePlayers.containsKey(uuid);
+            default -> null;
+        });
+    }
+
+    /**
+     * Create an enabled plugin.
+     *
+     * @param dataFolder the plugin's data folder
+     *
+     * @return the plugin
+     */
+    @NotNull
+    public Plugin createPlugin(@NotNull Path dataFolder) {
+        AtomicBoolean enabled = new AtomicBoolean(true);
+        Server server = Bukkit.getServer();
+
+        Plugin plugin = proxy(Plugin.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getDataFolder" -> dataFolder.toFile();
+            case "getLogger" -> this.logger;
+            case "getName" -> "TestPlugin";
+            case "getServer" -> server;
+            case "isEnabled" -> enabled.get();
+            default -> null;
+        });
+        this.enabled.put(plugin, enabled);
+        return plugin;
+    }
+
+    /**
+     * Disable the given plugin, firing a {@link PluginDisableEvent}, then cancel its tasks and unregister its
+     * listeners.
+     *
+     * @param plugin the plugin
+     */
+    public void disable(@NotNull Plugin plugin) {
+        this.enabled.remove(plugin).set(false);
+        this.callEvent(new PluginDisableEvent(plugin));
+
+        synchronized (this) {
+            this.tasks.removeIf(task -> task.plugin == plugin);
+        }
+        this.listeners.unregister(plugin);
+    }
+
+    @NotNull
+    private Set<Listener> registeredListeners() {
+        Set<Listener> listeners = new LinkedHashSet<>();
+
+        for (RegisteredListener registered : this.listeners.getRegisteredListeners()) {
+            listeners.add(registered.getListener());
+        }
+        return listeners;
+    }
+
+    private Object handlePluginManager(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("registerEvents")) {
+            this.listeners.register(new RegisteredListener(
+                (Listener) args[0], (listener, event) -> {
+                }, EventPriority.NORMAL, (Plugin) args[1], false
+            ));
+        }
+        return null;
+    }
+
+    private Object handleScheduler(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+
+        if (name.equals("cancelTasks")) {
+            synchronized (this) {
+                this.tasks.removeIf(task -> task.plugin == args[0]);
+            }
+            return null;
+        }
+        if (name.equals("callSyncMethod")) {
+            FutureTask<?> future = new FutureTask<>((Callable<?>) args[1]);
+            this.schedule((Plugin) args[0], future, 0, -1);
+            return future;
+        }
+        if (!name.startsWith("runTask") || !(args[1] instanceof Runnable runnable)) {
+            throw new UnsupportedOperationException(method.toString());
+        }
+
+        long delay = args.length > 2 ? (long) args[2] : 0;
+        long period = args.length > 3 ? (long) args[3] : -1;
+        return this.schedule((Plugin) args[0], runnable, delay, period);
+    }
+
+    /**
+     * Add the given player to the online players, and fire a {@link PlayerJoinEvent}.
+     *
+     * @param player the player
+     */
+    public void join(@NotNull Player player) {
+        this.onlinePlayers.put(player.getUniqueId(), player);
+        this.callEvent(new PlayerJoinEvent(player, null));
+    }
+
+    /**
+     * Count the queued tasks.
+     *
+     * @return the number of queued tasks
+     */
+    public synchronized int pendingTasks() {
+        return this.tasks.size();
+    }
+
+    private synchronized Task pollDueTask() {
+        for (int i = 0; i < this.tasks.size(); i++) {
+            Task task = this.tasks.get(i);
+
+            if (task.dueTick > this.currentTick) {
+                continue;
+            }
+            if (task.period > 0) {
+                // A repeating task runs again in a later tick, never twice in the same one.
+                task.dueTick = this.currentTick + task.period;
+            } else {
+                this.tasks.remove(i);
+            }
+            return task;
+        }
+        return null;
+    }
+
+    /**
+     * Fire an {@link AsyncPlayerPreLoginEvent} for the given player on the calling thread.
+     *
+     * @param uuid the UUID of the player
+     * @param name the name of the player
+     *
+     * @return the event, holding the login result
+     */
+    @NotNull
+    public AsyncPlayerPreLoginEvent preLogin(@NotNull UUID uuid, @NotNull String name) {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent(name, InetAddress.getLoopbackAddress(), uuid);
+        this.callEvent(event);
+        return event;
+    }
+
+    /**
+     * Remove the given player from the online players, and fire a {@link PlayerQuitEvent}.
+     *
+     * @param player the player
+     */
+    public void quit(@NotNull Player player) {
+        this.callEvent(new PlayerQuitEvent(player, null));
+        this.onlinePlayers.remove(player.getUniqueId());
+    }
+
+    /**
+     * Add an entry to the registry of the given type. Entries must be added before the registry is first read through
+     * BlueLib, which caches the names of every entry.
+     *
+     * @param type  the type of the registry
+     * @param entry the entry
+     * @param <T>   the type of the registry
+     */
+    public <T extends Keyed> void register(@NotNull Class<T> type, @NotNull T entry) {
+        this.registries.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add(entry);
+    }
+
+    @NotNull
+    private Registry<?> registry(@NotNull Class<?> type) {
+        List<Keyed> entries = this.registries.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+
+        return proxy(Registry.class, (proxy, method, args) -> switch (method.getName()) {
+            case "get" -> entries.stream().filter(entry -> entry.getKey().equals(args[0])).findFirst().orElse(null);
+            case "iterator" -> entries.iterator();
+            default -> null;
+        });
+    }
+
+    /**
+     * Run every task that is due at the current tick, including tasks scheduled by the tasks that run.
+     *
+     * @return the number of tasks run
+     */
+    public int runTasks() {
+        int run = 0;
+        Task task;
+
+        while ((task = this.pollDueTask()) != null) {
+            task.runnable.run();
+            run++;
+        }
+        return run;
+    }
+
+    @NotNull
+    private synchronized BukkitTask schedule(
+        @NotNull Plugin plugin, @NotNull Runnable runnable,
+        long delay, long period
+    )
+    {
+        Task task = new Task(this.taskIds.incrementAndGet(), plugin, runnable, this.currentTick + delay, period);
+        this.tasks.add(task);
+        this.notifyAll();
+
+        return proxy(BukkitTask.class, (proxy, method, args) -> switch (method.getName()) {
+            case "cancel" -> {
+                synchronized (this) {
+                    task.cancelled = true;
+                    this.tasks.remove(task);
+                }
+                yield null;
+            }
+            case "getOwner" -> plugin;
+            case "getTaskId" -> task.id;
+            case "isCancelled" -> task.cancelled;
+            default -> null;
+        });
+    }
+
+    /**
+     * Advance the given number of ticks, running the due tasks of every tick.
+     *
+     * @param ticks the number of ticks
+     *
+     * @return the number of tasks run
+     */
+    public int tick(long ticks) {
+        int run = this.runTasks();
+
+        for (long i = 0; i < ticks; i++) {
+            synchronized (this) {
+                this.currentTick++;
+            }
+            run += this.runTasks();
+        }
+        return run;
+    }
+
+    /**
+     * Get the test server, installing it if no server is installed yet.
+     *
+     * @return the test server
+     */
+    @NotNull
+    public static synchronized TestServer get() {
+        if (instance == null) {
+            TestServer server = new TestServer();
+            Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+                case "getBukkitVersion", "getVersion" -> "test";
+                case "getLogger" -> server.logger;
+                case "getName" -> "TestServer";
+                case "getOnlinePlayers" -> List.copyOf(server.onlinePlayers.values());
+                case "getPlayer" -> args[0] instanceof UUID uuid ? server.onlinePlayers.get(uuid) : null;
+                case "getPluginManager" -> server.pluginManager;
+                case "getRegistry" -> server.registry((Class<?>) args[0]);
+                case "getScheduler" -> server.scheduler;
+                case "isPrimaryThread" -> true;
+                default -> null;
+            }));
+            instance = server;
+        }
+        return instance;
+    }
+
+    private static void invoke(@NotNull Method method, @NotNull Listener listener, @NotNull Event event) {
+        try {
+            method.setAccessible(true);
+            method.invoke(listener, event);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    @NotNull
+    private static <T> T proxy(@NotNull Class<T> type, @NotNull Handler handler) {
+        ClassLoader loader = TestServer.class.getClassLoader();
+
+        Object proxy = Proxy.newProxyInstance(loader, new Class<?>[] {type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + '@' + Integer.toHexString(System.identityHashCode(self));
+                };
+            }
+
+            Object result = handler.handle(self, method, args);
+
+            if (result == null && method.getReturnType().isPrimitive() && method.getReturnType() != void.class) {
+                // The default value of the primitive type.
+                return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class Task {
+        private final int id;
+        private final long period;
+        private final Plugin plugin;
+        private final Runnable runnable;
+        private volatile boolean cancelled;
+        private long dueTick;
+
+        private Task(int id, @NotNull Plugin plugin, @NotNull Runnable runnable, long dueTick, long period) {
+            this.id = id;
+            this.plugin = plugin;
+            this.runnable = runnable;
+            this.dueTick = dueTick;
+            this.period = period;
+        }
+    }
+}
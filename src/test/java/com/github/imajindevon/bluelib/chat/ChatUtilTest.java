@@ -0,0 +1,62 @@
+package com.github.imajindevon.bluelib.chat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ChatUtilTest {
+    @AfterEach
+    void restoreCache() {
+        ChatUtil.setCacheSize(4096);
+    }
+
+    @Test
+    void cachesTranslations() {
+        String translated = ChatUtil.translate("&aCached");
+
+        assertEquals(ColorTranslator.translate("&aCached"), translated);
+        assertSame(translated, ChatUtil.translate("&aCached"));
+    }
+
+    @Test
+    void translatesWithoutCachingOnceDisabled() {
+        ChatUtil.setCacheSize(0);
+        String translated = ChatUtil.translate("&aUncached");
+
+        assertEquals(ColorTranslator.translate("&aUncached"), translated);
+        assertNotSame(translated, ChatUtil.translate("&aUncached"));
+    }
+
+    @Test
+    void clearsTheCacheOnceItIsFull() {
+        ChatUtil.setCacheSize(2);
+        String first = ChatUtil.translate("&aFirst");
+        ChatUtil.translate("&bSecond");
+
+        assertSame(first, ChatUtil.translate("&aFirst"));
+
+        // Caching a third translation clears the full cache, which drops the first one.
+        ChatUtil.translate("&cThird");
+        assertNotSame(first, ChatUtil.translate("&aFirst"));
+    }
+
+    @Test
+    void doesNotCacheLongMessages() {
+        String message = "&a" + "x".repeat(300);
+        String translated = ChatUtil.translate(message);
+
+        assertEquals(ColorTranslator.translate(message), translated);
+        assertNotSame(translated, ChatUtil.translate(message));
+    }
+
+    @Test
+    void clearsTheCache() {
+        String translated = ChatUtil.translate("&aCleared");
+        ChatUtil.clearCache();
+
+        assertNotSame(translated, ChatUtil.translate("&aCleared"));
+    }
+}
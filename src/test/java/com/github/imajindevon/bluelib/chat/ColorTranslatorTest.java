@@ -0,0 +1,105 @@
+package com.github.imajindevon.bluelib.chat;
+
+import net.md_5.bungee.api.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorTranslatorTest {
+    @Test
+    void matchesBukkitForLegacyCodes() {
+        for (String message : List.of(
+            "&aHello &lworld", "&&a", "&", "trailing &", "&Z is not a code", "&A&K uppercase", "&r&x&1&2&3&4&5&6",
+            "1 < 2 & 3 > 2", "no codes at all", "&\u00a7a", "&#12345"
+        ))
+        {
+            assertEquals(ChatColor.translateAlternateColorCodes('&', message), ColorTranslator.translate(message));
+        }
+    }
+
+    @Test
+    void returnsMessagesWithoutCodesAsIs() {
+        String message = "Nothing to translate";
+        assertSame(message, ColorTranslator.translate(message));
+    }
+
+    @Test
+    void translatesHexLikeItsLegacyForm() {
+        assertEquals(
+            ColorTranslator.translate("&x&f&f&0&0&a&aHex"),
+            ColorTranslator.translate("&#FF00AAHex")
+        );
+    }
+
+    @Test
+    void interpolatesTwoStopGradientsSkippingWhitespace() {
+        assertEquals(
+            colored(hex("000000") + "a " + hex("808080") + "b " + hex("ffffff") + 'c'),
+            ColorTranslator.translate("<gradient:#000000:#ffffff>a b c</gradient>")
+        );
+    }
+
+    @Test
+    void interpolatesBetweenEveryStopOfAGradient() {
+        assertEquals(
+            colored(hex("ff0000") + 'a' + hex("00ff00") + 'b' + hex("0000ff") + 'c'),
+            ColorTranslator.translate("<gradient:#ff0000:#00ff00:#0000ff>abc</gradient>")
+        );
+    }
+
+    @Test
+    void repeatsFormatsAfterEveryGradientColor() {
+        assertEquals(
+            colored(hex("000000") + "&la" + hex("ffffff") + "&lb"),
+            ColorTranslator.translate("<gradient:#000000:#ffffff>&lab</gradient>")
+        );
+    }
+
+    @Test
+    void resetsFormatsAndDropsColorsWithinGradients() {
+        assertEquals(
+            colored(hex("000000") + "&la" + hex("ffffff") + 'b'),
+            ColorTranslator.translate("<gradient:#000000:#ffffff>&la&rb</gradient>")
+        );
+        assertEquals(
+            colored(hex("000000") + 'a' + hex("ffffff") + "&ob"),
+            ColorTranslator.translate("<gradient:#000000:#ffffff>&ca&ob</gradient>")
+        );
+    }
+
+    @Test
+    void colorsSurrogatePairsAsOneCharacter() {
+        assertEquals(
+            colored(hex("000000") + "\uD83D\uDE00" + hex("ffffff") + 'b'),
+            ColorTranslator.translate("<gradient:#000000:#ffffff>\uD83D\uDE00b</gradient>")
+        );
+    }
+
+    @Test
+    void keepsMalformedGradientsAsTheyAre() {
+        for (String message : List.of(
+            "<gradient:#000000:#ffffff>unclosed",
+            "<gradient:#ff0000>one stop</gradient>",
+            "<gradient:#ff00zz:#ffffff>bad hex</gradient>"
+        ))
+        {
+            assertEquals(message, ColorTranslator.translate(message));
+        }
+    }
+
+    private static String colored(String message) {
+        return message.replace('&', ChatColor.COLOR_CHAR);
+    }
+
+    private static String hex(String rrggbb) {
+        StringBuilder builder = new StringBuilder("&x");
+
+        for (char c : rrggbb.toCharArray()) {
+            builder.append('&').append(c);
+        }
+        return builder.toString();
+    }
+}
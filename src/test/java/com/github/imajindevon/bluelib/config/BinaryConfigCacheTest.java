@@ -0,0 +1,131 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryConfigCacheTest {
+    private static final FileTime MODIFIED_AT = FileTime.fromMillis(1_000_000_000_000L);
+    private static final FileTime CACHED_AT = FileTime.fromMillis(1_100_000_000_000L);
+    private static final String CONTENTS = """
+        # BlueLib
+
+        # The maximum homes per player
+        max-homes: 3 # Per player
+        warps:
+          - spawn
+          - shop
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesASnapshotOnTheFirstLoad() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile(CONTENTS);
+        Path cacheFile = cacheFileOf(file);
+
+        PathConfig config = PathConfig.loadConfig(file.toFile(), true);
+
+        assertTrue(Files.isRegularFile(cacheFile));
+        assertEquals(3, config.config().getInt("max-homes"));
+    }
+
+    @Test
+    void readsTheSnapshotOfAnUnchangedFile() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile(CONTENTS);
+        Path cacheFile = cacheFileOf(file);
+        PathConfig parsed = PathConfig.loadConfig(file.toFile(), true);
+        byte[] snapshot = Files.readAllBytes(cacheFile);
+        Files.setLastModifiedTime(cacheFile, CACHED_AT);
+
+        PathConfig cached = PathConfig.loadConfig(file.toFile(), true);
+
+        // The snapshot was read, not rewritten.
+        assertEquals(CACHED_AT, Files.getLastModifiedTime(cacheFile));
+        assertArrayEquals(snapshot, Files.readAllBytes(cacheFile));
+
+        assertEquals(parsed.config().getValues(true).keySet(), cached.config().getValues(true).keySet());
+        assertEquals(3, cached.config().get("max-homes"));
+        assertEquals(List.of("spawn", "shop"), cached.config().get("warps"));
+        assertEquals(parsed.config().getComments("max-homes"), cached.config().getComments("max-homes"));
+        assertEquals(parsed.config().getInlineComments("max-homes"), cached.config().getInlineComments("max-homes"));
+        assertEquals(List.of("Per player"), cached.config().getInlineComments("max-homes"));
+        assertEquals(parsed.config().options().getHeader(), cached.config().options().getHeader());
+        assertEquals(List.of("BlueLib"), cached.config().options().getHeader());
+    }
+
+    @Test
+    void rewritesTheSnapshotOfAChangedFile() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile(CONTENTS);
+        Path cacheFile = cacheFileOf(file);
+        PathConfig.loadConfig(file.toFile(), true);
+        Files.setLastModifiedTime(cacheFile, CACHED_AT);
+
+        // Same size and modification time, so only the hash tells the contents apart.
+        Files.writeString(file, CONTENTS.replace("max-homes: 3", "max-homes: 5"));
+        Files.setLastModifiedTime(file, MODIFIED_AT);
+
+        PathConfig config = PathConfig.loadConfig(file.toFile(), true);
+
+        assertEquals(5, config.config().getInt("max-homes"));
+        assertNotEquals(CACHED_AT, Files.getLastModifiedTime(cacheFile));
+        Files.setLastModifiedTime(cacheFile, CACHED_AT);
+
+        // The rewritten snapshot is read by the next load.
+        assertEquals(5, PathConfig.loadConfig(file.toFile(), true).config().getInt("max-homes"));
+        assertEquals(CACHED_AT, Files.getLastModifiedTime(cacheFile));
+    }
+
+    @Test
+    void parsesTheFileIfTheSnapshotIsCorrupt() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile(CONTENTS);
+        Path cacheFile = cacheFileOf(file);
+        PathConfig.loadConfig(file.toFile(), true);
+        byte[] snapshot = Files.readAllBytes(cacheFile);
+
+        Files.write(cacheFile, Arrays.copyOf(snapshot, snapshot.length / 2));
+        assertEquals(List.of("spawn", "shop"), PathConfig.loadConfig(file.toFile(), true).config().get("warps"));
+        assertArrayEquals(snapshot, Files.readAllBytes(cacheFile));
+
+        Files.writeString(cacheFile, "not a snapshot");
+        assertEquals(List.of("spawn", "shop"), PathConfig.loadConfig(file.toFile(), true).config().get("warps"));
+        assertArrayEquals(snapshot, Files.readAllBytes(cacheFile));
+    }
+
+    @Test
+    void leavesNoSnapshotOfValuesThatCannotBeEncoded() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile("max-homes: 3\ndata: !!binary AQID\n");
+        Path cacheFile = cacheFileOf(file);
+        Files.writeString(cacheFile, "not a snapshot");
+
+        PathConfig config = PathConfig.loadConfig(file.toFile(), true);
+
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) config.config().get("data"));
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    private static Path cacheFileOf(Path file) {
+        return file.resolveSibling(".config.yml.bin");
+    }
+
+    private Path createFile(String contents) throws IOException {
+        Path file = this.directory.resolve("config.yml");
+        Files.writeString(file, contents);
+        Files.setLastModifiedTime(file, MODIFIED_AT);
+        return file;
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.TestServer;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigFileWatcherTest {
+    private final AtomicInteger reloads = new AtomicInteger();
+    private final TestServer server = TestServer.get();
+
+    @TempDir
+    Path directory;
+
+    private PathConfig config;
+    private Path file;
+    private Plugin plugin;
+
+    @BeforeEach
+    void watch() throws IOException, InvalidConfigurationException {
+        ConfigFileWatcher.setDebounceMillis(100);
+        this.plugin = this.server.createPlugin(this.directory);
+        this.file = this.directory.resolve("config.yml");
+        Files.writeString(this.file, "max-homes: 3\n");
+
+        this.config = PathConfig.loadConfig(this.file.toFile());
+        ConfigFileWatcher.watch(this.plugin, this.config, this.reloads::incrementAndGet);
+    }
+
+    @AfterEach
+    void unwatch() {
+        ConfigFileWatcher.unwatch(this.config);
+        ConfigFileWatcher.setDebounceMillis(250);
+    }
+
+    @Test
+    void reloadsChangedFilesOnTheMainThread() throws IOException, InterruptedException {
+        Files.writeString(this.file, "max-homes: 5\n");
+
+        assertEquals(1, this.server.awaitTasks(5, TimeUnit.SECONDS));
+        assertEquals(5, this.config.getInt("max-homes"));
+        assertEquals(1, this.reloads.get());
+    }
+
+    @Test
+    void coalescesWritesWithinTheDebounceWindow() throws IOException, InterruptedException {
+        for (int i = 4; i <= 8; i++) {
+            Files.writeString(this.file, "max-homes: " + i + '\n');
+        }
+
+        assertEquals(1, this.server.awaitTasks(5, TimeUnit.SECONDS));
+        assertEquals(0, this.server.awaitTasks(500, TimeUnit.MILLISECONDS));
+        assertEquals(8, this.config.getInt("max-homes"));
+        assertEquals(1, this.reloads.get());
+    }
+
+    @Test
+    void skipsWritesThatKeepTheContent() throws IOException, InterruptedException {
+        Files.writeString(this.file, "max-homes: 3\n");
+
+        assertEquals(0, this.server.awaitTasks(500, TimeUnit.MILLISECONDS));
+        assertEquals(0, this.reloads.get());
+    }
+
+    @Test
+    void skipsTheConfigsOwnSaves() throws IOException, InterruptedException {
+        this.config.set("max-homes", 6);
+        this.config.save();
+
+        assertEquals(0, this.server.awaitTasks(500, TimeUnit.MILLISECONDS));
+        assertEquals(0, this.reloads.get());
+    }
+
+    @Test
+    void skipsFilesThatCannotBeParsed() throws IOException, InterruptedException {
+        Files.writeString(this.file, "max-homes: [3\n");
+
+        assertEquals(0, this.server.awaitTasks(500, TimeUnit.MILLISECONDS));
+        assertEquals(3, this.config.getInt("max-homes"));
+    }
+
+    @Test
+    void discardsReloadsOlderThanASave() throws IOException, InterruptedException {
+        Files.writeString(this.file, "max-homes: 5\n");
+        this.awaitPendingTask();
+
+        this.config.set("max-homes", 6);
+        this.config.save();
+        this.server.runTasks();
+
+        assertEquals(6, this.config.getInt("max-homes"));
+        assertEquals(0, this.reloads.get());
+
+        // The file's contents stay recorded as those of the save, so saving other contents writes them.
+        this.config.set("max-homes", 7);
+        this.config.save();
+        assertEquals("max-homes: 7\n", Files.readString(this.file));
+    }
+
+    @Test
+    void parsesWithTheConfigsPathSeparator() throws IOException, InvalidConfigurationException, InterruptedException {
+        Path file = this.directory.resolve("messages.yml");
+        Files.writeString(file, "join.message: Hello\n");
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.options().pathSeparator('/');
+        PathConfig messages = new PathConfig(file.toString(), yaml);
+        messages.reload();
+        ConfigFileWatcher.watch(this.plugin, messages, null);
+
+        try {
+            Files.writeString(file, "join.message: Welcome\n");
+
+            assertEquals(1, this.server.awaitTasks(5, TimeUnit.SECONDS));
+            assertEquals("Welcome", messages.getString("join.message"));
+            assertEquals(Set.of("join.message"), yaml.getKeys(true));
+        } finally {
+            ConfigFileWatcher.unwatch(messages);
+        }
+    }
+
+    @Test
+    void reloadsLazyConfigsLazily() throws IOException, InvalidConfigurationException, InterruptedException {
+        Path file = this.directory.resolve("arenas.yml");
+        Files.writeString(file, "desert:\n  spawns: 2\ncastle:\n  spawns: 4\nforest:\n  spawns: 6\n");
+
+        PathConfig arenas = PathConfig.loadLazy(file.toFile(), 1);
+        LazyYamlConfiguration lazy = (LazyYamlConfiguration) arenas.config();
+        ConfigFileWatcher.watch(this.plugin, arenas, null);
+
+        try {
+            Files.writeString(file, "desert:\n  spawns: 3\ncastle:\n  spawns: 4\nforest:\n  spawns: 6\n");
+
+            assertEquals(1, this.server.awaitTasks(5, TimeUnit.SECONDS));
+            assertTrue(lazy.isLazy(), "The reloaded file should be indexed");
+            assertEquals(0, lazy.materializedSections());
+            assertEquals(3, arenas.getInt("desert.spawns"));
+        } finally {
+            ConfigFileWatcher.unwatch(arenas);
+        }
+    }
+
+    @Test
+    void rejectsStores() throws IOException {
+        PathConfig store = PathConfig.openStore(this.directory.resolve("store.db").toFile());
+
+        assertThrows(IllegalArgumentException.class, () -> ConfigFileWatcher.watch(this.plugin, store, null));
+    }
+
+    @Test
+    void stopsWatchingWhenThePluginIsDisabled() throws IOException, InterruptedException {
+        this.server.disable(this.plugin);
+        Files.writeString(this.file, "max-homes: 5\n");
+
+        assertEquals(0, this.server.awaitTasks(500, TimeUnit.MILLISECONDS));
+        assertEquals(3, this.config.getInt("max-homes"));
+    }
+
+    private void awaitPendingTask() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (this.server.pendingTasks() == 0) {
+            assertTrue(System.nanoTime() < deadline, "The reload should be scheduled");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigKeyTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void resolvesValuesAndDefaults() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("max-homes", 3);
+        yaml.set("pvp", true);
+        yaml.set("speed", 1.5);
+        yaml.set("prefix", "[Homes] ");
+        PathConfig config = new PathConfig("config.yml", yaml);
+
+        assertEquals(3, config.intKey("max-homes", 1).getInt());
+        assertTrue(config.booleanKey("pvp", false).getBoolean());
+        assertEquals(1.5, config.doubleKey("speed", 1).getDouble());
+        assertEquals("[Homes] ", config.stringKey("prefix", null).get());
+        assertEquals("[Homes] ", config.key("prefix", String.class, null).get());
+
+        assertEquals(1, config.intKey("missing", 1).getInt());
+        assertFalse(config.booleanKey("missing", false).getBoolean());
+        assertNull(config.stringKey("missing", null).get());
+        assertEquals("max-homes", config.intKey("max-homes", 1).path());
+    }
+
+    @Test
+    void cachesValuesUntilInvalidated() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("max-homes", 3);
+        PathConfig config = new PathConfig("config.yml", yaml);
+        ConfigKey.OfInt homes = config.intKey("max-homes", 1);
+        assertEquals(3, homes.getInt());
+
+        // Modifying the inner configuration directly is not seen until the config is invalidated.
+        yaml.set("max-homes", 5);
+        assertEquals(3, homes.getInt());
+
+        config.invalidate();
+        assertEquals(5, homes.getInt());
+    }
+
+    @Test
+    void resolvesAgainAfterSet() {
+        PathConfig config = new PathConfig("config.yml", new YamlConfiguration());
+        ConfigKey<String> prefix = config.stringKey("prefix", "[Default] ");
+        assertEquals("[Default] ", prefix.get());
+
+        config.set("prefix", "[Homes] ");
+        assertEquals("[Homes] ", prefix.get());
+
+        config.set("prefix", null);
+        assertEquals("[Default] ", prefix.get());
+    }
+
+    @Test
+    void resolvesAgainAfterReload() throws IOException, InvalidConfigurationException {
+        Path file = this.directory.resolve("config.yml");
+        Files.writeString(file, "max-homes: 3\n");
+        PathConfig config = PathConfig.loadConfig(file.toFile());
+        ConfigKey.OfInt homes = config.intKey("max-homes", 1);
+        assertEquals(3, homes.getInt());
+
+        Files.writeString(file, "max-homes: 5\n");
+        config.reload();
+        assertEquals(5, homes.getInt());
+    }
+}
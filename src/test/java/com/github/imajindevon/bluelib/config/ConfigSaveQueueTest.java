@@ -0,0 +1,172 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.TestServer;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ConfigSaveQueueTest {
+    private final TestServer server = TestServer.get();
+
+    @TempDir
+    Path directory;
+
+    private PathConfig config;
+    private Path file;
+    private Plugin plugin;
+    private ConfigSaveQueue queue;
+
+    @BeforeEach
+    void createQueue() throws IOException, InvalidConfigurationException {
+        this.plugin = this.server.createPlugin(this.directory);
+        this.file = this.directory.resolve("config.yml");
+        Files.writeString(this.file, "max-homes: 3\n");
+
+        this.config = PathConfig.loadConfig(this.file.toFile());
+        this.queue = ConfigSaveQueue.of(this.plugin);
+        this.queue.setWindowTicks(5);
+    }
+
+    @Test
+    void coalescesSavesWithinTheWindow() {
+        for (int i = 4; i <= 6; i++) {
+            this.config.set("max-homes", i);
+            this.config.saveAsync(this.plugin);
+        }
+
+        this.server.tick(4);
+        assertEquals(3, this.readHomes());
+
+        this.server.tick(1);
+        assertEquals(6, this.readHomes());
+        assertEquals(3, this.queue.requestedSaves());
+        assertEquals(2, this.queue.coalescedSaves());
+        assertEquals(1, this.queue.completedSaves());
+        assertEquals(3, this.queue.snapshots());
+    }
+
+    @Test
+    void writesTheSnapshotTakenByTheLastRequest() {
+        this.config.set("max-homes", 4);
+        this.config.saveAsync(this.plugin);
+        this.config.set("max-homes", 5);
+
+        this.server.tick(5);
+        assertEquals(4, this.readHomes());
+    }
+
+    @Test
+    void schedulesAnotherWriteForLaterRequests() {
+        this.config.set("max-homes", 4);
+        this.config.saveAsync(this.plugin);
+        this.server.tick(5);
+
+        this.config.set("max-homes", 5);
+        this.config.saveAsync(this.plugin);
+        this.server.tick(5);
+
+        assertEquals(5, this.readHomes());
+        assertEquals(0, this.queue.coalescedSaves());
+        assertEquals(2, this.queue.completedSaves());
+    }
+
+    @Test
+    void flushesPendingSavesWhenThePluginIsDisabled() {
+        this.config.set("max-homes", 4);
+        this.config.saveAsync(this.plugin);
+
+        this.server.disable(this.plugin);
+        assertEquals(4, this.readHomes());
+
+        // The disabled plugin's queue was discarded, so every save is written on the calling thread.
+        ConfigSaveQueue closed = ConfigSaveQueue.of(this.plugin);
+        assertNotSame(this.queue, closed);
+
+        this.config.set("max-homes", 5);
+        this.config.saveAsync(this.plugin);
+        assertEquals(5, this.readHomes());
+        assertEquals(0, this.server.pendingTasks());
+    }
+
+    @Test
+    void keepsOneQueuePerEnabledPlugin() {
+        assertSame(this.queue, ConfigSaveQueue.of(this.plugin));
+        assertNotSame(this.queue, ConfigSaveQueue.of(this.server.createPlugin(this.directory)));
+    }
+
+    @Test
+    void notifiesEveryHandlerOfFailedWrites() throws IOException {
+        // A directory cannot be replaced by the written file.
+        Path blocked = this.directory.resolve("blocked.yml");
+        Files.createDirectories(blocked.resolve("child"));
+        PathConfig config = new PathConfig(blocked.toString(), new YamlConfiguration());
+        config.set("max-homes", 4);
+
+        List<IOException> first = new ArrayList<>();
+        List<IOException> second = new ArrayList<>();
+        config.saveAsync(this.plugin, first::add);
+        config.saveAsync(this.plugin, second::add);
+        this.server.tick(5);
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(1, this.queue.completedSaves());
+    }
+
+    @Test
+    void snapshotsSubclassesOfYamlConfiguration() {
+        PathConfig config = new PathConfig(this.file.toString(), new YamlConfiguration() {
+        });
+        config.set("max-homes", 4);
+        config.saveAsync(this.plugin);
+        config.set("max-homes", 5);
+
+        assertEquals(3, this.readHomes(), "The subclass should not be saved on the calling thread");
+        assertEquals(1, this.queue.snapshots());
+
+        this.server.tick(5);
+        assertEquals(4, this.readHomes());
+    }
+
+    @Test
+    void schedulesSnapshotsAfterSavesOnTheCallingThread() {
+        PathConfig unsnapshottable = new PathConfig(this.file.toString(), new FileConfiguration() {
+            @Override
+            public @NotNull String saveToString() {
+                return "max-homes: " + this.getInt("max-homes") + '\n';
+            }
+
+            @Override
+            public void loadFromString(@NotNull String contents) {
+            }
+        });
+        unsnapshottable.set("max-homes", 4);
+        unsnapshottable.saveAsync(this.plugin);
+        assertEquals(4, this.readHomes());
+
+        this.config.set("max-homes", 5);
+        this.config.saveAsync(this.plugin);
+
+        this.server.tick(5);
+        assertEquals(5, this.readHomes());
+    }
+
+    private int readHomes() {
+        return YamlConfiguration.loadConfiguration(this.file.toFile()).getInt("max-homes");
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigWalkerTest {
+    @Test
+    void visitsEntriesDepthFirst() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("prefix", "[Homes] ");
+        config.set("limits.homes", 3);
+        config.set("limits.vip.homes", 10);
+        config.set("enabled", true);
+
+        Recorder recorder = new Recorder(null);
+        new ConfigWalker().walk(config, recorder);
+
+        assertEquals(
+            List.of(
+                "value prefix 0", "enter limits 0", "value limits.homes 1", "enter limits.vip 1",
+                "value limits.vip.homes 2", "leave limits.vip 1", "leave limits 0", "value enabled 0"
+            ),
+            recorder.events
+        );
+    }
+
+    @Test
+    void skipsSectionsThatAreNotEntered() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("limits.homes", 3);
+        config.set("messages.join", "Welcome");
+
+        Recorder recorder = new Recorder("limits");
+        new ConfigWalker().walk(config, recorder);
+
+        assertEquals(
+            List.of(
+                "enter limits 0", "leave limits 0", "enter messages 0", "value messages.join 1", "leave messages 0"
+            ),
+            recorder.events
+        );
+    }
+
+    @Test
+    void buildsPathsRelativeToTheWalkedSection() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().pathSeparator('/');
+        config.set("arenas/castle/spawns", 4);
+
+        Recorder recorder = new Recorder(null);
+        new ConfigWalker().walk(config.getConfigurationSection("arenas"), recorder);
+
+        assertEquals(List.of("enter castle 0", "value castle/spawns 1", "leave castle 0"), recorder.events);
+    }
+
+    @Test
+    void streamsChildSections() {
+        YamlConfiguration config = new YamlConfiguration();
+        for (int i = 0; i < 16; i++) {
+            config.set("arenas.arena-" + i + ".spawns", i);
+            config.set("arenas.arena-" + i + ".lobby.size", i);
+        }
+        config.set("arenas.enabled", true);
+        ConfigurationSection arenas = config.getConfigurationSection("arenas");
+
+        assertEquals(16, ConfigWalker.stream(arenas, false, false).count());
+        assertEquals(32, ConfigWalker.stream(arenas, true, false).count());
+        assertEquals(32, ConfigWalker.stream(arenas, true, true).count());
+        assertEquals(
+            120,
+            ConfigWalker.stream(arenas, false, true).mapToInt(section -> section.getInt("spawns")).sum()
+        );
+    }
+
+    private static final class Recorder implements ConfigVisitor {
+        private final List<String> events = new ArrayList<>();
+        private final String skipped;
+
+        private Recorder(@Nullable String skipped) {
+            this.skipped = skipped;
+        }
+
+        @Override
+        public boolean enterSection(@NotNull CharSequence path, @NotNull ConfigurationSection section, int depth) {
+            this.events.add("enter " + path + ' ' + depth);
+            return !path.toString().equals(this.skipped);
+        }
+
+        @Override
+        public void leaveSection(@NotNull CharSequence path, @NotNull ConfigurationSection section, int depth) {
+            this.events.add("leave " + path + ' ' + depth);
+        }
+
+        @Override
+        public void visitValue(@NotNull CharSequence path, @Nullable Object value, int depth) {
+            this.events.add("value " + path + ' ' + depth);
+        }
+    }
+}
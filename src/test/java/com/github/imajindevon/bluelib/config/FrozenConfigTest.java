@@ -0,0 +1,179 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.chat.ChatUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrozenConfigTest {
+    @Test
+    void readsValuesLikeThePathConfig() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("pvp", true);
+        yaml.set("limits.homes", 3);
+        yaml.set("limits.balance", 5_000_000_000L);
+        yaml.set("limits.speed", 1.5);
+        yaml.set("prefix", "[Homes] ");
+        PathConfig config = new PathConfig("config.yml", yaml);
+
+        FrozenConfig frozen = config.freeze();
+
+        assertTrue(frozen.getBoolean("pvp"));
+        assertEquals(3, frozen.getInt("limits.homes"));
+        assertEquals(5_000_000_000L, frozen.get("limits.balance"));
+        assertEquals(1.5, frozen.getDouble("limits.speed"));
+        assertEquals(1, frozen.getInt("limits.speed"));
+        assertEquals(3.0, frozen.getDouble("limits.homes"));
+        assertEquals("[Homes] ", frozen.getString("prefix"));
+        assertEquals("3", frozen.getString("limits.homes"));
+        assertEquals(3, frozen.get("limits.homes"));
+
+        assertFalse(frozen.getBoolean("missing"));
+        assertEquals(-1, frozen.getInt("missing"));
+        assertEquals(7, frozen.getInt("prefix", 7));
+        assertEquals(-1.0, frozen.getDouble("missing"));
+        assertNull(frozen.getString("missing"));
+        assertEquals("", frozen.getStringNonNull("missing"));
+        assertNull(frozen.get("limits"));
+    }
+
+    @Test
+    void listsTheKeysOfEverySection() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("prefix", "[Homes] ");
+        yaml.set("limits.vip.homes", 10);
+        yaml.set("limits.homes", 3);
+        yaml.set("limits-extra", true);
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+
+        assertEquals(Set.of("limits", "limits-extra", "prefix"), frozen.getKeys(""));
+        assertEquals(List.of("homes", "vip"), List.copyOf(frozen.getKeys("limits")));
+        assertEquals(Set.of("homes"), frozen.getKeys("limits.vip"));
+        assertEquals(Set.of(), frozen.getKeys("missing"));
+
+        assertTrue(frozen.isSection("limits.vip"));
+        assertFalse(frozen.isSection("limits.homes"));
+        assertTrue(frozen.contains("limits.vip"));
+        assertTrue(frozen.contains("limits.homes"));
+        assertFalse(frozen.contains("limits.missing"));
+        assertEquals(6, frozen.size());
+    }
+
+    @Test
+    void usesThePathSeparatorOfTheConfig() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.options().pathSeparator('/');
+        yaml.set("arenas/castle.v2/spawns", 4);
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+
+        assertEquals(4, frozen.getInt("arenas/castle.v2/spawns"));
+        assertEquals(Set.of("castle.v2"), frozen.getKeys("arenas"));
+        assertTrue(frozen.isSection("arenas/castle.v2"));
+    }
+
+    @Test
+    void isNotAffectedByLaterModifications() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        List<String> worlds = new ArrayList<>(List.of("world", "world_nether"));
+        yaml.set("worlds", worlds);
+        yaml.set("limits.homes", 3);
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+        worlds.add("world_the_end");
+        yaml.set("limits.homes", 5);
+        yaml.set("limits.warps", 2);
+
+        assertEquals(List.of("world", "world_nether"), frozen.getList("worlds"));
+        assertEquals(3, frozen.getInt("limits.homes"));
+        assertFalse(frozen.contains("limits.warps"));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            //noinspection unchecked
+            ((List<Object>) frozen.getList("worlds")).add("world_the_end");
+        });
+    }
+
+    @Test
+    void copiesSerializableValues() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        Spawn spawn = new Spawn(List.of(1, 64, -3));
+        yaml.set("spawn", spawn);
+        yaml.set("prefix", "[Homes] ");
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+        Spawn copy = frozen.getSerializable("spawn", Spawn.class);
+
+        assertNotSame(spawn, copy);
+        assertEquals(spawn.coordinates, copy.coordinates);
+        assertSame(copy, frozen.getSerializable("spawn", Spawn.class, new Spawn(List.of())));
+        assertNull(frozen.getSerializable("prefix", Spawn.class));
+    }
+
+    @Test
+    void cachesTranslations() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("prefix", "&8[&bHomes&8] ");
+        yaml.set("max-homes", 3);
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+        String translated = frozen.getTranslated("prefix");
+
+        assertEquals(ChatUtil.translate("&8[&bHomes&8] "), translated);
+        assertSame(translated, frozen.getTranslated("prefix"));
+        assertEquals("3", frozen.getTranslated("max-homes"));
+        assertEquals("", frozen.getTranslated("missing"));
+    }
+
+    @Test
+    void estimatesASmallerFootprintThanTheSource() {
+        YamlConfiguration yaml = new YamlConfiguration();
+
+        for (int i = 0; i < 200; i++) {
+            yaml.set("arenas.arena-" + i + ".spawns", i);
+            yaml.set("arenas.arena-" + i + ".enabled", i % 2 == 0);
+        }
+
+        FrozenConfig frozen = FrozenConfig.of(yaml);
+
+        assertEquals(601, frozen.size());
+        assertTrue(frozen.estimatedBytes() > 0);
+        assertTrue(
+            frozen.estimatedBytes() < frozen.sourceEstimatedBytes(),
+            frozen.estimatedBytes() + " should be below " + frozen.sourceEstimatedBytes()
+        );
+    }
+
+    static final class Spawn implements ConfigurationSerializable {
+        private final List<Integer> coordinates;
+
+        Spawn(List<Integer> coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        @Override
+        @NotNull
+        public Map<String, Object> serialize() {
+            return Map.of("coordinates", this.coordinates);
+        }
+
+        @SuppressWarnings("unchecked")
+        public static Spawn deserialize(Map<String, Object> serialized) {
+            return new Spawn((List<Integer>) serialized.get("coordinates"));
+        }
+    }
+}
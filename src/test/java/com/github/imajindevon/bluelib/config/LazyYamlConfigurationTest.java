@@ -0,0 +1,269 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.TestServer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyYamlConfigurationTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsTheSameValuesAsAnEagerLoad() throws IOException, InvalidConfigurationException {
+        File file = this.bukkitSavedFile();
+        YamlConfiguration eager = YamlConfiguration.loadConfiguration(file);
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(2);
+        lazy.load(file);
+
+        assertTrue(lazy.isLazy(), "The file should be indexed");
+        assertEquals(plain(eager), plain(lazy));
+        assertTrue(lazy.materializedSections() <= 2, "Unmodified entries should be evicted");
+    }
+
+    @Test
+    void savesModifiedEntriesAlongsideUnmodifiedOnes() throws IOException, InvalidConfigurationException {
+        File file = this.bukkitSavedFile();
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(2);
+        lazy.load(file);
+        lazy.set("limits.homes", 5);
+
+        assertTrue(lazy.isLazy(), "The file should be indexed");
+
+        YamlConfiguration reloaded = new YamlConfiguration();
+        reloaded.loadFromString(lazy.saveToString());
+
+        YamlConfiguration expected = YamlConfiguration.loadConfiguration(file);
+        expected.set("limits.homes", 5);
+        assertEquals(plain(expected), plain(reloaded));
+    }
+
+    @Test
+    void copiesCommentsOfUnmodifiedEntries() throws IOException, InvalidConfigurationException {
+        File file = this.handWrittenFile();
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(2);
+        lazy.load(file);
+        lazy.set("key with spaces", 6);
+
+        String saved = lazy.saveToString();
+
+        assertTrue(saved.startsWith("# Homes configuration\n# Edit with care\n\n# The chat prefix\nprefix:"), saved);
+        assertTrue(saved.contains("limits:\n  # Per-player limits\n  homes: 3  # Inline\n  warps: 2\n"), saved);
+        assertTrue(saved.endsWith("# Trailing comment\n"), saved);
+    }
+
+    @Test
+    void indexesQuotedAndSpecialKeys() throws IOException, InvalidConfigurationException {
+        File file = this.handWrittenFile();
+        YamlConfiguration eager = YamlConfiguration.loadConfiguration(file);
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(2);
+        lazy.load(file);
+
+        assertTrue(lazy.isLazy(), "The file should be indexed");
+        assertEquals(plain(eager), plain(lazy));
+        assertEquals(4, lazy.getInt("it's"));
+        assertEquals(5, lazy.getInt("colon: inside"));
+        assertTrue(lazy.getBoolean("yes"));
+
+        lazy.set("quoted key", 7);
+        YamlConfiguration reloaded = new YamlConfiguration();
+        reloaded.loadFromString(lazy.saveToString());
+
+        eager.set("quoted key", 7);
+        assertEquals(plain(eager), plain(reloaded));
+    }
+
+    @Test
+    void loadsFilesWithAnchorsEagerly() throws IOException, InvalidConfigurationException {
+        File file = this.directory.resolve("anchors.yml").toFile();
+        Files.writeString(file.toPath(), "defaults: &defaults\n  homes: 3\nvip: *defaults\nprefix: '&a'\n");
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(1);
+        lazy.load(file);
+
+        assertFalse(lazy.isLazy(), "Aliases may refer to other entries, so the file should be parsed whole");
+        assertEquals(3, lazy.getInt("vip.homes"));
+        assertEquals(plain(YamlConfiguration.loadConfiguration(file)), plain(lazy));
+    }
+
+    @Test
+    void keepsSectionsModifiedThroughChildSections() throws IOException, InvalidConfigurationException {
+        File file = this.handWrittenFile();
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(1);
+        lazy.load(file);
+
+        ConfigurationSection limits = lazy.getConfigurationSection("limits");
+        assertNotNull(limits);
+        limits.set("homes", 5);
+
+        // Materializing other entries evicts the unmodified ones, but not the modified section.
+        lazy.getString("prefix");
+        lazy.getInt("quoted key");
+        assertEquals(2, lazy.materializedSections());
+        assertEquals(5, lazy.getInt("limits.homes"));
+
+        YamlConfiguration reloaded = new YamlConfiguration();
+        reloaded.loadFromString(lazy.saveToString());
+        assertEquals(5, reloaded.getInt("limits.homes"));
+        assertEquals(2, reloaded.getInt("limits.warps"));
+    }
+
+    @Test
+    void writesTheSnapshotTakenWhenTheSaveWasRequested() throws IOException, InvalidConfigurationException {
+        TestServer server = TestServer.get();
+        Plugin plugin = server.createPlugin(this.directory);
+        File file = this.handWrittenFile();
+        PathConfig config = PathConfig.loadLazy(file, 2);
+
+        config.set("limits.homes", 5);
+        config.saveAsync(plugin);
+        config.set("limits.homes", 6);
+        server.tick(20);
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(file);
+        assertEquals(5, saved.getInt("limits.homes"));
+        assertEquals("&8[&bHomes&8] ", saved.getString("prefix"));
+
+        config.saveAsync(plugin);
+        server.tick(20);
+        assertEquals(6, YamlConfiguration.loadConfiguration(file).getInt("limits.homes"));
+    }
+
+    @Test
+    void writesSnapshotsWhileTheConfigIsModified()
+    throws IOException, InvalidConfigurationException, ExecutionException, InterruptedException
+    {
+        File file = this.handWrittenFile();
+        PathConfig config = PathConfig.loadLazy(file, 2);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        List<Future<Boolean>> writes = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                config.set("limits.homes", i);
+
+                if (i % 2 == 0) {
+                    config.set("key with spaces", i);
+                }
+                // A snapshot that lost the race to an earlier one reports false, and would be taken again.
+                writes.add(writer.submit(config.snapshot()::write));
+            }
+            for (Future<Boolean> write : writes) {
+                write.get();
+            }
+        } finally {
+            writer.shutdown();
+        }
+        config.save();
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(file);
+        assertEquals(199, saved.getInt("limits.homes"));
+        assertEquals(198, saved.getInt("key with spaces"));
+        assertEquals(2, saved.getInt("limits.warps"));
+        assertEquals(1, saved.getInt("quoted key"));
+        assertEquals("&8[&bHomes&8] ", saved.getString("prefix"));
+    }
+
+    @Test
+    void refusesToReadFilesModifiedOnDisk() throws IOException, InvalidConfigurationException {
+        File file = this.handWrittenFile();
+        LazyYamlConfiguration lazy = new LazyYamlConfiguration(2);
+        lazy.load(file);
+        Files.writeString(file.toPath(), "prefix: '&cReplaced'\n");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> lazy.getString("prefix"));
+        assertTrue(exception.getMessage().contains("modified on disk"), exception.getMessage());
+        assertThrows(IllegalStateException.class, lazy::saveToString);
+    }
+
+    @Test
+    void reportsSavesOfFilesModifiedOnDisk() throws IOException, InvalidConfigurationException {
+        TestServer server = TestServer.get();
+        Plugin plugin = server.createPlugin(this.directory);
+        File file = this.handWrittenFile();
+        PathConfig config = PathConfig.loadLazy(file, 2);
+        List<IOException> failures = new ArrayList<>();
+
+        config.set("limits.homes", 5);
+        config.saveAsync(plugin, failures::add);
+        Files.writeString(file.toPath(), "prefix: '&cReplaced'\n");
+        server.tick(20);
+
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).getMessage().contains("modified on disk"), failures.get(0).getMessage());
+        assertEquals("prefix: '&cReplaced'\n", Files.readString(file.toPath()));
+    }
+
+    @NotNull
+    private File bukkitSavedFile() throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("prefix", "&8[&bTom & Jerry&8] ");
+        config.set("limits.homes", 3);
+        config.set("limits.warps", 2);
+        config.set("worlds", List.of("world", "world_nether"));
+        config.set("messages.join", "Welcome, &a%player%");
+        config.set("messages.quit", "'Bye' & farewell");
+        config.set("enabled", true);
+
+        File file = this.directory.resolve("config.yml").toFile();
+        config.save(file);
+        return file;
+    }
+
+    @NotNull
+    private File handWrittenFile() throws IOException {
+        File file = this.directory.resolve("config.yml").toFile();
+        Files.writeString(file.toPath(), """
+            # Homes configuration
+            # Edit with care
+
+            # The chat prefix
+            prefix: '&8[&bHomes&8] '
+            limits:
+              # Per-player limits
+              homes: 3  # Inline
+              warps: 2
+            'quoted key': 1
+            "yes": true
+            key with spaces: 3
+            'it''s': 4
+            "colon: inside": 5
+            # Trailing comment
+            """);
+        return file;
+    }
+
+    @NotNull
+    private static Map<String, Object> plain(@NotNull ConfigurationSection section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+}
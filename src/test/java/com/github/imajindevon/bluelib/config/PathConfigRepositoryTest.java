@@ -0,0 +1,94 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.TestServer;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathConfigRepositoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsEveryYamlFileBeneathTheDirectory() throws IOException {
+        this.write("arenas/castle.yml", "spawns: 4\n");
+        this.write("arenas/desert/ruins.yaml", "spawns: 2\n");
+        this.write("kits.YML", "starter: true\n");
+        this.write("arenas/.castle.yml.1a2b.tmp", "spawns: 1\n");
+        this.write("arenas/.hidden.yml", "spawns: 1\n");
+        this.write("readme.txt", "not a config\n");
+
+        PathConfigRepository repository = PathConfigRepository.load(this.directory.toFile(), 2);
+
+        assertEquals(
+            List.of("arenas/castle.yml", "arenas/desert/ruins.yaml", "kits.YML"),
+            List.copyOf(repository.configs().keySet())
+        );
+        assertEquals(4, repository.get("arenas/castle.yml").getInt("spawns"));
+        assertEquals(2, repository.get("arenas/desert/ruins.yaml").getInt("spawns"));
+        assertTrue(repository.get("kits.YML").getBoolean("starter"));
+        assertNull(repository.get("readme.txt"));
+        assertFalse(repository.hasErrors());
+    }
+
+    @Test
+    void recordsErrorsWithoutAbortingTheOtherFiles() throws IOException {
+        for (int i = 0; i < 8; i++) {
+            this.write("arena-" + i + ".yml", "spawns: " + i + '\n');
+        }
+        this.write("broken.yml", "spawns: [4\n");
+
+        PathConfigRepository repository = PathConfigRepository.load(this.directory.toFile(), 3);
+
+        assertEquals(8, repository.size());
+        assertTrue(repository.hasErrors());
+        assertEquals(List.of("broken.yml"), List.copyOf(repository.errors().keySet()));
+        assertInstanceOf(InvalidConfigurationException.class, repository.errors().get("broken.yml"));
+    }
+
+    @Test
+    void isEmptyIfTheDirectoryDoesNotExist() throws IOException {
+        PathConfigRepository repository = PathConfigRepository.load(this.directory.resolve("missing").toFile(), 2);
+
+        assertEquals(0, repository.size());
+        assertFalse(repository.hasErrors());
+    }
+
+    @Test
+    void rejectsParallelismBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> PathConfigRepository.load(this.directory.toFile(), 0));
+    }
+
+    @Test
+    void completesAsyncLoadsOnTheMainThread() throws IOException {
+        TestServer server = TestServer.get();
+        Plugin plugin = server.createPlugin(this.directory);
+        this.write("arenas/castle.yml", "spawns: 4\n");
+
+        CompletableFuture<PathConfigRepository> future = PathConfigRepository.loadAsync(plugin, "arenas");
+        assertFalse(future.isDone());
+
+        server.runTasks();
+        assertEquals(4, future.join().get("castle.yml").getInt("spawns"));
+    }
+
+    private void write(String relativePath, String contents) throws IOException {
+        Path file = this.directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, contents);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.imajindevon.bluelib.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathConfigTest {
+    private static final FileTime LOADED_AT = FileTime.fromMillis(1_000_000_000_000L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void skipsSavingUnchangedContents() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile("max-homes: 3\n");
+        PathConfig config = PathConfig.loadConfig(file.toFile());
+
+        config.save();
+        assertEquals(LOADED_AT, Files.getLastModifiedTime(file));
+
+        // Setting an entry to its current value serializes to the same contents.
+        config.set("max-homes", 3);
+        config.save();
+        assertEquals(LOADED_AT, Files.getLastModifiedTime(file));
+    }
+
+    @Test
+    void savesChangedContents() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile("max-homes: 3\n");
+        PathConfig config = PathConfig.loadConfig(file.toFile());
+
+        config.set("max-homes", 5);
+        config.save();
+
+        assertNotEquals(LOADED_AT, Files.getLastModifiedTime(file));
+        assertEquals(5, YamlConfiguration.loadConfiguration(file.toFile()).getInt("max-homes"));
+    }
+
+    @Test
+    void rewritesFilesChangedOnDisk() throws IOException, InvalidConfigurationException {
+        Path file = this.createFile("max-homes: 3\n");
+        PathConfig config = PathConfig.loadConfig(file.toFile());
+
+        Files.writeString(file, "max-homes: 9\n");
+        config.save();
+
+        assertEquals("max-homes: 3\n", Files.readString(file));
+    }
+
+    @Test
+    void leavesNoTemporaryFilesBehind() throws IOException {
+        Path file = this.directory.resolve("data/config.yml");
+        PathConfig config = new PathConfig(file.toString(), new YamlConfiguration());
+        config.set("max-homes", 3);
+
+        config.save();
+
+        assertEquals("max-homes: 3\n", Files.readString(file));
+        assertEquals(List.of(file), this.list(file.getParent()));
+    }
+
+    @Test
+    void keepsTheTargetWhenAWriteFails() throws IOException {
+        Path target = this.directory.resolve("config.yml");
+        Path child = Files.createDirectories(target).resolve("child.yml");
+        Files.writeString(child, "max-homes: 3\n");
+
+        PathConfig config = new PathConfig(target.toString(), new YamlConfiguration());
+        config.set("max-homes", 5);
+
+        assertThrows(IOException.class, config::save);
+        assertTrue(Files.isDirectory(target));
+        assertEquals(List.of(target), this.list(this.directory));
+        assertEquals("max-homes: 3\n", Files.readString(child));
+    }
+
+    private Path createFile(String contents) throws IOException {
+        Path file = this.directory.resolve("config.yml");
+        Files.writeString(file, contents);
+        Files.setLastModifiedTime(file, LOADED_AT);
+        return file;
+    }
+
+    private List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.imajindevon.bluelib.config;
+
+import com.github.imajindevon.bluelib.chat.ChatUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TranslationCacheTest {
+    @Test
+    void cachesTranslatedStrings() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("prefix", "&8[&bHomes&8] ");
+        PathConfig config = new PathConfig("config.yml", yaml);
+        TranslationCache cache = config.translationCache();
+
+        assertEquals(ChatUtil.translate("&8[&bHomes&8] "), config.getTranslated("prefix"));
+        assertEquals(ChatUtil.translate("&8[&bHomes&8] "), config.getTranslated("prefix"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    void removesEntriesBeneathASetPath() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.options().pathSeparator('/');
+        yaml.set("messages/join", "&aWelcome");
+        yaml.set("messages/quit", "&cGoodbye");
+        yaml.set("messages.v2", "&eUpdated");
+        PathConfig config = new PathConfig("config.yml", yaml);
+        TranslationCache cache = config.translationCache();
+
+        assertEquals(3, config.warmTranslations(""));
+        assertEquals(3, cache.size());
+
+        // Setting a value beneath a cached string turns it into a section, so its entry is stale.
+        config.set("messages/join/title", "&bWelcome");
+        assertEquals(2, cache.size());
+        assertEquals(ChatUtil.translate("&cGoodbye"), config.getTranslated("messages/quit"));
+        assertEquals(1, cache.hits());
+
+        // With another separator, "messages.v2" is not beneath "messages".
+        config.set("messages", null);
+        assertEquals(1, cache.size());
+        assertEquals(ChatUtil.translate("&eUpdated"), config.getTranslated("messages.v2"));
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void retranslatesSetValues() {
+        PathConfig config = new PathConfig("config.yml", new YamlConfiguration());
+        config.set("prefix", "&aHomes");
+        assertEquals(ChatUtil.translate("&aHomes"), config.getTranslated("prefix"));
+
+        config.set("prefix", "&bWarps");
+        assertEquals(ChatUtil.translate("&bWarps"), config.getTranslated("prefix"));
+
+        config.config().set("prefix", "&cSpawn");
+        config.invalidate();
+        assertEquals(ChatUtil.translate("&cSpawn"), config.getTranslated("prefix"));
+        assertEquals(0, config.translationCache().hits());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntries() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("first", "&a1");
+        yaml.set("second", "&a2");
+        yaml.set("third", "&a3");
+        PathConfig config = new PathConfig("config.yml", yaml);
+        TranslationCache cache = config.translationCache();
+        cache.setMaxSize(2);
+
+        config.getTranslated("first");
+        config.getTranslated("second");
+        config.getTranslated("first");
+        config.getTranslated("third");
+        assertEquals(2, cache.size());
+
+        cache.resetStats();
+        config.getTranslated("first");
+        config.getTranslated("second");
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+
+        cache.setMaxSize(0);
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.imajindevon.bluelib.config.binary;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfigValueCodecTest {
+    @Test
+    void roundTripsScalars() throws IOException {
+        for (Object value : List.of(
+            "text", "", 42, -7L, 1.5, 0.25f, true, new BigInteger("123456789012345678901234567890"), new Date(1000)
+        ))
+        {
+            assertEquals(value, roundTrip(value));
+        }
+        assertEquals(null, roundTrip(null));
+    }
+
+    @Test
+    void roundTripsCollections() throws IOException {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("name", "value");
+        map.put(1, List.of(2L, 3.5, "four"));
+        map.put(true, null);
+
+        assertEquals(Arrays.asList("a", null, 1), roundTrip(Arrays.asList("a", null, 1)));
+        assertEquals(map, roundTrip(map));
+    }
+
+    @Test
+    void roundTripsSections() throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("name", "BlueLib");
+        config.set("limits.homes", 3);
+        config.set("limits.warps", List.of("spawn", "shop"));
+        config.setComments("name", List.of("The name"));
+        config.setInlineComments("limits", List.of("Per player"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConfigValueCodec.writeSection(new DataOutputStream(bytes), config);
+
+        YamlConfiguration decoded = new YamlConfiguration();
+        ConfigValueCodec.readSection(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), decoded);
+
+        assertEquals("BlueLib", decoded.get("name"));
+        assertEquals(3, decoded.get("limits.homes"));
+        assertEquals(List.of("spawn", "shop"), decoded.get("limits.warps"));
+        assertInstanceOf(ConfigurationSection.class, decoded.get("limits"));
+        assertEquals(List.of("The name"), decoded.getComments("name"));
+        assertEquals(List.of("Per player"), decoded.getInlineComments("limits"));
+    }
+
+    @Test
+    void rejectsUnsupportedValues() {
+        assertThrows(IllegalArgumentException.class, () -> roundTrip(new Object()));
+    }
+
+    @Nullable
+    private static Object roundTrip(@Nullable Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConfigValueCodec.writeValue(new DataOutputStream(bytes), value);
+        return ConfigValueCodec.readValue(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import com.github.imajindevon.bluelib.TestServer;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.generator.structure.Structure;
+import org.bukkit.generator.structure.StructureType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamedValuesTest {
+    private static Structure outpost;
+    private static Structure tower;
+
+    @BeforeAll
+    static void registerStructures() {
+        // Structures can only be created once a server is installed, and their registry is read once per JVM, so the
+        // entries are registered before any test reads it.
+        TestServer server = TestServer.get();
+        outpost = new TestStructure(NamespacedKey.minecraft("pillager_outpost"));
+        tower = new TestStructure(new NamespacedKey("castles", "wizard_tower"));
+        server.register(Structure.class, outpost);
+        server.register(Structure.class, tower);
+    }
+
+    @Test
+    void bindsEnumConstantsByNormalizedName() throws IllegalAccessException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("mode", "adventure-mode");
+        config.set("allowed-modes", List.of("survival", " Adventure Mode", "ADVENTURE.MODE"));
+
+        Modes modes = new Modes();
+        ReflectiveConfigInjector.getAndInject(modes, config, false, false);
+
+        assertEquals(Mode.ADVENTURE_MODE, modes.mode);
+        assertEquals(List.of(Mode.SURVIVAL, Mode.ADVENTURE_MODE, Mode.ADVENTURE_MODE), modes.allowedModes);
+    }
+
+    @Test
+    void writesEnumConstantsAsTheirNames() throws IllegalAccessException {
+        Modes modes = new Modes();
+        modes.allowedModes = List.of(Mode.SURVIVAL, Mode.ADVENTURE_MODE);
+        YamlConfiguration config = new YamlConfiguration();
+
+        ReflectiveConfigWriter.copyFields(modes, config);
+
+        assertEquals("SURVIVAL", config.getString("mode"));
+        assertEquals(List.of("SURVIVAL", "ADVENTURE_MODE"), config.getList("allowed-modes"));
+    }
+
+    @Test
+    void rejectsUnknownNames() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("mode", "creative");
+        config.set("allowed-modes", List.of());
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ReflectiveConfigInjector.getAndInject(new Modes(), config, false, false)
+        );
+        assertEquals("Entry at mode is not a known Mode: creative", exception.getMessage());
+    }
+
+    @Test
+    void rejectsTypesWithCollidingNames() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> NamedValues.of(Clash.class));
+        assertTrue(exception.getMessage().contains("FIRE_ASPECT and FIREASPECT"), exception.getMessage());
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("clash", "fire_aspect");
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> ReflectiveConfigInjector.getAndInject(new Clashing(), config, false, false)
+        );
+    }
+
+    @Test
+    void bindsRegistryEntriesByKey() throws IllegalAccessException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("structure", "minecraft:pillager_outpost");
+        config.set("structures", List.of("Pillager-Outpost", "castles:wizard_tower"));
+
+        Structures structures = new Structures();
+        ReflectiveConfigInjector.getAndInject(structures, config, false, false);
+
+        assertSame(outpost, structures.structure);
+        assertEquals(List.of(outpost, tower), structures.structures);
+        assertSame(tower, NamedValues.of(Structure.class).lookup("castles:wizard-tower"));
+        assertNull(NamedValues.of(Structure.class).lookup("wizard_tower"));
+    }
+
+    @Test
+    void writesRegistryEntriesAsTheirKeys() throws IllegalAccessException {
+        Structures structures = new Structures();
+        structures.structure = outpost;
+        structures.structures = List.of(outpost, tower);
+        YamlConfiguration config = new YamlConfiguration();
+
+        ReflectiveConfigWriter.copyFields(structures, config);
+
+        assertEquals("pillager_outpost", config.getString("structure"));
+        assertEquals(List.of("pillager_outpost", "castles:wizard_tower"), config.getList("structures"));
+    }
+
+    enum Mode {
+        SURVIVAL,
+        ADVENTURE_MODE
+    }
+
+    enum Clash {
+        FIRE_ASPECT,
+        FIREASPECT
+    }
+
+    static class Clashing implements ReflectiveConfig {
+        Clash clash = Clash.FIRE_ASPECT;
+    }
+
+    static class Modes implements ReflectiveConfig {
+        List<Mode> allowedModes = List.of();
+        Mode mode = Mode.SURVIVAL;
+    }
+
+    static class Structures implements ReflectiveConfig {
+        Structure structure;
+        List<Structure> structures = List.of();
+    }
+
+    private static final class TestStructure extends Structure {
+        private final NamespacedKey key;
+
+        private TestStructure(@NotNull NamespacedKey key) {
+            this.key = key;
+        }
+
+        @Override
+        @NotNull
+        public NamespacedKey getKey() {
+            return this.key;
+        }
+
+        @Override
+        @NotNull
+        public StructureType getStructureType() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
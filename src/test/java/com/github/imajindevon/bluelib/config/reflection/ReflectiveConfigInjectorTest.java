@@ -0,0 +1,230 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReflectiveConfigInjectorTest {
+    @Test
+    void injectsDecimalsIntoFloatFields() throws IllegalAccessException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("speed", 1.5);
+        config.set("max-homes", 5);
+        config.set("balance", 12);
+        config.set("ratio", 3);
+
+        Numbers numbers = new Numbers();
+        ReflectiveConfigInjector.getAndInject(numbers, config, false, false);
+
+        assertEquals(1.5f, numbers.speed);
+        assertEquals(5, numbers.maxHomes);
+        assertEquals(12L, numbers.balance);
+        assertEquals(3.0, numbers.ratio);
+    }
+
+    @Test
+    void constructsRecordsWithFloatComponents() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("speed", 0.25);
+        config.set("balance", 7);
+
+        NumberRecord record = ReflectiveConfigInjector.getAndConstruct(new NumberRecord(0, 0), config, false, false);
+
+        assertEquals(new NumberRecord(0.25f, 7L), record);
+    }
+
+    @Test
+    void reportsNoChangesWhenReinjectingTheSameValues() throws IllegalAccessException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("speed", 1.5);
+        config.set("max-homes", 5);
+        config.set("balance", 12);
+        config.set("ratio", 3);
+
+        Numbers numbers = new Numbers();
+        ReflectiveConfigInjector.getAndInject(numbers, config, false, false);
+
+        assertEquals(0, ReflectiveConfigInjector.injectChanges(numbers, config, false, false).size());
+    }
+
+    @Test
+    void rejectsDecimalsForIntegerFields() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("speed", 1.5);
+        config.set("max-homes", 2.5);
+        config.set("balance", 12);
+        config.set("ratio", 3);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ReflectiveConfigInjector.getAndInject(new Numbers(), config, false, false)
+        );
+    }
+
+    @Test
+    void mapsEveryChildSectionInOrder() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("arenas.desert.spawns", 2);
+        config.set("arenas.desert.display-name", "Desert");
+        config.set("arenas.castle.spawns", 4);
+        config.set("arenas.castle.display-name", "Castle");
+        config.set("arenas.enabled", true);
+        config.set("arenas.ruins.spawns", "many");
+        config.set("arenas.ruins.display-name", "Ruins");
+        config.set("arenas.forest.display-name", "Forest");
+
+        MappedSections<Arena> arenas = ReflectiveConfigInjector.mapSections(
+            config.getConfigurationSection("arenas"),
+            Arena::new,
+            false,
+            false
+        );
+
+        assertEquals(List.of("desert", "castle"), List.copyOf(arenas.instances().keySet()));
+        assertEquals(2, arenas.get("desert").spawns);
+        assertEquals("Castle", arenas.get("castle").displayName);
+        assertNull(arenas.get("enabled"));
+
+        assertTrue(arenas.hasErrors());
+        assertEquals(List.of("ruins", "forest"), List.copyOf(arenas.errors().keySet()));
+        assertInstanceOf(IllegalArgumentException.class, arenas.errors().get("ruins"));
+    }
+
+    @Test
+    void copiesDefaultsIntoEveryChildSection() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("arenas.castle.spawns", 4);
+        config.set("arenas.desert.display-name", "Desert");
+
+        MappedSections<Arena> arenas = ReflectiveConfigInjector.mapSections(
+            config.getConfigurationSection("arenas"),
+            Arena::new,
+            false,
+            true
+        );
+
+        assertFalse(arenas.hasErrors());
+        assertEquals(1, arenas.get("desert").spawns);
+        assertEquals(1, config.getInt("arenas.desert.spawns"));
+        assertEquals("", config.getString("arenas.castle.display-name"));
+    }
+
+    @Test
+    void mapsLargeSectionsInParallel() {
+        YamlConfiguration config = new YamlConfiguration();
+        List<String> keys = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            keys.add("arena-" + i);
+            config.set("arenas.arena-" + i + ".spawns", i);
+            config.set("arenas.arena-" + i + ".display-name", "Arena " + i);
+        }
+        config.set("arenas.arena-250.spawns", "many");
+
+        Thread caller = Thread.currentThread();
+        MappedSections<Arena> arenas = ReflectiveConfigInjector.mapSections(
+            config.getConfigurationSection("arenas"),
+            () -> {
+                assertSame(caller, Thread.currentThread(), "The factory should be called on the calling thread");
+                return new Arena();
+            },
+            false,
+            false
+        );
+
+        keys.remove("arena-250");
+        assertEquals(keys, List.copyOf(arenas.instances().keySet()));
+        assertEquals(List.of("arena-250"), List.copyOf(arenas.errors().keySet()));
+
+        for (int i = 0; i < 500; i++) {
+            Arena arena = arenas.get("arena-" + i);
+
+            if (i != 250) {
+                assertEquals(i, arena.spawns);
+                assertEquals("Arena " + i, arena.displayName);
+            }
+        }
+    }
+
+    @Test
+    void mapsChildSectionsIntoRecords() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("tiers.slow.speed", 0.5);
+        config.set("tiers.slow.balance", 10);
+        config.set("tiers.fast.speed", 2);
+        config.set("tiers.fast.balance", 100);
+
+        MappedSections<NumberRecord> tiers = ReflectiveConfigInjector.mapSections(
+            config.getConfigurationSection("tiers"),
+            () -> new NumberRecord(0, 0),
+            false,
+            false
+        );
+
+        assertEquals(new NumberRecord(0.5f, 10L), tiers.get("slow"));
+        assertEquals(new NumberRecord(2f, 100L), tiers.get("fast"));
+        assertEquals(2, tiers.size());
+    }
+
+    @Test
+    void mapsNothingFromASectionWithoutChildSections() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("enabled", true);
+
+        MappedSections<Arena> arenas = ReflectiveConfigInjector.mapSections(config, Arena::new, false, false);
+
+        assertEquals(0, arenas.size());
+        assertFalse(arenas.hasErrors());
+    }
+
+    @Test
+    void bindsNonFinalStaticFields() throws IllegalAccessException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("max-players", 12);
+        config.set("motd", "Welcome");
+
+        ReflectiveConfigInjector.getAndInject(new Globals(), config, false, false);
+        assertEquals(12, Globals.maxPlayers);
+        assertEquals("Welcome", Globals.motd);
+
+        YamlConfiguration written = new YamlConfiguration();
+        ReflectiveConfigWriter.copyFields(new Globals(), written);
+
+        // The static final field is a constant, which is never bound.
+        assertEquals(Set.of("max-players", "motd"), written.getKeys(false));
+        assertEquals(12, written.getInt("max-players"));
+        assertEquals("Welcome", written.getString("motd"));
+    }
+
+    static class Globals implements ReflectiveConfig {
+        static final int VERSION = 1;
+        static int maxPlayers;
+        private static String motd = "";
+    }
+
+    static class Arena implements ReflectiveConfig {
+        String displayName = "";
+        int spawns = 1;
+    }
+
+    static class Numbers implements ReflectiveConfig {
+        long balance;
+        int maxHomes;
+        double ratio;
+        float speed;
+    }
+
+    record NumberRecord(float speed, long balance) implements ReflectiveConfig {
+    }
+}
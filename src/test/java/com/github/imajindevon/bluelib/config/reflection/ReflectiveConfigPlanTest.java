@@ -0,0 +1,54 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import com.github.imajindevon.bluelib.util.naming.LowerKebabCaseConverter;
+import com.github.imajindevon.bluelib.util.naming.LowerSnakeCaseConverter;
+import com.github.imajindevon.bluelib.util.naming.NamingConventionConverter;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReflectiveConfigPlanTest {
+    @Test
+    void cachesPlansPerConverter() {
+        ReflectiveConfigPlan kebab = ReflectiveConfigPlan.of(Sample.class, LowerKebabCaseConverter.INSTANCE);
+        ReflectiveConfigPlan snake = ReflectiveConfigPlan.of(Sample.class, LowerSnakeCaseConverter.INSTANCE);
+
+        assertSame(kebab, ReflectiveConfigPlan.of(Sample.class, LowerKebabCaseConverter.INSTANCE));
+        assertNotSame(kebab, snake);
+        assertEquals("max-homes", kebab.bindingOf("maxHomes").path());
+        assertEquals("max_homes", snake.bindingOf("maxHomes").path());
+    }
+
+    @Test
+    void releasesConvertersCreatedPerCall() throws InterruptedException {
+        // A new instance, as a lambda without captures would be a constant held by its call site.
+        NamingConventionConverter converter = new IdentityConverter();
+        WeakReference<NamingConventionConverter> reference = new WeakReference<>(converter);
+
+        assertEquals("maxHomes", ReflectiveConfigPlan.of(Sample.class, converter).bindingOf("maxHomes").path());
+        converter = null;
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get(), "The cache should not keep the converter reachable");
+    }
+
+    static class IdentityConverter implements NamingConventionConverter {
+        @Override
+        public @NotNull String fromCamelCase(@NotNull String name) {
+            return name;
+        }
+    }
+
+    static class Sample implements ReflectiveConfig {
+        int maxHomes = 3;
+    }
+}
@@ -0,0 +1,397 @@
+package com.github.imajindevon.bluelib.config.reflection;
+
+import com.github.imajindevon.bluelib.TestServer;
+import com.github.imajindevon.bluelib.config.ConfigSaveQueue;
+import com.github.imajindevon.bluelib.config.PathConfig;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReflectivePluginConfigTest {
+    private final TestServer server = TestServer.get();
+
+    @TempDir
+    Path directory;
+
+    private File file;
+    private Plugin plugin;
+
+    @BeforeEach
+    void createPlugin() {
+        this.plugin = this.server.createPlugin(this.directory);
+        this.file = this.directory.resolve("config.yml").toFile();
+    }
+
+    @Test
+    void reportsOnlyTheChangedFields() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        Settings settings = config.config();
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        List<List<ConfigChange>> notified = new ArrayList<>();
+        config.addChangeListener(notified::add);
+
+        config.reloadFromFile();
+
+        assertEquals(1, notified.size());
+        assertEquals(1, notified.get(0).size());
+
+        ConfigChange change = notified.get(0).get(0);
+        assertEquals("max-homes", change.path());
+        assertEquals(3, (int) change.oldValue(Integer.class));
+        assertEquals(5, (int) change.newValue(Integer.class));
+        assertEquals(5, settings.maxHomes);
+        assertSame(settings, config.config());
+    }
+
+    @Test
+    void copiesAndSavesEveryField() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        ConfigSaveQueue queue = ConfigSaveQueue.of(this.plugin);
+        config.configFile().set("prefix", "[Edited] ");
+
+        // Nothing changed, but the fields are still copied and saved.
+        config.copySaveAsync();
+        this.server.tick(20);
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(this.file);
+        assertEquals("[Homes] ", saved.getString("prefix"));
+        assertEquals(3, saved.getInt("max-homes"));
+        assertEquals(1, queue.completedSaves());
+    }
+
+    @Test
+    void savesOnlyIfAFieldChanged() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        ConfigSaveQueue queue = ConfigSaveQueue.of(this.plugin);
+
+        assertFalse(config.copySaveAsyncIfChanged());
+        assertEquals(0, queue.requestedSaves());
+
+        config.configFile().set("prefix", "[Edited] ");
+        config.config().maxHomes = 8;
+        assertTrue(config.copySaveAsyncIfChanged());
+        this.server.tick(20);
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(this.file);
+        assertEquals(8, saved.getInt("max-homes"));
+        assertEquals("[Edited] ", saved.getString("prefix"));
+        assertFalse(config.copySaveAsyncIfChanged());
+        assertEquals(1, queue.requestedSaves());
+    }
+
+    @Test
+    void doesNotNotifyWhenNothingChanged() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        List<List<ConfigChange>> notified = new ArrayList<>();
+        config.addChangeListener(notified::add);
+
+        config.reloadFromFile();
+
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void notifiesPathListenersOnlyOfTheirPaths() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        List<List<ConfigChange>> homes = new ArrayList<>();
+        List<List<ConfigChange>> prefix = new ArrayList<>();
+        config.addChangeListener(homes::add, "max-homes");
+        config.addChangeListener(prefix::add, "prefix");
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        config.reloadFromFile();
+
+        assertEquals(1, homes.size());
+        assertEquals("max-homes", homes.get(0).get(0).path());
+        assertTrue(prefix.isEmpty());
+    }
+
+    @Test
+    void passesOldAndNewValuesToFieldListeners() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        List<String> prefixes = new ArrayList<>();
+        ConfigChangeListener listener = config.addFieldChangeListener(
+            "prefix", String.class, (oldValue, newValue) -> prefixes.add(oldValue + " -> " + newValue)
+        );
+
+        this.write("max-homes: 3\nprefix: '[Warps] '\n");
+        config.reloadFromFile();
+        assertEquals(List.of("[Homes]  -> [Warps] "), prefixes);
+
+        config.removeChangeListener(listener);
+        this.write("max-homes: 3\nprefix: '[Spawn] '\n");
+        config.reloadFromFile();
+        assertEquals(1, prefixes.size());
+    }
+
+    @Test
+    void publishesANewSnapshotOnlyWhenAValueChanged() throws IOException, InvalidConfigurationException {
+        this.write("min: 1\nmax: 2\n");
+        AtomicInteger created = new AtomicInteger();
+        ReflectivePluginConfig<Limits> config = ReflectivePluginConfig.withSnapshots(
+            this.plugin, PathConfig.loadConfig(this.file), () -> {
+                created.incrementAndGet();
+                return new Limits(0, 0);
+            }
+        );
+        Limits first = config.config();
+        assertEquals(new Limits(1, 2), first);
+        assertEquals(1, created.get());
+
+        config.reloadFromFile();
+        assertSame(first, config.config());
+
+        this.write("min: 1\nmax: 4\n");
+        List<ConfigChange> changes = config.updateChangedFields();
+        assertTrue(changes.isEmpty(), "The file is only read by a reload");
+
+        config.reloadFromFile();
+        assertEquals(new Limits(1, 4), config.config());
+        assertEquals(new Limits(1, 2), first);
+    }
+
+    @Test
+    void publishesSnapshotsWhole() throws IOException, InvalidConfigurationException, InterruptedException {
+        this.write("min: 1\nmax: 2\n");
+        ReflectivePluginConfig<Limits> config = ReflectivePluginConfig.withSnapshots(
+            this.plugin, PathConfig.loadConfig(this.file), () -> new Limits(0, 0)
+        );
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                Limits limits = config.config();
+
+                if (limits.max() != limits.min() * 2) {
+                    torn.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        try {
+            for (int i = 2; i < 5_000; i++) {
+                config.configFile().set("min", i);
+                config.configFile().set("max", i * 2);
+                config.updateChangedFields();
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        assertEquals(new Limits(4_999, 9_998), config.config());
+        assertEquals(0, torn.get());
+    }
+
+    @Test
+    void publishesAsyncReloadsOnTheMainThread() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        Settings settings = config.config();
+        List<List<ConfigChange>> notified = new ArrayList<>();
+        config.addChangeListener(notified::add);
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        CompletableFuture<List<ConfigChange>> future = config.reloadAsync();
+        assertFalse(future.isDone());
+        assertEquals(3, settings.maxHomes);
+
+        this.server.runTasks();
+
+        List<ConfigChange> changes = future.join();
+        assertEquals(1, changes.size());
+        assertEquals(List.of(changes), notified);
+        assertEquals(5, settings.maxHomes);
+        assertEquals(5, config.configFile().getInt("max-homes"));
+        assertSame(settings, config.config());
+    }
+
+    @Test
+    void keepsThePreviousConfigIfTheValidatorRejectsAReload() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        List<List<ConfigChange>> notified = new ArrayList<>();
+        config.addChangeListener(notified::add);
+
+        this.write("max-homes: 500\nprefix: '[Warps] '\n");
+        CompletableFuture<List<ConfigChange>> future = config.reloadAsync(settings -> {
+            if (settings.maxHomes > 100) {
+                throw new IllegalArgumentException("max-homes must not exceed 100");
+            }
+        });
+        this.server.runTasks();
+
+        this.assertRejected(future, IllegalArgumentException.class);
+        assertEquals(3, config.config().maxHomes);
+        assertEquals("[Homes] ", config.config().prefix);
+        assertEquals(3, config.configFile().getInt("max-homes"));
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void keepsThePreviousConfigIfTheFileIsInvalid() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+
+        this.write("max-homes: [5\n");
+        CompletableFuture<List<ConfigChange>> invalid = config.reloadAsync();
+        this.server.runTasks();
+        this.assertRejected(invalid, InvalidConfigurationException.class);
+
+        this.write("max-homes: many\nprefix: '[Warps] '\n");
+        CompletableFuture<List<ConfigChange>> incompatible = config.reloadAsync();
+        this.server.runTasks();
+        this.assertRejected(incompatible, IllegalArgumentException.class);
+
+        assertEquals(3, config.config().maxHomes);
+        assertEquals("[Homes] ", config.config().prefix);
+        assertEquals("[Homes] ", config.configFile().getString("prefix"));
+    }
+
+    @Test
+    void keepsThePreviousSnapshotIfAReloadIsRejected() throws IOException, InvalidConfigurationException {
+        this.write("min: 1\nmax: 2\n");
+        ReflectivePluginConfig<Limits> config = ReflectivePluginConfig.withSnapshots(
+            this.plugin, PathConfig.loadConfig(this.file), () -> new Limits(0, 0)
+        );
+        Limits first = config.config();
+
+        this.write("min: 5\nmax: 4\n");
+        CompletableFuture<List<ConfigChange>> future = config.reloadAsync(limits -> {
+            if (limits.min() > limits.max()) {
+                throw new IllegalArgumentException("min must not exceed max");
+            }
+        });
+        this.server.runTasks();
+
+        this.assertRejected(future, IllegalArgumentException.class);
+        assertSame(first, config.config());
+    }
+
+    @Test
+    void discardsSupersededReloads() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        CompletableFuture<List<ConfigChange>> first = config.reloadAsync();
+        this.write("max-homes: 7\nprefix: '[Homes] '\n");
+        CompletableFuture<List<ConfigChange>> second = config.reloadAsync();
+        this.server.runTasks();
+
+        assertTrue(first.isCancelled());
+        assertEquals(1, second.join().size());
+        assertEquals(7, config.config().maxHomes);
+    }
+
+    @Test
+    void discardsReloadsOfAConfigSavedMeanwhile() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        // The validator runs after the file was parsed, and before the reload is published.
+        CompletableFuture<List<ConfigChange>> future = config.reloadAsync(settings -> {
+            config.configFile().set("max-homes", 6);
+
+            try {
+                config.save();
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        this.server.runTasks();
+
+        assertTrue(future.isCancelled());
+        assertEquals(3, config.config().maxHomes);
+        assertEquals(6, config.configFile().getInt("max-homes"));
+        assertEquals(6, YamlConfiguration.loadConfiguration(this.file).getInt("max-homes"));
+    }
+
+    @Test
+    void discardsReloadsOfAFileModifiedMeanwhile() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+
+        this.write("max-homes: 5\nprefix: '[Homes] '\n");
+        CompletableFuture<List<ConfigChange>> future = config.reloadAsync(settings -> {
+            try {
+                this.write("max-homes: 50\nprefix: '[Homes] '\n");
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        this.server.runTasks();
+
+        assertTrue(future.isCancelled());
+        assertEquals(3, config.config().maxHomes);
+        assertEquals(3, config.configFile().getInt("max-homes"));
+    }
+
+    @Test
+    void rejectsRecordsOutsideOfSnapshotMode() throws IOException, InvalidConfigurationException {
+        this.write("min: 1\nmax: 2\n");
+        PathConfig configFile = PathConfig.loadConfig(this.file);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new ReflectivePluginConfig<>(this.plugin, configFile, new Limits(0, 0))
+        );
+    }
+
+    @Test
+    void writesOnlyTheChangedFields() throws IOException, InvalidConfigurationException {
+        ReflectivePluginConfig<Settings> config = this.load("max-homes: 3\nprefix: '[Homes] '\n", new Settings());
+        assertFalse(config.copyChangedFields());
+
+        // An entry edited in memory is kept, as the field that maps to it did not change.
+        config.configFile().set("prefix", "[Edited] ");
+        config.config().maxHomes = 8;
+
+        assertTrue(config.copyChangedFields());
+        assertEquals(8, config.configFile().getInt("max-homes"));
+        assertEquals("[Edited] ", config.configFile().getString("prefix"));
+    }
+
+    private void assertRejected(CompletableFuture<?> future, Class<? extends Exception> cause) {
+        assertTrue(future.isCompletedExceptionally(), "The reload should have failed");
+        assertInstanceOf(cause, assertThrows(CompletionException.class, future::join).getCause());
+    }
+
+    private <T extends ReflectiveConfig> ReflectivePluginConfig<T> load(String contents, T instance)
+    throws IOException, InvalidConfigurationException
+    {
+        this.write(contents);
+        return new ReflectivePluginConfig<>(this.plugin, PathConfig.loadConfig(this.file), instance);
+    }
+
+    private void write(String contents) throws IOException {
+        Files.writeString(this.file.toPath(), contents);
+    }
+
+    record Limits(int min, int max) implements ReflectiveConfig {
+    }
+
+    static class Settings implements ReflectiveConfig {
+        int maxHomes = 1;
+        String prefix = "";
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.imajindevon.bluelib.config.reflection.processor;
+
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinder;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfigBinders;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReflectiveConfigProcessorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void bindsPrivateFieldsThroughTheConfigsLookup() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = this.compile("""
+            package sample;
+
+            @com.github.imajindevon.bluelib.config.reflection.annotation.GenerateBinder
+            public class Settings implements com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig {
+                private int maxHomes = 3;
+                String prefix = "[Homes] ";
+
+                public int maxHomes() {
+                    return this.maxHomes;
+                }
+            }
+            """);
+        assertTrue(diagnostics.getDiagnostics().isEmpty(), diagnostics.getDiagnostics().toString());
+
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {this.directory.toUri().toURL()}, this.getClass().getClassLoader()
+        ))
+        {
+            Class<?> type = loader.loadClass("sample.Settings");
+            ReflectiveConfig settings = (ReflectiveConfig) type.getConstructor().newInstance();
+            ReflectiveConfigBinder<ReflectiveConfig> binder = ReflectiveConfigBinders.find(settings);
+            assertNotNull(binder);
+
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("max-homes", 5);
+            config.set("prefix", "[Homes] ");
+
+            binder.inject(settings, config, false, false);
+            assertEquals(5, type.getMethod("maxHomes").invoke(settings));
+
+            YamlConfiguration written = new YamlConfiguration();
+            binder.write(settings, written);
+            assertEquals(5, written.getInt("max-homes"));
+        }
+    }
+
+    @Test
+    void bindsNonFinalStaticFields() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = this.compile("""
+            package sample;
+
+            @com.github.imajindevon.bluelib.config.reflection.annotation.GenerateBinder
+            public class Settings implements com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig {
+                static final int VERSION = 1;
+                private static int maxHomes = 3;
+                static String prefix = "[Homes] ";
+
+                public static int maxHomes() {
+                    return maxHomes;
+                }
+            }
+            """);
+        assertTrue(diagnostics.getDiagnostics().isEmpty(), diagnostics.getDiagnostics().toString());
+
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {this.directory.toUri().toURL()}, this.getClass().getClassLoader()
+        ))
+        {
+            Class<?> type = loader.loadClass("sample.Settings");
+            ReflectiveConfig settings = (ReflectiveConfig) type.getConstructor().newInstance();
+            ReflectiveConfigBinder<ReflectiveConfig> binder = ReflectiveConfigBinders.find(settings);
+            assertNotNull(binder);
+
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("max-homes", 5);
+            config.set("prefix", "[Warps] ");
+
+            binder.inject(settings, config, false, false);
+            assertEquals(5, type.getMethod("maxHomes").invoke(null));
+
+            YamlConfiguration written = new YamlConfiguration();
+            binder.write(settings, written);
+            assertEquals(Set.of("max-homes", "prefix"), written.getKeys(false));
+            assertEquals("[Warps] ", written.getString("prefix"));
+        }
+    }
+
+    @Test
+    void rejectsFinalFields() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = this.compile("""
+            package sample;
+
+            @com.github.imajindevon.bluelib.config.reflection.annotation.GenerateBinder
+            public class Settings implements com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig {
+                private final int maxHomes = 3;
+            }
+            """);
+
+        List<Diagnostic<? extends JavaFileObject>> errors = diagnostics.getDiagnostics()
+            .stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .toList();
+
+        assertEquals(1, errors.size(), errors.toString());
+        assertTrue(errors.get(0).getMessage(null).contains("field maxHomes is final"));
+        assertFalse(Files.exists(this.directory.resolve("sample/Settings" + ReflectiveConfigBinders.BINDER_SUFFIX
+            + ".class")));
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String source) throws IOException {
+        Path file = this.directory.resolve("sample/Settings.java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, files, diagnostics,
+                List.of("-classpath", System.getProperty("java.class.path"), "-d", this.directory.toString()),
+                null, files.getJavaFileObjects(file)
+            );
+            task.setProcessors(List.of(new ReflectiveConfigProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.imajindevon.bluelib.config.store;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LogKeyValueStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysCommittedBatches() throws IOException {
+        Path path = this.directory.resolve("store.log");
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            store.put("players.a.coins", bytes("10"));
+            store.batch()
+                .put("players.b.coins", bytes("20"))
+                .put("players.c.coins", bytes("30"))
+                .delete("players.a.coins")
+                .commit();
+        }
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            assertNull(store.get("players.a.coins"));
+            assertEquals("20", string(store.get("players.b.coins")));
+            assertEquals(List.of("players.b.coins", "players.c.coins"), store.keys("players."));
+        }
+    }
+
+    @Test
+    void discardsTornTail() throws IOException {
+        Path path = this.directory.resolve("store.log");
+        long committed;
+        long written;
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            store.put("first", bytes("1"));
+            committed = Files.size(path);
+            store.batch().put("second", bytes("2")).put("third", bytes("3")).commit();
+            written = Files.size(path);
+        }
+
+        // Cut the second batch off inside its commit marker, as a crash during the write would.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(written - 3);
+        }
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            assertEquals(committed, Files.size(path));
+            assertEquals("1", string(store.get("first")));
+            assertNull(store.get("second"));
+            assertNull(store.get("third"));
+
+            store.put("fourth", bytes("4"));
+        }
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            assertEquals(List.of("first", "fourth"), store.keys(""));
+        }
+    }
+
+    @Test
+    void discardsGarbageAfterLastCommit() throws IOException {
+        Path path = this.directory.resolve("store.log");
+        long committed;
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            store.put("key", bytes("value"));
+            committed = Files.size(path);
+        }
+
+        Files.write(path, new byte[] {1, 0, 0, 0, 3, 'k'}, StandardOpenOption.APPEND);
+
+        try (LogKeyValueStore store = LogKeyValueStore.open(path)) {
+            assertEquals(committed, Files.size(path));
+            assertEquals("value", string(store.get("key")));
+        }
+    }
+
+    private static byte @NotNull [] bytes(@NotNull String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @NotNull
+    private static String string(byte @NotNull [] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.imajindevon.bluelib.config.store;
+
+import com.github.imajindevon.bluelib.config.PathConfig;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoreConfigurationTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesOnlyChangedPaths() throws IOException {
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            for (int i = 0; i < 100; i++) {
+                config.set("players.p%02d.coins".formatted(i), 10);
+            }
+            long initialSize = this.save(config, file);
+            long initialDeadBytes = store.store().deadBytes();
+            assertEquals(100, store.store().size());
+
+            long firstChange = this.sizeOfSaving(config, file, "players.p00.coins", 11);
+            long secondChange = this.sizeOfSaving(config, file, "players.p57.coins", 11);
+
+            // One record each, whatever the size of the configuration.
+            assertEquals(firstChange, secondChange);
+            assertTrue(firstChange * 50 < initialSize);
+            // Each save leaves the replaced record and its own commit marker behind.
+            assertEquals(initialDeadBytes + 2 * firstChange, store.store().deadBytes());
+            assertFalse(store.isDirty());
+
+            // Nothing changed, so nothing is written.
+            assertEquals(0, this.save(config, file));
+        }
+
+        try (StoreConfiguration store = (StoreConfiguration) openStore(file).config()) {
+            assertEquals(11, store.get("players.p00.coins"));
+            assertEquals(11, store.get("players.p57.coins"));
+            assertEquals(10, store.get("players.p99.coins"));
+        }
+    }
+
+    @Test
+    void replacingASectionDeletesItsOldKeys() throws IOException {
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            config.set("homes.spawn.x", 1);
+            config.set("homes.shop.x", 2);
+            config.set("max-homes", 3);
+            config.save();
+
+            store.createSection("homes", Map.of("arena", Map.of("x", 4)));
+            config.save();
+
+            assertEquals(List.of("homes.arena.x"), store.store().keys("homes."));
+        }
+
+        try (StoreConfiguration store = (StoreConfiguration) openStore(file).config()) {
+            assertEquals(Set.of("arena"), store.getConfigurationSection("homes").getKeys(false));
+            assertEquals(4, store.get("homes.arena.x"));
+            assertEquals(3, store.get("max-homes"));
+        }
+    }
+
+    @Test
+    void foldsChangedPathsIntoChangedParents() throws IOException {
+        Set<String> paths = Set.of("homes", "homes.spawn.x", "homes-old.x", "players.a");
+
+        assertTrue(StoreConfiguration.isCovered("homes.spawn.x", paths, '.'));
+        assertFalse(StoreConfiguration.isCovered("homes", paths, '.'));
+        assertFalse(StoreConfiguration.isCovered("homes-old.x", paths, '.'));
+        assertFalse(StoreConfiguration.isCovered("players.a", paths, '.'));
+        assertTrue(StoreConfiguration.isCovered("players.a", Set.of("", "players.a"), '.'));
+        assertFalse(StoreConfiguration.isCovered("", Set.of("", "players.a"), '.'));
+
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            config.set("homes.spawn.x", 1);
+            store.createSection("homes", Map.of("shop", Map.of("x", 2)));
+            config.set("homes.shop.y", 3);
+            config.save();
+
+            assertEquals(List.of("homes.shop.x", "homes.shop.y"), store.store().keys("homes."));
+        }
+    }
+
+    @Test
+    void roundTripsEmptySections() throws IOException {
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            store.createSection("homes");
+            config.set("players.a.coins", 10);
+            store.createSection("players.b");
+            config.save();
+        }
+
+        try (StoreConfiguration store = (StoreConfiguration) openStore(file).config()) {
+            assertInstanceOf(ConfigurationSection.class, store.get("homes"));
+            assertTrue(store.getConfigurationSection("homes").getKeys(false).isEmpty());
+            assertInstanceOf(ConfigurationSection.class, store.get("players.b"));
+            assertTrue(store.getConfigurationSection("players.b").getKeys(false).isEmpty());
+            assertEquals(10, store.get("players.a.coins"));
+        }
+    }
+
+    @Test
+    void skipsOutdatedCommits() throws IOException {
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            config.set("max-homes", 1);
+            StoreConfiguration.PreparedCommit first = store.prepareCommit();
+            config.set("max-homes", 2);
+            StoreConfiguration.PreparedCommit second = store.prepareCommit();
+
+            assertEquals(1, second.write());
+            assertEquals(0, first.write());
+            assertEquals(2, this.storedMaxHomes(store));
+
+            config.set("max-homes", 3);
+            StoreConfiguration.PreparedCommit third = store.prepareCommit();
+            store.reload();
+
+            assertEquals(0, third.write());
+            assertEquals(2, this.storedMaxHomes(store));
+            assertEquals(2, store.get("max-homes"));
+        }
+    }
+
+    @Test
+    void reloadDiscardsUncommittedChanges() throws IOException, InvalidConfigurationException {
+        Path file = this.directory.resolve("store.db");
+        PathConfig config = openStore(file);
+
+        try (StoreConfiguration store = (StoreConfiguration) config.config()) {
+            config.set("max-homes", 3);
+            config.save();
+
+            config.set("max-homes", 5);
+            config.set("homes.spawn.x", 1);
+            assertTrue(store.isDirty());
+
+            config.reload();
+
+            assertFalse(store.isDirty());
+            assertEquals(3, config.config().get("max-homes"));
+            assertFalse(config.config().contains("homes"));
+            assertEquals(List.of("max-homes"), store.store().keys(""));
+        }
+    }
+
+    private static PathConfig openStore(Path file) throws IOException {
+        return PathConfig.openStore(file.toFile());
+    }
+
+    private long save(PathConfig config, Path file) throws IOException {
+        long size = Files.size(file);
+        config.save();
+        return Files.size(file) - size;
+    }
+
+    private long sizeOfSaving(PathConfig config, Path file, String path, Object value) throws IOException {
+        config.set(path, value);
+        return this.save(config, file);
+    }
+
+    private int storedMaxHomes(StoreConfiguration store) throws IOException {
+        // Not closed, as that would close the shared store.
+        StoreConfiguration reopened = new StoreConfiguration(store.store());
+        reopened.reload();
+        return reopened.getInt("max-homes");
+    }
+}
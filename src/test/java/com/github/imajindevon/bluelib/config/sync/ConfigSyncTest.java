@@ -0,0 +1,170 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import com.github.imajindevon.bluelib.TestServer;
+import com.github.imajindevon.bluelib.config.PathConfig;
+import com.github.imajindevon.bluelib.config.reflection.ConfigChange;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import com.github.imajindevon.bluelib.config.reflection.ReflectivePluginConfig;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigSyncTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void ordersRemovalsBeforeChanges() throws IOException {
+        Map<String, Object> baseline = new LinkedHashMap<>();
+        baseline.put("limits", 3);
+        baseline.put("prefix", "&8[&bBlueLib&8] ");
+
+        Map<String, Object> current = new LinkedHashMap<>();
+        current.put("limits.homes", 5);
+        current.put("prefix", "&8[&bBlueLib&8] ");
+
+        Map<String, Object> entries = ConfigSync.changedEntries(baseline, current);
+        assertEquals(List.of("limits", "limits.homes"), new ArrayList<>(entries.keySet()));
+
+        ConfigChangeSet decoded = ConfigChangeSet.decode(new ConfigChangeSet("config", "node", 1, entries).encode());
+        assertEquals(List.of("limits", "limits.homes"), new ArrayList<>(decoded.entries().keySet()));
+    }
+
+    @Test
+    void appliesRemovalsBeforeSets() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("limits", 3);
+        PathConfig configFile = new PathConfig("config.yml", config);
+
+        // Ordered as an older node published them, with the removal last.
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("limits.homes", 5);
+        entries.put("limits", null);
+
+        ConfigSync.setEntries(configFile, entries);
+        assertEquals(5, config.getInt("limits.homes"));
+        assertTrue(config.isConfigurationSection("limits"));
+    }
+
+    @Test
+    void appliesChangesPublishedByAnotherNode() throws Exception {
+        TestServer server = TestServer.get();
+        Plugin plugin = server.createPlugin(this.directory);
+        LoopbackTransport transport = new LoopbackTransport();
+
+        ReflectivePluginConfig<Settings> first = this.createConfig(plugin, "first.yml");
+        ReflectivePluginConfig<Settings> second = this.createConfig(plugin, "second.yml");
+        List<ConfigChange> changes = new ArrayList<>();
+        second.addChangeListener(changes::addAll);
+
+        ConfigSync firstSync = ConfigSync.start(plugin, first, "config", transport);
+        ConfigSync secondSync = ConfigSync.start(plugin, second, "config", transport);
+
+        // Subscribed last, so each change set was handed to both nodes before it is recorded.
+        List<ConfigChangeSet> published = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(1);
+        transport.subscribe(changeSet -> {
+            published.add(changeSet);
+            received.countDown();
+        });
+
+        try {
+            first.config().maxHomes = 5;
+            ConfigChangeSet changeSet = firstSync.publishChanges();
+
+            assertNotNull(changeSet);
+            assertEquals(Map.of("max-homes", 5), changeSet.entries());
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            server.runTasks();
+
+            assertEquals(5, second.config().maxHomes);
+            assertEquals(5, second.configFile().getInt("max-homes"));
+            assertEquals(List.of(new ConfigChange("max-homes", "maxHomes", 3, 5)), changes);
+
+            // The applied change set is neither published while applying it nor afterwards.
+            assertNull(secondSync.publishChanges());
+            assertEquals(1, published.size());
+
+            // A replayed change set of the first node is stale.
+            transport.publish(new ConfigChangeSet("config", firstSync.nodeId(), changeSet.sequence(), Map.of(
+                "max-homes", 2
+            )));
+            server.runTasks();
+            assertEquals(List.of(), secondSync.apply(new ConfigChangeSet("config", firstSync.nodeId(), 0, Map.of(
+                "max-homes", 2
+            ))));
+            assertEquals(5, second.config().maxHomes);
+
+            // Change sets of other channels are not even scheduled.
+            int pendingTasks = server.pendingTasks();
+            transport.publish(new ConfigChangeSet("messages", "other-node", 1, Map.of("max-homes", 9)));
+            assertEquals(pendingTasks, server.pendingTasks());
+            assertEquals(5, second.config().maxHomes);
+            assertEquals(1, changes.size());
+
+            // The applied change set is saved asynchronously.
+            server.tick(20);
+            assertEquals(5, YamlConfiguration.loadConfiguration(this.directory.resolve("second.yml").toFile())
+                .getInt("max-homes"));
+        } finally {
+            firstSync.close();
+            secondSync.close();
+        }
+    }
+
+    @Test
+    void ignoresChangeSetsOnceClosed() throws IOException, InvalidConfigurationException {
+        TestServer server = TestServer.get();
+        Plugin plugin = server.createPlugin(this.directory);
+        Path file = this.directory.resolve("config.yml");
+        Files.writeString(file, "max-homes: 3\n");
+
+        ReflectivePluginConfig<Settings> config = new ReflectivePluginConfig<>(
+            plugin,
+            PathConfig.loadConfig(file.toFile()),
+            new Settings()
+        );
+        LoopbackTransport transport = new LoopbackTransport();
+        ConfigSync sync = ConfigSync.start(plugin, config, "config", transport);
+
+        // Received while open, but applied by a task that only runs after the sync is closed.
+        transport.publish(new ConfigChangeSet("config", "other-node", 1, Map.of("max-homes", 5)));
+        sync.close();
+        server.runTasks();
+
+        assertEquals(List.of(), sync.apply(new ConfigChangeSet("config", "other-node", 2, Map.of("max-homes", 7))));
+        assertEquals(3, config.config().maxHomes);
+        assertEquals(3, config.configFile().getInt("max-homes"));
+        assertEquals(0, server.pendingTasks(), "A closed sync should not save the configuration");
+    }
+
+    private ReflectivePluginConfig<Settings> createConfig(Plugin plugin, String name)
+        throws IOException, InvalidConfigurationException
+    {
+        Path file = this.directory.resolve(name);
+        Files.writeString(file, "max-homes: 3\n");
+        return new ReflectivePluginConfig<>(plugin, PathConfig.loadConfig(file.toFile()), new Settings());
+    }
+
+    static class Settings implements ReflectiveConfig {
+        int maxHomes = 1;
+    }
+}
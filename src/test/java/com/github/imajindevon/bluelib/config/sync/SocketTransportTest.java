@@ -0,0 +1,132 @@
+package com.github.imajindevon.bluelib.config.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocketTransportTest {
+    private final BlockingQueue<ConfigChangeSet> hubReceived = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ConfigChangeSet> firstReceived = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ConfigChangeSet> secondReceived = new LinkedBlockingQueue<>();
+    private SocketTransport hub;
+    private SocketTransport first;
+    private SocketTransport second;
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException {
+        this.hub = SocketTransport.listen(0);
+        this.first = SocketTransport.connect(this.hub.localPort());
+        this.second = SocketTransport.connect(this.hub.localPort());
+
+        this.hub.subscribe(this.hubReceived::add);
+        this.first.subscribe(this.firstReceived::add);
+        this.second.subscribe(this.secondReceived::add);
+
+        // The hub accepts connections on its own thread.
+        awaitCount(this.hub::connectionCount, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.first.close();
+        this.second.close();
+        this.hub.close();
+    }
+
+    @Test
+    void relaysChangeSetsToEveryOtherNode() throws IOException, InterruptedException {
+        assertTrue(this.hub.isHub());
+        assertFalse(this.first.isHub());
+
+        this.first.publish(changeSet("first", 1, 5));
+
+        assertEquals(5, received(this.hubReceived).entries().get("max-homes"));
+        assertEquals(5, received(this.secondReceived).entries().get("max-homes"));
+
+        this.second.publish(changeSet("second", 1, 7));
+
+        // The first change set was not echoed to its sender, which only receives the second one.
+        ConfigChangeSet relayed = received(this.firstReceived);
+        assertEquals("second", relayed.origin());
+        assertEquals(7, received(this.hubReceived).entries().get("max-homes"));
+
+        this.hub.publish(changeSet("hub", 1, 9));
+
+        assertEquals("hub", received(this.firstReceived).origin());
+        assertEquals("hub", received(this.secondReceived).origin());
+        assertNull(this.hubReceived.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(this.secondReceived.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void closesConnectionsSendingInvalidFrames() throws IOException, InterruptedException {
+        for (int length : List.of(-1, Integer.MAX_VALUE)) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.hub.localPort())) {
+                awaitCount(this.hub::connectionCount, 3);
+
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeInt(length);
+                out.flush();
+
+                // The hub closes the connection without sending anything.
+                socket.setSoTimeout(5000);
+                InputStream in = socket.getInputStream();
+                assertEquals(-1, in.read());
+                awaitCount(this.hub::connectionCount, 2);
+            }
+        }
+
+        // The other connections are unaffected.
+        this.first.publish(changeSet("first", 1, 5));
+        assertEquals(5, received(this.secondReceived).entries().get("max-homes"));
+        assertEquals(5, received(this.hubReceived).entries().get("max-homes"));
+    }
+
+    @Test
+    void failsToPublishOnceTheHubIsLost() throws IOException, InterruptedException {
+        this.hub.close();
+        awaitCount(this.first::connectionCount, 0);
+
+        assertEquals(-1, this.first.localPort());
+        IOException exception = assertThrows(IOException.class, () -> this.first.publish(changeSet("first", 1, 5)));
+        assertEquals("Connection to the hub was lost", exception.getMessage());
+    }
+
+    private static ConfigChangeSet changeSet(String origin, long sequence, int maxHomes) {
+        return new ConfigChangeSet("config", origin, sequence, Map.of("max-homes", maxHomes));
+    }
+
+    private static ConfigChangeSet received(BlockingQueue<ConfigChangeSet> queue) throws InterruptedException {
+        ConfigChangeSet changeSet = queue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(changeSet, "The change set should be received");
+        return changeSet;
+    }
+
+    private static void awaitCount(IntSupplier count, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (count.getAsInt() != expected) {
+            assertTrue(System.nanoTime() < deadline, "Expected " + expected + " connections");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.imajindevon.bluelib.player;
+
+import com.github.imajindevon.bluelib.TestServer;
+import com.github.imajindevon.bluelib.config.reflection.ReflectiveConfig;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlayerDataStoreTest {
+    private static final long FLUSH_INTERVAL_TICKS = 100;
+
+    private final TestServer server = TestServer.get();
+    private final UUID uuid = UUID.fromString("3f2a9c1e-6b7d-4e8f-9a0b-1c2d3e4f5a6b");
+
+    @TempDir
+    Path directory;
+
+    private Player player;
+    private Plugin plugin;
+    private PlayerDataStore<Homes> store;
+
+    @BeforeEach
+    void createStore() {
+        this.plugin = this.server.createPlugin(this.directory);
+        this.player = this.server.createPlayer(this.uuid, "Steve");
+        this.store = PlayerDataStore.create(this.plugin, "playerdata", Homes::new);
+    }
+
+    @AfterEach
+    void disablePlugin() {
+        if (this.player.isOnline()) {
+            this.server.quit(this.player);
+        }
+        if (this.plugin.isEnabled()) {
+            this.server.disable(this.plugin);
+        }
+    }
+
+    @Test
+    void loadsDataWhileThePlayerLogsIn() throws IOException {
+        File file = this.store.fileOf(this.uuid);
+        assertEquals(new File(this.directory.toFile(), "playerdata/3f/" + this.uuid + ".yml"), file);
+
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "homes: 4\nnickname: Builder\n");
+
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+
+        Homes homes = this.store.get(this.player);
+        assertEquals(4, homes.homes);
+        assertEquals("Builder", homes.nickname);
+    }
+
+    @Test
+    void disallowsTheLoginIfTheDataCannotBeLoaded() throws IOException {
+        File file = this.store.fileOf(this.uuid);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "homes: [4\n");
+
+        AsyncPlayerPreLoginEvent event = this.server.preLogin(this.uuid, "Steve");
+
+        assertEquals(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, event.getLoginResult());
+        assertNull(this.store.get(this.uuid));
+    }
+
+    @Test
+    void writesDirtyEntriesBehind() throws InterruptedException {
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+        this.store.get(this.player).homes = 5;
+        this.store.markDirty(this.uuid);
+        File file = this.store.fileOf(this.uuid);
+        assertFalse(file.exists());
+
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!file.exists() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, YamlConfiguration.loadConfiguration(file).getInt("homes"));
+    }
+
+    @Test
+    void doesNotWriteCleanEntries() {
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+        this.store.get(this.player).homes = 5;
+
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        this.server.disable(this.plugin);
+        assertFalse(this.store.fileOf(this.uuid).exists());
+    }
+
+    @Test
+    void writesEveryDirtyEntryWhenThePluginIsDisabled() {
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+        this.store.get(this.player).homes = 5;
+        this.store.markDirty(this.uuid);
+
+        this.server.disable(this.plugin);
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(this.store.fileOf(this.uuid));
+        assertEquals(5, saved.getInt("homes"));
+    }
+
+    @Test
+    void stopsLoadingAndWritingDataOnceClosed() {
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+        this.store.close();
+
+        this.store.get(this.player).homes = 5;
+        this.store.markDirty(this.uuid);
+        // The writer was shut down, so flushing must not submit writes anymore.
+        this.store.flush();
+        assertFalse(this.store.fileOf(this.uuid).exists());
+
+        UUID other = UUID.fromString("8d1e2f3a-4b5c-4d6e-8f7a-9b0c1d2e3f4a");
+        this.server.preLogin(other, "Alex");
+        assertNull(this.store.get(other), "A closed store should not load the data of logging in players");
+    }
+
+    @Test
+    void keepsOnlineAndLoggingInPlayersCached() {
+        this.store.setMaxEntries(0);
+        this.server.preLogin(this.uuid, "Steve");
+
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        assertEquals(1, this.store.size(), "The entry of a logging in player should be pinned");
+
+        this.server.join(this.player);
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        assertEquals(1, this.store.size(), "The entry of an online player should never be evicted");
+
+        this.server.quit(this.player);
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        assertEquals(0, this.store.size());
+    }
+
+    @Test
+    void keepsOfflineDataForTheGracePeriod() {
+        this.server.preLogin(this.uuid, "Steve");
+        this.server.join(this.player);
+        Homes homes = this.store.get(this.player);
+        this.server.quit(this.player);
+
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        assertSame(homes, this.store.get(this.uuid), "Rejoining within the grace period should reuse the data");
+
+        this.store.setGracePeriod(Duration.ZERO);
+        this.server.tick(FLUSH_INTERVAL_TICKS);
+        assertNull(this.store.get(this.uuid));
+    }
+
+    @Test
+    void loadsOfflineDataOffTheMainThread() {
+        CompletableFuture<Homes> future = this.store.load(this.uuid);
+        assertFalse(future.isDone());
+
+        this.server.runTasks();
+        Homes homes = future.join();
+        assertEquals(1, homes.homes);
+        assertNotNull(this.store.get(this.uuid));
+        assertSame(homes, this.store.load(this.uuid).join());
+    }
+
+    static class Homes implements ReflectiveConfig {
+        int homes = 1;
+        String nickname = "";
+    }
+}